@@ -292,6 +292,9 @@ public final class YoungAndroidFormUpgrader {
       } else if (componentType.equals("ContactPicker")) {
         srcCompVersion = upgradeContactPickerProperties(componentProperties, srcCompVersion);
 
+      } else if (componentType.equals("DataFile")) {
+        srcCompVersion = upgradeDataFileProperties(componentProperties, srcCompVersion);
+
       } else if (componentType.equals("DatePicker")) {
         srcCompVersion = upgradeDatePickerProperties(componentProperties, srcCompVersion);
 
@@ -307,6 +310,9 @@ public final class YoungAndroidFormUpgrader {
       } else if (componentType.equals("FusiontablesControl")) {
         srcCompVersion = upgradeFusiontablesControlProperties(componentProperties, srcCompVersion);
 
+      } else if (componentType.equals("GyroscopeSensor")) {
+        srcCompVersion = upgradeGyroscopeSensorProperties(componentProperties, srcCompVersion);
+
       } else if (componentType.equals("HorizontalArrangement")) {
         srcCompVersion = upgradeHorizontalArrangementProperties(componentProperties,
             srcCompVersion);
@@ -508,6 +514,11 @@ public final class YoungAndroidFormUpgrader {
       // Adds Sensitivity dropdown block.
       srcCompVersion = 5;
     }
+    if (srcCompVersion < 6) {
+      // The BatchInterval and DroppedSamples properties and the SamplesReceived event were added.
+      // No properties need to be modified to upgrade to version 6.
+      srcCompVersion = 6;
+    }
     return srcCompVersion;
   }
 
@@ -656,6 +667,12 @@ public final class YoungAndroidFormUpgrader {
       // No properties need to be modified to upgrade to version 8.
       srcCompVersion = 8;
     }
+    if (srcCompVersion < 9) {
+      // The StartReceivingFrames and StopReceivingFrames methods, the ReceivingFrames property
+      // and the FramesReceived event were added.
+      // No properties need to be modified to upgrade to version 9.
+      srcCompVersion = 9;
+    }
     return srcCompVersion;
   }
 
@@ -682,6 +699,12 @@ public final class YoungAndroidFormUpgrader {
       // No properties need to be modified to upgrade to version 5.
       srcCompVersion = 5;
     }
+    if (srcCompVersion < 6) {
+      // The StartReceivingFrames and StopReceivingFrames methods, the ReceivingFrames property
+      // and the FramesReceived event were added.
+      // No properties need to be modified to upgrade to version 6.
+      srcCompVersion = 6;
+    }
     return srcCompVersion;
   }
   private static int upgradeSliderProperties(Map<String, JSONValue> componentProperties,
@@ -859,6 +882,10 @@ public final class YoungAndroidFormUpgrader {
       // Assets helper block was added.
       srcCompVersion = 15;
     }
+    if (srcCompVersion < 16) {
+      // The FrameSynchronized and FrameTime properties were added.
+      srcCompVersion = 16;
+    }
     return srcCompVersion;
   }
 
@@ -961,6 +988,16 @@ public final class YoungAndroidFormUpgrader {
     return srcCompVersion;
   }
 
+  private static int upgradeDataFileProperties(Map<String, JSONValue> componentProperties,
+      int srcCompVersion) {
+    if (srcCompVersion < 2) {
+      // The FilterRows, SelectColumns, ColumnValues and AggregateColumn methods were added.
+      // No properties need to be modified to upgrade to version 2.
+      srcCompVersion = 2;
+    }
+    return srcCompVersion;
+  }
+
   private static int upgradeDatePickerProperties(Map<String, JSONValue> componentProperties,
       int srcCompVersion) {
     if (srcCompVersion < 2) {
@@ -1022,6 +1059,17 @@ public final class YoungAndroidFormUpgrader {
       }
       srcCompVersion = 4;
     }
+    if (srcCompVersion < 5) {
+      // The ReadLines method and GotLines event were added.
+      // No properties need to be modified to upgrade to version 5.
+      srcCompVersion = 5;
+    }
+
+    if (srcCompVersion < 6) {
+      // The ReadCsvTable and SaveCsvTable methods and GotCsvTable event were added.
+      // No properties need to be modified to upgrade to version 6.
+      srcCompVersion = 6;
+    }
     return srcCompVersion;
   }
 
@@ -1277,6 +1325,16 @@ public final class YoungAndroidFormUpgrader {
     return srcCompVersion;
   }
 
+  private static int upgradeGyroscopeSensorProperties(Map<String, JSONValue> componentProperties,
+      int srcCompVersion) {
+    if (srcCompVersion < 2) {
+      // The BatchInterval and DroppedSamples properties and the SamplesReceived event were added.
+      // No properties need to be modified to upgrade to version 2.
+      srcCompVersion = 2;
+    }
+    return srcCompVersion;
+  }
+
   private static int upgradeHorizontalArrangementProperties(Map<String, JSONValue> componentProperties,
       int srcCompVersion) {
     if (srcCompVersion < 2) {
@@ -1594,6 +1652,11 @@ public final class YoungAndroidFormUpgrader {
       // Properties related to this component have now been upgraded to version 2.
       srcCompVersion = 2;
     }
+    if (srcCompVersion < 3) {
+      // The BatchInterval and DroppedSamples properties and the SamplesReceived event were added.
+      // No properties need to be modified to upgrade to version 3.
+      srcCompVersion = 3;
+    }
     return srcCompVersion;
   }
 
@@ -1770,6 +1833,11 @@ public final class YoungAndroidFormUpgrader {
       // added an add sheet block and a delete sheet block
       srcCompVersion = 3;
     }
+    if (srcCompVersion < 4) {
+      // The CacheDuration property and the ClearCache block were added.
+      // No properties need to be modified to upgrade to version 4.
+      srcCompVersion = 4;
+    }
     return srcCompVersion;
   }
 
@@ -1803,6 +1871,13 @@ public final class YoungAndroidFormUpgrader {
       // Added Property: GetEntries
       srcCompVersion = 3;
     }
+
+    if (srcCompVersion < 4) {
+      // Added Property: Storage
+      // Added Methods: StoreValues, GetValues, BeginTransaction, CommitTransaction and
+      // RollbackTransaction
+      srcCompVersion = 4;
+    }
     return srcCompVersion;
   }
 
@@ -2047,6 +2122,11 @@ public final class YoungAndroidFormUpgrader {
       // Properties related to this component have now been upgraded to version 9
       srcCompVersion = 9;
     }
+    if (srcCompVersion < 10) {
+      // The CacheResponses property was added.
+      // No properties need to be modified to upgrade to version 10.
+      srcCompVersion = 10;
+    }
     return srcCompVersion;
   }
 
@@ -2217,6 +2297,16 @@ public final class YoungAndroidFormUpgrader {
       // UpdateDone event and ProvideUpdateDone property were added
       srcCompVersion = 2;
     }
+    if (srcCompVersion < 3) {
+      // Version 3
+      // StoreValues and GetValues methods and RoundTripTime property were added
+      srcCompVersion = 3;
+    }
+    if (srcCompVersion < 4) {
+      // Version 4
+      // The CacheValues property was added
+      srcCompVersion = 4;
+    }
     return srcCompVersion;
   }
 
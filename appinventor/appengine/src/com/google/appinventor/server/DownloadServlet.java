@@ -115,6 +115,7 @@ public class DownloadServlet extends OdeServlet {
     String userId = null;
 
     int statusCode = HttpServletResponse.SC_OK;
+    int rangeStart = 0;         // Where to start sending the file, when resuming a transfer
 
     try {
       String uri = req.getRequestURI();
@@ -241,6 +242,13 @@ public class DownloadServlet extends OdeServlet {
           statusCode = HttpServletResponse.SC_NOT_MODIFIED;
         }
         resp.setHeader("ETag", fileHash);
+        resp.setHeader("Accept-Ranges", "bytes");
+        if (statusCode == HttpServletResponse.SC_OK) {
+          rangeStart = getRangeStart(req, fileHash, fileContent.length);
+          if (rangeStart > 0) {
+            statusCode = HttpServletResponse.SC_PARTIAL_CONTENT;
+          }
+        }
       } else if (downloadKind.equals(ServerLayout.DOWNLOAD_USERFILE)) {
         // Download a specific user file, such as android.keystore
         uriComponents = uri.split("/", SPLIT_LIMIT_USERFILE);
@@ -310,6 +318,16 @@ public class DownloadServlet extends OdeServlet {
       ServletOutputStream out = resp.getOutputStream();
       out.write(content);
       out.close();
+    } else if (statusCode == HttpServletResponse.SC_PARTIAL_CONTENT) {
+      LOG.fine("Sending the rest of the file from " + rangeStart);
+      byte[] content = downloadableFile.getContent();
+      resp.setContentType(StorageUtil.getContentTypeForFilePath(downloadableFile.getFileName()));
+      resp.setHeader("Content-Range",
+          "bytes " + rangeStart + "-" + (content.length - 1) + "/" + content.length);
+      resp.setContentLength(content.length - rangeStart);
+      ServletOutputStream out = resp.getOutputStream();
+      out.write(content, rangeStart, content.length - rangeStart);
+      out.close();
     } else {                    // Not sure this is needed... we are not sending any data
       LOG.fine("File Cached, not sending File!");
       resp.setContentLength(0);
@@ -318,6 +336,31 @@ public class DownloadServlet extends OdeServlet {
     }
   }
 
+  /**
+   * Gets the offset at which to resume sending a file. The Companion resumes an interrupted
+   * transfer with a request that has the headers {@code Range: bytes=<offset>-} and
+   * {@code If-Range: <ETag>}. The rest of the file is only sent if it has not changed since, as
+   * told by the ETag.
+   *
+   * @param req the request
+   * @param fileHash the ETag of the file
+   * @param length the length of the file
+   * @return the offset, or 0 to send the whole file
+   */
+  static int getRangeStart(HttpServletRequest req, String fileHash, int length) {
+    String range = req.getHeader("Range");
+    if (range == null || !range.startsWith("bytes=") || !range.endsWith("-")
+        || !fileHash.equals(req.getHeader("If-Range"))) {
+      return 0;
+    }
+    try {
+      int start = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+      return start > 0 && start < length ? start : 0;
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
   private static String byteArray2Hex(final byte[] hash) {
     Formatter formatter = new Formatter();
     for (byte b : hash) {
@@ -247,6 +247,49 @@ public class DownloadServletTest {
     PowerMock.verifyAll();
     }
 
+  @Test
+  public void testDownloadFileResume() throws IOException {
+    RawFile file = new RawFile(DUMMY_FILENAME, new byte[] {1, 2, 3, 4, 5});
+    expect(exporterMock.exportFile(USER_ID, PROJECT_ID, FORM1_QUALIFIED_NAME))
+        .andReturn(file).times(2);
+    PowerMock.replayAll();
+    DownloadServlet download = new DownloadServlet();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    download.doGet(new MockHttpServletRequest(DOWNLOAD_URL + "file/1234/" + FORM1_QUALIFIED_NAME),
+        response);
+    assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    String etag = (String) ((List) response.getHeader("ETag")).get(0);
+
+    MockHttpServletRequest request = new MockHttpServletRequest(DOWNLOAD_URL +
+        "file/1234/" + FORM1_QUALIFIED_NAME);
+    request.setHeader("Range", "bytes=3-");
+    request.setHeader("If-Range", etag);
+    response = new MockHttpServletResponse();
+    download.doGet(request, response);
+    assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+    assertEquals("bytes 3-4/5", ((List) response.getHeader("Content-Range")).get(0));
+    assertEquals(2, response.getContentAsByteArray().length);
+    assertEquals(4, response.getContentAsByteArray()[0]);
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testGetRangeStart() throws IOException {
+    String etag = "\"0123\"";
+    MockHttpServletRequest request = new MockHttpServletRequest(DOWNLOAD_URL);
+    assertEquals(0, DownloadServlet.getRangeStart(request, etag, 10));
+    request.setHeader("Range", "bytes=4-");
+    // Without If-Range we don't know whether the file has changed
+    assertEquals(0, DownloadServlet.getRangeStart(request, etag, 10));
+    request.setHeader("If-Range", "\"4567\"");
+    assertEquals(0, DownloadServlet.getRangeStart(request, etag, 10));
+    request.setHeader("If-Range", etag);
+    assertEquals(4, DownloadServlet.getRangeStart(request, etag, 10));
+    assertEquals(0, DownloadServlet.getRangeStart(request, etag, 4));
+    request.setHeader("Range", "bytes=4-6");
+    assertEquals(0, DownloadServlet.getRangeStart(request, etag, 10));
+  }
+
   // TODO(user): Add testDownloadAllProjectsSource* to test
   // downloading all projects.
 }
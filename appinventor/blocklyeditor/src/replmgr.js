@@ -100,6 +100,16 @@ Blockly.ReplStateObj.prototype = {
                                         'credential' : 'boy' }]}
 };
 
+// Starts a message holding several forms, which the Companion splits at FORM_SEPARATOR. Other
+// messages are evaluated whole, even if the code in them contains the separator. Both are read
+// by Scheme as comments, so a Companion that does not split messages evaluates them whole.
+var FORM_BATCH_MARKER = ";;#BATCH#\n";
+var FORM_SEPARATOR = "\n;;#FORM#\n";
+
+// The longest message of batched forms. Like the chunk size, this leaves room under the 16K
+// limit of a webrtc message.
+var MAX_BATCH_LENGTH = 15000;
+
 var PROTECT_ENUM_ANDROID = "(define-syntax protect-enum " +
   "  (lambda (x) " +
   "    (syntax-case x () " +
@@ -344,6 +354,7 @@ Blockly.ReplMgr.putYail = (function() {
     var webrtcforcestop = false;
     var sentMacros = false;
     var webrtcdata;
+    var webrtcflushpending = false;
     var seennonce = {};
     var fixchrome89 = function(desc) {
         var sdp = desc.sdp;
@@ -610,6 +621,88 @@ Blockly.ReplMgr.putYail = (function() {
             };
             return (chunker);
         })(),
+        // Sends the queued forms to the phone over webrtc. Small forms are sent to the Android
+        // Companion several to a message, separated by FORM_SEPARATOR, so that changing many
+        // blocks at once does not cost a message (and a trip through the phone's UI thread) per
+        // block. The Companion evaluates each form on its own, so an error in one does not keep
+        // the others from running.
+        'webrtcflush' : function() {
+            webrtcflushpending = false;
+            if (!webrtcrunning || !webrtcdata) {
+                return;
+            }
+            var blockid;
+            var sendcode;
+            var work;
+            // First let's drain the queue of pending asset updates
+            while ((work = rs.phoneState.assetQueue.shift())) {
+                if (!work.block) {
+                    blockid = -1;
+                } else {
+                    blockid = '"' + work.block.id + '"';
+                }
+                sendcode = "(begin (require <com.google.youngandroid.runtime>) (process-repl-input " +
+                    blockid + " (begin " + work.code + ")))";
+                console.log(sendcode);
+                // sendcode is a string of all of the scheme code
+                sendcode = engine.chunker(sendcode);
+                // sendcode is now an array of strings, also scheme
+                // code, but guaranteed that each will fit in a
+                // webrtc message
+                sendcode.forEach(function(item) {
+                    console.log('Chunk: ' + item);
+                    webrtcdata.send(item);
+                });
+            }
+            if (rs.state != Blockly.ReplMgr.rsState.CONNECTED) {
+                return;
+            }
+            var batch = [];
+            var batchlength = FORM_BATCH_MARKER.length;
+            var sendbatch = function() {
+                if (batch.length == 1) {
+                    webrtcdata.send(batch[0]);
+                } else if (batch.length > 1) {
+                    webrtcdata.send(FORM_BATCH_MARKER + batch.join(FORM_SEPARATOR));
+                }
+                batch = [];
+                batchlength = FORM_BATCH_MARKER.length;
+            };
+            while ((work = rs.phoneState.phoneQueue.shift())) {
+                if (!work.block) {
+                    blockid = -1;
+                } else {
+                    blockid = '"' + work.block.id + '"';
+                }
+                sendcode = "(begin (require <com.google.youngandroid.runtime>) (process-repl-input " +
+                    blockid + " (begin " + work.code + ")))";
+                console.log(sendcode);
+                if (!sentMacros) {
+                    webrtcdata.send(rs.android ? PROTECT_ENUM_ANDROID : PROTECT_ENUM_IOS);
+                    sentMacros = true;
+                }
+                if (rs.android && sendcode.length <= MAX_BATCH_LENGTH &&
+                    sendcode.indexOf(FORM_SEPARATOR) < 0) {
+                    if (batchlength + sendcode.length > MAX_BATCH_LENGTH) {
+                        sendbatch();
+                    }
+                    batch.push(sendcode);
+                    batchlength += sendcode.length + FORM_SEPARATOR.length;
+                    continue;
+                }
+                sendbatch();    // Keep the forms in order
+                // sendcode is a string of all of the scheme code
+                sendcode = engine.chunker(sendcode);
+                // sendcode is now an array of strings, also scheme
+                // code, but guaranteed that each will fit in a
+                // webrtc message
+                sendcode.forEach(function(item) {
+                    console.log('Chunk: ' + item);
+                    webrtcdata.send(item);
+                });
+            }
+            sendbatch();
+        },
         'pollphone' : function() {
             // Let's ensure the queues exist
             if (!rs.phoneState.assetQueue) {
@@ -638,51 +731,11 @@ Blockly.ReplMgr.putYail = (function() {
                 if (!webrtcrunning) {
                     return;     // We are in the process of starting
                 }
-                // OK, let's send with webrtc!
-                // First let's drain the queue of pending asset updates
-                while ((work = rs.phoneState.assetQueue.shift())) {
-                    if (!work.block) {
-                        blockid = -1;
-                    } else {
-                        blockid = '"' + work.block.id + '"';
-                    }
-                    sendcode = "(begin (require <com.google.youngandroid.runtime>) (process-repl-input " +
-                        blockid + " (begin " + work.code + ")))";
-                    console.log(sendcode);
-                    // sendcode is a string of all of the scheme code
-                    sendcode = engine.chunker(sendcode);
-                    // sendcode is now an array of strings, also scheme
-                    // code, but guaranteed that each will fit in a
-                    // webrtc message
-                    sendcode.forEach(function(item) {
-                        console.log('Chunk: ' + item);
-                        webrtcdata.send(item);
-                    });
-                }
-                if (rs.state == Blockly.ReplMgr.rsState.CONNECTED) {
-                    while ((work = rs.phoneState.phoneQueue.shift())) {
-                        if (!work.block) {
-                            blockid = -1;
-                        } else {
-                            blockid = '"' + work.block.id + '"';
-                        }
-                        sendcode = "(begin (require <com.google.youngandroid.runtime>) (process-repl-input " +
-                            blockid + " (begin " + work.code + ")))";
-                        console.log(sendcode);
-                        // sendcode is a string of all of the scheme code
-                        sendcode = engine.chunker(sendcode);
-                        // sendcode is now an array of strings, also scheme
-                        // code, but guaranteed that each will fit in a
-                        // webrtc message
-                        if (!sentMacros) {
-                            webrtcdata.send(rs.android ? PROTECT_ENUM_ANDROID : PROTECT_ENUM_IOS);
-                            sentMacros = true;
-                        }
-                        sendcode.forEach(function(item) {
-                            console.log('Chunk: ' + item);
-                            webrtcdata.send(item);
-                        });
-                    }
+                // Forms queued by the same run of the event loop (for example all of the
+                // blocks of a screen) are sent together once it completes.
+                if (!webrtcflushpending) {
+                    webrtcflushpending = true;
+                    setTimeout(engine.webrtcflush, 0);
                 }
                 return;
             }
@@ -1155,12 +1208,62 @@ Blockly.ReplMgr.processRetvals = function(responses) {
             top.ConsolePanel_addLog(r.level, r.item);
             console.log("processRetVals: Log level = " + r.level);
             console.log("processRetVals: Log content = " + r.item);
+            break;
+        case "profile":
+            this.addProfile(r.value);
+            break;
         }
     }
     var handler = Blockly.common.getMainWorkspace().getWarningHandler();
     handler && handler.checkAllBlocksForWarningsAndErrors();
 };
 
+// Profiling: While the Companion's profiler is running, it sends the
+// time spent in, and memory allocated by, each block and event handler
+// once a second. The totals are accumulated in Blockly.ReplMgr.profile,
+// keyed by block id or by Component.Event for event handlers, and can be
+// printed with Blockly.ReplMgr.printProfile().
+
+Blockly.ReplMgr.profile = {};
+
+Blockly.ReplMgr.startProfiling = function() {
+    this.profile = {};
+    this.putYail("(com.google.appinventor.components.runtime.util.YailProfiler:start)");
+};
+
+Blockly.ReplMgr.stopProfiling = function() {
+    this.putYail("(com.google.appinventor.components.runtime.util.YailProfiler:stop)");
+};
+
+Blockly.ReplMgr.addProfile = function(entries) {
+    for (var i = 0; i < entries.length; i++) {
+        var entry = entries[i];
+        var total = this.profile[entry.key];
+        if (!total) {
+            total = this.profile[entry.key] = {count: 0, totalMs: 0, maxMs: 0, allocatedBytes: 0};
+        }
+        total.count += entry.count;
+        total.totalMs += entry.totalMs;
+        total.maxMs = Math.max(total.maxMs, entry.maxMs);
+        total.allocatedBytes += entry.allocatedBytes;
+    }
+};
+
+Blockly.ReplMgr.printProfile = function() {
+    var workspace = Blockly.common.getMainWorkspace();
+    var rows = [];
+    for (var key in this.profile) {
+        var block = workspace.getBlockById(key);
+        var row = Object.assign({key: key, block: block ? block.type : ""}, this.profile[key]);
+        rows.push(row);
+    }
+    rows.sort(function(a, b) {
+        return b.totalMs - a.totalMs;
+    });
+    console.table(rows);
+    return rows;
+};
+
 Blockly.ReplMgr.setDoitResult = function(block, value) {
     var oldPatt = /Do It Result:.*?\n---\n/m;
     var patt = new RegExp(Blockly.Msg.DO_IT_RESULT + '.*?\n---\n');
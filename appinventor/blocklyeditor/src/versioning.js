@@ -1564,7 +1564,10 @@ Blockly.Versioning.AllUpgradeMaps =
 
     // Adds Sensitivity dropdown block.
     5: Blockly.Versioning.makeSetterUseDropdown(
-          'AccelerometerSensor', 'Sensitivity', 'Sensitivity')
+          'AccelerometerSensor', 'Sensitivity', 'Sensitivity'),
+
+    // The BatchInterval and DroppedSamples properties and the SamplesReceived event were added.
+    6: "noUpgrade"
 
   }, // End Accelerometer upgraders
 
@@ -1688,7 +1691,12 @@ Blockly.Versioning.AllUpgradeMaps =
 
     // The BluetoothClient.NoLocationNeeded property was added.
     // No blocks need to be modified to upgrade to version 8.
-    8: "noUpgrade"
+    8: "noUpgrade",
+
+    // The StartReceivingFrames and StopReceivingFrames methods, the ReceivingFrames property and
+    // the FramesReceived event were added.
+    // No blocks need to be modified to upgrade to version 9.
+    9: "noUpgrade"
 
   }, // End BluetoothClient upgraders
 
@@ -1714,7 +1722,12 @@ Blockly.Versioning.AllUpgradeMaps =
 
     // The BluetoothServer.Secure property was added.
     // No blocks need to be modified to upgrade to version 5.
-    5: "noUpgrade"
+    5: "noUpgrade",
+
+    // The StartReceivingFrames and StopReceivingFrames methods, the ReceivingFrames property and
+    // the FramesReceived event were added.
+    // No blocks need to be modified to upgrade to version 6.
+    6: "noUpgrade"
 
   }, // End BluetoothServer upgraders
 
@@ -1845,7 +1858,11 @@ Blockly.Versioning.AllUpgradeMaps =
 
     // Assets helper block was added.
     15: Blockly.Versioning.makeSetterUseHelper(
-        'Canvas', 'BackgroundImage', Blockly.Versioning.tryReplaceBlockWithAssets)
+        'Canvas', 'BackgroundImage', Blockly.Versioning.tryReplaceBlockWithAssets),
+
+    // The FrameSynchronized and FrameTime properties were added.
+    // No blocks need to be modified to upgrade to version 16.
+    16: "noUpgrade"
 
   }, // End Canvas upgraders
 
@@ -1917,7 +1934,11 @@ Blockly.Versioning.AllUpgradeMaps =
     // This is initial version. Placeholder for future upgrades
     1: "noUpgrade",
     // UpdateDone event was added.
-    2: "noUpgrade"
+    2: "noUpgrade",
+    // StoreValues and GetValues methods and RoundTripTime property were added.
+    3: "noUpgrade",
+    // CacheValues property was added.
+    4: "noUpgrade"
 
   },
 
@@ -1948,6 +1969,9 @@ Blockly.Versioning.AllUpgradeMaps =
 
   "DataFile": {
 
+    // AI2: The FilterRows, SelectColumns, ColumnValues and AggregateColumn methods were added.
+    2: "noUpgrade"
+
   }, // End DataFile upgraders
 
 
@@ -2021,7 +2045,13 @@ Blockly.Versioning.AllUpgradeMaps =
 
     // AI2: The LegacyMode property was deprecated.
     // AI2: The DefaultScope and Scope properties were added.
-    4: "noUpgrade"
+    4: "noUpgrade",
+
+    // AI2: The ReadLines method and GotLines event were added.
+    5: "noUpgrade",
+
+    // AI2: The ReadCsvTable and SaveCsvTable methods and GotCsvTable event were added.
+    6: "noUpgrade"
 
   }, // End File upgraders
 
@@ -2064,7 +2094,10 @@ Blockly.Versioning.AllUpgradeMaps =
   "GyroscopeSensor": {
 
     // This is initial version. Placeholder for future upgrades
-    1: "noUpgrade"
+    1: "noUpgrade",
+
+    // The BatchInterval and DroppedSamples properties and the SamplesReceived event were added.
+    2: "noUpgrade"
 
   }, // End GyroscopeSensor upgraders
 
@@ -2806,7 +2839,10 @@ Blockly.Versioning.AllUpgradeMaps =
         changeFirstMatchingSocketBlockConnectorLabel(block, "yaw", "azimuth");
       }
     */
-    2: "ai1CantDoUpgrade" // Just indicates we couldn't do upgrade even if we wanted to
+    2: "ai1CantDoUpgrade", // Just indicates we couldn't do upgrade even if we wanted to
+
+    // The BatchInterval and DroppedSamples properties and the SamplesReceived event were added.
+    3: "noUpgrade"
 
   }, // End OrientationSensor upgraders
 
@@ -3178,8 +3214,11 @@ Blockly.Versioning.AllUpgradeMaps =
       Blockly.Versioning.changeEventParameterName("Spreadsheet", "GotColumnData", "colDataList", "columnData")
     ],
 
-    3: "noUpgrade"
-    
+    3: "noUpgrade",
+
+    // AI2: The CacheDuration property and the ClearCache method were added.
+    4: "noUpgrade"
+
   },
 
   "TableArrangement": {
@@ -3302,7 +3341,11 @@ Blockly.Versioning.AllUpgradeMaps =
     2: "noUpgrade",
 
     //Added blocks GetEntries
-    3: "noUpgrade"
+    3: "noUpgrade",
+
+    // AI2: Added Storage property and blocks StoreValues, GetValues, BeginTransaction,
+    // CommitTransaction and RollbackTransaction
+    4: "noUpgrade"
 
   }, // End TinyDB upgraders
 
@@ -3484,7 +3527,10 @@ Blockly.Versioning.AllUpgradeMaps =
     8: "noUpgrade",
 
     // AI2: Added ResponseTextEncoding property
-    9: "noUpgrade"
+    9: "noUpgrade",
+
+    // AI2: Added CacheResponses property
+    10: "noUpgrade"
 
   }, // End Web upgraders
 
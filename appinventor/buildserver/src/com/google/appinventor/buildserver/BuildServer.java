@@ -6,6 +6,7 @@
 
 package com.google.appinventor.buildserver;
 
+import com.google.appinventor.buildserver.context.ComponentRegistry;
 import com.google.appinventor.buildserver.stats.SimpleStatReporter;
 import com.google.appinventor.buildserver.stats.StatCalculator;
 import com.google.appinventor.buildserver.stats.StatCalculator.Stats;
@@ -864,6 +865,9 @@ public class BuildServer {
         }
       });
 
+    // Load the component descriptions shared by all builds before accepting any.
+    ComponentRegistry.getInstance();
+
     // Now that the command line options have been processed, we can create the buildExecutor.
     AndroidBuildFactory.install();
     if (commandLineOptions.ios) {
@@ -10,8 +10,12 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.appinventor.components.common.FileScope;
 import com.google.appinventor.components.common.Permission;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -88,28 +92,7 @@ public class FormPropertiesAnalyzer {
    * Returns the Set of component types used in the given form file source.
    */
   public static Set<String> getComponentTypesFromFormFile(String source) {
-    Set<String> componentTypes = new HashSet<String>();
-    JSONObject propertiesObject = parseSourceFile(source);
-    try {
-      collectComponentTypes(propertiesObject.getJSONObject("Properties"), componentTypes);
-    } catch (JSONException e) {
-      throw new IllegalArgumentException("Unable to parse file - invalid $JSON section syntax");
-    }
-    return componentTypes;
-  }
-
-  private static void collectComponentTypes(JSONObject componentProperties,
-      Set<String> componentTypes) throws JSONException {
-    String componentType = componentProperties.getString("$Type");
-    componentTypes.add(componentType);
-
-    // Recursive call to collect nested components.
-    if (componentProperties.has("$Components")) {
-      JSONArray components = componentProperties.getJSONArray("$Components");
-      for (int i = 0; i < components.length(); i++) {
-        collectComponentTypes(components.getJSONObject(i), componentTypes);
-      }
-    }
+    return analyzeFormFile(source).getComponentTypes();
   }
 
   /**
@@ -122,17 +105,31 @@ public class FormPropertiesAnalyzer {
    * @return A mapping of component type names to sets of blocks used
    */
   public static Map<String, Set<String>> getComponentBlocksFromSchemeFile(String source) {
-    Map<String, Set<String>> result = new HashMap<>();
+    return analyzeFormFile(source).getComponentProperties();
+  }
+
+  /**
+   * Parses a Form's Scheme (.scm) file once and collects everything the build needs from it:
+   * the component types, the designer properties set on each type, and the screen orientation.
+   *
+   * @param source Source contents of the Scheme file
+   * @return the analysis of the form
+   */
+  public static FormAnalysis analyzeFormFile(String source) {
     JSONObject propertiesObject = parseSourceFile(source);
+    FormAnalysis analysis = new FormAnalysis();
     try {
+      JSONObject formProperties = propertiesObject.getJSONObject("Properties");
+      analysis.orientation = formProperties.optString("ScreenOrientation", "unspecified");
       Queue<JSONObject> toProcess = new LinkedList<JSONObject>();
-      toProcess.add(propertiesObject.getJSONObject("Properties"));
+      toProcess.add(formProperties);
       while ((propertiesObject = toProcess.poll()) != null) {
         String type = propertiesObject.getString("$Type");
-        if (!result.containsKey(type)) {
-          result.put(type, new HashSet<String>());
+        Set<String> typeProps = analysis.componentProperties.get(type);
+        if (typeProps == null) {
+          typeProps = new HashSet<String>();
+          analysis.componentProperties.put(type, typeProps);
         }
-        Set<String> typeProps = result.get(type);
         Iterator<String> it = propertiesObject.keys();
         while (it.hasNext()) {
           String key = it.next();
@@ -150,7 +147,39 @@ public class FormPropertiesAnalyzer {
     } catch (JSONException e) {
       throw new IllegalArgumentException("Unable to parse file - invalid $JSON section syntax");
     }
-    return result;
+    return analysis;
+  }
+
+  /**
+   * The result of {@link #analyzeFormFile(String)}.
+   */
+  public static class FormAnalysis {
+    private final Map<String, Set<String>> componentProperties = new HashMap<>();
+    private String orientation;
+
+    private FormAnalysis() {
+    }
+
+    /**
+     * Returns the Set of component types used in the form.
+     */
+    public Set<String> getComponentTypes() {
+      return componentProperties.keySet();
+    }
+
+    /**
+     * Returns a mapping of component type names to the properties set on them in the designer.
+     */
+    public Map<String, Set<String>> getComponentProperties() {
+      return componentProperties;
+    }
+
+    /**
+     * Returns the orientation of the screen, or {@code "unspecified"} if it is not set.
+     */
+    public String getOrientation() {
+      return orientation;
+    }
   }
 
   /**
@@ -401,6 +430,30 @@ public class FormPropertiesAnalyzer {
     if (source.isEmpty()) {
       return;  // Empty blocks file, so nothing to do.
     }
+    analyzeBlocks(new InputSource(new StringReader(source)), analyzers);
+  }
+
+  /**
+   * Runs the given analyzers over a Blockly (.bky) file in a single pass. The file is streamed
+   * through the XML parser rather than read into memory first.
+   *
+   * @param bkyFile the Blockly (XML) file
+   * @throws IOException if the file cannot be read
+   * @see #analyzeBlocks(String, ContentHandler...)
+   */
+  public static void analyzeBlocks(File bkyFile, final ContentHandler... analyzers)
+      throws IOException {
+    if (bkyFile.length() == 0) {
+      return;  // Empty blocks file, so nothing to do.
+    }
+    try (InputStream in = new BufferedInputStream(new FileInputStream(bkyFile))) {
+      InputSource source = new InputSource(in);
+      source.setEncoding(UTF_8.name());
+      analyzeBlocks(source, analyzers);
+    }
+  }
+
+  private static void analyzeBlocks(InputSource source, final ContentHandler... analyzers) {
     try {
       XMLReader reader = XMLReaderFactory.createXMLReader();
       reader.setContentHandler(new DefaultHandler() {
@@ -429,7 +482,7 @@ public class FormPropertiesAnalyzer {
           super.endElement(uri, localName, qname);
         }
       });
-      reader.parse(new InputSource(new ByteArrayInputStream(source.getBytes(UTF_8))));
+      reader.parse(source);
     } catch (SAXException | IOException e) {
       throw new IllegalStateException(e);
     }
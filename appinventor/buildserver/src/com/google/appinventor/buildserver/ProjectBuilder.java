@@ -6,7 +6,6 @@
 
 package com.google.appinventor.buildserver;
 
-import static com.google.appinventor.buildserver.context.Resources.RUNTIME_FILES_DIR;
 import static com.google.appinventor.common.constants.YoungAndroidStructureConstants.BLOCKLY_SOURCE_EXTENSION;
 import static com.google.appinventor.common.constants.YoungAndroidStructureConstants.FORM_PROPERTIES_EXTENSION;
 import static com.google.appinventor.common.constants.YoungAndroidStructureConstants.PROJECT_DIRECTORY;
@@ -15,9 +14,11 @@ import static com.google.appinventor.common.constants.YoungAndroidStructureConst
 
 import com.google.appinventor.buildserver.FormPropertiesAnalyzer.BlockXmlAnalyzer;
 import com.google.appinventor.buildserver.FormPropertiesAnalyzer.ComponentBlocksExtractor;
+import com.google.appinventor.buildserver.FormPropertiesAnalyzer.FormAnalysis;
 import com.google.appinventor.buildserver.FormPropertiesAnalyzer.PermissionBlockExtractor;
 import com.google.appinventor.buildserver.FormPropertiesAnalyzer.ScopeBlockExtractor;
 import com.google.appinventor.buildserver.context.CompilerContext;
+import com.google.appinventor.buildserver.context.ComponentRegistry;
 import com.google.appinventor.buildserver.context.Paths;
 import com.google.appinventor.buildserver.interfaces.BuildType;
 import com.google.appinventor.buildserver.stats.StatReporter;
@@ -87,8 +88,6 @@ public final class ProjectBuilder {
   // They should probably be in some place shared with the server
   private static final String KEYSTORE_FILE_NAME = YoungAndroidConstants.PROJECT_KEYSTORE_LOCATION;
 
-  private static final String ALL_COMPONENT_TYPES = RUNTIME_FILES_DIR + "simple_components.txt";
-
   public File getOutputApk() {
     return outputApk;
   }
@@ -148,21 +147,23 @@ public final class ProjectBuilder {
           throw new IOException("Unable to create build dir");
         }
 
-        Set<String> componentTypes = getComponentTypes(sourceFiles, project.getAssetsDirectory());
+        Set<String> componentTypes = Sets.newHashSet();
+        Map<String, Set<String>> componentProperties = new HashMap<>();
+        Map<String, String> formOrientations = new HashMap<>();
+        ComponentBlocksExtractor componentBlocksExtractor = new ComponentBlocksExtractor();
+        PermissionBlockExtractor permissionBlockExtractor = new PermissionBlockExtractor();
+        ScopeBlockExtractor scopeBlockExtractor = new ScopeBlockExtractor();
+        analyzeSourceFiles(sourceFiles, createNameTypeMap(project.getAssetsDirectory()),
+            componentTypes, componentProperties, formOrientations,
+            componentBlocksExtractor, permissionBlockExtractor, scopeBlockExtractor);
         if (isForCompanion) {
-          componentTypes.addAll(getAllComponentTypes());
+          componentTypes.addAll(ComponentRegistry.getInstance().getAllComponentTypes());
         }
         if (extraExtensions != null) {
           System.err.println("Including extension: " + Arrays.toString(extraExtensions));
           Collections.addAll(componentTypes, extraExtensions);
         }
-        ComponentBlocksExtractor componentBlocksExtractor = new ComponentBlocksExtractor();
-        PermissionBlockExtractor permissionBlockExtractor = new PermissionBlockExtractor();
-        ScopeBlockExtractor scopeBlockExtractor = new ScopeBlockExtractor();
-        analyzeBlockFiles(sourceFiles, componentBlocksExtractor, permissionBlockExtractor,
-            scopeBlockExtractor);
         Map<String, Set<String>> componentBlocks = componentBlocksExtractor.getResult();
-        Map<String, Set<String>> componentProperties = getComponentDesignerProperties(sourceFiles);
         mergeMaps(componentBlocks, componentProperties);
         Set<String> extraPermissions = permissionBlockExtractor.getResult();
         Set<String> usedScopes = scopeBlockExtractor.getResult();
@@ -183,7 +184,6 @@ public final class ProjectBuilder {
               break;
           }
         }
-        Map<String, String> formOrientations = getScreenOrientations(sourceFiles);
 
         // Generate the compiler context
         Reporter r = new Reporter(reporter);
@@ -253,90 +253,40 @@ public final class ProjectBuilder {
     }
   }
 
-  private static Set<String> getAllComponentTypes() throws IOException {
-    Set<String> compSet = Sets.newHashSet();
-    String[] components = Resources.toString(
-        ProjectBuilder.class.getResource(ALL_COMPONENT_TYPES), Charsets.UTF_8).split("\n");
-    for (String component : components) {
-      compSet.add(component);
-    }
-    return compSet;
-  }
-
-  private static Map<String, String> getScreenOrientations(List<String> files)
-      throws IOException, JSONException {
-    Map<String, String> result = new HashMap<>();
-    final int extLength = FORM_PROPERTIES_EXTENSION.length();
-    for (String f : files) {
-      if (f.endsWith(FORM_PROPERTIES_EXTENSION)) {
-        File scmFile = new File(f);
-        String scmContent = new String(Files.toByteArray(scmFile),
-            StandardCharsets.UTF_8);
-        String formName = f.substring(f.lastIndexOf(SEPARATOR) + 1, f.length() - extLength);
-        result.put(formName, FormPropertiesAnalyzer.getFormOrientation(scmContent));
-      }
-    }
-    return result;
-  }
-
-  private static Set<String> getComponentTypes(List<String> files, File assetsDir)
-      throws IOException, JSONException {
-    Map<String, String> nameTypeMap = createNameTypeMap(assetsDir);
-
-    Set<String> componentTypes = Sets.newHashSet();
-    for (String f : files) {
-      if (f.endsWith(FORM_PROPERTIES_EXTENSION)) {
-        File scmFile = new File(f);
-        String scmContent = new String(Files.toByteArray(scmFile),
-            PathUtil.DEFAULT_CHARSET);
-        for (String compName : getTypesFromScm(scmContent)) {
-          componentTypes.add(nameTypeMap.get(compName));
-        }
-      }
-    }
-    return componentTypes;
-  }
-
-  private static void analyzeBlockFiles(List<String> files, BlockXmlAnalyzer<?>... analyzers)
-      throws IOException {
-    for (String f : files) {
-      if (f.endsWith(BLOCKLY_SOURCE_EXTENSION)) {
-        File bkyFile = new File(f);
-        String bkyContent = Files.toString(bkyFile, StandardCharsets.UTF_8);
-        FormPropertiesAnalyzer.analyzeBlocks(bkyContent, analyzers);
-      }
-    }
-  }
-
   /**
-   * Constructs a mapping of component types to the blocks of each type used in
-   * the project files. Properties specified in the designer are considered
-   * blocks for the purposes of this operation.
+   * Analyzes the project's source files in a single pass. Each .scm file is parsed once to
+   * collect its component types, designer properties and screen orientation, and each .bky file
+   * is streamed once through all of the given block analyzers.
    *
    * @param files A list of files contained in the project.
-   * @return A mapping of component type names to sets of block names used in
-   *         the project
+   * @param nameTypeMap the mapping from component names to component types
+   * @param componentTypes receives the types of the components used in the project
+   * @param componentProperties receives a mapping of component type names to the properties
+   *                            specified in the designer
+   * @param formOrientations receives a mapping of form names to screen orientations
+   * @param analyzers the analyzers to run over the blocks files
    * @throws IOException if any of the files named in {@code files} cannot be
    *                     read
    */
-  private static Map<String, Set<String>> getComponentDesignerProperties(List<String> files)
+  private static void analyzeSourceFiles(List<String> files, Map<String, String> nameTypeMap,
+      Set<String> componentTypes, Map<String, Set<String>> componentProperties,
+      Map<String, String> formOrientations, BlockXmlAnalyzer<?>... analyzers)
       throws IOException {
-    Map<String, Set<String>> result = new HashMap<>();
+    final int extLength = FORM_PROPERTIES_EXTENSION.length();
     for (String f : files) {
       if (f.endsWith(FORM_PROPERTIES_EXTENSION)) {
-        File scmFile = new File(f);
-        String scmContent = Files.toString(scmFile, StandardCharsets.UTF_8);
-        for (Map.Entry<String, Set<String>> entry :
-            FormPropertiesAnalyzer.getComponentBlocksFromSchemeFile(scmContent).entrySet()) {
-          if (result.containsKey(entry.getKey())) {
-            result.get(entry.getKey()).addAll(entry.getValue());
-          } else {
-            result.put(entry.getKey(), entry.getValue());
-          }
+        String scmContent = Files.toString(new File(f), StandardCharsets.UTF_8);
+        FormAnalysis analysis = FormPropertiesAnalyzer.analyzeFormFile(scmContent);
+        for (String compName : analysis.getComponentTypes()) {
+          componentTypes.add(nameTypeMap.get(compName));
         }
+        mergeMaps(componentProperties, analysis.getComponentProperties());
+        String formName = f.substring(f.lastIndexOf(SEPARATOR) + 1, f.length() - extLength);
+        formOrientations.put(formName, analysis.getOrientation());
+      } else if (f.endsWith(BLOCKLY_SOURCE_EXTENSION)) {
+        FormPropertiesAnalyzer.analyzeBlocks(new File(f), analyzers);
       }
     }
-    return result;
   }
 
   /**
@@ -349,15 +299,8 @@ public final class ProjectBuilder {
    */
   private static Map<String, String> createNameTypeMap(File assetsDir)
       throws IOException, JSONException {
-    Map<String, String> nameTypeMap = Maps.newHashMap();
-
-    JSONArray simpleCompsJson = new JSONArray(Resources.toString(ProjectBuilder.
-        class.getResource("/files/simple_components.json"), Charsets.UTF_8));
-    for (int i = 0; i < simpleCompsJson.length(); ++i) {
-      JSONObject simpleCompJson = simpleCompsJson.getJSONObject(i);
-      nameTypeMap.put(simpleCompJson.getString("name"),
-          simpleCompJson.getString("type"));
-    }
+    Map<String, String> nameTypeMap = Maps.newHashMap(
+        ComponentRegistry.getInstance().getNameTypeMap());
 
     File extCompsDir = new File(assetsDir, "external_comps");
     if (!extCompsDir.exists()) {
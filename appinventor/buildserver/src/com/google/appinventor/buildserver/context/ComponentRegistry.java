@@ -0,0 +1,198 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.buildserver.context;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Logger;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.codehaus.jettison.json.JSONTokener;
+
+/**
+ * The process-wide registry of component metadata used by builds. The descriptions of the
+ * built-in components ({@code simple_components.json}, {@code simple_components.txt} and
+ * {@code simple_components_build_info.json}) are parsed once and indexed, rather than once per
+ * build. The build info of extensions is cached by the hash of its content, so that an extension
+ * used by many projects is only parsed the first time it is seen.
+ *
+ * <p>The JSON objects handed out by the registry are shared between concurrent builds and must
+ * not be modified.
+ */
+public final class ComponentRegistry {
+  private static final Logger LOG = Logger.getLogger(ComponentRegistry.class.getName());
+
+  private static final String SIMPLE_COMPONENTS = Resources.RUNTIME_FILES_DIR
+      + "simple_components.json";
+  private static final String SIMPLE_COMPONENT_TYPES = Resources.RUNTIME_FILES_DIR
+      + "simple_components.txt";
+  private static final String SIMPLE_COMPONENTS_BUILD_INFO = Resources.RUNTIME_FILES_DIR
+      + "simple_components_build_info.json";
+
+  // The number of distinct extension build info files kept in the cache.
+  private static final int MAX_CACHED_EXTENSIONS = 256;
+
+  private static ComponentRegistry instance;
+
+  private final Map<String, String> nameTypeMap;
+  private final Set<String> allComponentTypes;
+  private final JSONArray simpleCompsBuildInfo;
+  private final Map<String, JSONObject> buildInfoByType;
+
+  // Parsed extension build infos, keyed by the hash of the file content. Guarded by itself.
+  private final Map<String, List<JSONObject>> extensionBuildInfos =
+      new LinkedHashMap<String, List<JSONObject>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<JSONObject>> eldest) {
+          return size() > MAX_CACHED_EXTENSIONS;
+        }
+      };
+
+  private ComponentRegistry() throws IOException, JSONException {
+    ImmutableMap.Builder<String, String> names = ImmutableMap.builder();
+    JSONArray simpleComps = new JSONArray(readResource(SIMPLE_COMPONENTS));
+    for (int i = 0; i < simpleComps.length(); i++) {
+      JSONObject simpleComp = simpleComps.getJSONObject(i);
+      names.put(simpleComp.getString("name"), simpleComp.getString("type"));
+    }
+    nameTypeMap = names.build();
+
+    allComponentTypes = ImmutableSet.copyOf(readResource(SIMPLE_COMPONENT_TYPES).split("\n"));
+
+    simpleCompsBuildInfo = new JSONArray(readResource(SIMPLE_COMPONENTS_BUILD_INFO));
+    ImmutableMap.Builder<String, JSONObject> byType = ImmutableMap.builder();
+    for (int i = 0; i < simpleCompsBuildInfo.length(); i++) {
+      JSONObject comp = simpleCompsBuildInfo.getJSONObject(i);
+      byType.put(comp.getString("type"), comp);
+    }
+    buildInfoByType = byType.build();
+  }
+
+  /**
+   * Gets the registry, loading it if this is the first use. The build server loads the registry
+   * when it starts so that the first build does not pay for it.
+   *
+   * @return the component registry
+   * @throws IllegalStateException if the component descriptions cannot be loaded
+   */
+  public static synchronized ComponentRegistry getInstance() {
+    if (instance == null) {
+      long start = System.currentTimeMillis();
+      try {
+        instance = new ComponentRegistry();
+      } catch (IOException | JSONException e) {
+        throw new IllegalStateException("Unable to load the component descriptions", e);
+      }
+      LOG.info("Loaded " + instance.buildInfoByType.size() + " component descriptions in "
+          + (System.currentTimeMillis() - start) + " ms");
+    }
+    return instance;
+  }
+
+  /**
+   * Gets the mapping from the names of the built-in components, as used in .scm files, to their
+   * fully qualified types.
+   *
+   * @return an unmodifiable map from component name to type
+   */
+  public Map<String, String> getNameTypeMap() {
+    return nameTypeMap;
+  }
+
+  /**
+   * Gets the types of all built-in components, as needed by the companion.
+   *
+   * @return an unmodifiable set of fully qualified component types
+   */
+  public Set<String> getAllComponentTypes() {
+    return allComponentTypes;
+  }
+
+  /**
+   * Gets the types of the built-in components that have build info.
+   *
+   * @return an unmodifiable set of fully qualified component types
+   */
+  public Set<String> getBuildInfoTypes() {
+    return buildInfoByType.keySet();
+  }
+
+  /**
+   * Gets the build info of all built-in components, in the order of
+   * {@code simple_components_build_info.json}. The array is shared and must not be modified.
+   *
+   * @return the build info of the built-in components
+   */
+  public JSONArray getSimpleCompsBuildInfo() {
+    return simpleCompsBuildInfo;
+  }
+
+  /**
+   * Gets the build info of the built-in component with the given type.
+   *
+   * @param type the fully qualified component type
+   * @return the build info, or {@code null} if there is no built-in component with that type
+   */
+  public JSONObject getBuildInfo(String type) {
+    return buildInfoByType.get(type);
+  }
+
+  /**
+   * Gets the build info entries in an extension's {@code component_build_info.json} or
+   * {@code component_build_infos.json} file. The file is only parsed if no file with the same
+   * content has been read before.
+   *
+   * @param jsonFile the extension's build info file
+   * @return an unmodifiable list of the build info of each component in the file
+   * @throws IOException if the file cannot be read
+   * @throws JSONException if the file does not contain valid JSON
+   */
+  public List<JSONObject> getExtensionBuildInfo(File jsonFile) throws IOException, JSONException {
+    byte[] content = Files.toByteArray(jsonFile);
+    String hash = Hashing.sha1().hashBytes(content).toString();
+    synchronized (extensionBuildInfos) {
+      List<JSONObject> infos = extensionBuildInfos.get(hash);
+      if (infos != null) {
+        return infos;
+      }
+    }
+
+    ImmutableList.Builder<JSONObject> builder = ImmutableList.builder();
+    Object value = new JSONTokener(new String(content, Charsets.UTF_8)).nextValue();
+    if (value instanceof JSONObject) {
+      builder.add((JSONObject) value);
+    } else if (value instanceof JSONArray) {
+      JSONArray array = (JSONArray) value;
+      for (int i = 0; i < array.length(); i++) {
+        builder.add(array.getJSONObject(i));
+      }
+    }
+    List<JSONObject> infos = builder.build();
+    synchronized (extensionBuildInfos) {
+      extensionBuildInfos.put(hash, infos);
+    }
+    return infos;
+  }
+
+  private static String readResource(String path) throws IOException {
+    URL url = Objects.requireNonNull(ComponentRegistry.class.getResource(path),
+        "Missing resource " + path);
+    return com.google.common.io.Resources.toString(url, Charsets.UTF_8);
+  }
+}
@@ -3558,6 +3558,18 @@ Dictionary implementation.
 ;; However, if an exception occurs, this code sends back an error message
 ;; to the Do It block. (Someday, it might go to the offending block.)
 
+;; force-profiled forces the promise for a block. While the Companion's
+;; profiler is running, the time spent and the memory allocated are
+;; added to the totals for the block.
+(define (force-profiled blockid promise)
+  (let ((sample (com.google.appinventor.components.runtime.util.YailProfiler:begin)))
+    (if (eq? sample #!null)
+        (force promise)
+        (try-finally
+         (force promise)
+         (com.google.appinventor.components.runtime.util.YailProfiler:end
+          sample (if (string? blockid) blockid (number->string blockid)))))))
+
 (define (in-ui blockid promise)
   (set! *this-is-the-repl* #t)          ;; Should do this somewhere else...
   (*ui-handler*:post
@@ -3566,7 +3578,7 @@ Dictionary implementation.
                 (try-catch
                  (try-catch
                   (list "OK"
-                        (get-display-representation (force promise)))
+                        (get-display-representation (force-profiled blockid promise)))
                   (exception StopBlocksExecution
                              (list "OK" #f))
                   (exception PermissionException
@@ -428,9 +428,22 @@ public class LoadComponentInfo implements CommonTask {
 
   private boolean loadJsonInfo() {
     try {
-      context.setBuildInfo(new JSONArray(
-          "[" + context.getSimpleCompsBuildInfo().join(",") + ","
-              + context.getExtCompsBuildInfo().join(",") + "]"));
+      // Only the built-in components used by the project are needed. The entries are shared with
+      // other builds, so they are referenced rather than copied.
+      final Set<String> simpleCompTypes = context.getSimpleCompTypes();
+      final JSONArray simpleCompsBuildInfo = context.getSimpleCompsBuildInfo();
+      final JSONArray extCompsBuildInfo = context.getExtCompsBuildInfo();
+      JSONArray buildInfo = new JSONArray();
+      for (int i = 0; i < simpleCompsBuildInfo.length(); i++) {
+        JSONObject compJson = simpleCompsBuildInfo.getJSONObject(i);
+        if (simpleCompTypes.contains(compJson.getString("type"))) {
+          buildInfo.put(compJson);
+        }
+      }
+      for (int i = 0; i < extCompsBuildInfo.length(); i++) {
+        buildInfo.put(extCompsBuildInfo.getJSONObject(i));
+      }
+      context.setBuildInfo(buildInfo);
       return true;
     } catch (JSONException e) {
       e.printStackTrace();
@@ -9,9 +9,9 @@ import com.google.appinventor.buildserver.interfaces.BuildType;
 import com.google.appinventor.buildserver.Compiler;
 import com.google.appinventor.buildserver.TaskResult;
 import com.google.appinventor.buildserver.context.CompilerContext;
+import com.google.appinventor.buildserver.context.ComponentRegistry;
 import com.google.appinventor.buildserver.interfaces.CommonTask;
 import com.google.appinventor.buildserver.util.ExecutorUtils;
-import com.google.common.base.Charsets;
 import com.google.common.collect.Sets;
 import java.io.BufferedReader;
 import java.io.File;
@@ -25,7 +25,6 @@ import java.util.Set;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
-import org.codehaus.jettison.json.JSONTokener;
 
 /**
  * ReadBuildInfo sets up an initial state for Android builds.
@@ -68,30 +67,20 @@ public class ReadBuildInfo implements CommonTask {
     }
     context.getResources().setSupportJars(jars.toArray(new String[0]));
 
-    try {
-      JSONArray buildInfo = new JSONArray(context.getResources().getCompBuildInfo());
-
-      Set<String> allSimpleTypes = Sets.newHashSet();
-      for (int i = 0; i < buildInfo.length(); ++i) {
-        JSONObject comp = buildInfo.getJSONObject(i);
-        allSimpleTypes.add(comp.getString("type"));
-      }
+    // The built-in component descriptions are parsed once per server rather than per build.
+    final ComponentRegistry registry = ComponentRegistry.getInstance();
+    Set<String> allSimpleTypes = registry.getBuildInfoTypes();
 
-      HashSet<String> simpleCompTypes = Sets.newHashSet(context.getCompTypes());
-      simpleCompTypes.retainAll(allSimpleTypes);
-      context.setSimpleCompTypes(simpleCompTypes);
+    HashSet<String> simpleCompTypes = Sets.newHashSet(context.getCompTypes());
+    simpleCompTypes.retainAll(allSimpleTypes);
+    context.setSimpleCompTypes(simpleCompTypes);
 
-      HashSet<String> extCompTypes = Sets.newHashSet(context.getCompTypes());
-      extCompTypes.removeAll(allSimpleTypes);
-      context.setExtCompTypes(extCompTypes);
-    } catch (JSONException e) {
-      e.printStackTrace();
-      return TaskResult.generateError(e);
-    }
+    HashSet<String> extCompTypes = Sets.newHashSet(context.getCompTypes());
+    extCompTypes.removeAll(allSimpleTypes);
+    context.setExtCompTypes(extCompTypes);
 
     try {
-      JSONArray simpleCompsBuildInfo = new JSONArray(context.getResources().getCompBuildInfo());
-      context.setSimpleCompsBuildInfo(simpleCompsBuildInfo);
+      context.setSimpleCompsBuildInfo(registry.getSimpleCompsBuildInfo());
 
       JSONArray extCompsBuildInfo = new JSONArray();
       Set<String> readComponentInfos = new HashSet<String>();
@@ -121,20 +110,10 @@ public class ReadBuildInfo implements CommonTask {
           continue;  // already read the build infos for this type (bundle extension)
         }
 
-        String buildInfo = com.google.common.io.Resources.toString(jsonFile.toURI().toURL(),
-            Charsets.UTF_8);
-        JSONTokener tokener = new JSONTokener(buildInfo);
-        Object value = tokener.nextValue();
-        if (value instanceof JSONObject) {
-          extCompsBuildInfo.put(value);
-          readComponentInfos.add(jsonFile.getAbsolutePath());
-        } else if (value instanceof JSONArray) {
-          JSONArray infos = (JSONArray) value;
-          for (int i = 0; i < infos.length(); i++) {
-            extCompsBuildInfo.put(infos.getJSONObject(i));
-          }
-          readComponentInfos.add(jsonFile.getAbsolutePath());
+        for (JSONObject info : registry.getExtensionBuildInfo(jsonFile)) {
+          extCompsBuildInfo.put(info);
         }
+        readComponentInfos.add(jsonFile.getAbsolutePath());
       }
       context.setExtCompsBuildInfo(extCompsBuildInfo);
     } catch (JSONException | IOException e) {
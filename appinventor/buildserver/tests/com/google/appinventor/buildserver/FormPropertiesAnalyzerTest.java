@@ -5,12 +5,21 @@
 
 package com.google.appinventor.buildserver;
 
+import com.google.appinventor.buildserver.FormPropertiesAnalyzer.ComponentBlocksExtractor;
+import com.google.appinventor.buildserver.FormPropertiesAnalyzer.FormAnalysis;
+import com.google.appinventor.buildserver.FormPropertiesAnalyzer.PermissionBlockExtractor;
+import com.google.common.io.Files;
 import org.codehaus.jettison.json.JSONObject;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -19,6 +28,20 @@ public class FormPropertiesAnalyzerTest {
   private static final String TEST_DATA =
       "#|\n$JSON\n{\"Properties\":{\"$Type\":\"Form\",\"$Components\":[]}}\n|#\n";
 
+  private static final String NESTED_DATA = "#|\n$JSON\n{\"Properties\":{\"$Type\":\"Form\","
+      + "\"ScreenOrientation\":\"portrait\",\"Title\":\"Screen1\",\"$Components\":["
+      + "{\"$Type\":\"HorizontalArrangement\",\"$Components\":["
+      + "{\"$Type\":\"Button\",\"Text\":\"A\"}]},"
+      + "{\"$Type\":\"Button\",\"Width\":\"-2\"}]}}\n|#\n";
+
+  private static final String BLOCKS_DATA = "<xml xmlns=\"http://www.w3.org/1999/xhtml\">"
+      + "<block type=\"component_event\"><mutation component_type=\"Button\" "
+      + "event_name=\"Click\"></mutation><statement name=\"DO\">"
+      + "<block type=\"helpers_dropdown\"><mutation key=\"Permission\"></mutation>"
+      + "<field name=\"OP\">Camera</field></block></statement></block>"
+      + "<block type=\"component_method\" disabled=\"true\"><mutation component_type=\"Sound\" "
+      + "method_name=\"Play\"></mutation></block></xml>";
+
   @Test
   public void testParseSourceFileValid() {
     JSONObject data = FormPropertiesAnalyzer.parseSourceFile(TEST_DATA);
@@ -57,4 +80,54 @@ public class FormPropertiesAnalyzerTest {
   public void testGetComponentTypesFromFormFileThrows() {
     FormPropertiesAnalyzer.getComponentTypesFromFormFile("#|\n$JSON\n{}\n|$\n");
   }
+
+  @Test
+  public void testAnalyzeFormFile() {
+    FormAnalysis analysis = FormPropertiesAnalyzer.analyzeFormFile(NESTED_DATA);
+    assertEquals(3, analysis.getComponentTypes().size());
+    assertTrue(analysis.getComponentTypes().contains("HorizontalArrangement"));
+    assertEquals("portrait", analysis.getOrientation());
+    Map<String, Set<String>> properties = analysis.getComponentProperties();
+    assertTrue(properties.get("Form").contains("Title"));
+    assertFalse(properties.get("Form").contains("$Components"));
+    assertEquals(2, properties.get("Button").size());
+    assertTrue(properties.get("HorizontalArrangement").isEmpty());
+    assertEquals(properties, FormPropertiesAnalyzer.getComponentBlocksFromSchemeFile(NESTED_DATA));
+  }
+
+  @Test
+  public void testAnalyzeFormFileDefaultOrientation() {
+    assertEquals("unspecified", FormPropertiesAnalyzer.analyzeFormFile(TEST_DATA).getOrientation());
+  }
+
+  @Test
+  public void testAnalyzeBlocksFileMatchesString() throws IOException {
+    File bky = File.createTempFile("Screen1", ".bky");
+    try {
+      Files.write(BLOCKS_DATA, bky, StandardCharsets.UTF_8);
+      ComponentBlocksExtractor fromFile = new ComponentBlocksExtractor();
+      PermissionBlockExtractor permissions = new PermissionBlockExtractor();
+      FormPropertiesAnalyzer.analyzeBlocks(bky, fromFile, permissions);
+      ComponentBlocksExtractor fromString = new ComponentBlocksExtractor();
+      FormPropertiesAnalyzer.analyzeBlocks(BLOCKS_DATA, fromString);
+      assertEquals(fromString.getResult(), fromFile.getResult());
+      assertEquals(1, fromFile.getResult().size());
+      assertTrue(fromFile.getResult().get("Button").contains("Click"));
+      assertTrue(permissions.getResult().contains("android.permission.CAMERA"));
+    } finally {
+      bky.delete();
+    }
+  }
+
+  @Test
+  public void testAnalyzeBlocksEmptyFile() throws IOException {
+    File bky = File.createTempFile("Screen1", ".bky");
+    try {
+      ComponentBlocksExtractor extractor = new ComponentBlocksExtractor();
+      FormPropertiesAnalyzer.analyzeBlocks(bky, extractor);
+      assertTrue(extractor.getResult().isEmpty());
+    } finally {
+      bky.delete();
+    }
+  }
 }
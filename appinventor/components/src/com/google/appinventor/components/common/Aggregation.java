@@ -0,0 +1,44 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines how the DataFile component combines the values of a column into one number.
+ */
+public enum Aggregation implements OptionList<String> {
+  // The number of values that are not empty.
+  Count("count"),
+  @Default
+  Sum("sum"),
+  Average("average"),
+  Minimum("minimum"),
+  Maximum("maximum");
+
+  private static final Map<String, Aggregation> lookup = new HashMap<>();
+
+  static {
+    for (Aggregation aggregation : Aggregation.values()) {
+      lookup.put(aggregation.toUnderlyingValue(), aggregation);
+    }
+  }
+
+  private final String value;
+
+  Aggregation(String value) {
+    this.value = value;
+  }
+
+  public String toUnderlyingValue() {
+    return value;
+  }
+
+  public static Aggregation fromUnderlyingValue(String aggregation) {
+    return lookup.get(aggregation);
+  }
+}
@@ -0,0 +1,69 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines how the DataFile component compares the values of a column with a given value.
+ */
+public enum Comparison implements OptionList<String> {
+  @Default
+  Equal("="),
+  NotEqual("!="),
+  LessThan("<"),
+  LessThanOrEqual("<="),
+  GreaterThan(">"),
+  GreaterThanOrEqual(">=");
+
+  private static final Map<String, Comparison> lookup = new HashMap<>();
+
+  static {
+    for (Comparison comparison : Comparison.values()) {
+      lookup.put(comparison.toUnderlyingValue(), comparison);
+    }
+  }
+
+  private final String value;
+
+  Comparison(String value) {
+    this.value = value;
+  }
+
+  public String toUnderlyingValue() {
+    return value;
+  }
+
+  public static Comparison fromUnderlyingValue(String comparison) {
+    return lookup.get(comparison);
+  }
+
+  /**
+   * Returns whether a comparison result, as returned by {@code compareTo}, satisfies this
+   * comparison.
+   *
+   * @param result a negative number, zero or a positive number
+   */
+  public boolean matches(int result) {
+    switch (this) {
+      case Equal:
+        return result == 0;
+      case NotEqual:
+        return result != 0;
+      case LessThan:
+        return result < 0;
+      case LessThanOrEqual:
+        return result <= 0;
+      case GreaterThan:
+        return result > 0;
+      case GreaterThanOrEqual:
+        return result >= 0;
+      default:
+        return false;
+    }
+  }
+}
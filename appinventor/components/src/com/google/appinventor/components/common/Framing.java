@@ -0,0 +1,43 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines how the Bluetooth components split the bytes they receive into frames.
+ */
+public enum Framing implements OptionList<Integer> {
+  // Frames end with the DelimiterByte.
+  Delimiter(1),
+  // Frames all have the same number of bytes.
+  FixedLength(2),
+  // Frames start with a 1, 2 or 4 byte count of the bytes that follow.
+  LengthPrefixed(3);
+
+  private static final Map<Integer, Framing> lookup = new HashMap<>();
+
+  static {
+    for (Framing framing : Framing.values()) {
+      lookup.put(framing.toUnderlyingValue(), framing);
+    }
+  }
+
+  private final int value;
+
+  Framing(int value) {
+    this.value = value;
+  }
+
+  public Integer toUnderlyingValue() {
+    return value;
+  }
+
+  public static Framing fromUnderlyingValue(Integer framing) {
+    return lookup.get(framing);
+  }
+}
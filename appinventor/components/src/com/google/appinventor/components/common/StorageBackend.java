@@ -0,0 +1,48 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines where the TinyDB component keeps its data.
+ */
+public enum StorageBackend implements OptionList<String> {
+  /**
+   * Android's shared preferences, which are read into memory in full and rewritten in full each
+   * time a value changes.
+   */
+  @Default
+  Preferences("Preferences"),
+
+  /**
+   * An SQLite database indexed by tag, which only writes the entries that change.
+   */
+  Database("Database");
+
+  private static final Map<String, StorageBackend> lookup = new HashMap<>();
+
+  static {
+    for (StorageBackend backend : StorageBackend.values()) {
+      lookup.put(backend.toUnderlyingValue(), backend);
+    }
+  }
+
+  private final String value;
+
+  StorageBackend(String value) {
+    this.value = value;
+  }
+
+  public String toUnderlyingValue() {
+    return value;
+  }
+
+  public static StorageBackend fromUnderlyingValue(String value) {
+    return lookup.get(value);
+  }
+}
@@ -610,7 +610,32 @@ public class YaVersion {
   // - CHART_COMPONENT_VERSION was incremented to 4
   // For YOUNG_ANDROID_VERSION 233:
   // - CHATBOT_COMPONENT_VERSION was incremented to 4
-  public static final int YOUNG_ANDROID_VERSION = 233;
+  // For YOUNG_ANDROID_VERSION 234:
+  // - CANVAS_COMPONENT_VERSION was incremented to 16
+  // For YOUNG_ANDROID_VERSION 235:
+  // - WEB_COMPONENT_VERSION was incremented to 10
+  // For YOUNG_ANDROID_VERSION 236:
+  // - CLOUDDB_COMPONENT_VERSION was incremented to 3
+  // For YOUNG_ANDROID_VERSION 237:
+  // - CLOUDDB_COMPONENT_VERSION was incremented to 4
+  // For YOUNG_ANDROID_VERSION 238:
+  // - BLUETOOTHCLIENT_COMPONENT_VERSION was incremented to 9
+  // - BLUETOOTHSERVER_COMPONENT_VERSION was incremented to 6
+  // For YOUNG_ANDROID_VERSION 239:
+  // - ACCELEROMETERSENSOR_COMPONENT_VERSION was incremented to 6
+  // - GYROSCOPESENSOR_COMPONENT_VERSION was incremented to 2
+  // - ORIENTATIONSENSOR_COMPONENT_VERSION was incremented to 3
+  // For YOUNG_ANDROID_VERSION 240:
+  // - FILE_COMPONENT_VERSION was incremented to 5
+  // For YOUNG_ANDROID_VERSION 241:
+  // - DATA_FILE_COMPONENT_VERSION was incremented to 2
+  // For YOUNG_ANDROID_VERSION 242:
+  // - SPREADSHEET_COMPONENT_VERSION was incremented to 4
+  // For YOUNG_ANDROID_VERSION 243:
+  // - TINYDB_COMPONENT_VERSION was incremented to 4
+  // For YOUNG_ANDROID_VERSION 244:
+  // - FILE_COMPONENT_VERSION was incremented to 6
+  public static final int YOUNG_ANDROID_VERSION = 244;
 
   // ............................... Blocks Language Version Number ...............................
 
@@ -760,7 +785,10 @@ public class YaVersion {
   // - Added the LegacyMode property.
   // For ACCELEROMERTERSENSOR_COMPONENT_VERSION 5:
   // - Adds Sensitivity dropdown block.
-  public static final int ACCELEROMETERSENSOR_COMPONENT_VERSION = 5;
+  // For ACCELEROMETERSENSOR_COMPONENT_VERSION 6:
+  // - The BatchInterval and DroppedSamples properties were added.
+  // - The SamplesReceived event was added.
+  public static final int ACCELEROMETERSENSOR_COMPONENT_VERSION = 6;
 
   // For ACTIVITYSTARTER_COMPONENT_VERSION 2:
   // - The ActivityStarter.DataType, ActivityStarter.ResultType, and ActivityStarter.ResultUri
@@ -817,7 +845,10 @@ public class YaVersion {
   // - The BluetoothClient.PollingRate property was added.
   // For BLUETOOTHCLIENT_COMPONENT_VERSION 8:
   // - The BluetoothClient.NoLocationNeeded property was added.
-  public static final int BLUETOOTHCLIENT_COMPONENT_VERSION = 8;
+  // For BLUETOOTHCLIENT_COMPONENT_VERSION 9:
+  // - The StartReceivingFrames and StopReceivingFrames methods, the ReceivingFrames property and
+  //   the FramesReceived event were added.
+  public static final int BLUETOOTHCLIENT_COMPONENT_VERSION = 9;
 
   // For BLUETOOTHSERVER_COMPONENT_VERSION 2:
   // - The BluetoothServer.Enabled property was added.
@@ -827,7 +858,10 @@ public class YaVersion {
   // - The BluetoothServer.DelimiterByte property was added.
   // For BLUETOOTHSERVER_COMPONENT_VERSION 5:
   // - The BluetoothServer.Secure property was added.
-  public static final int BLUETOOTHSERVER_COMPONENT_VERSION = 5;
+  // For BLUETOOTHSERVER_COMPONENT_VERSION 6:
+  // - The StartReceivingFrames and StopReceivingFrames methods, the ReceivingFrames property and
+  //   the FramesReceived event were added.
+  public static final int BLUETOOTHSERVER_COMPONENT_VERSION = 6;
 
   // For BUTTON_COMPONENT_VERSION 2:
   // - The Alignment property was renamed to TextAlignment.
@@ -888,7 +922,9 @@ public class YaVersion {
   // -TapThreshold was added
   // For CANVAS_COMPONENT_VERSION 15
   // - Assets helper block was added.
-  public static final int CANVAS_COMPONENT_VERSION = 15;
+  // For CANVAS_COMPONENT_VERSION 16
+  // - FrameSynchronized and FrameTime properties were added.
+  public static final int CANVAS_COMPONENT_VERSION = 16;
 
   // For CHART_COMPONENT_VERSION 2:
   // - The XFromZero and YFromZero properties were added
@@ -949,7 +985,9 @@ public class YaVersion {
   // - The ContactUri property was added
   public static final int CONTACTPICKER_COMPONENT_VERSION = 6;
 
-  public static final int DATA_FILE_COMPONENT_VERSION = 1;
+  // For DATA_FILE_COMPONENT_VERSION 2:
+  // - The FilterRows, SelectColumns, ColumnValues and AggregateColumn methods were added.
+  public static final int DATA_FILE_COMPONENT_VERSION = 2;
 
   // For DATEPICKER_COMPONENT_VERSION 2:
   // The datepicker dialog was updated to show the current date
@@ -990,7 +1028,11 @@ public class YaVersion {
   // - The ReadPermission property was added.
   // - The WritePermission property was added.
   // - The LegacyMode property was removed. Use DefaultScope instead.
-  public static final int FILE_COMPONENT_VERSION = 4;
+  // For FILE_COMPONENT_VERSION 5:
+  // - The ReadLines method and GotLines event were added.
+  // For FILE_COMPONENT_VERSION 6:
+  // - The ReadCsvTable and SaveCsvTable methods and GotCsvTable event were added.
+  public static final int FILE_COMPONENT_VERSION = 6;
 
   public static final int FILEPICKER_COMPONENT_VERSION = 1;
 
@@ -1083,7 +1125,10 @@ public class YaVersion {
 
   public static final int GAMECLIENT_COMPONENT_VERSION = 1;
 
-  public static final int GYROSCOPESENSOR_COMPONENT_VERSION = 1;
+  // For GYROSCOPESENSOR_COMPONENT_VERSION 2:
+  // - The BatchInterval and DroppedSamples properties were added.
+  // - The SamplesReceived event was added.
+  public static final int GYROSCOPESENSOR_COMPONENT_VERSION = 2;
 
   // For HORIZONTALARRANGEMENT_COMPONENT_VERSION 2:
   // - The AlignHorizontal property was added
@@ -1315,7 +1360,10 @@ public class YaVersion {
   // For ORIENTATIONSENSOR_COMPONENT_VERSION = 2:
   // - The Yaw property was renamed to Azimuth.
   // - The yaw parameter to OrientationChanged was renamed to azimuth.
-  public static final int ORIENTATIONSENSOR_COMPONENT_VERSION = 2;
+  // For ORIENTATIONSENSOR_COMPONENT_VERSION = 3:
+  // - The BatchInterval and DroppedSamples properties were added.
+  // - The SamplesReceived event was added.
+  public static final int ORIENTATIONSENSOR_COMPONENT_VERSION = 3;
 
   // For PASSWORDTEXTBOX_COMPONENT_VERSION 2:
   // - The Alignment property was renamed to TextAlignment.
@@ -1440,7 +1488,11 @@ public class YaVersion {
   // - Added the DeleteSheet block
   // - Added the FinishedDeleteSheet event
 
-  public static final int SPREADSHEET_COMPONENT_VERSION = 3;
+  // For SPREADSHEET_COMPONENT_VERSION 4:
+  // - Added the CacheDuration property
+  // - Added the ClearCache block
+
+  public static final int SPREADSHEET_COMPONENT_VERSION = 4;
 
   // For SWITCH_COMPONENT_VERSION 1
   //  - Initial Version
@@ -1511,7 +1563,11 @@ public class YaVersion {
   // - Added Property: Namespace
   // For TINYDB_COMPONENT_VERSION 3:
   // - Added GetEntries method
-  public static final int TINYDB_COMPONENT_VERSION = 3;
+  // For TINYDB_COMPONENT_VERSION 4:
+  // - Added Storage property
+  // - Added StoreValues, GetValues, BeginTransaction, CommitTransaction and RollbackTransaction
+  //   methods
+  public static final int TINYDB_COMPONENT_VERSION = 4;
 
   // For TINYWEBDB_COMPONENT_VERSION 2:
   // - The TinyWebDB.ShowAlert method was removed. Notifier.ShowAlert should be used instead.
@@ -1531,7 +1587,12 @@ public class YaVersion {
   // For CLOUDDB_COMPONENT_VERSION 2:
   // - Added the UpdateDone event
   //   to control its use
-  public static final int CLOUDDB_COMPONENT_VERSION = 2;
+  // For CLOUDDB_COMPONENT_VERSION 3:
+  // - Added the StoreValues and GetValues methods
+  // - Added the RoundTripTime property
+  // For CLOUDDB_COMPONENT_VERSION 4:
+  // - Added the CacheValues property
+  public static final int CLOUDDB_COMPONENT_VERSION = 4;
 
   // For TRENDLINE_COMPONENT_VERSION 1:
   // - Initial implementation
@@ -1618,7 +1679,9 @@ public class YaVersion {
   // - PATCH methods added (PatchText, PatchTextWithEncoding, and PatchFile).
   // For WEB_COMPONENT_VERSION 9:
   // - Added property ResponseTextEncoding
-  public static final int WEB_COMPONENT_VERSION = 9;
+  // For WEB_COMPONENT_VERSION 10:
+  // - Added property CacheResponses
+  public static final int WEB_COMPONENT_VERSION = 10;
 
   // For WEBVIEWER_COMPONENT_VERSION 2:
   // - The CanGoForward and CanGoBack methods were added
@@ -32,6 +32,8 @@ import com.google.appinventor.components.common.Sensitivity;
 import com.google.appinventor.components.common.YaVersion;
 import com.google.appinventor.components.runtime.util.ErrorMessages;
 import com.google.appinventor.components.runtime.util.SdkLevel;
+import com.google.appinventor.components.runtime.util.SensorBatcher;
+import com.google.appinventor.components.runtime.util.YailList;
 
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -145,6 +147,9 @@ public class AccelerometerSensor extends AndroidNonvisibleComponent
   // Set of observers
   private final Set<DataSourceChangeListener> dataSourceObservers = new HashSet<>();
 
+  // Collects samples for SamplesReceived when BatchInterval is set
+  private final SensorBatcher batcher;
+
   /**
    * Creates a new AccelerometerSensor component.
    *
@@ -161,6 +166,12 @@ public class AccelerometerSensor extends AndroidNonvisibleComponent
     sensorManager = (SensorManager) container.$context().getSystemService(Context.SENSOR_SERVICE);
     accelerometerSensor = sensorManager.getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
     androidUIHandler = new Handler();
+    batcher = new SensorBatcher(androidUIHandler, new SensorBatcher.BatchListener() {
+      @Override
+      public void onBatch(List<SensorBatcher.Sample> samples) {
+        onAccelerationBatch(samples);
+      }
+    });
     startListening();
     MinimumInterval(400);
     SensitivityAbstract(Sensitivity.Moderate);
@@ -256,6 +267,37 @@ public class AccelerometerSensor extends AndroidNonvisibleComponent
    */
   @SimpleEvent
   public void AccelerationChanged(float xAccel, float yAccel, float zAccel) {
+    recordAcceleration(xAccel, yAccel, zAccel);
+
+    // Notify the Data Source observers with the updated values
+    notifyDataObservers("X", xAccel);
+    notifyDataObservers("Y", yAccel);
+    notifyDataObservers("Z", zAccel);
+
+    EventDispatcher.dispatchEvent(this, "AccelerationChanged", xAccel, yAccel, zAccel);
+  }
+
+  /**
+   * Indicates that acceleration samples have been collected over the
+   * {@link #BatchInterval(int)}. Each sample is a list of the time of the sample, in
+   * milliseconds since the device booted, and the acceleration in the X, Y and Z dimensions.
+   * The {@link #AccelerationChanged(float, float, float)} event is not raised while samples are
+   * being batched.
+   *
+   * @param samples the samples, oldest first
+   */
+  @SimpleEvent(description = "Indicates that acceleration samples have been collected over the "
+      + "BatchInterval. Each sample is a list of the time of the sample, in milliseconds since "
+      + "the device booted, and the acceleration in the X, Y and Z dimensions.")
+  public void SamplesReceived(List<YailList> samples) {
+    EventDispatcher.dispatchEvent(this, "SamplesReceived", samples);
+  }
+
+  /**
+   * Updates the acceleration properties and raises the {@link #Shaking()} event if the phone is
+   * being shaken.
+   */
+  private void recordAcceleration(float xAccel, float yAccel, float zAccel) {
     this.xAccel = xAccel;
     this.yAccel = yAccel;
     this.zAccel = zAccel;
@@ -264,11 +306,6 @@ public class AccelerometerSensor extends AndroidNonvisibleComponent
     addToSensorCache(Y_CACHE, yAccel);
     addToSensorCache(Z_CACHE, zAccel);
 
-    // Notify the Data Source observers with the updated values
-    notifyDataObservers("X", xAccel);
-    notifyDataObservers("Y", yAccel);
-    notifyDataObservers("Z", zAccel);
-
     long currentTime = System.currentTimeMillis();
 
     //Checks whether the phone is shaking and the minimum interval
@@ -278,8 +315,19 @@ public class AccelerometerSensor extends AndroidNonvisibleComponent
       timeLastShook = currentTime;
       Shaking();
     }
+  }
 
-    EventDispatcher.dispatchEvent(this, "AccelerationChanged", xAccel, yAccel, zAccel);
+  private void onAccelerationBatch(List<SensorBatcher.Sample> samples) {
+    for (SensorBatcher.Sample sample : samples) {
+      recordAcceleration(sample.values[0], sample.values[1], sample.values[2]);
+    }
+
+    // Charts only need to keep up with the latest values, not every sample.
+    notifyDataObservers("X", xAccel);
+    notifyDataObservers("Y", yAccel);
+    notifyDataObservers("Z", zAccel);
+
+    SamplesReceived(SensorBatcher.toYailLists(samples));
   }
 
 public int getDeviceDefaultOrientation() {
@@ -314,6 +362,47 @@ public int getDeviceDefaultOrientation() {
     EventDispatcher.dispatchEvent(this, "Shaking");
   }
 
+  /**
+   * Returns the interval, in milliseconds, over which acceleration samples are collected and
+   * delivered together by the {@link #SamplesReceived(List)} event. If 0, each sample raises the
+   * {@link #AccelerationChanged(float, float, float)} event instead.
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR)
+  public int BatchInterval() {
+    return batcher.getInterval();
+  }
+
+  /**
+   * Specifies the interval, in milliseconds, over which acceleration samples are collected and
+   * delivered together by the {@link #SamplesReceived(List)} event, instead of raising the
+   * {@link #AccelerationChanged(float, float, float)} event for each one. Use this when handling
+   * every sample as it arrives would keep the app too busy. If 0, samples are not batched.
+   *
+   * @param interval the interval in milliseconds, or 0 to raise an event for each sample
+   */
+  @DesignerProperty(editorType = PropertyTypeConstants.PROPERTY_TYPE_NON_NEGATIVE_INTEGER,
+      defaultValue = "0")
+  @SimpleProperty
+  public void BatchInterval(int interval) {
+    batcher.setInterval(interval);
+    if (enabled) {
+      // Register again so the sensor can use its hardware queue for the new interval.
+      stopListening();
+      startListening();
+    }
+  }
+
+  /**
+   * Returns the number of samples dropped since the {@link #BatchInterval(int)} was set because
+   * the app did not handle the {@link #SamplesReceived(List)} event in time.
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR,
+      description = "The number of samples dropped since the BatchInterval was set because the "
+      + "app did not handle the SamplesReceived event in time.")
+  public long DroppedSamples() {
+    return batcher.getDroppedCount();
+  }
+
   /**
    * Returns whether the `AccelerometerSensor` hardware is available on the device.
    *
@@ -356,12 +445,14 @@ public int getDeviceDefaultOrientation() {
         }
       }, 32);                   // Wait 32ms for the UI to settle down
 
-    sensorManager.registerListener(this, accelerometerSensor, SensorManager.SENSOR_DELAY_GAME);
+    batcher.registerListener(sensorManager, this, accelerometerSensor,
+        SensorManager.SENSOR_DELAY_GAME);
   }
 
   // Assumes that sensorManager has been initialized, which happens in constructor
   private void stopListening() {
     sensorManager.unregisterListener(this);
+    batcher.clear();
   }
 
   /**
@@ -488,19 +579,25 @@ public int getDeviceDefaultOrientation() {
   public void onSensorChanged(SensorEvent sensorEvent) {
     if (enabled) {
       final float[] values = sensorEvent.values;
+      float x;
+      float y;
       // make landscapePrimary devices report acceleration as if they were
       // portraitPrimary
       if ((deviceDefaultOrientation == Configuration.ORIENTATION_LANDSCAPE) &&
           !legacyMode) {
-        xAccel = values[1];
-        yAccel = -values[0];
+        x = values[1];
+        y = -values[0];
       } else {
-        xAccel = values[0];
-        yAccel = values[1];
+        x = values[0];
+        y = values[1];
       }
-      zAccel = values[2];
+      float z = values[2];
       accuracy = sensorEvent.accuracy;
-      AccelerationChanged(xAccel, yAccel, zAccel);
+      if (batcher.isEnabled()) {
+        batcher.add(sensorEvent.timestamp / 1000000, x, y, z);
+      } else {
+        AccelerationChanged(x, y, z);
+      }
     }
   }
 
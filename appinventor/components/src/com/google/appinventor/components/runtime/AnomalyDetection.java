@@ -11,6 +11,7 @@ import com.google.appinventor.components.annotations.SimpleFunction;
 import com.google.appinventor.components.annotations.SimpleObject;
 import com.google.appinventor.components.common.ComponentCategory;
 import com.google.appinventor.components.common.YaVersion;
+import com.google.appinventor.components.runtime.util.RunningStatistics;
 import com.google.appinventor.components.runtime.util.YailList;
 import gnu.lists.LList;
 import java.util.ArrayList;
@@ -54,30 +55,31 @@ public final class AnomalyDetection extends DataCollection<ComponentContainer, D
   public List<List<?>> DetectAnomalies(final YailList dataList, double threshold) {
     List<List<?>> anomalies = new ArrayList<>();
 
+    // Values that are not numbers are skipped
     LList dataListValues = (LList) dataList.getCdr();
-    List<Double> data = castToDouble(dataListValues);
-
-    // Calculate mean and standard deviation
-    double sum = 0;
-    for (int i = 0; i < data.size(); i++) {
-      sum += data.get(i);
-    }
-    double mean = sum / data.size();
-    // The variance
-    double variance = 0;
-    for (int i = 0; i < data.size(); i++) {
-      variance += Math.pow(data.get(i) - mean, 2);
+    double[] data = new double[dataListValues.size()];
+    int count = 0;
+    RunningStatistics stats = new RunningStatistics();
+    for (Object o : dataListValues) {
+      try {
+        double value = o instanceof Number ? ((Number) o).doubleValue()
+            : Double.parseDouble(o.toString());
+        data[count++] = value;
+        stats.add(count, value);
+      } catch (NumberFormatException e) {
+        // Not a number
+      }
     }
-    variance /= data.size();
 
-    double sd = Math.sqrt(variance);
+    double mean = stats.getMeanY();
+    double sd = Math.sqrt(stats.getVarianceY());
 
     // Detect anomalies using Z-score
-    for (int i = 0; i < data.size(); i++) {
+    for (int i = 0; i < count; i++) {
       // The z-score is a measure of how many standard deviations a data point is away from the mean
-      double zScore = Math.abs((data.get(i) - mean) / sd);
+      double zScore = Math.abs((data[i] - mean) / sd);
       if (zScore > threshold) {
-        anomalies.add(Arrays.asList(i + 1, data.get(i)));
+        anomalies.add(Arrays.asList(i + 1, data[i]));
       }
     }
     return anomalies;
@@ -94,17 +96,12 @@ public final class AnomalyDetection extends DataCollection<ComponentContainer, D
   @SimpleFunction
   public List<List<?>> DetectAnomaliesInChartData(final ChartData2D chartData, double threshold) {
     List<Entry> entries = (List<Entry>) chartData.getDataValue(null);
-    double sum = 0;
-    for (Entry entry : entries) {
-      sum += entry.getY();
-    }
-    double mean = sum / entries.size();
-    double variance = 0;
+    RunningStatistics stats = new RunningStatistics();
     for (Entry entry : entries) {
-      variance += Math.pow(entry.getY() - mean, 2);
+      stats.add(entry.getX(), entry.getY());
     }
-    variance /= entries.size();
-    double sd = Math.sqrt(variance);
+    double mean = stats.getMeanY();
+    double sd = Math.sqrt(stats.getVarianceY());
     List<List<?>> anomalies = new ArrayList<>();
     for (Entry entry : entries) {
       double zScore = Math.abs((entry.getY() - mean) / sd);
@@ -247,7 +247,9 @@ public final class BluetoothClient extends BluetoothConnectionBase
 
   /**
    * The polling rate in milliseconds when the Bluetooth Client is used as a Data Source in a
-   * Chart Data component. The minimum value is 1.
+   * Chart Data component. The minimum value is 1. While frames are being received, text frames
+   * are passed to the Chart Data component as they arrive instead, and the polling rate is not
+   * used.
    *
    * @param rate the rate in milliseconds
    */
@@ -493,12 +495,24 @@ public final class BluetoothClient extends BluetoothConnectionBase
     }
   }
 
+  @Override
+  protected void onFramesReceived(List<Object> frames) {
+    // The frame reader owns the input stream, so the polling service reads nothing while it runs.
+    // Pass text frames on to the observers in its place.
+    for (Object frame : frames) {
+      if (frame instanceof String) {
+        notifyDataObservers(null, frame);
+      }
+    }
+  }
+
   @Override
   public String getDataValue(String key) {
     String value = "";
 
-    // Ensure that the BluetoothClient is connected
-    if (IsConnected()) {
+    // Ensure that the BluetoothClient is connected and that its data is not being received as
+    // frames
+    if (IsConnected() && !ReceivingFrames()) {
       // Check how many bytes can be received
       int bytesReceivable = BytesAvailableToReceive();
 
@@ -9,18 +9,24 @@ package com.google.appinventor.components.runtime;
 import android.bluetooth.BluetoothAdapter;
 import android.bluetooth.BluetoothSocket;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import com.google.appinventor.components.annotations.DesignerProperty;
+import com.google.appinventor.components.annotations.Options;
 import com.google.appinventor.components.annotations.PropertyCategory;
 import com.google.appinventor.components.annotations.SimpleEvent;
 import com.google.appinventor.components.annotations.SimpleFunction;
 import com.google.appinventor.components.annotations.SimpleObject;
 import com.google.appinventor.components.annotations.SimpleProperty;
 
+import com.google.appinventor.components.common.Framing;
 import com.google.appinventor.components.common.PropertyTypeConstants;
 
 import com.google.appinventor.components.runtime.util.ErrorMessages;
+import com.google.appinventor.components.runtime.util.FrameDecoder;
+import com.google.appinventor.components.runtime.util.RingBufferList;
 import com.google.appinventor.components.runtime.util.SUtil;
 import com.google.appinventor.components.runtime.util.YailList;
 
@@ -30,6 +36,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
@@ -45,6 +52,13 @@ import java.util.List;
 public abstract class BluetoothConnectionBase extends AndroidNonvisibleComponent
     implements Component, OnDestroyListener, Deleteable {
 
+  // The most bytes the frame reader takes from the input stream at once.
+  private static final int READ_CHUNK_SIZE = 4096;
+
+  // The most frames kept for FramesReceived. If the app falls further behind, the oldest frames
+  // are dropped.
+  private static final int MAX_PENDING_FRAMES = 10000;
+
   protected final String logTag;
   private final List<BluetoothConnectionListener> bluetoothConnectionListeners =
       new ArrayList<>();
@@ -60,6 +74,39 @@ public abstract class BluetoothConnectionBase extends AndroidNonvisibleComponent
   private InputStream inputStream;
   private OutputStream outputStream;
 
+  private final Handler androidUIHandler;
+
+  // The thread receiving frames, or null if frames are not being received.
+  private volatile Thread frameReader;
+
+  // A frame reader stopped by StopReceivingFrames, which may still be blocked reading, or null.
+  // Only used on the UI thread.
+  private Thread stoppedReader;
+
+  // The bytes a stopped frame reader read after it was stopped, which are left for the Receive
+  // methods or the next frame reader, or null. Guarded by unreadLock.
+  private final Object unreadLock = new Object();
+  private byte[] unreadBytes;
+
+  // The frames received but not yet delivered by FramesReceived, oldest first. Guarded by
+  // pendingFrames, as is deliveryScheduled.
+  private final RingBufferList<Object> pendingFrames = new RingBufferList<>();
+  private boolean deliveryScheduled = false;
+
+  private final Runnable deliverFrames = new Runnable() {
+    @Override
+    public void run() {
+      List<Object> frames;
+      synchronized (pendingFrames) {
+        frames = new ArrayList<>(pendingFrames);
+        pendingFrames.clear();
+        deliveryScheduled = false;
+      }
+      onFramesReceived(frames);
+      FramesReceived(frames);
+    }
+  };
+
   /**
    * Creates a new BluetoothConnectionBase.
    */
@@ -73,6 +120,7 @@ public abstract class BluetoothConnectionBase extends AndroidNonvisibleComponent
     this.logTag = logTag;
     this.disconnectOnError = false;
     this.adapter = SUtil.getAdapter(form);
+    this.androidUIHandler = new Handler(Looper.getMainLooper());
 
     HighByteFirst(false); // Lego Mindstorms NXT is low-endian, so false is a good default.
     CharacterEncoding("UTF-8");
@@ -174,16 +222,25 @@ public abstract class BluetoothConnectionBase extends AndroidNonvisibleComponent
    */
   @SimpleFunction(description = "Disconnect from the connected Bluetooth device.")
   public final void Disconnect() {
+    // Stop the frame reader first, so that it does not report the socket closing as an error.
+    StopReceivingFrames();
+    Thread reader = stoppedReader;
+    stoppedReader = null;
     if (socket != null) {
       fireBeforeDisconnectEvent();
       try {
         socket.close();
         Log.i(logTag, "Disconnected from Bluetooth device.");
+        // Closing the socket ends the read the frame reader may be blocked in
+        if (reader != null) {
+          awaitReader(reader);
+        }
       } catch (IOException e) {
         Log.w(logTag, "Error while disconnecting: " + e.getMessage());
       }
       socket = null;
     }
+    takeUnreadBytes();
     inputStream = null;
     outputStream = null;
   }
@@ -563,8 +620,13 @@ public abstract class BluetoothConnectionBase extends AndroidNonvisibleComponent
           ErrorMessages.ERROR_BLUETOOTH_NOT_CONNECTED_TO_DEVICE);
       return 0;
     }
+    // The bytes a frame reader is waiting for are not left for the Receive methods
+    if (frameReader != null || (stoppedReader != null && stoppedReader.isAlive())) {
+      return 0;
+    }
 
     try {
+      takeBackStream();
       return inputStream.available();
     } catch (IOException e) {
       Log.e(logTag, "IO Exception during Getting Receive Availability " + e.getMessage());
@@ -590,7 +652,7 @@ public abstract class BluetoothConnectionBase extends AndroidNonvisibleComponent
   public String ReceiveText(int numberOfBytes) {
     byte[] bytes = read("ReceiveText", numberOfBytes);
     try {
-      if (numberOfBytes < 0) {
+      if (numberOfBytes < 0 && bytes.length > 0) {
         // bytes contains a trailing delimiter byte that we ignore when converting to String.
         return new String(bytes, 0, bytes.length - 1, encoding);
       } else {
@@ -776,6 +838,12 @@ public abstract class BluetoothConnectionBase extends AndroidNonvisibleComponent
           ErrorMessages.ERROR_BLUETOOTH_NOT_CONNECTED_TO_DEVICE);
       return new byte[0];
     }
+    if (frameReader != null) {
+      bluetoothError(functionName,
+          ErrorMessages.ERROR_BLUETOOTH_RECEIVING_FRAMES);
+      return new byte[0];
+    }
+    takeBackStream();
 
     ByteArrayOutputStream buffer = new ByteArrayOutputStream();
 
@@ -832,6 +900,268 @@ public abstract class BluetoothConnectionBase extends AndroidNonvisibleComponent
     return buffer.toByteArray();
   }
 
+  /**
+   * Starts receiving data on a separate thread, split into frames that are delivered by the
+   * {@link #FramesReceived(List)} event. While frames are being received, the Receive methods
+   * can't be used.
+   *
+   *   With `Delimiter` framing, each frame ends with the {@link #DelimiterByte(int)} and is
+   * delivered as text, without the delimiter. With `FixedLength` framing, each frame is `size`
+   * bytes long. With `LengthPrefixed` framing, each frame starts with a count of the bytes that
+   * follow it, `size` bytes long (1, 2 or 4), in the order given by
+   * {@link #HighByteFirst(boolean)}. Those frames are delivered as lists of unsigned byte values,
+   * without the count.
+   *
+   * @param framing how the received data is split into frames
+   * @param size the length of each frame, or of the count of each frame; ignored for `Delimiter`
+   *     framing
+   */
+  @SimpleFunction(description = "Start receiving data on a separate thread, split into frames "
+      + "that are delivered by the FramesReceived event. With Delimiter framing, frames end "
+      + "with the DelimiterByte and are delivered as text. With FixedLength framing, frames are "
+      + "size bytes long. With LengthPrefixed framing, frames start with a size byte (1, 2 or 4) "
+      + "count of the bytes that follow. FixedLength and LengthPrefixed frames are delivered as "
+      + "lists of unsigned byte values. The Receive methods can't be used while frames are "
+      + "being received.")
+  public void StartReceivingFrames(@Options(Framing.class) int framing, int size) {
+    String functionName = "StartReceivingFrames";
+    Framing mode = Framing.fromUnderlyingValue(framing);
+    if (mode == null || !FrameDecoder.isValidSize(mode, size)) {
+      bluetoothError(functionName,
+          ErrorMessages.ERROR_BLUETOOTH_INVALID_FRAMING, size, mode == null ? framing : mode);
+      return;
+    }
+    if (!IsConnected()) {
+      bluetoothError(functionName,
+          ErrorMessages.ERROR_BLUETOOTH_NOT_CONNECTED_TO_DEVICE);
+      return;
+    }
+
+    StopReceivingFrames();
+    // A stopped reader may still be blocked reading, so the new reader waits for it to finish
+    final Thread previous = stoppedReader;
+    stoppedReader = null;
+    final InputStream in = inputStream;
+    final FrameDecoder decoder = new FrameDecoder(mode, size, delimiter,
+        byteOrder == ByteOrder.BIG_ENDIAN);
+    final String textEncoding = mode == Framing.Delimiter ? encoding : null;
+    Thread reader = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        readFrames(previous, in, decoder, textEncoding);
+      }
+    }, logTag + " frame reader");
+    reader.setDaemon(true);
+    frameReader = reader;
+    reader.start();
+  }
+
+  /**
+   * Stops receiving frames. Frames already received are still delivered by the
+   * {@link #FramesReceived(List)} event. Data that arrives afterwards is left to be read by the
+   * Receive methods.
+   */
+  @SimpleFunction(description = "Stop receiving frames. Data that arrives afterwards is left to "
+      + "be read by the Receive methods.")
+  public void StopReceivingFrames() {
+    Thread reader = frameReader;
+    frameReader = null;
+    if (reader != null) {
+      // A read can't be interrupted, so the reader stops once its read returns and leaves what
+      // it read for the Receive methods.
+      stoppedReader = reader;
+    }
+  }
+
+  /**
+   * Returns `true`{:.logic.block} if data is being received as frames.
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR,
+      description = "Whether data is being received as frames.")
+  public boolean ReceivingFrames() {
+    return frameReader != null;
+  }
+
+  /**
+   * Indicates that frames have been received. The frames are in the order in which they were
+   * received. When frames arrive faster than the app handles them, they are delivered in batches.
+   *
+   * @param frames the frames received, as text or lists of unsigned byte values depending on the
+   *     framing given to {@link #StartReceivingFrames(int, int)}
+   */
+  @SimpleEvent(description = "Indicates that frames have been received, oldest first. When "
+      + "frames arrive faster than the app handles them, they are delivered in batches.")
+  public void FramesReceived(List<Object> frames) {
+    EventDispatcher.dispatchEvent(this, "FramesReceived", frames);
+  }
+
+  /**
+   * Called on the UI thread with each batch of received frames, before the
+   * {@link #FramesReceived(List)} event is dispatched.
+   *
+   * @param frames the frames received
+   */
+  protected void onFramesReceived(List<Object> frames) {
+  }
+
+  private void readFrames(Thread previous, InputStream in, FrameDecoder decoder,
+      String textEncoding) {
+    Thread self = Thread.currentThread();
+    if (previous != null) {
+      awaitReader(previous);
+    }
+    if (frameReader != self) {
+      return;
+    }
+    List<byte[]> frames = new ArrayList<>();
+    byte[] chunk = new byte[READ_CHUNK_SIZE];
+    try {
+      byte[] unread = takeUnreadBytes();
+      if (unread != null) {
+        decodeFrames(unread, unread.length, decoder, textEncoding, frames);
+      }
+      while (true) {
+        // Block until bytes arrive, returning as many as have arrived
+        int count = in.read(chunk, 0, chunk.length);
+        if (frameReader != self) {
+          if (count > 0) {
+            keepUnreadBytes(chunk, count);
+          }
+          return;
+        }
+        if (count == -1) {
+          frameReaderFailed(self, ErrorMessages.ERROR_BLUETOOTH_END_OF_STREAM);
+          return;
+        }
+        decodeFrames(chunk, count, decoder, textEncoding, frames);
+      }
+    } catch (IOException e) {
+      Log.e(logTag, "IO Exception during Receiving Frames " + e.getMessage());
+      frameReaderFailed(self, ErrorMessages.ERROR_BLUETOOTH_UNABLE_TO_READ, e.getMessage());
+    }
+  }
+
+  private void decodeFrames(byte[] bytes, int count, FrameDecoder decoder, String textEncoding,
+      List<byte[]> frames) throws IOException {
+    decoder.feed(bytes, 0, count, frames);
+    if (!frames.isEmpty()) {
+      List<Object> values = new ArrayList<>(frames.size());
+      for (byte[] frame : frames) {
+        values.add(toFrameValue(frame, textEncoding));
+      }
+      frames.clear();
+      postFrames(values);
+    }
+  }
+
+  private void keepUnreadBytes(byte[] bytes, int count) {
+    synchronized (unreadLock) {
+      int kept = unreadBytes == null ? 0 : unreadBytes.length;
+      byte[] more = new byte[kept + count];
+      if (unreadBytes != null) {
+        System.arraycopy(unreadBytes, 0, more, 0, kept);
+      }
+      System.arraycopy(bytes, 0, more, kept, count);
+      unreadBytes = more;
+    }
+  }
+
+  private byte[] takeUnreadBytes() {
+    synchronized (unreadLock) {
+      byte[] unread = unreadBytes;
+      unreadBytes = null;
+      return unread;
+    }
+  }
+
+  /**
+   * Waits for a stopped frame reader to finish, so that the Receive methods are the only reader
+   * of the input stream, and puts the bytes it read after it was stopped back in the stream.
+   */
+  private void takeBackStream() {
+    Thread reader = stoppedReader;
+    if (reader != null) {
+      awaitReader(reader);
+      stoppedReader = null;
+    }
+    byte[] unread = takeUnreadBytes();
+    if (unread != null) {
+      PushbackInputStream stream = new PushbackInputStream(inputStream, unread.length);
+      try {
+        stream.unread(unread);
+      } catch (IOException e) {
+        // Not reached: the pushback buffer holds all of the bytes
+      }
+      inputStream = stream;
+    }
+  }
+
+  private static void awaitReader(Thread reader) {
+    boolean interrupted = false;
+    while (reader.isAlive()) {
+      try {
+        reader.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private Object toFrameValue(byte[] frame, String textEncoding) {
+    if (textEncoding != null) {
+      try {
+        return new String(frame, textEncoding);
+      } catch (UnsupportedEncodingException e) {
+        Log.w(logTag, "UnsupportedEncodingException: " + e.getMessage());
+        return new String(frame);
+      }
+    }
+    List<Integer> list = new ArrayList<>(frame.length);
+    for (byte b : frame) {
+      list.add(b & 0xFF);
+    }
+    return list;
+  }
+
+  private void postFrames(List<Object> frames) {
+    synchronized (pendingFrames) {
+      pendingFrames.addAll(frames);
+      int dropped = 0;
+      while (pendingFrames.size() > MAX_PENDING_FRAMES) {
+        pendingFrames.remove(0);
+        dropped++;
+      }
+      if (dropped > 0) {
+        Log.w(logTag, "Dropped " + dropped + " received frames that were not handled in time");
+      }
+      if (!deliveryScheduled) {
+        deliveryScheduled = true;
+        androidUIHandler.post(deliverFrames);
+      }
+    }
+  }
+
+  private void frameReaderFailed(final Thread reader, final int errorNumber,
+      final Object... messageArgs) {
+    androidUIHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        // Errors after StopReceivingFrames or Disconnect are expected and not reported.
+        if (frameReader != reader) {
+          return;
+        }
+        frameReader = null;
+        if (disconnectOnError) {
+          Disconnect();
+        }
+        bluetoothError("StartReceivingFrames", errorNumber, messageArgs);
+      }
+    });
+  }
+
   // OnDestroyListener implementation
 
   @Override
@@ -847,6 +1177,7 @@ public abstract class BluetoothConnectionBase extends AndroidNonvisibleComponent
   }
 
   private void prepareToDie() {
+    StopReceivingFrames();
     if (socket != null) {
       Disconnect();
     }
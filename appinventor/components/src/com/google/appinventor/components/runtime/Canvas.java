@@ -62,10 +62,12 @@ import com.google.appinventor.components.runtime.util.BoundingBox;
 import com.google.appinventor.components.runtime.util.ErrorMessages;
 import com.google.appinventor.components.runtime.util.FileUtil;
 import com.google.appinventor.components.runtime.util.FileWriteOperation;
+import com.google.appinventor.components.runtime.util.JellybeanUtil;
 import com.google.appinventor.components.runtime.util.MediaUtil;
 import com.google.appinventor.components.runtime.util.PaintUtil;
 import com.google.appinventor.components.runtime.util.ScopedFile;
 import com.google.appinventor.components.runtime.util.SdkLevel;
+import com.google.appinventor.components.runtime.util.SpatialGrid;
 import com.google.appinventor.components.runtime.util.Synchronizer;
 import com.google.appinventor.components.runtime.util.YailList;
 
@@ -74,6 +76,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -175,10 +179,48 @@ public final class Canvas extends AndroidViewComponent implements ComponentConta
   private static final int FLING_INTERVAL = 1000;  // ms
   private static final int DEFAULT_TAP_THRESHOLD = 15;
 
+  // Size of a cell of the sprite collision grid, in pixels. Sprites spanning
+  // several cells are fine; the grid only needs cells to be small compared to
+  // the Canvas so that far-apart sprites never get compared.
+  private static final double SPRITE_GRID_CELL_SIZE = 64;
+
+  // Interval used to approximate display frames on devices without
+  // android.view.Choreographer (before Jelly Bean).
+  private static final int FALLBACK_FRAME_INTERVAL = 16;  // ms
+
   // Keep track of enclosed sprites.  This list should always be
   // sorted by increasing sprite.Z().
   private final List<Sprite> sprites;
 
+  // Broad-phase index of the sprites' collision bounds. Sprites that have
+  // moved or changed shape since they were last indexed are kept in
+  // movedSprites and re-indexed lazily before the next collision check.
+  private final SpatialGrid<Sprite> spriteGrid =
+      new SpatialGrid<Sprite>(SPRITE_GRID_CELL_SIZE);
+  private final Set<Sprite> movedSprites = new LinkedHashSet<Sprite>();
+
+  // Scratch space for collision checks, which only happen on the UI thread.
+  private final double[] spriteBounds = new double[4];
+  private final Set<Sprite> collisionCandidates = new LinkedHashSet<Sprite>();
+
+  // Frame synchronization. When enabled, sprite changes are collected in
+  // spritesChangedThisFrame and handled once per display frame by
+  // frameCallback instead of on every property change.
+  private boolean frameSynchronized = false;
+  private boolean frameScheduled = false;
+  private final Set<Sprite> spritesChangedThisFrame = new LinkedHashSet<Sprite>();
+  private final Runnable frameCallback = new Runnable() {
+    @Override
+    public void run() {
+      frameScheduled = false;
+      flushSpriteChanges();
+    }
+  };
+
+  // Time between the two most recent redraws of the view, in milliseconds.
+  private long lastDrawNanos = 0;
+  private double frameTime = 0;
+
   // Handle touches and drags
   private final MotionEventParser motionEventParser;
 
@@ -448,6 +490,12 @@ public final class Canvas extends AndroidViewComponent implements ComponentConta
     public void onDraw(android.graphics.Canvas canvas0) {
       completeBitmap = null;
 
+      long now = System.nanoTime();
+      if (lastDrawNanos != 0) {
+        frameTime = (now - lastDrawNanos) / 1000000.0;
+      }
+      lastDrawNanos = now;
+
       // This will draw the background image and color, if present.
       super.onDraw(canvas0);
 
@@ -465,6 +513,9 @@ public final class Canvas extends AndroidViewComponent implements ComponentConta
 
     @Override
     protected void onSizeChanged(int w, int h, int oldW, int oldH) {
+      // Sprites sized as a percentage of the Canvas change size with it.
+      movedSprites.addAll(sprites);
+
       int oldBitmapWidth = bitmap.getWidth();
       int oldBitmapHeight = bitmap.getHeight();
       if (w != oldBitmapWidth || h != oldBitmapHeight) {
@@ -828,6 +879,8 @@ public final class Canvas extends AndroidViewComponent implements ComponentConta
    * @param sprite the sprite to add
    */
   void addSprite(Sprite sprite) {
+    movedSprites.add(sprite);
+
     // Add before first element with greater Z value.
     // This ensures not only that items are in increasing Z value
     // but that sprites whose Z values are always equal are
@@ -852,6 +905,8 @@ public final class Canvas extends AndroidViewComponent implements ComponentConta
    */
   void removeSprite(Sprite sprite) {
     sprites.remove(sprite);
+    movedSprites.remove(sprite);
+    spriteGrid.remove(sprite);
   }
 
   /**
@@ -905,13 +960,63 @@ public final class Canvas extends AndroidViewComponent implements ComponentConta
 
   /**
    * Indicates that a sprite has changed, triggering invalidation of the view
-   * and a check for collisions.
+   * and a check for collisions.  If {@link #FrameSynchronized()} is true,
+   * both are deferred to the next display frame.
    *
    * @param sprite the sprite whose location, size, or appearance has changed
    */
   void registerChange(Sprite sprite) {
+    markSpriteMoved(sprite);
+    if (frameSynchronized) {
+      spritesChangedThisFrame.add(sprite);
+      scheduleFrame();
+    } else {
+      view.invalidate();
+      findSpriteCollisions(sprite);
+    }
+  }
+
+  /*
+   * Requests a call to frameCallback at the next display frame, unless one is
+   * already pending.
+   */
+  private void scheduleFrame() {
+    if (frameScheduled) {
+      return;
+    }
+    frameScheduled = true;
+    if (SdkLevel.getLevel() >= SdkLevel.LEVEL_JELLYBEAN) {
+      JellybeanUtil.postFrameCallback(frameCallback);
+    } else {
+      view.postDelayed(frameCallback, FALLBACK_FRAME_INTERVAL);
+    }
+  }
+
+  /*
+   * Checks the sprites changed since the last frame for collisions and
+   * redraws the view once.
+   */
+  private void flushSpriteChanges() {
+    if (!spritesChangedThisFrame.isEmpty()) {
+      // Copy the batch, since collision handlers may move sprites again.
+      List<Sprite> changed = new ArrayList<Sprite>(spritesChangedThisFrame);
+      spritesChangedThisFrame.clear();
+      findSpriteCollisions(changed);
+    }
     view.invalidate();
-    findSpriteCollisions(sprite);
+  }
+
+  /**
+   * Notes that a sprite's position, size or rotation has changed so that it
+   * is re-indexed before the next collision check.  Unlike
+   * {@link #registerChange(Sprite)}, this neither redraws the view nor checks
+   * for collisions, so it is safe to call while the sprite is being
+   * constructed.
+   *
+   * @param sprite the sprite whose collision bounds may have changed
+   */
+  void markSpriteMoved(Sprite sprite) {
+    movedSprites.add(sprite);
   }
 
 
@@ -933,8 +1038,48 @@ public final class Canvas extends AndroidViewComponent implements ComponentConta
    * @param movedSprite the sprite that has just changed position
    */
   protected void findSpriteCollisions(Sprite movedSprite) {
-    for (Sprite sprite : sprites) {
-      if (sprite != movedSprite) {
+    updateSpriteGrid();
+    findSpriteCollisions(movedSprite, null);
+  }
+
+  /**
+   * Checks a batch of sprites that have moved for collisions, as
+   * {@link #findSpriteCollisions(Sprite)} does for a single sprite, except
+   * that each pair of moved sprites is only tested once.
+   *
+   * @param batch the sprites that have changed position
+   */
+  protected void findSpriteCollisions(Collection<Sprite> batch) {
+    updateSpriteGrid();
+    Set<Sprite> checked = new LinkedHashSet<Sprite>();
+    for (Sprite movedSprite : batch) {
+      findSpriteCollisions(movedSprite, checked);
+      checked.add(movedSprite);
+    }
+  }
+
+  /*
+   * Checks the given sprite against the sprites near it in the grid and the
+   * sprites it was last known to collide with, skipping any in alreadyChecked.
+   * The grid must be up to date.
+   */
+  private void findSpriteCollisions(Sprite movedSprite, Set<Sprite> alreadyChecked) {
+    if (!spriteGrid.contains(movedSprite)) {
+      // The sprite has been removed from the Canvas.
+      return;
+    }
+    // The scratch set is only non-empty while a check is iterating over it, in
+    // which case an event handler run synchronously has moved another sprite.
+    Set<Sprite> candidates = collisionCandidates.isEmpty()
+        ? collisionCandidates : new LinkedHashSet<Sprite>();
+    movedSprite.getCollisionBounds(spriteBounds);
+    spriteGrid.query(spriteBounds[0] - 1, spriteBounds[1] - 1,
+        spriteBounds[2] + 1, spriteBounds[3] + 1, candidates);
+    // Sprites that were colliding may have moved out of range of the query.
+    movedSprite.collectRegisteredCollisions(candidates);
+    for (Sprite sprite : candidates) {
+      if (sprite != movedSprite && spriteGrid.contains(sprite)
+          && (alreadyChecked == null || !alreadyChecked.contains(sprite))) {
         // Check whether we already raised an event for their collision.
         if (movedSprite.CollidingWith(sprite)) {
           // If they no longer conflict, note that.
@@ -960,6 +1105,24 @@ public final class Canvas extends AndroidViewComponent implements ComponentConta
         }
       }
     }
+    candidates.clear();
+  }
+
+  /*
+   * Re-indexes the sprites whose collision bounds have changed since the last
+   * collision check.  Bounds are padded by a pixel so that abutting sprites,
+   * which count as colliding, always share a cell.
+   */
+  private void updateSpriteGrid() {
+    if (movedSprites.isEmpty()) {
+      return;
+    }
+    for (Sprite sprite : movedSprites) {
+      sprite.getCollisionBounds(spriteBounds);
+      spriteGrid.update(sprite, spriteBounds[0] - 1, spriteBounds[1] - 1,
+          spriteBounds[2] + 1, spriteBounds[3] + 1);
+    }
+    movedSprites.clear();
   }
 
 
@@ -1277,6 +1440,52 @@ public final class Canvas extends AndroidViewComponent implements ComponentConta
     extendMovesOutsideCanvas = extend;   
   }
 
+  /**
+   * Returns whether sprite changes are synchronized with display frames.
+   *
+   * @return {@code true} if sprite changes are batched per frame
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR,
+      description = "If true, changes to sprites are collected and handled once per display "
+          + "frame: collisions are checked once for all the sprites that moved and the Canvas is "
+          + "redrawn once. If false, each change to a sprite is handled immediately. Turning this "
+          + "on makes animations with many sprites smoother.")
+  public boolean FrameSynchronized() {
+    return frameSynchronized;
+  }
+
+  /**
+   * If true, changes to sprites are collected and handled once per display frame: collisions are
+   * checked once for all of the sprites that moved and the `Canvas` is redrawn once. If false,
+   * each change to a sprite is handled immediately. Turning this on makes animations with many
+   * sprites smoother.
+   *
+   * @param synchronize {@code true} to batch sprite changes per frame
+   */
+  @DesignerProperty(editorType = PropertyTypeConstants.PROPERTY_TYPE_BOOLEAN,
+      defaultValue = "False")
+  @SimpleProperty
+  public void FrameSynchronized(boolean synchronize) {
+    frameSynchronized = synchronize;
+    if (!synchronize) {
+      // Handle any changes still waiting for a frame right away.
+      flushSpriteChanges();
+    }
+  }
+
+  /**
+   * The time in milliseconds between the two most recent redraws of the `Canvas`. This can be
+   * used to measure how smoothly an animation is running.
+   *
+   * @return the time between the last two redraws, in milliseconds
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR,
+      description = "The time in milliseconds between the two most recent redraws of the Canvas. "
+          + "This can be used to measure how smoothly an animation is running.")
+  public double FrameTime() {
+    return frameTime;
+  }
+
   // Methods supporting event handling
 
   /**
@@ -14,6 +14,7 @@ import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.data.PieEntry;
 import com.github.mikephil.charting.formatter.ValueFormatter;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.google.appinventor.components.runtime.util.RingBufferList;
 import com.google.appinventor.components.runtime.util.YailList;
 
 import java.util.ArrayList;
@@ -52,7 +53,9 @@ public abstract class ChartDataModel<
     this.data = data;
     this.view = view;
 
-    entries = new ArrayList<>();
+    // Real-time data drops the oldest entry for each one added, which
+    // is a constant time operation on a ring buffer
+    entries = new RingBufferList<>();
   }
 
   /**
@@ -241,6 +244,21 @@ public abstract class ChartDataModel<
   public YailList findEntriesByCriterion(String value, EntryCriterion criterion) {
     List<YailList> entries = new ArrayList<>();
 
+    if (criterion == EntryCriterion.XValue && isOrderedByX()) {
+      // The entries with the x value are next to each other, starting from the first
+      // entry with an x value that is not smaller.
+      try {
+        float x = Float.parseFloat(value);
+        for (int i = lowerBoundX(x); i < this.entries.size()
+            && this.entries.get(i).getX() == x; ++i) {
+          entries.add(getTupleFromEntry(this.entries.get(i)));
+        }
+      } catch (NumberFormatException e) {
+        // No entry matches a value that is not a number
+      }
+      return YailList.makeList(entries);
+    }
+
     for (Entry entry : this.entries) {
       // Check whether the provided criterion & value combination are satisfied
       // according to the current Entry
@@ -339,6 +357,17 @@ public abstract class ChartDataModel<
    * @return index of the entry, or -1 if entry is not found
    */
   public int findEntryIndex(Entry entry) {
+    if (entry != null && isOrderedByX() && !Float.isNaN(entry.getX())) {
+      // Only the entries with the same x value need to be compared
+      for (int i = lowerBoundX(entry.getX()); i < entries.size()
+          && entries.get(i).getX() == entry.getX(); ++i) {
+        if (areEntriesEqual(entries.get(i), entry)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
     for (int i = 0; i < entries.size(); ++i) {
       Entry currentEntry = entries.get(i);
 
@@ -354,6 +383,39 @@ public abstract class ChartDataModel<
     return -1;
   }
 
+  /**
+   * Returns whether the entries of the Data Series are kept sorted by x value.
+   * Entries of sorted Data Series are looked up by x value with a binary
+   * search rather than by comparing them all.
+   *
+   * @return true if the entries are sorted by x value
+   */
+  protected boolean isOrderedByX() {
+    return false;
+  }
+
+  /**
+   * Finds the index of the first entry with an x value that is not smaller
+   * than the specified value. The entries must be sorted by x value.
+   *
+   * @param x x value to look for
+   * @return index of the first entry with an x value of at least x, or the
+   *     number of entries if there is no such entry
+   */
+  protected int lowerBoundX(float x) {
+    int low = 0;
+    int high = entries.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (entries.get(mid).getX() < x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
   /**
    * Deletes all the entries in the Data Series.
    */
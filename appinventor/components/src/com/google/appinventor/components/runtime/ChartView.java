@@ -20,7 +20,9 @@ import com.github.mikephil.charting.data.Entry;
 
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base class to represent Chart Views. The class (and subclasses)
@@ -52,6 +54,12 @@ public abstract class ChartView<
 
   protected Handler uiHandler = new Handler(Looper.myLooper());
 
+  // The most recent refresh requested for each Chart Data Model. Older
+  // refreshes that have not run yet are skipped, since they would only
+  // show out of date entries. Guarded by itself.
+  private final Map<ChartDataModel<E, T, D, C, V>, RefreshTask> pendingRefreshes =
+      new HashMap<>();
+
   /**
    * Creates a new Chart View with the specified Chart component
    * instance as the parent of the View.
@@ -136,7 +144,11 @@ public abstract class ChartView<
    */
   public void refresh(final ChartDataModel<E, T, D, C, V> model) {
     // Create a new RefreshTask with the model's current List of Entries
-    RefreshTask refreshTask = new RefreshTask(model.getEntries());
+    RefreshTask refreshTask;
+    synchronized (pendingRefreshes) {
+      refreshTask = new RefreshTask(model.getEntries());
+      pendingRefreshes.put(model, refreshTask);
+    }
 
     // Execute the RefreshTask with the ChartDataModel argument
     refreshTask.execute(model);
@@ -175,6 +187,14 @@ public abstract class ChartView<
       // local Entries List copy. This is done on the UI
       // thread to avoid exceptions (onPostExecute runs
       // on the UI)
+      synchronized (pendingRefreshes) {
+        if (pendingRefreshes.get(result) != this) {
+          // A newer refresh of the model is queued (e.g. real-time
+          // data arriving faster than the Chart is redrawn)
+          return;
+        }
+        pendingRefreshes.remove(result);
+      }
       refresh(result, entries);
     }
   }
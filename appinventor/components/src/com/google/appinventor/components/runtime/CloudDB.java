@@ -11,9 +11,6 @@ import static android.Manifest.permission.INTERNET;
 import android.Manifest;
 import android.app.Activity;
 
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
-
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 
@@ -37,6 +34,7 @@ import com.google.appinventor.components.common.YaVersion;
 
 import com.google.appinventor.components.runtime.errors.YailRuntimeError;
 
+import com.google.appinventor.components.runtime.util.AsynchUtil;
 import com.google.appinventor.components.runtime.util.BulkPermissionRequest;
 import com.google.appinventor.components.runtime.util.CloudDBJedisListener;
 import com.google.appinventor.components.runtime.util.FileUtil;
@@ -56,11 +54,12 @@ import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -74,6 +73,8 @@ import org.json.JSONException;
 
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisShardInfo;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.exceptions.JedisConnectionException;
 import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.exceptions.JedisException;
@@ -234,12 +235,12 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
   private volatile boolean listenerRunning = false;
 
   // To avoid blocking the UI thread, we do most Jedis operations in the background.
-  // Rather then spawning a new thread for each request, we use an ExcutorService with
-  // a single background thread to perform all the Jedis work. Using a single thread
-  // also means that we can share a single Jedis connection and not worry about thread
-  // synchronization.
+  // Rather then spawning a new thread for each request, we use a serial ExecutorService
+  // on the shared AsynchUtil pool to perform all the Jedis work. Running one task at a
+  // time also means that we can share a single Jedis connection and not worry about
+  // thread synchronization.
 
-  private volatile ExecutorService background = Executors.newSingleThreadExecutor();
+  private volatile ExecutorService background = AsynchUtil.newSerialExecutor();
 
   // Store can be called frequenly and quickly in some situations. For example
   // using store inside of a Canvas Drag event (for realtime updating of a remote
@@ -249,6 +250,37 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
   // iterates over the queue until it is drained.
   private final List<storedValue> storeQueue = Collections.synchronizedList(new ArrayList());
 
+  // Likewise, GetValue requests are queued and a background task looks up
+  // everything in the queue with a single request.
+  private final List<pendingGet> getQueue = Collections.synchronizedList(new ArrayList());
+
+  // The scripts that have been loaded on the server for the current connection.
+  private final Set<String> loadedScripts = Collections.synchronizedSet(new HashSet<String>());
+
+  // Stores requested while off-line when CacheValues is true. They are sent
+  // ahead of any later stores once we are back on-line.
+  private static final int MAX_OFFLINE_STORES = 1000;
+  private final List<storedValue> offlineQueue = Collections.synchronizedList(new ArrayList());
+
+  // The values of tags, as stored on the server, when CacheValues is true.
+  // Values are added on reads and writes, and are kept up to date by the
+  // listener, which sees every change published for the project.
+  private static final int MAX_CACHED_VALUES = 1000;
+  private volatile boolean cacheValues = false;
+  private volatile boolean listenerSubscribed = false;
+  private final Map<String, String> valueCache = Collections.synchronizedMap(
+      new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+          return size() > MAX_CACHED_VALUES;
+        }
+      });
+
+  // Exponentially weighted moving average of the time taken by requests to the
+  // server, in milliseconds, and the weight given to each new measurement.
+  private volatile double averageRoundTrip = 0;
+  private static final double ROUND_TRIP_WEIGHT = 0.2;
+
   private ConnectivityManager cm;
 
   // Set of observers
@@ -256,18 +288,36 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
 
   private static class storedValue {
     private String tag;
-    private JSONArray  valueList;
-    storedValue(String tag, JSONArray valueList) {
+    private String value;
+    storedValue(String tag, String value) {
       this.tag = tag;
-      this.valueList = valueList;
+      this.value = value;
     }
 
     public String getTag() {
       return tag;
     }
 
-    public JSONArray getValueList() {
-      return valueList;
+    public String getValue() {
+      return value;
+    }
+  }
+
+  // Consecutive stores to the same tag, which are sent to the server together.
+  private static class storedRun {
+    private final String tag;
+    private final List<String> values = new ArrayList<String>();
+    storedRun(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  private static class pendingGet {
+    private final String tag;
+    private final Object valueIfTagNotThere;
+    pendingGet(String tag, Object valueIfTagNotThere) {
+      this.tag = tag;
+      this.valueIfTagNotThere = valueIfTagNotThere;
     }
   }
 
@@ -317,6 +367,7 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
       currentListener = null;
       listenerRunning = false;
     }
+    listenerSubscribed = false;
   }
 
   /*
@@ -392,6 +443,7 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
             }
           }
           listenerRunning = false;
+          listenerSubscribed = false;
           if (!dead && !shutdown) {
             startListener();
           } else {
@@ -561,6 +613,37 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
     return useSSL;
   }
 
+  /**
+   * Whether the values of tags should be cached on the device. Cached values are kept up to date
+   * by the change notifications that `CloudDB` receives from the server, so
+   * {@link #GetValue(String, Object)} can answer from the cache without asking the server. While
+   * the device is off-line, cached values are still returned and stored values are kept until the
+   * device is back on-line, instead of signaling an error. If more than 1000 stores are waiting,
+   * only the last value stored under each tag is kept.
+   *
+   * @return whether values are cached
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR,
+      description = "Whether the values of tags should be cached on the device. Cached values "
+      + "are kept up to date by the server's change notifications. While off-line, cached values "
+      + "are returned and stored values are sent when the device is back on-line.")
+  public boolean CacheValues() {
+    return cacheValues;
+  }
+
+  /**
+   * Specifies whether the values of tags should be cached on the device.
+   */
+  @DesignerProperty(editorType = PropertyTypeConstants.PROPERTY_TYPE_BOOLEAN,
+      defaultValue = "False")
+  @SimpleProperty
+  public void CacheValues(boolean cacheValues) {
+    this.cacheValues = cacheValues;
+    if (!cacheValues) {
+      valueCache.clear();
+    }
+  }
+
   private static final String SET_SUB_SCRIPT =
     "local key = KEYS[1];" +
     "local value = ARGV[1];" +
@@ -585,146 +668,214 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
   @SimpleFunction(description = "Store a value at a tag.")
   public void StoreValue(final String tag, final Object valueToStore) {
     checkProjectIDNotBlank();
-    final String value;
-    NetworkInfo networkInfo = cm.getActiveNetworkInfo();
-    boolean isConnected = networkInfo != null && networkInfo.isConnected();
+    List<storedValue> work =
+        Collections.singletonList(new storedValue(tag, toStoredJson(valueToStore)));
+    if (!CloudConnected()) {
+      queueOffline(work);
+      return;
+    }
+    enqueueStores(work);
+  }
+
+  /**
+   * Asks `CloudDB` to store each of the given `values`{:.variable.block} under the tag at the
+   * same position in `tags`{:.list.block}. All of the values are sent to the server together,
+   * which is much faster than calling {@link #StoreValue(String, Object)} for each of them. An
+   * {@link #UpdateDone(String, String)} event is triggered for each tag.
+   *
+   * @param tags The tags to use
+   * @param values The values to store, one per tag
+   */
+  @SimpleFunction(description = "Store a list of values at the tags at the same positions "
+      + "in a list of tags. The values are sent to the server together.")
+  public void StoreValues(final YailList tags, final YailList values) {
+    checkProjectIDNotBlank();
+    if (tags.size() != values.size()) {
+      throw new YailRuntimeError("The number of tags and values must be the same.",
+          "StoreValues");
+    }
+    List<storedValue> work = new ArrayList<storedValue>(tags.size());
+    for (int i = 0; i < tags.size(); i++) {
+      work.add(new storedValue(tags.getString(i), toStoredJson(values.getObject(i))));
+    }
+    if (!CloudConnected()) {
+      queueOffline(work);
+      return;
+    }
+    enqueueStores(work);
+  }
 
+  /**
+   * Converts a value given to one of the store functions into the JSON that is kept on the
+   * server. File names are replaced by the contents of the file.
+   */
+  private String toStoredJson(Object valueToStore) {
     try {
       if (valueToStore != null) {
         String strval = valueToStore.toString();
         if (strval.startsWith("file:///") || strval.startsWith("/storage")) {
-          value = JsonUtil.getJsonRepresentation(readFile(strval));
+          return JsonUtil.getJsonRepresentation(readFile(strval));
         } else {
-          value = JsonUtil.getJsonRepresentation(valueToStore);
+          return JsonUtil.getJsonRepresentation(valueToStore);
         }
       } else {
-        value = "";
+        return "";
       }
     } catch(JSONException e) {
       throw new YailRuntimeError("Value failed to convert to JSON.", "JSON Creation Error.");
     }
+  }
 
-    if (isConnected) {
+  private void queueOffline(List<storedValue> work) {
+    if (!cacheValues) {
+      CloudDBError("Cannot store values off-line.");
+      return;
+    }
+    writeThrough(work);
+    addOffline(offlineQueue.size(), work);
+  }
+
+  /**
+   * Adds stores to the off-line queue at the given position. If the queue grows beyond
+   * {@link #MAX_OFFLINE_STORES}, only the last store to each tag is kept, and if that is still
+   * too many, the oldest stores are dropped.
+   */
+  private void addOffline(int index, List<storedValue> work) {
+    int dropped = 0;
+    synchronized(offlineQueue) {
+      offlineQueue.addAll(Math.min(index, offlineQueue.size()), work);
+      if (offlineQueue.size() <= MAX_OFFLINE_STORES) {
+        return;
+      }
+      Set<String> tags = new HashSet<String>();
+      List<storedValue> latest = new ArrayList<storedValue>();
+      for (int i = offlineQueue.size() - 1; i >= 0; i--) {
+        storedValue value = offlineQueue.get(i);
+        if (tags.add(value.getTag())) {
+          latest.add(value);
+        }
+      }
+      Collections.reverse(latest);
+      if (latest.size() > MAX_OFFLINE_STORES) {
+        dropped = latest.size() - MAX_OFFLINE_STORES;
+        latest = latest.subList(dropped, latest.size());
+      }
+      offlineQueue.clear();
+      offlineQueue.addAll(latest);
+    }
+    if (dropped > 0) {
+      CloudDBError("Too many values stored off-line; dropped the oldest " + dropped);
+    }
+  }
+
+  private void writeThrough(List<storedValue> work) {
+    if (cacheValues) {
+      for (storedValue value : work) {
+        valueCache.put(value.getTag(), value.getValue());
+      }
+    }
+  }
+
+  private void enqueueStores(List<storedValue> work) {
+    writeThrough(work);
+    synchronized(storeQueue) {
+      boolean kickit = storeQueue.isEmpty(); // Need to kick off the background task
       if (DEBUG) {
-        Log.d(LOG_TAG,"Device is online...");
+        Log.d(LOG_TAG, "storeQueue has " + storeQueue.size() + " entries");
+      }
+      synchronized(offlineQueue) {      // Stores made while off-line go first
+        storeQueue.addAll(offlineQueue);
+        offlineQueue.clear();
       }
+      storeQueue.addAll(work);
+      if (storeQueue.isEmpty()) {
+        return;
+      }
+      if (kickit) {
+        background.submit(new Runnable() {
+            public void run() {
+              drainStoreQueue();
+            }
+          });
+      }
+    }
+  }
+
+  /**
+   * Sends everything in the store queue to the server. Each pass takes the whole queue,
+   * coalesces consecutive writes to the same tag, and sends one script call per run of writes in
+   * a single pipeline, so a burst of stores costs one round trip rather than one per store. Only
+   * consecutive writes are coalesced, so other clients see the stores in the order they were
+   * made. Runs on the background executor.
+   *
+   * @return true if the queue was drained, false if an error occurred
+   */
+  private boolean drainStoreQueue() {
+    while (true) {
+      List<storedRun> batch = new ArrayList<storedRun>();
       synchronized(storeQueue) {
-        boolean kickit = false;
-        if (storeQueue.size() == 0) { // Need to kick off the background task
+        if (storeQueue.isEmpty()) {
           if (DEBUG) {
-            Log.d(LOG_TAG, "storeQueue is zero length, kicking background");
+            Log.d(LOG_TAG, "store background task exiting.");
           }
-          kickit = true;
-        } else {
-          if (DEBUG) {
-            Log.d(LOG_TAG, "storeQueue has " + storeQueue.size() + " entries");
+          return true;
+        }
+        // All of the values in a run are published, in order, but only the last one is set.
+        storedRun run = null;
+        for (storedValue work : storeQueue) {
+          if (run == null || !run.tag.equals(work.getTag())) {
+            run = new storedRun(work.getTag());
+            batch.add(run);
           }
+          run.values.add(work.getValue());
         }
-        JSONArray valueList = new JSONArray();
-        try {
-          valueList.put(0, value);
-        } catch (JSONException e) {
-          throw new YailRuntimeError("JSON Error putting value.", "value is not convertable");
+        storeQueue.clear();
+      }
+      if (DEBUG) {
+        Log.d(LOG_TAG, "store: sending " + batch.size() + " runs");
+      }
+      try {
+        Jedis jedis = getJedis();
+        if (jedis == null) {
+          return false;         // getJedis() has already reported the error
         }
-        storedValue work  = new storedValue(tag, valueList);
-        storeQueue.add(work);
-        if (kickit) {
-          background.submit(new Runnable() {
-              public void run() {
-                JSONArray pendingValueList = null;
-                String pendingTag = null;
-                String pendingValue = null;
-                try {
-                  storedValue work;
-                  if (DEBUG) {
-                    Log.d(LOG_TAG, "store background task running.");
-                  }
-                  while (true) {
-                    synchronized(storeQueue) {
-                      if (DEBUG) {
-                        Log.d(LOG_TAG, "store: In background synchronized block");
-                      }
-                      int size = storeQueue.size();
-                      if (size == 0) {
-                        if (DEBUG) {
-                          Log.d(LOG_TAG, "store background task exiting.");
-                        }
-                        work = null;
-                      } else {
-                        if (DEBUG) {
-                          Log.d(LOG_TAG, "store: storeQueue.size() == " + size);
-                        }
-                        work = storeQueue.remove(0);
-                        if (DEBUG) {
-                          Log.d(LOG_TAG, "store: got work.");
-                        }
-                      }
-                    }
-                    if (DEBUG) {
-                      Log.d(LOG_TAG, "store: left synchronized block");
-                    }
-                    if (work == null) {
-                      try {
-                        if (pendingTag != null) {
-                          String jsonValueList = pendingValueList.toString();
-                          if (DEBUG) {
-                            Log.d(LOG_TAG, "Workqueue empty, sending pendingTag, valueListLength = " + pendingValueList.length());
-                          }
-                          jEval(SET_SUB_SCRIPT, SET_SUB_SCRIPT_SHA1, 1, pendingTag, pendingValue, jsonValueList, projectID);
-                          UpdateDone(pendingTag, "StoreValue");
-                        }
-                      } catch (JedisException e) {
-                        CloudDBError(e.getMessage());
-                        flushJedis(true);
-                      }
-                      return;
-                    }
-
-                    String tag = work.getTag();
-                    JSONArray valueList = work.getValueList();
-                    if (tag == null || valueList == null) {
-                      if (DEBUG) {
-                        Log.d(LOG_TAG, "Either tag or value is null!");
-                      }
-                    } else {
-                      if (DEBUG) {
-                        Log.d(LOG_TAG, "Got Work: tag = " + tag + " value = " + valueList.get(0));
-                      }
-                    }
-                    if (pendingTag == null) { // First time through this invocation
-                      pendingTag = tag;
-                      pendingValueList = valueList;
-                      pendingValue = valueList.getString(0);
-                    } else if (pendingTag.equals(tag)) { // work is for the same tag
-                      pendingValue = valueList.getString(0);
-                      pendingValueList.put(pendingValue);
-                    } else {    // Work is for a different tag, send what we have
-                      try {     // and add the new tag,incoming valuelist for the next round
-                        String jsonValueList = pendingValueList.toString();
-                        if (DEBUG) {
-                          Log.d(LOG_TAG, "pendingTag changed sending pendingTag, valueListLength = " + pendingValueList.length());
-                        }
-                        jEval(SET_SUB_SCRIPT, SET_SUB_SCRIPT_SHA1, 1, pendingTag, pendingValue, jsonValueList, projectID);
-                      } catch (JedisException e) {
-                        CloudDBError(e.getMessage());
-                        flushJedis(true);
-                        storeQueue.clear(); // Flush pending changes, we are in
-                        return;             // an error state
-                      }
-                      pendingTag = tag;
-                      pendingValueList = valueList;
-                      pendingValue = valueList.getString(0);
-                    }
-                  }
-                } catch (Exception e) {
-                Log.e(LOG_TAG, "Exception in store worker!", e);
-                }
-              }
-            });
+        long start = System.nanoTime();
+        ensureScriptLoaded(jedis, SET_SUB_SCRIPT, SET_SUB_SCRIPT_SHA1);
+        Pipeline pipeline = jedis.pipelined();
+        List<Response<Object>> responses = new ArrayList<Response<Object>>(batch.size());
+        for (storedRun run : batch) {
+          responses.add(pipeline.evalsha(SET_SUB_SCRIPT_SHA1, 1, run.tag,
+              run.values.get(run.values.size() - 1), new JSONArray(run.values).toString(),
+              projectID));
+        }
+        pipeline.sync();
+        recordRoundTrip(start);
+        for (Response<Object> response : responses) {
+          response.get();       // Throws if the server reported an error
         }
+      } catch (JedisException e) {
+        CloudDBError(e.getMessage());
+        List<storedValue> unsent = new ArrayList<storedValue>();
+        for (storedRun run : batch) {
+          for (String value : run.values) {
+            unsent.add(new storedValue(run.tag, value));
+          }
+        }
+        synchronized(storeQueue) {
+          // Stores requested while the batch was being sent come after it
+          unsent.addAll(storeQueue);
+          storeQueue.clear(); // Flush pending changes, we are in an error state
+        }
+        if (cacheValues) {
+          // Keep the values to send once we can reach the server again
+          addOffline(0, unsent);
+        }
+        flushJedis(true);
+        return false;
+      }
+      for (storedRun run : batch) {
+        UpdateDone(run.tag, "StoreValue");
       }
-    } else {
-      CloudDBError("Cannot store values off-line.");
     }
   }
 
@@ -746,39 +897,202 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
       Log.d(LOG_TAG, "getting value ... for tag: " + tag);
     }
     checkProjectIDNotBlank();
-    final AtomicReference<Object> value = new AtomicReference<Object>();
-    Cursor cursor = null;
-    SQLiteDatabase db = null;
-    NetworkInfo networkInfo = cm.getActiveNetworkInfo();
-    boolean isConnected = networkInfo != null && networkInfo.isConnected();
+    boolean isConnected = CloudConnected();
+    if (getCachedValue(tag, isConnected)) {
+      return;
+    }
+    if (!isConnected) {
+      if (DEBUG) {
+        Log.d(LOG_TAG, "GetValue(): We're offline");
+      }
+      CloudDBError("Cannot fetch variables while off-line.");
+      return;
+    }
+    enqueueGets(Collections.singletonList(new pendingGet(tag, valueIfTagNotThere)));
+  }
 
-    if (isConnected) {
-      // Set value to either the JSON from the CloudDB
-      // or the JSON representation of valueIfTagNotThere
-      background.submit(new Runnable() {
-          public void run() {
-            final AtomicReference<Object> value = getValueByTag(tag, valueIfTagNotThere);
+  /**
+   * `GetValues` asks `CloudDB` to get the values stored under each of the given tags with a
+   * single request. The {@link #GotValue(String, Object)} event is triggered for each tag, in
+   * order. If there is no value stored under a tag, the `valueIfTagNotThere`{:.variable.block}
+   * will be given for it.
+   *
+   * @param tags The tags whose values are to be retrieved.
+   * @param valueIfTagNotThere The value to pass to the event for tags that do not exist.
+   */
+  @SimpleFunction(description = "Get the Values for a list of tags with a single request. "
+      + "A GotValue event will fire for each tag when the values are looked up.")
+  public void GetValues(final YailList tags, final Object valueIfTagNotThere) {
+    checkProjectIDNotBlank();
+    boolean isConnected = CloudConnected();
+    List<pendingGet> work = new ArrayList<pendingGet>(tags.size());
+    for (int i = 0; i < tags.size(); i++) {
+      String tag = tags.getString(i);
+      if (!getCachedValue(tag, isConnected)) {
+        work.add(new pendingGet(tag, valueIfTagNotThere));
+      }
+    }
+    if (work.isEmpty()) {
+      return;
+    }
+    if (!isConnected) {
+      CloudDBError("Cannot fetch variables while off-line.");
+      return;
+    }
+    enqueueGets(work);
+  }
 
-            // Value stored is null; Return
-            if (value.get() == null) {
-              return;
+  /**
+   * Answers a GetValue request from the cache, if possible. On-line, the cache is only used
+   * while the listener is subscribed, since otherwise changes made by other devices may have
+   * been missed. Off-line, a possibly stale value is better than none.
+   *
+   * @return true if a GotValue event will be triggered with the cached value
+   */
+  private boolean getCachedValue(final String tag, boolean isConnected) {
+    if (!cacheValues || (isConnected && !listenerSubscribed)) {
+      return false;
+    }
+    final String cached = valueCache.get(tag);
+    if (cached == null) {
+      return false;
+    }
+    androidUIHandler.post(new Runnable() {
+        public void run() {
+          try {
+            GotValue(tag, decodeStoredValue(cached, null));
+          } catch (JSONException e) {
+            CloudDBError("JSON conversion error for " + tag);
+          }
+        }
+      });
+    return true;
+  }
+
+  /**
+   * Called by the listener when it has subscribed to the project's changes. Cached values may
+   * have changed while we were not subscribed, so they are forgotten, and any stores made while
+   * off-line are sent.
+   */
+  public void onListenerSubscribed() {
+    listenerSubscribed = true;
+    valueCache.clear();
+    if (!offlineQueue.isEmpty() && CloudConnected()) {
+      enqueueStores(Collections.<storedValue>emptyList());
+    }
+  }
+
+  /**
+   * Called by the listener when a change to a tag is published. The last of the published values
+   * is the tag's new value. An empty list of values means that the tag was cleared.
+   *
+   * @param tag the tag that changed
+   * @param valueList the values published for the tag, as decoded by the listener
+   */
+  public void onTagPublished(String tag, List<Object> valueList) {
+    if (!cacheValues) {
+      return;
+    }
+    if (valueList.isEmpty()) {
+      valueCache.remove(tag);
+      return;
+    }
+    // The listener decodes values such as true and false, which are cached as JSON again.
+    Object last = valueList.get(valueList.size() - 1);
+    try {
+      valueCache.put(tag, last instanceof String ? (String) last
+          : JsonUtil.getJsonRepresentation(last));
+    } catch (JSONException e) {
+      valueCache.remove(tag);
+    }
+  }
+
+  private void enqueueGets(List<pendingGet> work) {
+    synchronized(getQueue) {
+      boolean kickit = getQueue.isEmpty();
+      getQueue.addAll(work);
+      if (kickit) {
+        background.submit(new Runnable() {
+            public void run() {
+              drainGetQueue();
             }
+          });
+      }
+    }
+  }
 
-            androidUIHandler.post(new Runnable() {
-                public void run() {
-                  // Signal an event to indicate that the value was
-                  // received.  We post this to run in the Application's main
-                  // UI thread.
-                  GotValue(tag, value.get());
-                }
-              });
-          }
-        });
-    } else {
-      if (DEBUG) {
-        Log.d(LOG_TAG, "GetValue(): We're offline");
+  /**
+   * Looks up everything in the get queue with a single MGET. Pending stores are sent first so
+   * that a get always sees the stores requested before it. Runs on the background executor.
+   */
+  private void drainGetQueue() {
+    boolean stored = drainStoreQueue();
+    final List<pendingGet> work;
+    synchronized(getQueue) {
+      work = new ArrayList<pendingGet>(getQueue);
+      getQueue.clear();
+    }
+    if (work.isEmpty()) {
+      return;
+    }
+    if (!stored) {
+      failGets(work, "a pending store failed");
+      return;
+    }
+    String[] keys = new String[work.size()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = projectID + ":" + work.get(i).tag;
+    }
+    Jedis jedis = getJedis();
+    if (jedis == null) {
+      failGets(work, "the server cannot be reached");
+      return;
+    }
+    List<String> returnValues;
+    try {
+      long start = System.nanoTime();
+      returnValues = jedis.mget(keys);
+      recordRoundTrip(start);
+    } catch (JedisException e) {
+      Log.e(LOG_TAG, "Exception in GetValue", e);
+      failGets(work, e.getMessage());
+      flushJedis(true);
+      return;
+    }
+    final List<Object> values = new ArrayList<Object>(work.size());
+    for (int i = 0; i < work.size(); i++) {
+      pendingGet get = work.get(i);
+      if (cacheValues && returnValues.get(i) != null) {
+        valueCache.put(get.tag, returnValues.get(i));
       }
-      CloudDBError("Cannot fetch variables while off-line.");
+      try {
+        values.add(decodeStoredValue(returnValues.get(i), get.valueIfTagNotThere));
+      } catch (JSONException e) {
+        CloudDBError("JSON conversion error for " + get.tag);
+        values.add(null);
+      }
+    }
+    androidUIHandler.post(new Runnable() {
+        public void run() {
+          // Signal an event to indicate that each value was
+          // received.  We post this to run in the Application's main
+          // UI thread.
+          for (int i = 0; i < work.size(); i++) {
+            if (values.get(i) != null) {
+              GotValue(work.get(i).tag, values.get(i));
+            }
+          }
+        }
+      });
+  }
+
+  /**
+   * Reports that the values of the given gets could not be looked up, with one error for each
+   * tag, as when each GetValue made its own request.
+   */
+  private void failGets(List<pendingGet> work, String reason) {
+    for (pendingGet get : work) {
+      CloudDBError("Cannot get the value of " + get.tag + ": " + reason);
     }
   }
 
@@ -801,23 +1115,13 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
       if (DEBUG) {
         Log.d(LOG_TAG,"about to call jedis.get()");
       }
+      long start = System.nanoTime();
       String returnValue = jedis.get(projectID + ":" + tag);
+      recordRoundTrip(start);
       if (DEBUG) {
         Log.d(LOG_TAG, "finished call jedis.get()");
       }
-      if (returnValue != null) {
-        String val = JsonUtil.getJsonRepresentationIfValueFileName(form, returnValue);
-        if (val != null) {
-          value.set(val);
-        } else {
-          value.set(returnValue);
-        }
-      } else {
-        if (DEBUG) {
-          Log.d(CloudDB.LOG_TAG,"Value retrieved is null");
-        }
-        value.set(JsonUtil.getJsonRepresentation(valueIfTagNotThere));
-      }
+      value.set(decodeStoredValue(returnValue, valueIfTagNotThere));
     } catch (JSONException e) {
       CloudDBError("JSON conversion error for " + tag);
       value.set(null);
@@ -834,7 +1138,58 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
 
     return value;
   }
- 
+
+  /**
+   * Converts a value read from the server into the JSON passed to the GotValue event.
+   *
+   * @param returnValue the value read from the server, or null if the tag is not present
+   * @param valueIfTagNotThere the value to use if the tag is not present
+   */
+  private Object decodeStoredValue(String returnValue, Object valueIfTagNotThere)
+      throws JSONException {
+    if (returnValue != null) {
+      String val = JsonUtil.getJsonRepresentationIfValueFileName(form, returnValue);
+      return val != null ? val : returnValue;
+    }
+    if (DEBUG) {
+      Log.d(CloudDB.LOG_TAG,"Value retrieved is null");
+    }
+    return JsonUtil.getJsonRepresentation(valueIfTagNotThere);
+  }
+
+  /**
+   * Returns the average time in milliseconds that recent requests to the `CloudDB` server took
+   * to complete, including the time spent on the network. Returns 0 before the first request
+   * completes.
+   *
+   * @return the average round trip time, in milliseconds
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR,
+      description = "The average time in milliseconds that recent requests to the CloudDB "
+          + "server took to complete, or 0 if no request has completed yet.")
+  public double RoundTripTime() {
+    return averageRoundTrip;
+  }
+
+  // Only called from the background executor.
+  private void recordRoundTrip(long startNanos) {
+    double elapsed = (System.nanoTime() - startNanos) / 1000000.0;
+    if (averageRoundTrip == 0) {
+      averageRoundTrip = elapsed;
+    } else {
+      averageRoundTrip += ROUND_TRIP_WEIGHT * (elapsed - averageRoundTrip);
+    }
+  }
+
+  // Loads a script on the server so that it can be run with EVALSHA inside a pipeline, where
+  // the fallback to EVAL in jEval() is not possible.
+  private void ensureScriptLoaded(Jedis jedis, String script, String scriptsha1) {
+    if (!loadedScripts.contains(scriptsha1)) {
+      jedis.scriptLoad(script);
+      loadedScripts.add(scriptsha1);
+    }
+  }
+
   /**
    * Returns `true`{:.logic.block} if we are on the network and will likely be able to connect to
    * the `CloudDB` server.
@@ -920,6 +1275,7 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
     "When the element is available, the \"FirstRemoved\" event will be triggered.")
   public void RemoveFirstFromList(final String tag) {
     checkProjectIDNotBlank();
+    valueCache.remove(tag);       // The listener will see the new value
 
     final String key = tag;
 
@@ -968,6 +1324,7 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
     "data lost.")
   public void AppendValueToList(final String tag, final Object itemToAdd) {
     checkProjectIDNotBlank();
+    valueCache.remove(tag);       // The listener will see the new value
 
     Object itemObject = new Object();
     try {
@@ -1042,11 +1399,19 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
   @SimpleFunction(description = "Remove the tag from CloudDB.")
   public void ClearTag(final String tag) {
     checkProjectIDNotBlank();
+    valueCache.remove(tag);
     background.submit(new Runnable() {
         public void run() {
           try {
             Jedis jedis = getJedis();
-            jedis.del(projectID + ":" + tag);
+            long start = System.nanoTime();
+            // An empty list of values tells listeners that the tag was cleared,
+            // so that they can drop it from their caches.
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.del(projectID + ":" + tag);
+            pipeline.publish(projectID, new JSONArray().put(tag).put(new JSONArray()).toString());
+            pipeline.sync();
+            recordRoundTrip(start);
             // Notify all the Data Source observers of the change
             notifyDataObservers(tag, null);
             UpdateDone(tag, "ClearTag");
@@ -1096,7 +1461,9 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
             Jedis jedis = getJedis();
             Set<String> value = null;
             try {
+              long start = System.nanoTime();
               value = jedis.keys(projectID + ":*");
+              recordRoundTrip(start);
             } catch (JedisException e) {
               CloudDBError(e.getMessage());
               flushJedis(true);
@@ -1281,16 +1648,24 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
       // XXX
     }
     INSTANCE = null;
+    loadedScripts.clear();
     // We are now going to kill the executor, as it may
     // have hung tasks. We do this on the UI thread as a
-    // way to synchronize things.
+    // way to synchronize things. Queued stores and gets are
+    // dropped with the tasks that would have sent them.
     androidUIHandler.post(new Runnable() {
         public void run() {
-          List <Runnable> tasks = background.shutdownNow();
-          if (DEBUG) {
-            Log.d(LOG_TAG, "Killing background executor, returned tasks = " + tasks);
+          synchronized(storeQueue) {
+            synchronized(getQueue) {
+              List <Runnable> tasks = background.shutdownNow();
+              if (DEBUG) {
+                Log.d(LOG_TAG, "Killing background executor, returned tasks = " + tasks);
+              }
+              storeQueue.clear();
+              getQueue.clear();
+              background = AsynchUtil.newSerialExecutor();
+            }
           }
-          background = Executors.newSingleThreadExecutor();
         }
       });
 
@@ -1352,6 +1727,7 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
 
   public Object jEval(String script, String scriptsha1, int argcount, String... args) throws JedisException {
     Jedis jedis = getJedis();
+    long start = System.nanoTime();
     try {
       return jedis.evalsha(scriptsha1, argcount, args);
     } catch (JedisNoScriptException e) {
@@ -1361,6 +1737,8 @@ public class CloudDB extends AndroidNonvisibleComponent implements Component,
       // This happens if the server doesn't have the script loaded
       // So we use regular eval, which should then cache the script
       return jedis.eval(script, argcount, args);
+    } finally {
+      recordRoundTrip(start);
     }
   }
 
@@ -15,6 +15,7 @@ import com.google.appinventor.components.annotations.SimpleProperty;
 
 import com.google.appinventor.components.common.PropertyTypeConstants;
 
+import com.google.appinventor.components.runtime.util.AsynchUtil;
 import com.google.appinventor.components.runtime.util.CsvUtil;
 import com.google.appinventor.components.runtime.util.YailList;
 
@@ -27,7 +28,6 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 /**
@@ -102,7 +102,7 @@ public abstract class DataCollection<C extends ComponentContainer, M extends Dat
 
     // Set default properties
     DataSourceKey("");
-    threadRunner = Executors.newSingleThreadExecutor();
+    threadRunner = AsynchUtil.newSerialExecutor();
     // Construct default dataFileColumns list with 2 entries
     dataFileColumns = Arrays.asList("", "");
     sheetsColumns = Arrays.asList("", "");
@@ -9,26 +9,35 @@ import android.util.Log;
 
 import com.google.appinventor.components.annotations.DesignerComponent;
 import com.google.appinventor.components.annotations.DesignerProperty;
+import com.google.appinventor.components.annotations.Options;
 import com.google.appinventor.components.annotations.PropertyCategory;
 import com.google.appinventor.components.annotations.SimpleFunction;
 import com.google.appinventor.components.annotations.SimpleObject;
 import com.google.appinventor.components.annotations.SimpleProperty;
 
+import com.google.appinventor.components.common.Aggregation;
+import com.google.appinventor.components.common.Comparison;
 import com.google.appinventor.components.common.ComponentCategory;
 import com.google.appinventor.components.common.PropertyTypeConstants;
 import com.google.appinventor.components.common.YaVersion;
 
-import com.google.appinventor.components.runtime.util.ChartDataSourceUtil;
+import com.google.appinventor.components.runtime.util.AsynchUtil;
 import com.google.appinventor.components.runtime.util.CsvUtil;
+import com.google.appinventor.components.runtime.util.DataTable;
+import com.google.appinventor.components.runtime.util.IOUtils;
 import com.google.appinventor.components.runtime.util.JsonUtil;
 import com.google.appinventor.components.runtime.util.YailList;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
 import java.util.ArrayList;
+import java.util.List;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.json.JSONException;
@@ -54,9 +63,11 @@ import org.json.JSONException;
 @SimpleObject
 public class DataFile extends FileBase implements DataSource<YailList, Future<YailList>> {
 
+  // The contents of the file. The rows and columns lists are built from the table when they are
+  // first asked for, so that a file that is only filtered or aggregated is never held as lists.
+  private DataTable table;
   private YailList rows;
   private YailList columns;
-  private YailList columnNames; // Elements of the first column
 
   private final ExecutorService threadRunner; // Used to queue & execute asynchronous tasks
 
@@ -68,11 +79,9 @@ public class DataFile extends FileBase implements DataSource<YailList, Future<Ya
   public DataFile(ComponentContainer container) {
     super(container);
 
-    rows = new YailList();
-    columns = new YailList();
-    columnNames = new YailList();
+    table = DataTable.empty();
 
-    threadRunner = Executors.newSingleThreadExecutor();
+    threadRunner = AsynchUtil.newSerialExecutor();
   }
 
   /**
@@ -86,7 +95,7 @@ public class DataFile extends FileBase implements DataSource<YailList, Future<Ya
     return getYailListPropertyHelper(new Callable<YailList>() {
       @Override
       public YailList call() {
-        return rows;
+        return getRows();
       }
     });
   }
@@ -103,7 +112,7 @@ public class DataFile extends FileBase implements DataSource<YailList, Future<Ya
     return getYailListPropertyHelper(new Callable<YailList>() {
       @Override
       public YailList call() {
-        return columns;
+        return getColumns();
       }
     });
   }
@@ -121,7 +130,7 @@ public class DataFile extends FileBase implements DataSource<YailList, Future<Ya
     return getYailListPropertyHelper(new Callable<YailList>() {
       @Override
       public YailList call() {
-        return columnNames;
+        return getColumnNames();
       }
     });
   }
@@ -138,8 +147,20 @@ public class DataFile extends FileBase implements DataSource<YailList, Future<Ya
    * @param propertyCallable Callable that returns the required YailList property
    * @return YailList property
    */
-  @SuppressWarnings("TryWithIdenticalCatches")
   private YailList getYailListPropertyHelper(Callable<YailList> propertyCallable) {
+    return getAfterReading(propertyCallable, new YailList());
+  }
+
+  /**
+   * Runs a callable once any reading in progress is done, and returns its result.
+   *
+   * @param propertyCallable Callable that computes the result from the contents of the file
+   * @param defaultValue the value returned if the callable fails
+   * @param <T> the type of the result
+   * @return the result of the callable, or defaultValue
+   */
+  @SuppressWarnings("TryWithIdenticalCatches")
+  private <T> T getAfterReading(Callable<T> propertyCallable, T defaultValue) {
     // Since reading might be in progress, the task of
     // getting a DataFile property should be queued so that the
     // thread is blocked until the reading is finished.
@@ -153,7 +174,7 @@ public class DataFile extends FileBase implements DataSource<YailList, Future<Ya
       Log.e(this.getClass().getName(), e.getMessage());
     }
 
-    return new YailList(); // Return empty list (default option)
+    return defaultValue;
   }
 
   /**
@@ -207,53 +228,202 @@ public class DataFile extends FileBase implements DataSource<YailList, Future<Ya
    * @return YailList of elements in the column
    */
   public YailList getColumn(String column) {
-    // Get the index of the column (first row - column names)
-    // 1 is subtracted from the index since YailList indexOf
-    // returns an index that is 1-based.
-    int index = columnNames.indexOf(column) - 1;
+    DataTable data = getTable();
+    int index = data.indexOf(column);
 
     // Column not found
     if (index < 0) {
       return new YailList();
     }
 
-    return (YailList) columns.getObject(index);
+    return YailList.makeList(data.getColumnWithName(index));
+  }
+
+  /**
+   * Finds the rows of the data whose value in the given column compares to `value`{:.text.block}
+   * in the given way, and returns them as a list of rows. The row of column names is not
+   * included. If the column holds numbers and `value`{:.text.block} is a number, they are
+   * compared as numbers; otherwise they are compared as text.
+   *
+   * @param column the name of the column to compare
+   * @param comparison how the values of the column are compared to value
+   * @param value the value to compare to
+   * @return the matching rows
+   */
+  @SimpleFunction(description = "Returns the rows whose value in the given column compares to "
+      + "the given value in the given way, without the row of column names. Numbers are compared "
+      + "as numbers and other values as text.")
+  public YailList FilterRows(final String column,
+      @Options(Comparison.class) final String comparison, final String value) {
+    return getYailListPropertyHelper(new Callable<YailList>() {
+      @Override
+      public YailList call() {
+        DataTable data = getTable();
+        int index = data.indexOf(column);
+        Comparison compare = Comparison.fromUnderlyingValue(comparison);
+        List<YailList> result = new ArrayList<>();
+        if (index >= 0 && compare != null) {
+          for (int row : data.filter(index, compare, value)) {
+            result.add(YailList.makeList(data.getRow(row)));
+          }
+        }
+        return YailList.makeList(result);
+      }
+    });
+  }
+
+  /**
+   * Returns the columns with the given names, each as a list starting with the column's name,
+   * in the order the names are given. Names that are not columns give empty lists.
+   *
+   * @param columnNames the names of the columns
+   * @return the columns
+   */
+  @SimpleFunction(description = "Returns the columns with the given names, each as a list "
+      + "starting with the name of the column.")
+  public YailList SelectColumns(final YailList columnNames) {
+    return getYailListPropertyHelper(new Callable<YailList>() {
+      @Override
+      public YailList call() {
+        List<YailList> result = new ArrayList<>();
+        for (Object name : columnNames.toArray()) {
+          result.add(getColumn(name.toString()));
+        }
+        return YailList.makeList(result);
+      }
+    });
+  }
+
+  /**
+   * Returns the values of a column, without its name. If the column holds numbers, the values are
+   * returned as numbers, ready to be given to blocks such as those of the Regression and
+   * AnomalyDetection components.
+   *
+   * @param column the name of the column
+   * @return the values of the column
+   */
+  @SimpleFunction(description = "Returns the values of the given column without its name. The "
+      + "values of a column of numbers are returned as numbers.")
+  public YailList ColumnValues(final String column) {
+    return getYailListPropertyHelper(new Callable<YailList>() {
+      @Override
+      public YailList call() {
+        DataTable data = getTable();
+        int index = data.indexOf(column);
+        if (index < 0) {
+          return new YailList();
+        }
+        return YailList.makeList(data.getColumn(index).getValues());
+      }
+    });
+  }
+
+  /**
+   * Combines the numbers in a column into a single number: their sum, average, minimum or
+   * maximum. Values that are not numbers are skipped. `Count` gives the number of values in the
+   * column that are not empty. The average, minimum and maximum of a column without numbers are
+   * not a number (NaN).
+   *
+   * @param column the name of the column
+   * @param aggregation how the values are combined
+   * @return the combined value
+   */
+  @SimpleFunction(description = "Returns the count of values, or the sum, average, minimum or "
+      + "maximum of the numbers, in the given column.")
+  public double AggregateColumn(final String column,
+      @Options(Aggregation.class) final String aggregation) {
+    return getAfterReading(new Callable<Double>() {
+      @Override
+      public Double call() {
+        DataTable data = getTable();
+        int index = data.indexOf(column);
+        Aggregation aggregate = Aggregation.fromUnderlyingValue(aggregation);
+        if (aggregate == null) {
+          return Double.NaN;
+        } else if (index < 0) {
+          return aggregate == Aggregation.Count || aggregate == Aggregation.Sum ? 0 : Double.NaN;
+        }
+        return data.aggregate(index, aggregate);
+      }
+    }, Double.NaN);
+  }
+
+  private synchronized DataTable getTable() {
+    return table;
+  }
+
+  private synchronized YailList getRows() {
+    if (rows == null) {
+      rows = toYailList(table.toRows());
+    }
+    return rows;
+  }
+
+  private synchronized YailList getColumns() {
+    if (columns == null) {
+      columns = toYailList(table.toColumns());
+    }
+    return columns;
+  }
+
+  private synchronized YailList getColumnNames() {
+    return YailList.makeList(table.getColumnNames());
+  }
+
+  /**
+   * Replaces the contents of the component with newly read data.
+   */
+  private synchronized void setContents(DataTable table) {
+    this.table = table;
+    rows = null;
+    columns = null;
+  }
+
+  private static YailList toYailList(List<List<String>> lists) {
+    List<YailList> result = new ArrayList<>(lists.size());
+    for (List<String> list : lists) {
+      result.add(YailList.makeList(list));
+    }
+    return YailList.makeList(result);
+  }
+
+  /**
+   * Parses CSV files while they are read, without first reading them into a String. JSON files
+   * are read whole, as the JSON parser requires.
+   */
+  @Override
+  protected void afterRead(InputStreamReader reader) throws IOException {
+    BufferedReader in = new BufferedReader(reader);
+    in.mark(1);
+    int first = in.read();
+    in.reset();
+    if (first == '{') {
+      afterRead(IOUtils.normalizeNewLines(IOUtils.readReader(in)));
+      return;
+    }
+    try {
+      setContents(DataTable.fromRows(CsvUtil.fromCsvTable(in)));
+    } catch (Exception e) {
+      Log.e(this.getClass().getName(), "Unable to parse DataFile",  e);
+    }
   }
 
   @Override
   protected void afterRead(final String result) {
     try {
       // First character is a curly bracket; Assume JSON
-      // TODO: When fetching columns and rows, in the case of
-      // TODO: colums/rows being uneven lengths, the final rows and columns
-      // TODO: objects will differ (the transpose will fill missing entries
-      // TODO: with blank empty String entries, while the original List will
-      // TODO: have uneven sized Lists. For consistency, this should be
-      // TODO: handled, but currently there is a bit too much overhead in doing
-      // TODO: so due to YailLists not supporting the add() operation)
       if (result.charAt(0) == '{') {
         try {
           // Parse columns from the result
-          columns = JsonUtil.getColumnsFromJson(result);
-
-          // Construct row lists from columns
-          rows = ChartDataSourceUtil.getTranspose(columns);
+          setContents(DataTable.fromColumns(JsonUtil.getColumnsFromJson(result)));
         } catch (JSONException e) {
           // JSON parsing failed; Fallback to CSV
-          rows = CsvUtil.fromCsvTable(result);
-          columns = ChartDataSourceUtil.getTranspose(rows);
+          setContents(DataTable.fromRows(CsvUtil.fromCsvTable(result)));
         }
       } else { // Assume CSV otherwise
         // Parse rows from the result
-        rows = CsvUtil.fromCsvTable(result);
-
-        // Construct column lists from rows
-        columns = ChartDataSourceUtil.getTranspose(rows);
+        setContents(DataTable.fromRows(CsvUtil.fromCsvTable(result)));
       }
-
-      // If rows size is non-zero, set column names to first row. Otherwise,
-      // set it to an empty List.
-      columnNames = (rows.size() > 0) ? ((YailList) rows.getObject(0)) : new YailList();
     } catch (Exception e) {
       Log.e(this.getClass().getName(), "Unable to parse DataFile",  e);
     }
@@ -189,29 +189,36 @@ public abstract class DataModel<E> {
 
     List<YailList> tuples = new ArrayList<>();
 
+    // Copy the columns to arrays first, since looking up an element of a
+    // YailList by index walks the list from the start.
+    Object[][] columnValues = new Object[columns.size()][];
+    int j = 0;
+    for (Object value : columns.toArray()) {
+      // Invalid columns are left null
+      if (value instanceof YailList) {
+        columnValues[j] = ((YailList) value).toArray();
+      }
+      j++;
+    }
+
     // Generate tuples from the columns
     for (int i = hasHeaders ? 1 : 0; i < rows; ++i) {
       ArrayList<String> tupleElements = new ArrayList<>();
 
       // Add entries to the tuple from all i-th values (i-th row)
       // of the data columns.
-      for (int j = 0; j < columns.size(); ++j) {
-        Object value = columns.getObject(j);
-
+      for (Object[] column : columnValues) {
         // Invalid column specified; Add default value (minus one to
         // compensate for the skipped value)
-        if (!(value instanceof YailList)) {
+        if (column == null) {
           tupleElements.add(getDefaultValue(i - 1));
           continue;
         }
 
-        // Safe-cast value to YailList
-        YailList column = (YailList) value;
-
-        if (column.size() > i) { // Entry exists in column
+        if (column.length > i) { // Entry exists in column
           // Add entry from column
-          tupleElements.add(column.getString(i));
-        } else if (column.size() == 0) { // Column empty (default value should be used)
+          tupleElements.add(column[i].toString());
+        } else if (column.length == 0) { // Column empty (default value should be used)
           // Use default value instead (we use an index minus one to componsate
           // for the skipped initial value)
           tupleElements.add(getDefaultValue(i - 1));
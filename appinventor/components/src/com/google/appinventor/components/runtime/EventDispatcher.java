@@ -8,6 +8,8 @@ package com.google.appinventor.components.runtime;
 
 import android.util.Log;
 
+import com.google.appinventor.components.runtime.util.YailProfiler;
+
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -234,10 +236,15 @@ public class EventDispatcher {
     // event.  This should only be true for one (or zero) of the closures.
     boolean dispatched = false;
     for (EventClosure eventClosure : eventClosures) {
-      if (dispatchDelegate.dispatchEvent(component,
-                                         eventClosure.componentId,
-                                         eventClosure.eventName,
-                                         args)) {
+      YailProfiler.Sample sample = YailProfiler.begin();
+      boolean handled = dispatchDelegate.dispatchEvent(component,
+                                                       eventClosure.componentId,
+                                                       eventClosure.eventName,
+                                                       args);
+      if (handled && sample != null) {
+        YailProfiler.end(sample, eventClosure.componentId + "." + eventClosure.eventName);
+      }
+      if (handled) {
         if (DEBUG) {
           Log.i("EventDispatcher", "Successfully dispatched event " +
               eventClosure.componentId + "." + eventClosure.eventName);
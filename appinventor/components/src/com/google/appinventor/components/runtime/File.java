@@ -35,26 +35,39 @@ import com.google.appinventor.components.runtime.errors.StopBlocksExecution;
 
 import com.google.appinventor.components.runtime.util.AsynchUtil;
 import com.google.appinventor.components.runtime.util.Continuation;
+import com.google.appinventor.components.runtime.util.CsvReader;
+import com.google.appinventor.components.runtime.util.CsvWriter;
 import com.google.appinventor.components.runtime.util.ErrorMessages;
 import com.google.appinventor.components.runtime.util.FileAccessMode;
 import com.google.appinventor.components.runtime.util.FileOperation;
+import com.google.appinventor.components.runtime.util.FileReadOperation;
+import com.google.appinventor.components.runtime.util.FileStreamReadOperation;
 import com.google.appinventor.components.runtime.util.FileStreamWriteOperation;
 import com.google.appinventor.components.runtime.util.FileUtil;
 import com.google.appinventor.components.runtime.util.FileWriteOperation;
 import com.google.appinventor.components.runtime.util.IOUtils;
+import com.google.appinventor.components.runtime.util.LineIndex;
 import com.google.appinventor.components.runtime.util.ScopedFile;
 import com.google.appinventor.components.runtime.util.SingleFileOperation;
 import com.google.appinventor.components.runtime.util.Synchronizer;
+import com.google.appinventor.components.runtime.util.YailList;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Non-visible component for storing and retrieving files. Use this component to write or read files
@@ -110,6 +123,25 @@ import java.util.List;
 @SuppressLint({"InlinedApi", "SdCardPath"})
 public class File extends FileBase implements Component {
   private static final String LOG_TAG = "FileComponent";
+  private static final int MAX_LINE_INDEXES = 8;
+
+  /**
+   * The line indexes of the files most recently read with ReadLines, by path.
+   */
+  private final Map<String, LineIndex> lineIndexes =
+      new LinkedHashMap<String, LineIndex>(MAX_LINE_INDEXES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LineIndex> eldest) {
+          return size() > MAX_LINE_INDEXES;
+        }
+      };
+
+  /**
+   * Content to be written to a file.
+   */
+  private interface Content {
+    void writeTo(Writer out) throws IOException;
+  }
 
   /**
    * Creates a new File component.
@@ -565,6 +597,227 @@ public class File extends FileBase implements Component {
     readFromFile(fileName);
   }
 
+  /**
+   * Reads up to `count`{:.number.block} lines from a file, starting at line
+   * `startLine`{:.number.block}, where the first line of the file is line 1. Only the lines read
+   * are loaded into memory, so this block can be used to go through files too large for
+   * {@link #ReadFrom(String)} a few lines at a time. The lines are given to the
+   * {@link #GotLines(String, int, List)} event, which receives fewer lines than requested when the
+   * end of the file is reached. See {@link #ReadFrom(String)} for how `fileName`{:.text.block} is
+   * interpreted.
+   *
+   * @internaldoc
+   * The File component remembers where some of the lines of recently read files start, so reading
+   * the next lines of a file does not scan it again from the beginning.
+   *
+   * @param fileName the file from which the lines are read
+   * @param startLine the number of the first line to read, starting at 1
+   * @param count the most lines to read
+   */
+  @SimpleFunction(description = "Reads up to count lines from a file, starting at line startLine, "
+      + "where the first line is line 1. Only the lines read are loaded into memory. The lines "
+      + "are given to the GotLines event. See ReadFrom for how the filename is interpreted.")
+  public void ReadLines(final String fileName, final int startLine, final int count) {
+    if (startLine < 1 || count < 1) {
+      form.dispatchErrorOccurredEvent(this, "ReadLines", ErrorMessages.ERROR_INVALID_LINE_RANGE,
+          startLine, count);
+      return;
+    }
+    try {
+      new FileReadOperation(form, this, "ReadLines", fileName, scope, true) {
+        @Override
+        protected boolean process(InputStream in) throws IOException {
+          final List<String> lines = getLineIndex(this).readLines(in, startLine - 1, count);
+          form.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+              GotLines(fileName, startLine, lines);
+            }
+          });
+          return true;
+        }
+
+        @Override
+        public void onError(IOException e) {
+          if (e instanceof FileNotFoundException) {
+            Log.e(LOG_TAG, "FileNotFoundException", e);
+            form.dispatchErrorOccurredEvent(File.this, "ReadLines",
+                ErrorMessages.ERROR_CANNOT_FIND_FILE, fileName);
+          } else {
+            Log.e(LOG_TAG, "IOException", e);
+            form.dispatchErrorOccurredEvent(File.this, "ReadLines",
+                ErrorMessages.ERROR_CANNOT_READ_FILE, fileName);
+          }
+        }
+      }.run();
+    } catch (StopBlocksExecution e) {
+      // This is okay because the block is designed to be asynchronous.
+    }
+  }
+
+  /**
+   * Returns the line index to read the file of an operation with, reusing the index from an
+   * earlier read if the file has not changed since.
+   */
+  private LineIndex getLineIndex(FileReadOperation operation) {
+    java.io.File target = operation.getFile();
+    if (target == null) {
+      // Content URIs can change without notice, so they are not indexed
+      return new LineIndex();
+    }
+    String key = target.getAbsolutePath();
+    synchronized (lineIndexes) {
+      LineIndex index = lineIndexes.get(key);
+      if (target.isFile()) {
+        if (index == null || !index.isCurrent(target)) {
+          index = new LineIndex(target);
+          lineIndexes.put(key, index);
+        }
+      } else if (index == null) {
+        // Packaged assets are not files on the device, but they never change
+        index = new LineIndex();
+        if (operation.isAsset()) {
+          lineIndexes.put(key, index);
+        }
+      }
+      return index;
+    }
+  }
+
+  /**
+   * Reads a CSV table from a file, parsing it as it is read so that the text of the file is never
+   * held in memory as a whole. The fields of each row are separated by
+   * `delimiter`{:.text.block}, which is usually a comma (`,`), a semicolon (`;`) or a tab. The
+   * table is given to the {@link #GotCsvTable(String, YailList)} event as a list of rows, each of
+   * which is a list of fields. See {@link #ReadFrom(String)} for how `fileName`{:.text.block} is
+   * interpreted.
+   *
+   * @param fileName the file from which the table is read
+   * @param delimiter the single character between the fields of a row
+   */
+  @SimpleFunction(description = "Reads a CSV table from a file without blocking the app, and "
+      + "gives it to the GotCsvTable event as a list of rows. The fields of each row are "
+      + "separated by delimiter, which is usually a comma. See ReadFrom for how the filename is "
+      + "interpreted.")
+  public void ReadCsvTable(final String fileName, String delimiter) {
+    if (!isDelimiter(delimiter)) {
+      form.dispatchErrorOccurredEvent(this, "ReadCsvTable",
+          ErrorMessages.ERROR_INVALID_CSV_DELIMITER, delimiter);
+      return;
+    }
+    final char separator = delimiter.charAt(0);
+    try {
+      new FileStreamReadOperation(form, this, "ReadCsvTable", fileName, scope, true) {
+        @Override
+        protected boolean process(InputStreamReader reader) throws IOException {
+          return parse(reader);
+        }
+
+        @Override
+        public boolean process(String contents) {
+          try {
+            return parse(new StringReader(contents));
+          } catch (IOException e) {
+            // A StringReader does not throw
+            throw new IllegalStateException(e);
+          }
+        }
+
+        private boolean parse(Reader reader) throws IOException {
+          CsvReader csvReader = new CsvReader(reader, separator, true);
+          List<YailList> rows = new ArrayList<>();
+          try {
+            String[] row;
+            while ((row = csvReader.readRow()) != null) {
+              rows.add(YailList.makeList(row));
+            }
+          } catch (IllegalArgumentException e) {
+            Log.e(LOG_TAG, "Unable to parse CSV table", e);
+            form.dispatchErrorOccurredEvent(File.this, "ReadCsvTable",
+                ErrorMessages.ERROR_CANNOT_PARSE_CSV_TABLE, fileName);
+            return false;
+          }
+          final YailList table = YailList.makeList(rows);
+          form.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+              GotCsvTable(fileName, table);
+            }
+          });
+          return true;
+        }
+
+        @Override
+        public void onError(IOException e) {
+          if (e instanceof FileNotFoundException) {
+            Log.e(LOG_TAG, "FileNotFoundException", e);
+            form.dispatchErrorOccurredEvent(File.this, "ReadCsvTable",
+                ErrorMessages.ERROR_CANNOT_FIND_FILE, fileName);
+          } else {
+            Log.e(LOG_TAG, "IOException", e);
+            form.dispatchErrorOccurredEvent(File.this, "ReadCsvTable",
+                ErrorMessages.ERROR_CANNOT_READ_FILE, fileName);
+          }
+        }
+      }.run();
+    } catch (StopBlocksExecution e) {
+      // This is okay because the block is designed to be asynchronous.
+    }
+  }
+
+  /**
+   * Saves a list of rows to a file as a CSV table, writing it a row at a time without blocking
+   * the app. Each row is a list of fields, which are separated by `delimiter`{:.text.block} in
+   * the file. A row that is not a list is written as a row with one field. The file is
+   * overwritten if it already exists. See {@link #SaveFile(String, String)} for where files are
+   * written. On success, the {@link #AfterFileSaved(String)} event will run.
+   *
+   * @param table the rows to save
+   * @param fileName the file to which the table will be saved
+   * @param delimiter the single character between the fields of a row
+   */
+  @SimpleFunction(description = "Saves a list of rows to a file as a CSV table without blocking "
+      + "the app. The fields of each row are separated by delimiter, which is usually a comma. "
+      + "See SaveFile for where files are written.")
+  public void SaveCsvTable(YailList table, String fileName, String delimiter) {
+    if (!isDelimiter(delimiter)) {
+      form.dispatchErrorOccurredEvent(this, "SaveCsvTable",
+          ErrorMessages.ERROR_INVALID_CSV_DELIMITER, delimiter);
+      return;
+    }
+    final char separator = delimiter.charAt(0);
+    // Convert the rows now, since the blocks may change the lists while the file is written
+    Object[] rowObjects = table.toArray();
+    final String[][] rows = new String[rowObjects.length][];
+    for (int i = 0; i < rowObjects.length; i++) {
+      if (rowObjects[i] instanceof YailList) {
+        rows[i] = ((YailList) rowObjects[i]).toStringArray();
+      } else {
+        rows[i] = new String[] { YailList.YailListElementToString(rowObjects[i]) };
+      }
+    }
+    write(fileName, "SaveCsvTable", false, new Content() {
+      @Override
+      public void writeTo(Writer out) throws IOException {
+        CsvWriter csvWriter = new CsvWriter(out, separator);
+        for (String[] row : rows) {
+          csvWriter.writeRow(row);
+        }
+      }
+    });
+  }
+
+  /**
+   * Returns whether the text can separate the fields of a CSV row, which it can if it is a single
+   * character other than a quote or a line break.
+   */
+  private static boolean isDelimiter(String delimiter) {
+    if (delimiter.length() != 1) {
+      return false;
+    }
+    char c = delimiter.charAt(0);
+    return c != '"' && c != '\r' && c != '\n';
+  }
 
   /**
    * Deletes a file from storage. Prefix the `fileName`{:.text.block} with `/` to delete a specific
@@ -605,7 +858,7 @@ public class File extends FileBase implements Component {
   }
 
   /**
-   * Writes to the specified file.
+   * Writes text to the specified file.
    * @param filename the file to write
    * @param text to write to the file
    * @param append determines whether text should be appended to the file,
@@ -613,6 +866,23 @@ public class File extends FileBase implements Component {
    */
   private void write(final String filename, final String method, final String text,
       final boolean append) {
+    write(filename, method, append, new Content() {
+      @Override
+      public void writeTo(Writer out) throws IOException {
+        out.write(text);
+      }
+    });
+  }
+
+  /**
+   * Writes content to the specified file.
+   * @param filename the file to write
+   * @param append determines whether the content should be appended to the file,
+   *     or overwrite the file
+   * @param content the content to write, which is written on a background thread
+   */
+  private void write(final String filename, final String method, final boolean append,
+      final Content content) {
     if (filename.startsWith("//")) {
       form.dispatchErrorOccurredEvent(this, method, ErrorMessages.ERROR_CANNOT_WRITE_ASSET,
           filename);
@@ -645,7 +915,7 @@ public class File extends FileBase implements Component {
 
         @Override
         public boolean process(OutputStreamWriter out) throws IOException {
-          out.write(text);
+          content.writeTo(out);
           out.flush();
           form.runOnUiThread(new Runnable() {
             @Override
@@ -685,6 +955,32 @@ public class File extends FileBase implements Component {
     EventDispatcher.dispatchEvent(this, "GotText", text);
   }
 
+  /**
+   * Event indicating that lines have been read from a file by {@link #ReadLines(String, int, int)}.
+   *
+   * @param fileName the name of the file the lines were read from
+   * @param startLine the number of the first line read
+   * @param lines the lines read, without their line endings
+   */
+  @SimpleEvent(description = "Event indicating that lines have been read from a file by "
+      + "ReadLines. There are fewer lines than requested if the end of the file was reached.")
+  public void GotLines(String fileName, int startLine, List<String> lines) {
+    EventDispatcher.dispatchEvent(this, "GotLines", fileName, startLine, lines);
+  }
+
+  /**
+   * Event indicating that a CSV table has been read from a file by
+   * {@link #ReadCsvTable(String, String)}.
+   *
+   * @param fileName the name of the file the table was read from
+   * @param table the rows of the table, each a list of fields
+   */
+  @SimpleEvent(description = "Event indicating that a CSV table has been read from a file by "
+      + "ReadCsvTable.")
+  public void GotCsvTable(String fileName, YailList table) {
+    EventDispatcher.dispatchEvent(this, "GotCsvTable", fileName, table);
+  }
+
   /**
    * Event indicating that the contents of the file have been written.
    *
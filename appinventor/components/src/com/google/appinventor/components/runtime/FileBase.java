@@ -24,6 +24,7 @@ import com.google.appinventor.components.runtime.util.IOUtils;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStreamReader;
 
 /**
  * Base class for File-based components.
@@ -101,6 +102,12 @@ public abstract class FileBase extends AndroidNonvisibleComponent implements Com
   protected void readFromFile(final String fileName) {
     try {
       new FileStreamReadOperation(form, this, "ReadFrom", fileName, scope, true) {
+        @Override
+        protected boolean process(InputStreamReader reader) throws IOException {
+          afterRead(reader);
+          return true;
+        }
+
         @Override
         public boolean process(String contents) {
           final String text = IOUtils.normalizeNewLines(contents);
@@ -126,6 +133,19 @@ public abstract class FileBase extends AndroidNonvisibleComponent implements Com
     }
   }
 
+  /**
+   * Processes the contents of a file as it is read. The default implementation reads the whole
+   * file, normalizes its line endings and passes it to {@link #afterRead(String)}. Subclasses
+   * that can process the contents as a stream may override this method to avoid holding the
+   * whole file in memory.
+   *
+   * @param reader the reader of the file's contents, which is closed by the caller
+   * @throws IOException if the contents cannot be read
+   */
+  protected void afterRead(InputStreamReader reader) throws IOException {
+    afterRead(IOUtils.normalizeNewLines(IOUtils.readReader(reader)));
+  }
+
   /**
    * Asynchronously reads the contents of the specified Input Stream, the
    * content of which is expected to originate from the specified filename.
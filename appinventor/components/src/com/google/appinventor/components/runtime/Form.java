@@ -80,6 +80,7 @@ import com.google.appinventor.components.runtime.errors.PermissionException;
 import com.google.appinventor.components.runtime.multidex.MultiDex;
 import com.google.appinventor.components.runtime.util.AlignmentUtil;
 import com.google.appinventor.components.runtime.util.AnimationUtil;
+import com.google.appinventor.components.runtime.util.AsynchUtil;
 import com.google.appinventor.components.runtime.util.BulkPermissionRequest;
 import com.google.appinventor.components.runtime.util.ErrorMessages;
 import com.google.appinventor.components.runtime.util.FileUtil;
@@ -826,6 +827,11 @@ public class Form extends AppInventorCompatActivity
       onDestroyListener.onDestroy();
     }
 
+    // The application is exiting, so release the threads used for background work.
+    if (isFinishing() && isTaskRoot()) {
+      AsynchUtil.shutdown();
+    }
+
     // call super method at the end to delegate the destruction of the app to the parent
     super.onDestroy();
   }
@@ -15,14 +15,18 @@ import com.google.appinventor.components.annotations.SimpleProperty;
 import com.google.appinventor.components.common.ComponentCategory;
 import com.google.appinventor.components.common.PropertyTypeConstants;
 import com.google.appinventor.components.common.YaVersion;
+import com.google.appinventor.components.runtime.util.SensorBatcher;
+import com.google.appinventor.components.runtime.util.YailList;
 
 import android.content.Context;
 import android.hardware.Sensor;
 import android.hardware.SensorEvent;
 import android.hardware.SensorEventListener;
 import android.hardware.SensorManager;
+import android.os.Handler;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -56,6 +60,9 @@ public class GyroscopeSensor extends AndroidNonvisibleComponent
   // Set of observers
   private Set<DataSourceChangeListener> dataSourceObservers = new HashSet<>();
 
+  // Collects samples for SamplesReceived when BatchInterval is set
+  private final SensorBatcher batcher;
+
   /**
    * Creates a new GyroscopeSensor component.
    */
@@ -65,6 +72,12 @@ public class GyroscopeSensor extends AndroidNonvisibleComponent
     // Get sensors, and start listening.
     sensorManager = (SensorManager) form.getSystemService(Context.SENSOR_SERVICE);
     gyroSensor = sensorManager.getDefaultSensor(Sensor.TYPE_GYROSCOPE);
+    batcher = new SensorBatcher(new Handler(), new SensorBatcher.BatchListener() {
+      @Override
+      public void onBatch(List<SensorBatcher.Sample> samples) {
+        onGyroscopeBatch(samples);
+      }
+    });
 
     // Begin listening in onResume() and stop listening in onPause().
     form.registerForOnResume(this);
@@ -76,7 +89,8 @@ public class GyroscopeSensor extends AndroidNonvisibleComponent
 
   private void startListening() {
     if (!listening) {
-      sensorManager.registerListener(this, gyroSensor, SensorManager.SENSOR_DELAY_FASTEST);
+      batcher.registerListener(sensorManager, this, gyroSensor,
+          SensorManager.SENSOR_DELAY_FASTEST);
       listening = true;
     }
   }
@@ -85,6 +99,7 @@ public class GyroscopeSensor extends AndroidNonvisibleComponent
     if (listening) {
       sensorManager.unregisterListener(this);
       listening = false;
+      batcher.clear();
 
       // Throw out sensor information that will go stale.
       xAngularVelocity = 0;
@@ -107,8 +122,67 @@ public class GyroscopeSensor extends AndroidNonvisibleComponent
         xAngularVelocity, yAngularVelocity, zAngularVelocity, timestamp);
   }
 
+  /**
+   * Indicates that gyroscope samples have been collected over the {@link #BatchInterval(int)}.
+   * Each sample is a list of the time of the sample, in milliseconds since the device booted,
+   * and the angular velocity around the X, Y and Z axes, in degrees per second. The
+   * {@link #GyroscopeChanged(float, float, float, long)} event is not raised while samples are
+   * being batched.
+   *
+   * @param samples the samples, oldest first
+   */
+  @SimpleEvent(description = "Indicates that gyroscope samples have been collected over the "
+      + "BatchInterval. Each sample is a list of the time of the sample, in milliseconds since "
+      + "the device booted, and the angular velocity around the X, Y and Z axes, in degrees per "
+      + "second.")
+  public void SamplesReceived(List<YailList> samples) {
+    EventDispatcher.dispatchEvent(this, "SamplesReceived", samples);
+  }
+
   // Properties
 
+  /**
+   * Returns the interval, in milliseconds, over which gyroscope samples are collected and
+   * delivered together by the {@link #SamplesReceived(List)} event. If 0, each sample raises the
+   * {@link #GyroscopeChanged(float, float, float, long)} event instead.
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR)
+  public int BatchInterval() {
+    return batcher.getInterval();
+  }
+
+  /**
+   * Specifies the interval, in milliseconds, over which gyroscope samples are collected and
+   * delivered together by the {@link #SamplesReceived(List)} event, instead of raising the
+   * {@link #GyroscopeChanged(float, float, float, long)} event for each one. If 0, samples are
+   * not batched.
+   *
+   * @param interval the interval in milliseconds, or 0 to raise an event for each sample
+   */
+  @DesignerProperty(editorType = PropertyTypeConstants.PROPERTY_TYPE_NON_NEGATIVE_INTEGER,
+      defaultValue = "0")
+  @SimpleProperty
+  public void BatchInterval(int interval) {
+    batcher.setInterval(interval);
+    if (listening) {
+      // Register again so the sensor can use its hardware queue for the new interval.
+      sensorManager.unregisterListener(this);
+      listening = false;
+      startListening();
+    }
+  }
+
+  /**
+   * Returns the number of samples dropped since the {@link #BatchInterval(int)} was set because
+   * the app did not handle the {@link #SamplesReceived(List)} event in time.
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR,
+      description = "The number of samples dropped since the BatchInterval was set because the "
+      + "app did not handle the SamplesReceived event in time.")
+  public long DroppedSamples() {
+    return batcher.getDroppedCount();
+  }
+
   /**
    * Available property getter method (read-only property).
    *
@@ -209,6 +283,13 @@ public class GyroscopeSensor extends AndroidNonvisibleComponent
   @Override
   public void onSensorChanged(SensorEvent sensorEvent) {
     if (enabled) {
+      if (batcher.isEnabled()) {
+        batcher.add(sensorEvent.timestamp / 1000000,
+            (float) Math.toDegrees(sensorEvent.values[0]),
+            (float) Math.toDegrees(sensorEvent.values[1]),
+            (float) Math.toDegrees(sensorEvent.values[2]));
+        return;
+      }
 
       xAngularVelocity = (float) Math.toDegrees(sensorEvent.values[0]);
       yAngularVelocity = (float) Math.toDegrees(sensorEvent.values[1]);
@@ -225,6 +306,20 @@ public class GyroscopeSensor extends AndroidNonvisibleComponent
     }
   }
 
+  private void onGyroscopeBatch(List<SensorBatcher.Sample> samples) {
+    float[] latest = samples.get(samples.size() - 1).values;
+    xAngularVelocity = latest[0];
+    yAngularVelocity = latest[1];
+    zAngularVelocity = latest[2];
+
+    // Charts only need to keep up with the latest values, not every sample.
+    notifyDataObservers("X", xAngularVelocity);
+    notifyDataObservers("Y", yAngularVelocity);
+    notifyDataObservers("Z", zAngularVelocity);
+
+    SamplesReceived(SensorBatcher.toYailLists(samples));
+  }
+
   @Override
   public void onAccuracyChanged(Sensor sensor, int accuracy) {
   }
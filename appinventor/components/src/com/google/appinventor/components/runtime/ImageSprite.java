@@ -76,6 +76,9 @@ public class ImageSprite extends Sprite {
   private String picturePath = "";  // Picture property
   private boolean rotates;
 
+  // Corners of the sprite as {x0, y0, ..., x3, y3}, reused by collision checks.
+  private final double[] corners = new double[8];
+
   /**
    * Constructor for ImageSprite.
    *
@@ -180,6 +183,54 @@ public class ImageSprite extends Sprite {
     return maximum;
   }
 
+  /**
+   * Gets the corners of the sprite after rotation, taken in clockwise direction
+   * starting from the top-left corner, as a flat {x0, y0, ..., x3, y3} array.
+   * The returned array is owned by this sprite and is overwritten by the next
+   * call, so collision checks can use it without allocating.
+   *
+   * @return the corners of the sprite
+   */
+  double[] getCorners() {
+    double width = Width();
+    double height = Height();
+    corners[0] = xLeft;
+    corners[1] = yTop;
+    corners[2] = xLeft + width;
+    corners[3] = yTop;
+    corners[4] = xLeft + width;
+    corners[5] = yTop + height;
+    corners[6] = xLeft;
+    corners[7] = yTop + height;
+    if (rotates) {
+      // Same rotation about the origin as getVectorRotated, using the cached heading.
+      for (int i = 0; i < corners.length; i += 2) {
+        double dx = corners[i] - xOrigin;
+        double dy = corners[i + 1] - yOrigin;
+        corners[i] = xOrigin + dx * headingCos - dy * headingSin;
+        corners[i + 1] = yOrigin + dx * headingSin + dy * headingCos;
+      }
+    }
+    return corners;
+  }
+
+  @Override
+  void getCollisionBounds(double[] bounds) {
+    if (!rotates) {
+      super.getCollisionBounds(bounds);
+      return;
+    }
+    double[] points = getCorners();
+    bounds[0] = bounds[2] = points[0];
+    bounds[1] = bounds[3] = points[1];
+    for (int i = 2; i < points.length; i += 2) {
+      bounds[0] = Math.min(bounds[0], points[i]);
+      bounds[1] = Math.min(bounds[1], points[i + 1]);
+      bounds[2] = Math.max(bounds[2], points[i]);
+      bounds[3] = Math.max(bounds[3], points[i + 1]);
+    }
+  }
+
   // To get the extremity vectors for the rotated image sprite, first calculate the the extremity
   // vectors for the un-rotated image sprite and rotate them about the origin.
   // Let v be the vector fot the origin. This does not change on rotation.
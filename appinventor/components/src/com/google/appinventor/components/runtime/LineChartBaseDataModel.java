@@ -107,6 +107,12 @@ public abstract class LineChartBaseDataModel<V extends LineChartViewBase<V>>
     }
   }
 
+  @Override
+  protected boolean isOrderedByX() {
+    // addEntryFromTuple inserts the entries in order of their x values
+    return true;
+  }
+
   @Override
   protected void setDefaultStylingProperties() {
     if (dataset instanceof LineDataSet) {
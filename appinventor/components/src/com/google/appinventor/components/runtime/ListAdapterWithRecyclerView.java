@@ -5,11 +5,16 @@
 
 package com.google.appinventor.components.runtime;
 
+import android.graphics.drawable.BitmapDrawable;
+
+import android.util.Log;
+
 import android.view.View;
 import android.view.ViewGroup;
 
 import android.widget.Filter;
 import android.widget.Filterable;
+import android.widget.ImageView;
 
 import androidx.cardview.widget.CardView;
 
@@ -17,6 +22,9 @@ import androidx.core.view.ViewCompat;
 
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.appinventor.components.runtime.util.AsyncCallbackPair;
+import com.google.appinventor.components.runtime.util.MediaUtil;
+import com.google.appinventor.components.runtime.util.ViewUtil;
 import com.google.appinventor.components.runtime.util.YailDictionary;
 
 import java.util.ArrayList;
@@ -134,6 +142,43 @@ public abstract class ListAdapterWithRecyclerView
     }
   }
 
+  /**
+   * Loads an image into the ImageView of a row. The image is decoded for the size of the view on
+   * a background thread, so that binding a row does not block scrolling. Images that have been
+   * shown before come from the bitmap cache and are set right away.
+   *
+   * @param imageView the view to show the image in
+   * @param imageName the path of the image
+   * @param width the width of the view, in pixels
+   * @param height the height of the view, in pixels
+   */
+  protected void loadImage(final ImageView imageView, final String imageName, int width,
+      int height) {
+    // The view may be rebound to another row before the image is loaded, so remember which image
+    // it is waiting for.
+    imageView.setTag(imageName);
+    ViewUtil.setImage(imageView, null);
+    MediaUtil.getBitmapDrawableForViewAsync(container.$form(), imageName, width, height,
+        new AsyncCallbackPair<BitmapDrawable>() {
+          @Override
+          public void onSuccess(final BitmapDrawable result) {
+            container.$form().runOnUiThread(new Runnable() {
+              @Override
+              public void run() {
+                if (imageName.equals(imageView.getTag())) {
+                  ViewUtil.setImage(imageView, result);
+                }
+              }
+            });
+          }
+
+          @Override
+          public void onFailure(String message) {
+            Log.e(LOG_TAG, "Unable to load image " + imageName + ": " + message);
+          }
+        });
+  }
+
   @Override
   public int getItemCount() {
     return items.size();
@@ -5,7 +5,6 @@
 
 package com.google.appinventor.components.runtime;
 
-import android.graphics.drawable.Drawable;
 import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
@@ -14,14 +13,10 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import androidx.cardview.widget.CardView;
 import androidx.core.view.ViewCompat;
-import android.util.Log;
 
-import com.google.appinventor.components.runtime.util.MediaUtil;
 import com.google.appinventor.components.runtime.util.TextViewUtil;
-import com.google.appinventor.components.runtime.util.ViewUtil;
 import com.google.appinventor.components.runtime.util.YailDictionary;
 
-import java.io.IOException;
 import java.util.List;
 
 public class ListViewImageSingleTextAdapter extends ListAdapterWithRecyclerView {
@@ -102,12 +97,7 @@ public class ListViewImageSingleTextAdapter extends ListAdapterWithRecyclerView
       imageName = dictItem.get(Component.LISTVIEW_KEY_IMAGE).toString();
     }
     imageSingleTextHolder.textViewFirst.setText(first);
-    try {
-      Drawable drawable = MediaUtil.getBitmapDrawable(container.$form(), imageName);
-      ViewUtil.setImage(imageSingleTextHolder.imageView, drawable);
-    } catch (IOException ioe) {
-      Log.e(LOG_TAG, "onBindViewHolder Unable to load image " + imageName + ": " + ioe.getMessage());
-    }
+    loadImage(imageSingleTextHolder.imageView, imageName, imageWidth, imageHeight);
     updateCardViewColor(imageSingleTextHolder.cardView, position);
   }
  
@@ -5,7 +5,6 @@
 
 package com.google.appinventor.components.runtime;
 
-import android.graphics.drawable.Drawable;
 import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
@@ -14,14 +13,10 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import androidx.cardview.widget.CardView;
 import androidx.core.view.ViewCompat;
-import android.util.Log;
 
-import com.google.appinventor.components.runtime.util.MediaUtil;
 import com.google.appinventor.components.runtime.util.TextViewUtil;
-import com.google.appinventor.components.runtime.util.ViewUtil;
 import com.google.appinventor.components.runtime.util.YailDictionary;
 
-import java.io.IOException;
 import java.util.List;
 
 public class ListViewImageTwoTextVerticalAdapter extends ListAdapterWithRecyclerView {
@@ -134,12 +129,7 @@ public class ListViewImageTwoTextVerticalAdapter extends ListAdapterWithRecycler
     }
     imageTwoTextHolder.textViewFirst.setText(first);
     imageTwoTextHolder.textViewSecond.setText(second);
-    try {
-      Drawable drawable = MediaUtil.getBitmapDrawable(container.$form(), imageName);
-      ViewUtil.setImage(imageTwoTextHolder.imageView, drawable);
-    } catch (IOException ioe) {
-      Log.e(LOG_TAG, "onBindViewHolder Unable to load image " + imageName + ": " + ioe.getMessage());
-    }
+    loadImage(imageTwoTextHolder.imageView, imageName, imageWidth, imageHeight);
     updateCardViewColor(imageTwoTextHolder.cardView, position);
   }
  
@@ -18,18 +18,22 @@ import com.google.appinventor.components.common.YaVersion;
 import com.google.appinventor.components.runtime.util.FroyoUtil;
 import com.google.appinventor.components.runtime.util.OrientationSensorUtil;
 import com.google.appinventor.components.runtime.util.SdkLevel;
+import com.google.appinventor.components.runtime.util.SensorBatcher;
+import com.google.appinventor.components.runtime.util.YailList;
 
 import android.content.Context;
 import android.hardware.Sensor;
 import android.hardware.SensorEvent;
 import android.hardware.SensorEventListener;
 import android.hardware.SensorManager;
+import android.os.Handler;
 import android.util.Log;
 import android.view.Display;
 import android.view.Surface;
 import android.view.WindowManager;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -119,6 +123,9 @@ public class OrientationSensor extends AndroidNonvisibleComponent
   // Set of observers
   private Set<DataSourceChangeListener> dataSourceObservers = new HashSet<>();
 
+  // Collects samples for SamplesReceived when BatchInterval is set
+  private final SensorBatcher batcher;
+
   /**
    * Creates a new OrientationSensor component.
    *
@@ -132,6 +139,12 @@ public class OrientationSensor extends AndroidNonvisibleComponent
       (SensorManager) container.$context().getSystemService(Context.SENSOR_SERVICE);
     accelerometerSensor = sensorManager.getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
     magneticFieldSensor = sensorManager.getDefaultSensor(Sensor.TYPE_MAGNETIC_FIELD);
+    batcher = new SensorBatcher(new Handler(), new SensorBatcher.BatchListener() {
+      @Override
+      public void onBatch(List<SensorBatcher.Sample> samples) {
+        onOrientationBatch(samples);
+      }
+    });
 
     // Begin listening in onResume() and stop listening in onPause().
     form.registerForOnResume(this);
@@ -143,10 +156,10 @@ public class OrientationSensor extends AndroidNonvisibleComponent
 
   private void startListening() {
     if (!listening) {
-      sensorManager.registerListener(this, accelerometerSensor,
-                                     SensorManager.SENSOR_DELAY_NORMAL);
-      sensorManager.registerListener(this, magneticFieldSensor,
-                                     SensorManager.SENSOR_DELAY_NORMAL);
+      batcher.registerListener(sensorManager, this, accelerometerSensor,
+                               SensorManager.SENSOR_DELAY_NORMAL);
+      batcher.registerListener(sensorManager, this, magneticFieldSensor,
+                               SensorManager.SENSOR_DELAY_NORMAL);
       listening = true;
     }
   }
@@ -155,6 +168,7 @@ public class OrientationSensor extends AndroidNonvisibleComponent
     if (listening) {
       sensorManager.unregisterListener(this);
       listening = false;
+      batcher.clear();
 
       // Throw out sensor information that will go stale.
       accelsFilled = false;
@@ -187,8 +201,66 @@ public class OrientationSensor extends AndroidNonvisibleComponent
     EventDispatcher.dispatchEvent(this, "OrientationChanged", azimuth, pitch, roll);
   }
 
+  /**
+   * Indicates that orientation samples have been collected over the
+   * {@link #BatchInterval(int)}. Each sample is a list of the time of the sample, in
+   * milliseconds since the device booted, and the azimuth, pitch and roll, in degrees. The
+   * {@link #OrientationChanged(float, float, float)} event is not raised while samples are
+   * being batched.
+   *
+   * @param samples the samples, oldest first
+   */
+  @SimpleEvent(description = "Indicates that orientation samples have been collected over the "
+      + "BatchInterval. Each sample is a list of the time of the sample, in milliseconds since "
+      + "the device booted, and the azimuth, pitch and roll, in degrees.")
+  public void SamplesReceived(List<YailList> samples) {
+    EventDispatcher.dispatchEvent(this, "SamplesReceived", samples);
+  }
+
   // Properties
 
+  /**
+   * Returns the interval, in milliseconds, over which orientation samples are collected and
+   * delivered together by the {@link #SamplesReceived(List)} event. If 0, each sample raises the
+   * {@link #OrientationChanged(float, float, float)} event instead.
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR)
+  public int BatchInterval() {
+    return batcher.getInterval();
+  }
+
+  /**
+   * Specifies the interval, in milliseconds, over which orientation samples are collected and
+   * delivered together by the {@link #SamplesReceived(List)} event, instead of raising the
+   * {@link #OrientationChanged(float, float, float)} event for each one. If 0, samples are not
+   * batched.
+   *
+   * @param interval the interval in milliseconds, or 0 to raise an event for each sample
+   */
+  @DesignerProperty(editorType = PropertyTypeConstants.PROPERTY_TYPE_NON_NEGATIVE_INTEGER,
+      defaultValue = "0")
+  @SimpleProperty
+  public void BatchInterval(int interval) {
+    batcher.setInterval(interval);
+    if (listening) {
+      // Register again so the sensors can use their hardware queues for the new interval.
+      sensorManager.unregisterListener(this);
+      listening = false;
+      startListening();
+    }
+  }
+
+  /**
+   * Returns the number of samples dropped since the {@link #BatchInterval(int)} was set because
+   * the app did not handle the {@link #SamplesReceived(List)} event in time.
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR,
+      description = "The number of samples dropped since the BatchInterval was set because the "
+      + "app did not handle the SamplesReceived event in time.")
+  public long DroppedSamples() {
+    return batcher.getDroppedCount();
+  }
+
   /**
    * Indicates whether the orientation sensor is present on the device.
    *
@@ -432,12 +504,25 @@ public class OrientationSensor extends AndroidNonvisibleComponent
             break;
         }
 
-        // Raise event.
-        OrientationChanged(azimuth, pitch, roll);
+        // Raise event, or wait to raise one for the whole batch.
+        if (batcher.isEnabled()) {
+          batcher.add(sensorEvent.timestamp / 1000000, azimuth, pitch, roll);
+        } else {
+          OrientationChanged(azimuth, pitch, roll);
+        }
       }
     }
   }
 
+  private void onOrientationBatch(List<SensorBatcher.Sample> samples) {
+    // Charts only need to keep up with the latest values, not every sample.
+    notifyDataObservers("azimuth", azimuth);
+    notifyDataObservers("pitch", pitch);
+    notifyDataObservers("roll", roll);
+
+    SamplesReceived(SensorBatcher.toYailLists(samples));
+  }
+
   @Override
   public void onAccuracyChanged(Sensor sensor, int accuracy) {
     // TODO(markf): Figure out if we actually need to do something here.
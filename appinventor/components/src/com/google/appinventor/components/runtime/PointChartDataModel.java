@@ -50,9 +50,11 @@ public abstract class PointChartDataModel<
     super(data, view);
   }
 
-  private static final String DATE_PATTERN = "^[0-3]?[0-9]/[0-3]?[0-9]/(?:[0-9]{2})?[0-9]{2}$";
+  private static final Pattern DATE_PATTERN =
+      Pattern.compile("^[0-3]?[0-9]/[0-3]?[0-9]/(?:[0-9]{2})?[0-9]{2}$");
 
-  private static final String TIME_PATTERN = "([01]?[0-9]|2[0-3]):[0-5][0-9]:[0-6][0-9]";
+  private static final Pattern TIME_PATTERN =
+      Pattern.compile("([01]?[0-9]|2[0-3]):[0-5][0-9]:[0-6][0-9]");
 
   @Override
   public Entry getEntryFromTuple(YailList tuple) {
@@ -66,12 +68,12 @@ public abstract class PointChartDataModel<
       try {
         float x;
         // Attempt to parse the x and y value String representations
-        if(Pattern.compile(DATE_PATTERN).matcher(xValue).matches()){
+        if(DATE_PATTERN.matcher(xValue).matches()){
           SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
           Date date = sdf.parse(xValue);
           x = date.getTime();
         }
-        else if(Pattern.compile(TIME_PATTERN).matcher(xValue).matches()){
+        else if(TIME_PATTERN.matcher(xValue).matches()){
           SimpleDateFormat sdf = new SimpleDateFormat("HH:mm:ss");
           Date date = sdf.parse(xValue);
           x = date.getTime();
@@ -56,6 +56,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import kawa.standard.Scheme;
 
@@ -70,6 +71,22 @@ import kawa.standard.Scheme;
 public class ReplForm extends Form {
 
   private static final String LOG_TAG = ReplForm.class.getSimpleName();
+
+  /**
+   * Starts a message from the blocks editor that holds several forms. Only these messages are
+   * split into forms, so code that happens to contain the separator is evaluated whole. Scheme
+   * reads it as a comment.
+   */
+  public static final String FORM_BATCH_MARKER = ";;#BATCH#\n";
+
+  /**
+   * Separates the forms in a message that starts with {@link #FORM_BATCH_MARKER}. Scheme reads it
+   * as a comment.
+   */
+  public static final String FORM_SEPARATOR = "\n;;#FORM#\n";
+  private static final Pattern FORM_SEPARATOR_PATTERN = Pattern.compile(FORM_SEPARATOR,
+      Pattern.LITERAL);
+
   private AppInvHTTPD httpdServer = null;
   public static ReplForm topform;
   private String replAssetDir;
@@ -99,6 +116,11 @@ public class ReplForm extends Form {
   public class SchemeInterface {
     Language scheme = Scheme.getInstance("scheme");
 
+    // Messages waiting to be evaluated, and whether evalPending has been posted to run them.
+    // Guarded by pendingForms.
+    private final List<String> pendingForms = new ArrayList<String>();
+    private boolean evalPosted = false;
+
     public SchemeInterface() {
       gnu.expr.ModuleExp.mustNeverCompile();
     }
@@ -111,21 +133,60 @@ public class ReplForm extends Form {
       }
     }
 
+    /**
+     * Queues a message from the blocks editor to be evaluated on the UI thread. Messages that
+     * arrive while earlier ones are still waiting for the UI thread are evaluated in the same
+     * pass, in the order they arrived.
+     *
+     * @param sexp the message, holding either code to evaluate or, after
+     *     {@link ReplForm#FORM_BATCH_MARKER}, several forms separated by
+     *     {@link ReplForm#FORM_SEPARATOR}
+     */
     public void eval(final String sexp) {
-      runOnUiThread(new Runnable() {
-          @Override public void run() {
-            try {
-              adoptMainThreadClassLoader();
-              if (sexp.equals("#DONE#")) {
-                ReplForm.this.finish();
-                return;
-              }
-              scheme.eval(sexp);
-            } catch (Throwable e) {
-              Log.e(LOG_TAG, "Exception in scheme processing", e);
+      synchronized (pendingForms) {
+        pendingForms.add(sexp);
+        if (evalPosted) {
+          return;
+        }
+        evalPosted = true;
+      }
+      runOnUiThread(evalPending);
+    }
+
+    private final Runnable evalPending = new Runnable() {
+        @Override public void run() {
+          List<String> batch;
+          synchronized (pendingForms) {
+            batch = new ArrayList<String>(pendingForms);
+            pendingForms.clear();
+            evalPosted = false;
+          }
+          adoptMainThreadClassLoader();
+          for (String sexp : batch) {
+            if (sexp.equals("#DONE#")) {
+              ReplForm.this.finish();
+              return;
+            }
+            if (!sexp.startsWith(FORM_BATCH_MARKER)) {
+              evalForm(sexp);
+              continue;
+            }
+            // Each form is evaluated on its own so that one that fails to parse does not keep
+            // the others in the message from running.
+            String forms = sexp.substring(FORM_BATCH_MARKER.length());
+            for (String form : FORM_SEPARATOR_PATTERN.split(forms)) {
+              evalForm(form);
             }
           }
-        });
+        }
+      };
+
+    private void evalForm(String form) {
+      try {
+        scheme.eval(form);
+      } catch (Throwable e) {
+        Log.e(LOG_TAG, "Exception in scheme processing", e);
+      }
     }
   }
 
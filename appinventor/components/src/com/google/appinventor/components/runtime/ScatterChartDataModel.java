@@ -86,6 +86,12 @@ public class ScatterChartDataModel extends PointChartDataModel<
     }
   }
 
+  @Override
+  protected boolean isOrderedByX() {
+    // addEntryFromTuple inserts the entries in order of their x values
+    return true;
+  }
+
   @Override
   protected void setDefaultStylingProperties() {
     if (dataset instanceof ScatterDataSet) {
@@ -12,6 +12,7 @@ import static android.Manifest.permission.READ_EXTERNAL_STORAGE;
 import static android.Manifest.permission.WRITE_EXTERNAL_STORAGE;
 
 import android.app.Activity;
+import android.os.Handler;
 import android.util.Log;
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
@@ -21,8 +22,10 @@ import com.google.api.services.sheets.v4.Sheets;
 import com.google.api.services.sheets.v4.SheetsScopes;
 import com.google.api.services.sheets.v4.model.AddSheetRequest;
 import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchGetValuesResponse;
 import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetRequest;
 import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
 import com.google.api.services.sheets.v4.model.ClearValuesRequest;
 import com.google.api.services.sheets.v4.model.ClearValuesResponse;
 import com.google.api.services.sheets.v4.model.DeleteDimensionRequest;
@@ -48,12 +51,15 @@ import com.google.appinventor.components.annotations.androidmanifest.IntentFilte
 import com.google.appinventor.components.common.ComponentCategory;
 import com.google.appinventor.components.common.PropertyTypeConstants;
 import com.google.appinventor.components.common.YaVersion;
+import com.google.appinventor.components.runtime.util.AsyncCallbackPair;
 import com.google.appinventor.components.runtime.util.AsynchUtil;
 import com.google.appinventor.components.runtime.util.ChartDataSourceUtil;
 import com.google.appinventor.components.runtime.util.CsvUtil;
 import com.google.appinventor.components.runtime.util.ErrorMessages;
 import com.google.appinventor.components.runtime.util.IOUtils;
 import com.google.appinventor.components.runtime.util.MediaUtil;
+import com.google.appinventor.components.runtime.util.SheetCache;
+import com.google.appinventor.components.runtime.util.SheetValuesBatcher;
 import com.google.appinventor.components.runtime.util.YailList;
 import gnu.lists.LList;
 import gnu.math.DFloNum;
@@ -177,6 +183,11 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
 
   private final Map<String, Integer> sheetIdMap = new HashMap<>();
 
+  // Sheets read through the Sheets API, kept for CacheDuration milliseconds
+  private final SheetCache cache = new SheetCache();
+  private final Handler handler = new Handler();
+  private SheetValuesBatcher batcher;
+
   /**
    * Construct a new Spreadsheet component.
    *
@@ -186,6 +197,41 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     super(componentContainer.$form());
     this.container = componentContainer;
     this.activity = componentContainer.$context();
+    setBackend(new SheetValuesBatcher.Backend() {
+      @Override
+      public List<List<List<Object>>> batchGet(List<String> ranges) throws Exception {
+        BatchGetValuesResponse response = getSheetsService().spreadsheets().values()
+            .batchGet(spreadsheetID).setRanges(ranges).execute();
+        List<List<List<Object>>> result = new ArrayList<>();
+        if (response.getValueRanges() != null) {
+          for (ValueRange range : response.getValueRanges()) {
+            result.add(range.getValues());
+          }
+        }
+        return result;
+      }
+
+      @Override
+      public void batchUpdate(List<String> ranges, List<List<List<Object>>> values)
+          throws Exception {
+        List<ValueRange> data = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+          data.add(new ValueRange().setRange(ranges.get(i)).setValues(values.get(i)));
+        }
+        BatchUpdateValuesRequest body = new BatchUpdateValuesRequest()
+            .setValueInputOption("USER_ENTERED")
+            .setData(data);
+        getSheetsService().spreadsheets().values().batchUpdate(spreadsheetID, body).execute();
+      }
+    });
+  }
+
+  /**
+   * Sets the backend that reads and writes ranges when there is a credentials file. Tests
+   * replace the backend with a local stub of the Sheets API.
+   */
+  void setBackend(SheetValuesBatcher.Backend backend) {
+    batcher = new SheetValuesBatcher(backend, handler, AsynchUtil.newSerialExecutor());
   }
 
   private synchronized void updateSheetID(String sheetName, int sheetId) {
@@ -255,6 +301,26 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       spreadsheetID = parts[3];
     }
     this.spreadsheetID = spreadsheetID;
+    cache.clear();
+  }
+
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR)
+  public int CacheDuration() {
+    return (int) cache.getMaxAge();
+  }
+
+  /**
+   * The number of milliseconds for which the data of a sheet read through the Sheets API is
+   * reused. While it is, reading rows, columns, cells and ranges of the sheet and filtering it
+   * are answered without contacting Google Sheets. Changes made by the app discard the data of
+   * the sheet changed, but changes made elsewhere are not seen until the time runs out. The
+   * default of 0 turns the cache off.
+   */
+  @DesignerProperty(editorType = PropertyTypeConstants.PROPERTY_TYPE_NON_NEGATIVE_INTEGER,
+      defaultValue = "0")
+  @SimpleProperty
+  public void CacheDuration(int cacheDuration) {
+    cache.setMaxAge(Math.max(0, cacheDuration));
   }
 
   /**
@@ -347,6 +413,85 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     return number;
   }
 
+  // Reads a range of a sheet using the Sheets API, answering from the cache if the whole sheet
+  // has been read recently. The callback runs on a background thread.
+  private void readRange(String sheetName, String rangeReference,
+      final AsyncCallbackPair<List<List<String>>> callback) {
+    List<List<String>> rows = cache.get(sheetName);
+    if (rows != null) {
+      List<List<String>> range = SheetCache.getRange(rows, rangeReference);
+      if (range != null) {
+        queueSuccess(callback, range);
+        return;
+      }
+    }
+    batcher.read(sheetName + "!" + rangeReference, new AsyncCallbackPair<List<List<Object>>>() {
+      @Override
+      public void onFailure(String message) {
+        callback.onFailure(message);
+      }
+
+      @Override
+      public void onSuccess(List<List<Object>> values) {
+        callback.onSuccess(toStrings(values));
+      }
+    });
+  }
+
+  // Reads a whole sheet using the Sheets API and keeps it in the cache
+  private void readSheet(final String sheetName,
+      final AsyncCallbackPair<List<List<String>>> callback) {
+    List<List<String>> rows = cache.get(sheetName);
+    if (rows != null) {
+      queueSuccess(callback, rows);
+      return;
+    }
+    final long version = cache.getVersion();
+    batcher.read(sheetName, new AsyncCallbackPair<List<List<Object>>>() {
+      @Override
+      public void onFailure(String message) {
+        callback.onFailure(message);
+      }
+
+      @Override
+      public void onSuccess(List<List<Object>> values) {
+        List<List<String>> rows = toStrings(values);
+        cache.put(sheetName, version, rows);
+        callback.onSuccess(rows);
+      }
+    });
+  }
+
+  // Writes a range of a sheet using the Sheets API
+  private void writeRange(String sheetName, String rangeReference, List<List<Object>> values,
+      AsyncCallbackPair<Void> callback) {
+    cache.invalidate(sheetName);
+    batcher.write(sheetName + "!" + rangeReference, values, callback);
+  }
+
+  private <T> void queueSuccess(final AsyncCallbackPair<T> callback, final T result) {
+    // Queue rather than call so that the result comes back in order with the reads and writes
+    // made before it, and after the block that asked for it returns
+    batcher.run(new Runnable() {
+      @Override
+      public void run() {
+        callback.onSuccess(result);
+      }
+    });
+  }
+
+  private static List<List<String>> toStrings(List<List<Object>> values) {
+    List<List<String>> rows = new ArrayList<>();
+    for (List<Object> row : values) {
+      List<String> cellRow = new ArrayList<>();
+      for (Object cellValue : row) {
+        cellRow.add(String.format("%s", cellValue == null ? "" : cellValue));
+      }
+      rows.add(cellRow);
+    }
+    return rows;
+  }
+
   /* Error Catching Handler */
 
   @SimpleEvent(description = "Triggered whenever an API call encounters an error. Details "
@@ -467,7 +612,7 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       return;
     }
 
-    AsynchUtil.runAsynchronously(RetrieveSheet(sheetName, colID, value, true, true));
+    retrieveSheet(RetrieveSheet(sheetName, colID, value, true, true));
   }
 
   /**
@@ -484,7 +629,7 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       return;
     }
 
-    AsynchUtil.runAsynchronously(RetrieveSheet(sheetName, colID, value, false, true));
+    retrieveSheet(RetrieveSheet(sheetName, colID, value, false, true));
   }
 
   /* Row-wise Operations */
@@ -512,84 +657,83 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     Log.d(LOG_TAG, "Read Row number: " + rowNumber);
     final String rangeReference = sheetName +  "!" + rowNumber + ":" + rowNumber;
 
-    // Asynchronously fetch the data in the cell
-    AsynchUtil.runAsynchronously(new Runnable() {
-      @Override
-      public void run () {
-        try {
-          // If no Credentials.json is provided, attempt the HTTP request
-          if (credentialsPath == null) {
-            // Cleans the formatted url in case the sheetname needs to be cleaned
-            String cleanRangeReference = "";
-            try {
-              cleanRangeReference = URLEncoder.encode(rangeReference, "UTF-8");
-            } catch (UnsupportedEncodingException e) {
-              ErrorOccurred("ReadRow: Error occurred encoding the query. UTF-8 is unsupported?");
-              return;
-            }
-
-            // Formats the data into the URL to read the range
-            String getUrl = String.format(
-              "https://docs.google.com/spreadsheets/d/%s/export?format=csv&range=%s",
-              spreadsheetID, cleanRangeReference);
-            Log.d(LOG_TAG, "ReadRow url: " + getUrl);
-
-            // Make the HTTP Request
-            URL url = new URL(getUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-              connection.setRequestMethod("GET");
-            // Catch Bad HTTP Request
-            if (connection.getResponseCode() == 400) {
-              ErrorOccurred("ReadRow: Bad HTTP Request. Please check the address and try again. " + getUrl);
-              return;
+    // Run this if there is a credentials json provided.
+    if (credentialsPath != null) {
+      readRange(sheetName, rowNumber + ":" + rowNumber,
+          new AsyncCallbackPair<List<List<String>>>() {
+            @Override
+            public void onFailure(String message) {
+              ErrorOccurred("ReadRow: " + message);
             }
 
-            // Parse the Response
-            String responseContent = getResponseContent(connection);
-            final YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
-
-            for (Object elem : (LList) parsedCsv.getCdr()) {
-              if (!(elem instanceof YailList))
-                continue;
-              final YailList row = (YailList) elem;
+            @Override
+            public void onSuccess(List<List<String>> values) {
+              // If the data we got is empty, then return so.
+              if (values.isEmpty()) {
+                ErrorOccurred("ReadRow: No data found");
+                return;
+              }
+              final List<String> ret = values.get(0);
               // We need to re-enter the main thread before we can dispatch the event!
               activity.runOnUiThread(new Runnable() {
                 @Override
                 public void run() {
-                  GotRowData(row);
+                  GotRowData(ret);
                 }
               });
-              return;
             }
-            ErrorOccurred("ReadRow: Could not find a row from the HTTP Request.");
+          });
+      return;
+    }
+
+    // Asynchronously fetch the data in the cell
+    AsynchUtil.runAsynchronously(new Runnable() {
+      @Override
+      public void run () {
+        try {
+          // Cleans the formatted url in case the sheetname needs to be cleaned
+          String cleanRangeReference = "";
+          try {
+            cleanRangeReference = URLEncoder.encode(rangeReference, "UTF-8");
+          } catch (UnsupportedEncodingException e) {
+            ErrorOccurred("ReadRow: Error occurred encoding the query. UTF-8 is unsupported?");
             return;
           }
 
-          // Run this if there is a credentials json provided.
-          Sheets sheetsService = getSheetsService();
-          ValueRange readResult = sheetsService.spreadsheets().values()
-            .get(spreadsheetID, rangeReference ).execute();
-          // Get the actual data from the response
-          List<List<Object>> values = readResult.getValues();
-          // If the data we got is empty, then return so.
-          if (values == null || values.isEmpty())
-            ErrorOccurred("ReadRow: No data found");
-
-          // Format the result as a list of strings and run the callback
-          else {
-            final List<String> ret = new ArrayList<String>();
-            for (Object obj : values.get(0)) {
-              ret.add(String.format("%s", obj == null ? "" : obj));
-            }
+          // Formats the data into the URL to read the range
+          String getUrl = String.format(
+            "https://docs.google.com/spreadsheets/d/%s/export?format=csv&range=%s",
+            spreadsheetID, cleanRangeReference);
+          Log.d(LOG_TAG, "ReadRow url: " + getUrl);
+
+          // Make the HTTP Request
+          URL url = new URL(getUrl);
+          HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("GET");
+          // Catch Bad HTTP Request
+          if (connection.getResponseCode() == 400) {
+            ErrorOccurred("ReadRow: Bad HTTP Request. Please check the address and try again. " + getUrl);
+            return;
+          }
 
+          // Parse the Response
+          String responseContent = getResponseContent(connection);
+          final YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
+
+          for (Object elem : (LList) parsedCsv.getCdr()) {
+            if (!(elem instanceof YailList))
+              continue;
+            final YailList row = (YailList) elem;
             // We need to re-enter the main thread before we can dispatch the event!
             activity.runOnUiThread(new Runnable() {
               @Override
               public void run() {
-                GotRowData(ret);
+                GotRowData(row);
               }
             });
+            return;
           }
+          ErrorOccurred("ReadRow: Could not find a row from the HTTP Request.");
         }
         // Handle Errors which may have occured while sending the Read Request!
         catch (Exception e) {
@@ -630,43 +774,27 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       return;
     }
 
-    // Generates the A1 Reference for the operation
-    final String rangeRef = String.format("%s!A%d", sheetName, rowNumber);
-
     // Generates the 2D list, which are the values to assign to the range
     LList rowValues = (LList) data.getCdr();
     List<List<Object>> values = new ArrayList<>();
     List<Object> row = new ArrayList<Object>(rowValues);
     values.add(row);
 
-    // Sets the 2D list above to be the values in the body of the API Call
-    final ValueRange body = new ValueRange()
-      .setValues(values);
+    writeRange(sheetName, "A" + rowNumber, values, new AsyncCallbackPair<Void>() {
+      @Override
+      public void onFailure(String message) {
+        ErrorOccurred("WriteRow: " + message);
+      }
 
-    // Wrap the API Call in an Async Utility
-    AsynchUtil.runAsynchronously(new Runnable() {
       @Override
-      public void run () {
-        // Surround the operation with a try catch statement
-        try {
-          Sheets sheetsService = getSheetsService();
-          // UpdateValuesResponse result =
-          sheetsService.spreadsheets().values()
-            .update(spreadsheetID, rangeRef, body)
-            .setValueInputOption("USER_ENTERED")
-            .execute();
-          // Re-enter main thread to call the Event Block
-          activity.runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-              FinishedWriteRow();
-            }
-          });
-        }
-        catch (Exception e) {
-          Log.e(LOG_TAG, "WriteRow Error", e);
-          ErrorOccurred("WriteRow: " + e.getMessage());
-        }
+      public void onSuccess(Void result) {
+        // Re-enter main thread to call the Event Block
+        activity.runOnUiThread(new Runnable() {
+          @Override
+          public void run() {
+            FinishedWriteRow();
+          }
+        });
       }
     });
   }
@@ -697,7 +825,7 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       return;
     }
     // Run the API call asynchronously
-    AsynchUtil.runAsynchronously(new Runnable() {
+    batcher.run(new Runnable() {
       @Override
       public void run() {
         try {
@@ -758,8 +886,9 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       ErrorOccurred("DeleteSheet: " + "Credentials JSON is required.");
       return;
     }
+    cache.invalidate(sheetName);
     // Run the API call asynchronously
-    AsynchUtil.runAsynchronously(new Runnable() {
+    batcher.run(new Runnable() {
       @Override
       public void run() {
         try {
@@ -773,6 +902,8 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
           sheetsService.spreadsheets().batchUpdate(spreadsheetID, body).execute();
           removeSheetID(sheetName);
 
+          // Forget any copy read while the change was being made
+          cache.invalidate(sheetName);
           // Run the callback event block
           activity.runOnUiThread(new Runnable() {
             @Override
@@ -829,8 +960,9 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     final ValueRange body = new ValueRange()
       .setValues(values).setRange(sheetName);
 
+    cache.invalidate(sheetName);
     // Run the API call asynchronously
-    AsynchUtil.runAsynchronously(new Runnable() {
+    batcher.run(new Runnable() {
       @Override
       public void run() {
         try {
@@ -858,6 +990,8 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
           String cell = updatedRange.split("!")[1].split(":")[0];
           // Remove non-numeric characters from the string
           final int rowNumber = Integer.parseInt(cell.replaceAll("[^\\d.]", ""));
+          // Forget any copy read while the change was being made
+          cache.invalidate(sheetName);
           activity.runOnUiThread(new Runnable() {
             @Override
             public void run() {
@@ -898,7 +1032,8 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     description="Deletes the row with the given row number from the table." +
       "This does not clear the row, but removes it entirely.")
   public void RemoveRow (final String sheetName, final int rowNumber) {
-    AsynchUtil.runAsynchronously(new Runnable() {
+    cache.invalidate(sheetName);
+    batcher.run(new Runnable() {
       @Override
       public void run () {
         try{
@@ -924,6 +1059,8 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
             .setRequests(requests);
           sheetsService.spreadsheets().batchUpdate(spreadsheetID, body).execute();
 
+          // Forget any copy read while the change was being made
+          cache.invalidate(sheetName);
           // Run the callback event block
           activity.runOnUiThread(new Runnable() {
             @Override
@@ -978,84 +1115,88 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     }
     final String rangeRef = sheetName + "!" + colReference + ":" + colReference;
 
-    // Asynchronously fetch the data in the cell and trigger the callback
-    AsynchUtil.runAsynchronously(new Runnable() {
-      @Override
-      public void run() {
-        try {
-          // If no Credentials.json is provided, attempt the HTTP request
-          if (credentialsPath == null) {
-            // Cleans the formatted url in case the sheetname needs to be cleaned
-            String cleanRangeReference = "";
-            try {
-              cleanRangeReference = URLEncoder.encode(rangeRef, "UTF-8");
-            } catch (UnsupportedEncodingException e) {
-              ErrorOccurred("ReadColumn: Error occurred encoding the query. UTF-8 is unsupported?");
-              return;
+    // Run this if there is a credentials json provided.
+    if (credentialsPath != null) {
+      readRange(sheetName, colReference + ":" + colReference,
+          new AsyncCallbackPair<List<List<String>>>() {
+            @Override
+            public void onFailure(String message) {
+              ErrorOccurred("ReadColumn: " + message);
             }
 
-            // Formats the data into the URL to read the range
-            String getUrl = String.format(
-                "https://docs.google.com/spreadsheets/d/%s/export?format=csv&range=%s",
-                spreadsheetID, cleanRangeReference);
-            Log.d(LOG_TAG, "ReadColumn url: " + getUrl);
-
-            // Make the HTTP Request
-            URL url = new URL(getUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-              connection.setRequestMethod("GET");
-            // Catch Bad HTTP Request
-            if (connection.getResponseCode() == 400) {
-              ErrorOccurred("ReadColumn: Bad HTTP Request. Please check the address and try again. "
-                  + getUrl);
-              return;
-            }
+            @Override
+            public void onSuccess(List<List<String>> values) {
+              // If the data we got is empty, then throw an error
+              if (values.isEmpty()) {
+                ErrorOccurred("ReadColumn: No data found.");
+                return;
+              }
 
-            // Parse the Response
-            String responseContent = getResponseContent(connection);
-            YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
-            final List<String> col = new ArrayList<String>();
-            for (Object elem : (LList) parsedCsv.getCdr()) {
-              if (!(elem instanceof YailList))
-                continue;
-              final YailList row = (YailList) elem;
+              // Format the result as a list of strings and run the callback
+              final List<String> ret = new ArrayList<>();
+              for (List<String> row : values) {
+                ret.add(row.isEmpty() ? "" : row.get(0));
+              }
 
-              col.add(String.format("%s", row.isEmpty() ? "" : row.get(1)));
+              // We need to re-enter the main thread before we can dispatch the event!
+              activity.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                  GotColumnData(ret);
+                }
+              });
             }
-            // We need to re-enter the main thread before we can dispatch the event!
-            activity.runOnUiThread(new Runnable() {
-              @Override
-              public void run() {
-                GotColumnData(col);
-              }
-            });
+          });
+      return;
+    }
+
+    // Asynchronously fetch the data in the cell and trigger the callback
+    AsynchUtil.runAsynchronously(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          // Cleans the formatted url in case the sheetname needs to be cleaned
+          String cleanRangeReference = "";
+          try {
+            cleanRangeReference = URLEncoder.encode(rangeRef, "UTF-8");
+          } catch (UnsupportedEncodingException e) {
+            ErrorOccurred("ReadColumn: Error occurred encoding the query. UTF-8 is unsupported?");
             return;
           }
 
-          // Run this if there is a credentials json provided.
-          Sheets sheetsService = getSheetsService();
-
-          ValueRange readResult = sheetsService.spreadsheets().values()
-              .get(spreadsheetID, rangeRef).execute();
-          List<List<Object>> values = readResult.getValues();
+          // Formats the data into the URL to read the range
+          String getUrl = String.format(
+              "https://docs.google.com/spreadsheets/d/%s/export?format=csv&range=%s",
+              spreadsheetID, cleanRangeReference);
+          Log.d(LOG_TAG, "ReadColumn url: " + getUrl);
 
-          // If the data we got is empty, then throw an error
-          if (values == null || values.isEmpty()) {
-            ErrorOccurred("ReadColumn: No data found.");
+          // Make the HTTP Request
+          URL url = new URL(getUrl);
+          HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("GET");
+          // Catch Bad HTTP Request
+          if (connection.getResponseCode() == 400) {
+            ErrorOccurred("ReadColumn: Bad HTTP Request. Please check the address and try again. "
+                + getUrl);
             return;
           }
 
-          // Format the result as a list of strings and run the callback
-          final List<String> ret = new ArrayList<>();
-          for (List<Object> row : values) {
-            ret.add(row.isEmpty() ? "" : row.get(0).toString());
-          }
+          // Parse the Response
+          String responseContent = getResponseContent(connection);
+          YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
+          final List<String> col = new ArrayList<String>();
+          for (Object elem : (LList) parsedCsv.getCdr()) {
+            if (!(elem instanceof YailList))
+              continue;
+            final YailList row = (YailList) elem;
 
+            col.add(String.format("%s", row.isEmpty() ? "" : row.get(1)));
+          }
           // We need to re-enter the main thread before we can dispatch the event!
           activity.runOnUiThread(new Runnable() {
             @Override
             public void run() {
-              GotColumnData(ret);
+              GotColumnData(col);
             }
           });
         } catch (Exception e) {
@@ -1100,8 +1241,6 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     if (INTEGER.matcher(column).matches()) {
       colReference = getColString(Integer.parseInt(column));
     }
-    final String rangeRef = sheetName + "!" + colReference + ":" + colReference;
-
     // Generates the body, which are the values to assign to the range
     List<List<Object>> values = new ArrayList<>();
     for (Object o : (LList) data.getCdr()) {
@@ -1109,38 +1248,24 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       values.add(r);
     }
 
-    // Sets the 2D list above to be the values in the body of the API Call
-    final ValueRange body = new ValueRange()
-        .setValues(values);
+    writeRange(sheetName, colReference + ":" + colReference, values,
+        new AsyncCallbackPair<Void>() {
+          @Override
+          public void onFailure(String message) {
+            ErrorOccurred("WriteColumn: " + message);
+          }
 
-    // Wrap the API Call in an Async Utility
-    AsynchUtil.runAsynchronously(new Runnable() {
-      @Override
-      public void run() {
-        // Surround the operation with a try catch statement
-        try {
-          Sheets sheetsService = getSheetsService();
-          // UpdateValuesResponse result =
-          sheetsService.spreadsheets().values()
-            .update(spreadsheetID, rangeRef, body)
-            .setValueInputOption("USER_ENTERED")
-            .execute();
-          // Run the callback function
-          activity.runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-              FinishedWriteColumn();
-            }
-          });
-        } catch (IOException e) {
-          Log.e(LOG_TAG, "WriteColumn IO Error", e);
-          ErrorOccurred("WriteColumn IOException: " + e.getMessage());
-        } catch (GeneralSecurityException e) {
-          Log.e(LOG_TAG, "WriteColumn Security Error", e);
-          ErrorOccurred("WriteColumn GeneralSecurityException: " + e.getMessage());
-        }
-      }
-    });
+          @Override
+          public void onSuccess(Void result) {
+            // Run the callback function
+            activity.runOnUiThread(new Runnable() {
+              @Override
+              public void run() {
+                FinishedWriteColumn();
+              }
+            });
+          }
+        });
   }
 
   /**
@@ -1180,8 +1305,9 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     final ValueRange body = new ValueRange()
         .setValues(values);
 
+    cache.invalidate(sheetName);
     // Wrap the API Call in an Async Utility
-    AsynchUtil.runAsynchronously(new Runnable() {
+    batcher.run(new Runnable() {
       @Override
       public void run() {
         // Surround the operation with a try catch statement
@@ -1217,6 +1343,8 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
               .setValueInputOption("USER_ENTERED")
               .execute();
 
+          // Forget any copy read while the change was being made
+          cache.invalidate(sheetName);
           activity.runOnUiThread(new Runnable() {
             @Override
             public void run() {
@@ -1263,7 +1391,8 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       columnNumber = getColNum(column);
     }
 
-    AsynchUtil.runAsynchronously(new Runnable() {
+    cache.invalidate(sheetName);
+    batcher.run(new Runnable() {
       @Override
       public void run() {
         try {
@@ -1288,6 +1417,8 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
           BatchUpdateSpreadsheetRequest body = new BatchUpdateSpreadsheetRequest()
               .setRequests(requests);
           sheetsService.spreadsheets().batchUpdate(spreadsheetID, body).execute();
+          // Forget any copy read while the change was being made
+          cache.invalidate(sheetName);
           // Run the callback event
           activity.runOnUiThread(new Runnable() {
             @Override
@@ -1340,102 +1471,90 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       return;
     }
 
-    // 2. Asynchronously fetch the data in the cell
+    // 2. Run this if there is a credentials json provided.
+    if (credentialsPath != null) {
+      Log.d(LOG_TAG, "Reading Cell: " + cellReference);
+      readRange(sheetName, cellReference, new AsyncCallbackPair<List<List<String>>>() {
+        @Override
+        public void onFailure(String message) {
+          ErrorOccurred("ReadCell: API Error: " + message);
+        }
+
+        @Override
+        public void onSuccess(List<List<String>> values) {
+          // An empty cell comes back as no rows, or as a row without cells
+          final String result = values.isEmpty() || values.get(0).isEmpty()
+              ? "" : values.get(0).get(0);
+          activity.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+              GotCellData(result);
+            }
+          });
+        }
+      });
+      return;
+    }
+
+    // 3. Asynchronously fetch the data in the cell
     AsynchUtil.runAsynchronously(new Runnable() {
       @Override
       public void run() {
         Log.d(LOG_TAG, "Reading Cell: " + cellReference);
 
         try {
-          // If no Credentials.json is provided, attempt the HTTP request
-          if (credentialsPath == null) {
-            // Cleans the formatted url in case the sheetname needs to be cleaned
-            String cleanRangeReference = "";
-            try {
-              cleanRangeReference = URLEncoder.encode(cellReference, "UTF-8");
-            } catch (UnsupportedEncodingException e) {
-              ErrorOccurred("ReadCell: Error occurred encoding the query. UTF-8 is unsupported?");
-              return;
-            }
-
-            // Formats the data into the URL to read the range
-            String getUrl = String.format(
-                "https://docs.google.com/spreadsheets/d/%s/export?format=csv&range=%s",
-                spreadsheetID, cleanRangeReference);
-            Log.d(LOG_TAG, "ReadCell url: " + getUrl);
-
-            // Make the HTTP Request
-            URL url = new URL(getUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-              connection.setRequestMethod("GET");
-            // Catch Bad HTTP Request
-            if (connection.getResponseCode() == 400) {
-              ErrorOccurred("ReadCell: Bad HTTP Request. Please check the address and try again. "
-                  + getUrl);
-              return;
-            }
-
-            // Parse the Response
-            String responseContent = getResponseContent(connection);
-            YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
+          // Cleans the formatted url in case the sheetname needs to be cleaned
+          String cleanRangeReference = "";
+          try {
+            cleanRangeReference = URLEncoder.encode(cellReference, "UTF-8");
+          } catch (UnsupportedEncodingException e) {
+            ErrorOccurred("ReadCell: Error occurred encoding the query. UTF-8 is unsupported?");
+            return;
+          }
 
-            for (Object elem : (LList) parsedCsv.getCdr()) {
-              if (!(elem instanceof YailList)) {
-                continue;
-              }
-              YailList row = (YailList) elem;
-              final String cellData = String.format("%s", row.isEmpty() ? "" : row.get(1));
-              // We need to re-enter the main thread before we can dispatch the event!
-              activity.runOnUiThread(new Runnable() {
-                @Override
-                public void run() {
-                  GotCellData(cellData);
-                }
-              });
-              return;
-            }
+          // Formats the data into the URL to read the range
+          String getUrl = String.format(
+              "https://docs.google.com/spreadsheets/d/%s/export?format=csv&range=%s",
+              spreadsheetID, cleanRangeReference);
+          Log.d(LOG_TAG, "ReadCell url: " + getUrl);
 
-            ErrorOccurred("ReadCell: Error reading cell data from HTTP Request");
+          // Make the HTTP Request
+          URL url = new URL(getUrl);
+          HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("GET");
+          // Catch Bad HTTP Request
+          if (connection.getResponseCode() == 400) {
+            ErrorOccurred("ReadCell: Bad HTTP Request. Please check the address and try again. "
+                + getUrl);
             return;
           }
 
-          // Run this if there is a credentials json provided.
-          Sheets sheetsService = getSheetsService();
-          ValueRange readResult = sheetsService.spreadsheets().values()
-            .get(spreadsheetID, sheetName + "!" + cellReference).execute();
-          List<List<Object>> values = readResult.getValues();
+          // Parse the Response
+          String responseContent = getResponseContent(connection);
+          YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
 
-          // If the data we got is empty, then return so.
-          if (values == null || values.isEmpty()) {
+          for (Object elem : (LList) parsedCsv.getCdr()) {
+            if (!(elem instanceof YailList)) {
+              continue;
+            }
+            YailList row = (YailList) elem;
+            final String cellData = String.format("%s", row.isEmpty() ? "" : row.get(1));
+            // We need to re-enter the main thread before we can dispatch the event!
             activity.runOnUiThread(new Runnable() {
               @Override
               public void run() {
-                GotCellData("");
+                GotCellData(cellData);
               }
             });
             return;
           }
 
-          // Format the result as a string and run the call back
-          final String result = String.format("%s", values.get(0)
-              .isEmpty() ? "" : values.get(0).get(0));
-          activity.runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-              GotCellData(result);
-            }
-          });
+          ErrorOccurred("ReadCell: Error reading cell data from HTTP Request");
         }
         // Handle Errors which may have occured while sending the Read Request
-        catch (GoogleJsonResponseException e) {
-          Log.e(LOG_TAG, "Error in ReadCell: API Error", e);
-          ErrorOccurred("ReadCell: API Error: " + e.getMessage());
-        } catch (IOException e) {
+        catch (IOException e) {
           Log.e(LOG_TAG, "Error in ReadCell: IO Error", e);
           ErrorOccurred("ReadCell: IO Error: " + e.getMessage());
-        } catch (GeneralSecurityException e) {
-          Log.e(LOG_TAG, "Error in ReadCell: Security Error", e);
-          ErrorOccurred("ReadCell: Security Error: " + e.getMessage());
         } catch (Exception e) {
           Log.e(LOG_TAG, "Error in ReadCell: Unknown Error", e);
           ErrorOccurred("ReadCell: Unknown Error: " + e.getMessage());
@@ -1473,53 +1592,27 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       return;
     }
 
-    // Generates the A1 Reference for the operation
-    final String rangeRef = sheetName + "!" + cellReference;
     // Form the body as a 2D list of Strings, with only one string
-    final ValueRange body = new ValueRange()
-      .setValues(Arrays.asList(
+    List<List<Object>> values = Arrays.asList(
         Arrays.asList(sanitizeObject(data))
-      ));
-    Log.d(LOG_TAG, "Writing Cell: " + rangeRef);
+    );
+    Log.d(LOG_TAG, "Writing Cell: " + sheetName + "!" + cellReference);
 
-    // Wrap the API Call in an Async Utility
-    AsynchUtil.runAsynchronously(new Runnable() {
+    writeRange(sheetName, cellReference, values, new AsyncCallbackPair<Void>() {
       @Override
-      public void run () {
-        // Running the getSheetsService and executing the command may cause
-        // IOException's and GeneralSecurityException's
-        try {
-          Sheets sheetsService = getSheetsService();
-
-          // You can use the UpdateValuesResponse to find more data on the
-          // result of the Write method.
+      public void onFailure(String message) {
+        ErrorOccurred("WriteCell: API Error: " + message);
+      }
 
-          // UpdateValuesResponse result =
-          sheetsService.spreadsheets().values()
-            .update(spreadsheetID, rangeRef, body)
-            .setValueInputOption("USER_ENTERED") // USER_ENTERED or RAW
-            .execute();
-          // Trigger the Callback
-          activity.runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-              FinishedWriteCell();
-            }
-          });
-        }
-        catch (GoogleJsonResponseException e) {
-          Log.e(LOG_TAG, "WriteCell: API Error", e);
-          ErrorOccurred("WriteCell: API Error: " + e.getMessage());
-        } catch (IOException e) {
-          Log.e(LOG_TAG, "WriteCell: IO Error", e);
-          ErrorOccurred("WriteCell: IO Error: " + e.getMessage());
-        } catch (GeneralSecurityException e) {
-          Log.e(LOG_TAG, "WriteCell: Security Error", e);
-          ErrorOccurred("WriteCell: Security Error: " + e.getMessage());
-        } catch (Exception e) {
-          Log.e(LOG_TAG, "WriteCell: Unknown Error", e);
-          ErrorOccurred("WriteCell: Unknown Error: " + e.getMessage());
-        }
+      @Override
+      public void onSuccess(Void result) {
+        // Trigger the Callback
+        activity.runOnUiThread(new Runnable() {
+          @Override
+          public void run() {
+            FinishedWriteCell();
+          }
+        });
       }
     });
   }
@@ -1556,6 +1649,34 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     // Otherwise (there is a credentials file),
     //   Use the Google Sheets API
 
+    // Run this if there is a credentials json provided.
+    if (credentialsPath != null) {
+      Log.d(LOG_TAG, "Reading Range: " + rangeReference);
+      readRange(sheetName, rangeReference, new AsyncCallbackPair<List<List<String>>>() {
+        @Override
+        public void onFailure(String message) {
+          ErrorOccurred("ReadRange: " + message);
+        }
+
+        @Override
+        public void onSuccess(final List<List<String>> values) {
+          // No Data Found
+          if (values.isEmpty()) {
+            ErrorOccurred("ReadRange: No data found.");
+            return;
+          }
+          // Run the callback event
+          activity.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+              GotRangeData(values);
+            }
+          });
+        }
+      });
+      return;
+    }
+
     // Asynchronously fetch the data in the cell
     AsynchUtil.runAsynchronously(new Runnable() {
       @Override
@@ -1563,74 +1684,39 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
         Log.d(LOG_TAG, "Reading Range: " + rangeReference);
 
         try {
-          // If no Credentials.json is provided, attempt the HTTP request
-          if (credentialsPath == null) {
-            // Cleans the formatted url in case the sheetname needs to be cleaned
-            String cleanRangeReference = "";
-            try {
-              cleanRangeReference = URLEncoder.encode(rangeReference, "UTF-8");
-            } catch (UnsupportedEncodingException e) {
-              ErrorOccurred("ReadRange: Error occurred encoding the query. UTF-8 is unsupported?");
-              return;
-            }
-
-            // Formats the data into the URL to read the range
-            String getUrl = String.format(
-              "https://docs.google.com/spreadsheets/d/%s/export?format=csv&range=%s",
-              spreadsheetID, cleanRangeReference);
-            Log.d(LOG_TAG, "ReadRange url: " + getUrl);
-
-            // Make the HTTP Request
-            URL url = new URL(getUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-              connection.setRequestMethod("GET");
-            // Catch Bad HTTP Request
-            if (connection.getResponseCode() == 400) {
-              ErrorOccurred("ReadRange: Bad HTTP Request. Please check the address and try again. " + getUrl);
-              return;
-            }
-
-            // Parse the Response
-            String responseContent = getResponseContent(connection);
-            final YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
-            // We need to re-enter the main thread before we can dispatch the event!
-            activity.runOnUiThread(new Runnable() {
-              @Override
-              public void run() {
-                GotRangeData(parsedCsv);
-              }
-            });
+          // Cleans the formatted url in case the sheetname needs to be cleaned
+          String cleanRangeReference = "";
+          try {
+            cleanRangeReference = URLEncoder.encode(rangeReference, "UTF-8");
+          } catch (UnsupportedEncodingException e) {
+            ErrorOccurred("ReadRange: Error occurred encoding the query. UTF-8 is unsupported?");
             return;
           }
 
-          // Run this if there is a credentials json provided.
-          Sheets sheetsService = getSheetsService();
-          ValueRange readResult = sheetsService.spreadsheets().values()
-            .get(spreadsheetID, sheetName + "!" + rangeReference).execute();
-          // Get the actual data from the response
-          List<List<Object>> values = readResult.getValues();
+          // Formats the data into the URL to read the range
+          String getUrl = String.format(
+            "https://docs.google.com/spreadsheets/d/%s/export?format=csv&range=%s",
+            spreadsheetID, cleanRangeReference);
+          Log.d(LOG_TAG, "ReadRange url: " + getUrl);
 
-          // No Data Found
-          if (values == null || values.isEmpty()) {
-            ErrorOccurred("ReadRange: No data found.");
+          // Make the HTTP Request
+          URL url = new URL(getUrl);
+          HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("GET");
+          // Catch Bad HTTP Request
+          if (connection.getResponseCode() == 400) {
+            ErrorOccurred("ReadRange: Bad HTTP Request. Please check the address and try again. " + getUrl);
             return;
           }
-          // Format the result as a string and run the call back
-          final List<List<String>> ret = new ArrayList<List<String>>();
-          // For every object in the result, convert it to a string
-          for (List<Object> row : values) {
-            List<String> cellRow = new ArrayList<String>();
-            for (Object cellValue : row) {
-              cellRow.add(String.format("%s", cellValue == null ? "" : cellValue));
-            }
-            ret.add(cellRow);
-          }
 
-          // Run the callback event
+          // Parse the Response
+          String responseContent = getResponseContent(connection);
+          final YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
+          // We need to re-enter the main thread before we can dispatch the event!
           activity.runOnUiThread(new Runnable() {
             @Override
             public void run() {
-              GotRangeData(ret);
+              GotRangeData(parsedCsv);
             }
           });
         }
@@ -1703,40 +1789,20 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       return;
     }
 
-    final ValueRange body = new ValueRange()
-      .setValues(values);
-    Log.d(LOG_TAG, "Body's Range in A1: " + body.getRange());
-    // Wrap the API Call in an Async Utility
-    AsynchUtil.runAsynchronously(new Runnable() {
+    writeRange(sheetName, rangeReference, values, new AsyncCallbackPair<Void>() {
       @Override
-      public void run () {
-        try {
-          Sheets sheetsService = getSheetsService();
-          // UpdateValuesResponse result =
-          sheetsService.spreadsheets().values()
-            .update(spreadsheetID, rangeRef, body)
-            .setValueInputOption("USER_ENTERED") // USER_ENTERED or RAW
-            .execute();
-          activity.runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-              FinishedWriteRange();
-            }
-          });
-        }
-        catch (GoogleJsonResponseException e) {
-          Log.e(LOG_TAG, "Error in WriteRange: API Error", e);
-          ErrorOccurred("WriteRange: API Error: " + e.getMessage());
-        } catch (IOException e) {
-          Log.e(LOG_TAG, "Error in WriteRange: IO Error", e);
-          ErrorOccurred("WriteRange: IO Error: " + e.getMessage());
-        } catch (GeneralSecurityException e) {
-          Log.e(LOG_TAG, "Error in WriteRange: Security Error", e);
-          ErrorOccurred("WriteRange: Security Error: " + e.getMessage());
-        } catch (Exception e) {
-          Log.e(LOG_TAG, "Error in WriteRange: Unknown Error", e);
-          ErrorOccurred("WriteRange: Unknown Error: " + e.getMessage());
-        }
+      public void onFailure(String message) {
+        ErrorOccurred("WriteRange: API Error: " + message);
+      }
+
+      @Override
+      public void onSuccess(Void result) {
+        activity.runOnUiThread(new Runnable() {
+          @Override
+          public void run() {
+            FinishedWriteRange();
+          }
+        });
       }
     });
   }
@@ -1770,8 +1836,9 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     final String rangeRef = sheetName + "!" + rangeReference;
     Log.d(LOG_TAG, "Clearing Range: " + rangeRef);
 
+    cache.invalidate(sheetName);
     // Runs the Clear call asynchronously
-    AsynchUtil.runAsynchronously(new Runnable() {
+    batcher.run(new Runnable() {
       @Override
       public void run () {
         try {
@@ -1780,6 +1847,8 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
           sheetsService.spreadsheets().values()
             .clear(spreadsheetID, rangeRef, new ClearValuesRequest())
             .execute();
+          // Forget any copy read while the change was being made
+          cache.invalidate(sheetName);
           form.runOnUiThread(new Runnable() {
             @Override
             public void run() {
@@ -1828,7 +1897,17 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
       ErrorOccurred("ReadSheet: " + "SpreadsheetID is empty.");
       return;
     }
-    AsynchUtil.runAsynchronously(RetrieveSheet(sheetName, -1, null, false, true));
+    retrieveSheet(RetrieveSheet(sheetName, -1, null, false, true));
+  }
+
+  // With credentials, the sheet is read through the batcher, in order with the other calls made
+  // to the Sheets API. Otherwise it is fetched over HTTP in the background.
+  private void retrieveSheet(Runnable retrieve) {
+    if (credentialsPath != null) {
+      retrieve.run();
+    } else {
+      AsynchUtil.runAsynchronously(retrieve);
+    }
   }
 
   Runnable RetrieveSheet(final String sheetName, final int colID, final String value,
@@ -1842,159 +1921,141 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
         }
         Log.d(LOG_TAG, "Reading Sheet: " + sheetName);
 
-        try {
-          // If no Credentials.json is provided, attempt the HTTP request
-          if (credentialsPath == null) {
-            Log.d(LOG_TAG, "Reading Sheet: No credentials");
-            // Cleans the formatted url in case the sheetname needs to be cleaned
-            String cleanRangeReference = "";
-            try {
-              cleanRangeReference = URLEncoder.encode(sheetName, "UTF-8");
-            } catch (UnsupportedEncodingException e) {
-              ErrorOccurred("ReadRange: Error occurred encoding the query. UTF-8 is unsupported?");
-              return;
+        // Run this if there is a credentials json provided.
+        if (credentialsPath != null) {
+          Log.d(LOG_TAG, "Reading Sheet: Credentials located.");
+          readSheet(sheetName, new AsyncCallbackPair<List<List<String>>>() {
+            @Override
+            public void onFailure(String message) {
+              ErrorOccurred("RetrieveSheet: API Error: " + message);
             }
 
-            // Formats the data into the URL to read the range
-            String getUrl = String.format(
-                "https://docs.google.com/spreadsheets/d/%s/gviz/tq?tqx=out:csv&sheet=%s",
-                spreadsheetID, cleanRangeReference);
-
-            // Make the HTTP Request
-            URL url = new URL(getUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Catch Bad HTTP Request
-            if (connection.getResponseCode() == 400) {
-              ErrorOccurred("ReadSheet: Bad HTTP Request. Please check the address and try again. " + getUrl);
-              return;
-            }
+            @Override
+            public void onSuccess(final List<List<String>> ret) {
+              // No Data Found
+              if (ret.isEmpty()) {
+                ErrorOccurred("ReadSheet: No data found.");
+                return;
+              }
+              Log.d(LOG_TAG, "RetriveSheet return rowcount: " + ret.size());
 
-            // Parse the Response
-            final String responseContent = getResponseContent(connection);
-            final YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
-            // We need to re-enter the main thread before we can dispatch the event!
-            activity.runOnUiThread(new Runnable() {
-              @Override
-              public void run() {
-                updateColumns(parsedCsv);
-                notifyDataObservers(null, null);
-                if (fireEvent) {
+              // We need to re-enter the main thread before we can dispatch the event!
+              activity.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                  updateColumns(YailList.makeList(ret));
+                  notifyDataObservers(null, null);
+                  Log.d(LOG_TAG, "RetriveSheet UIThread " );
                   if (colID >= 0) {
-                    try {
-                      List<Integer> return_rows = new YailList();
-                      List<List<String>> return_data = new YailList();
-                      int rowNum = 0;
-                      while (rowNum < parsedCsv.size()) {
-                        YailList sheet_row = CsvUtil.fromCsvRow(parsedCsv.get(rowNum).toString());
-                        if (sheet_row.size() >= colID) {
-                          if ((exact && sheet_row.get(colID - 1).equals(value))
-                              || (!exact && sheet_row.get(colID - 1).toString().contains(value))) {
-                            return_rows.add(rowNum);
-                            return_data.add(sheet_row);
-                          }
-                          rowNum++;
+                    Log.d(LOG_TAG, "RetriveWithFilter: colID " + colID);
+                    try
+                    {
+                    List<Integer> return_rows = new ArrayList<>();
+                    List<List<String>> return_data = new ArrayList<>();
+                    int rowNum = 0;
+                    while (rowNum < ret.size()) {
+                      Log.d(LOG_TAG, "Reading row row: " + rowNum);
+                      List<String> sheet_row = ret.get(rowNum);
+                      Log.d(LOG_TAG, "Read with Filter row: " + sheet_row);
+                      if (sheet_row.size() >=(colID))
+                      {
+                        Log.d(LOG_TAG, "Checking field : |" + sheet_row.get(colID - 1) + "|");
+                        if (exact && sheet_row.get(colID - 1).equals(value)
+                        || (!exact && sheet_row.get(colID - 1).contains(value)))
+                        {
+                          Log.d(LOG_TAG, "Read with Filter check col: " + rowNum);
+                          return_rows.add(rowNum + 1);
+                          return_data.add(sheet_row);
                         }
                       }
-                      GotFilterResult(return_rows, return_data);
-                    } catch (Exception e) {
-                      Log.d(LOG_TAG, "ReadWithFilter (no creds) Error: " + e.getMessage());
+                      rowNum++;
+                    }
+                    GotFilterResult(return_rows, return_data);
+                    } catch (Exception e)
+                    {
+                      Log.d(LOG_TAG, "Read with Filter Error: " + e.getClass().getName() + e.getMessage());
                       ErrorOccurred(e.getMessage());
+                      return;
                     }
                   } else {
-                    GotSheetData(parsedCsv);
+                    GotSheetData(ret);
                   }
                 }
-              }
-            });
+              });
+            }
+          });
+          return;
+        }
+
+        try {
+          // No Credentials.json is provided, so attempt the HTTP request
+          Log.d(LOG_TAG, "Reading Sheet: No credentials");
+          // Cleans the formatted url in case the sheetname needs to be cleaned
+          String cleanRangeReference = "";
+          try {
+            cleanRangeReference = URLEncoder.encode(sheetName, "UTF-8");
+          } catch (UnsupportedEncodingException e) {
+            ErrorOccurred("ReadRange: Error occurred encoding the query. UTF-8 is unsupported?");
             return;
           }
-          Log.d(LOG_TAG, "Reading Sheet: Credentials located.");
 
-          // Run this if there is a credentials json provided.
-          Sheets sheetsService = getSheetsService();
-          Log.d(LOG_TAG, "Reading Sheet: Got sheet service");
-          // Spreadsheet sheet = sheetsService.spreadsheets().get(spreadsheetID).execute();
-          ValueRange readResult = sheetsService.spreadsheets().values()
-              .get(spreadsheetID, sheetName).execute();
-          Log.d(LOG_TAG, "Got read result");
-          // Get the actual data from the response
-          List<List<Object>> values = readResult.getValues();
-          Log.d(LOG_TAG, "Reading Sheet: values count " + values.size());
+          // Formats the data into the URL to read the range
+          String getUrl = String.format(
+              "https://docs.google.com/spreadsheets/d/%s/gviz/tq?tqx=out:csv&sheet=%s",
+              spreadsheetID, cleanRangeReference);
 
-          // No Data Found
-          if (values == null || values.isEmpty()) {
-            ErrorOccurred("ReadSheet: No data found.");
+          // Make the HTTP Request
+          URL url = new URL(getUrl);
+          HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+          connection.setRequestMethod("GET");
+          // Catch Bad HTTP Request
+          if (connection.getResponseCode() == 400) {
+            ErrorOccurred("ReadSheet: Bad HTTP Request. Please check the address and try again. " + getUrl);
             return;
           }
-          // Format the result as a string and run the call back
-          final List<List<String>> ret = new ArrayList<List<String>>();
-          // For every object in the result, convert it to a string
-          Log.d(LOG_TAG, "RetriveSheet data: " + values);
-
-          for (List<Object> row : values) {
-            List<String> cellRow = new ArrayList<String>();
-            for (Object cellValue : row) {
-              cellRow.add(String.format("%s", cellValue == null ? "" : cellValue));
-            }
-            ret.add(cellRow);
-          }
-          Log.d(LOG_TAG, "RetriveSheet return rowcount: " + ret.size());
 
+          // Parse the Response
+          final String responseContent = getResponseContent(connection);
+          final YailList parsedCsv = CsvUtil.fromCsvTable(responseContent);
           // We need to re-enter the main thread before we can dispatch the event!
           activity.runOnUiThread(new Runnable() {
             @Override
             public void run() {
-              updateColumns(YailList.makeList(ret));
+              updateColumns(parsedCsv);
               notifyDataObservers(null, null);
-              Log.d(LOG_TAG, "RetriveSheet UIThread " );
-              if (colID >= 0) {
-                Log.d(LOG_TAG, "RetriveWithFilter: colID " + colID);
-                try
-                {
-                List<Integer> return_rows = new ArrayList<>();
-                List<List<String>> return_data = new ArrayList<>();
-                int rowNum = 0;
-                while (rowNum < ret.size()) {
-                  Log.d(LOG_TAG, "Reading row row: " + rowNum);
-                  List<String> sheet_row = ret.get(rowNum);
-                  Log.d(LOG_TAG, "Read with Filter row: " + sheet_row);
-                  if (sheet_row.size() >=(colID))
-                  {
-                    Log.d(LOG_TAG, "Checking field : |" + sheet_row.get(colID - 1) + "|");
-                    if (exact && sheet_row.get(colID - 1).equals(value)
-                    || (!exact && sheet_row.get(colID - 1).contains(value)))
-                    {
-                      Log.d(LOG_TAG, "Read with Filter check col: " + rowNum);
-                      return_rows.add(rowNum + 1);
-                      return_data.add(sheet_row);
+              if (fireEvent) {
+                if (colID >= 0) {
+                  try {
+                    List<Integer> return_rows = new YailList();
+                    List<List<String>> return_data = new YailList();
+                    int rowNum = 0;
+                    while (rowNum < parsedCsv.size()) {
+                      YailList sheet_row = CsvUtil.fromCsvRow(parsedCsv.get(rowNum).toString());
+                      if (sheet_row.size() >= colID) {
+                        if ((exact && sheet_row.get(colID - 1).equals(value))
+                            || (!exact && sheet_row.get(colID - 1).toString().contains(value))) {
+                          return_rows.add(rowNum);
+                          return_data.add(sheet_row);
+                        }
+                        rowNum++;
+                      }
                     }
+                    GotFilterResult(return_rows, return_data);
+                  } catch (Exception e) {
+                    Log.d(LOG_TAG, "ReadWithFilter (no creds) Error: " + e.getMessage());
+                    ErrorOccurred(e.getMessage());
                   }
-                  rowNum++;
-                }
-                GotFilterResult(return_rows, return_data);
-                } catch (Exception e)
-                {
-                  Log.d(LOG_TAG, "Read with Filter Error: " + e.getClass().getName() + e.getMessage());
-                  ErrorOccurred(e.getMessage());
-                  return;
+                } else {
+                  GotSheetData(parsedCsv);
                 }
-              } else {
-                GotSheetData(ret);
               }
             }
           });
         }
         // Handle Errors which may have occured while sending the Read Request!
-        catch (GoogleJsonResponseException e) {
-          Log.e(LOG_TAG, "Error in RetrieveSheet: API Error", e);
-          ErrorOccurred("RetrieveSheet: API Error: " + e.getMessage());
-        } catch (IOException e) {
+        catch (IOException e) {
           Log.e(LOG_TAG, "Error in RetrieveSheet: IO Error", e);
           ErrorOccurred("RetrieveSheet: IO Error: " + e.getMessage());
-        } catch (GeneralSecurityException e) {
-          Log.e(LOG_TAG, "Error in RetrieveSheet: Security Error", e);
-          ErrorOccurred("RetrieveSheet: Security Error: " + e.getMessage());
         } catch (Exception e) {
           Log.e(LOG_TAG, "Error in RetrieveSheet: Unknown Error", e);
           ErrorOccurred("RetrieveSheet: Unknown Error: " + e.getMessage());
@@ -2015,6 +2076,16 @@ public class Spreadsheet extends AndroidNonvisibleComponent implements Component
     EventDispatcher.dispatchEvent(this, "GotSheetData", sheetData);
   }
 
+  /**
+   * Discards the sheet data kept because of the {@link #CacheDuration(int)} property, so that
+   * the next reads fetch the data from Google Sheets again.
+   */
+  @SimpleFunction(description = "Discards the sheet data kept for the CacheDuration, so that "
+      + "the next reads fetch the data from Google Sheets again.")
+  public void ClearCache() {
+    cache.clear();
+  }
+
   //region ObservableDataSource Implementation
 
   @Override
@@ -20,9 +20,9 @@ import com.google.appinventor.components.common.PropertyTypeConstants;
 import com.google.appinventor.components.runtime.errors.IllegalArgumentError;
 import com.google.appinventor.components.runtime.util.BoundingBox;
 import com.google.appinventor.components.runtime.util.TimerInternal;
-import com.google.appinventor.components.runtime.util.Vector2D;
 import com.google.appinventor.components.runtime.util.YailList;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -416,6 +416,7 @@ public abstract class Sprite extends VisibleComponent
     }
     xLeft = xOriginToLeft(xOrigin);
     yTop = yOriginToTop(yOrigin);
+    canvas.markSpriteMoved(this);
   }
 
   // The following methods get overridden in ImageSprite with the @SimpleProperty and
@@ -726,6 +727,16 @@ public abstract class Sprite extends VisibleComponent
     return registeredCollisions.contains(other);
   }
 
+  /**
+   * Adds the sprites currently registered as colliding with this sprite to
+   * the given collection.
+   *
+   * @param result the collection receiving the colliding sprites
+   */
+  void collectRegisteredCollisions(Collection<? super Sprite> result) {
+    result.addAll(registeredCollisions);
+  }
+
   /**
    * Moves the sprite back in bounds if part of it extends out of bounds,
    * having no effect otherwise. If the sprite is too wide to fit on the
@@ -823,6 +834,7 @@ public abstract class Sprite extends VisibleComponent
     // before all components had been constructed.
     if (!initialized) {
       // During REPL, components are not initalized, but we still want to repaint the canvas.
+      canvas.markSpriteMoved(this);
       canvas.getView().invalidate();
       return;
     }
@@ -1024,6 +1036,21 @@ public abstract class Sprite extends VisibleComponent
         xLeft + Width() - 1 + border, yTop + Height() - 1 + border);
   }
 
+  /**
+   * Computes the axis-aligned bounds of this sprite as used for finding
+   * candidate collisions.  Subclasses whose collision shape can extend beyond
+   * their unrotated rectangle must override this method.
+   *
+   * @param bounds an array of length 4 that receives the left, top, right and
+   *        bottom coordinates, in that order
+   */
+  void getCollisionBounds(double[] bounds) {
+    bounds[0] = xLeft;
+    bounds[1] = yTop;
+    bounds[2] = xLeft + Width();
+    bounds[3] = yTop + Height();
+  }
+
   /**
    * Determines whether two sprites are in collision.
    *
@@ -1056,57 +1083,105 @@ public abstract class Sprite extends VisibleComponent
 
     double centerToCenterDistanceSquared = (xCenter1 - xCenter2) * (xCenter1 - xCenter2)
             + (yCenter1 - yCenter2) * (yCenter1 - yCenter2);
-    return centerToCenterDistanceSquared
-              <= Math.pow((ball1.Radius() + ball2.Radius()), 2);
+    double radiusSum = ball1.Radius() + ball2.Radius();
+    return centerToCenterDistanceSquared <= radiusSum * radiusSum;
   }
 
   // Use the SAT collision detection algorithm for checking collisions between two image sprites.
-  // Get the normal axes for both of the sprites and after that check the projections of the sprites
-  // on those axes.
+  // The candidate separating axes are the normals of two adjacent edges of each sprite; the other
+  // two edges are parallel to these. Corners are stored as flat {x0, y0, ..., x3, y3} arrays owned
+  // by the sprites so that this test does not allocate.
   private static boolean collidingImageSprites(ImageSprite sprite1, ImageSprite sprite2) {
-
-    // axes to project the sprites on
-    java.util.List<Vector2D> axes = sprite1.getNormalAxes();
-    axes.addAll(sprite2.getNormalAxes());
-
-    for (Vector2D a : axes) {
-      double minA = sprite1.getMinProjection(a);
-      double maxA = sprite1.getMaxProjection(a);
-      double minB = sprite2.getMinProjection(a);
-      double maxB = sprite2.getMaxProjection(a);
-      if (maxA < minB || maxB < minA) {
-        return false;
-      }
-    }
-
-    return true;
+    double[] corners1 = sprite1.getCorners();
+    double[] corners2 = sprite2.getCorners();
+    return !separatedAlongEdgeNormals(corners1, corners1, corners2)
+        && !separatedAlongEdgeNormals(corners2, corners1, corners2);
   }
 
   // Use the SAT collision detection algorithm for checking collisions between an image sprite and a
   // ball. The axes to project the sprites onto are the vectors normal to the image sprites and the
   // vector that connects the center of the ball to the closest vertex of the image sprite.
   private static boolean collidingBallAndImageSprite(Ball ball, ImageSprite imageSprite) {
-    java.util.List<Vector2D> axes = imageSprite.getNormalAxes();
-
-    java.util.List<Vector2D> imageCorners = imageSprite.getExtremityVectors();
-
-    Vector2D ballCenter = ball.getCenterVector();
+    double[] corners = imageSprite.getCorners();
+    if (separatedAlongEdgeNormals(corners, corners, ball)) {
+      return false;
+    }
 
-    Vector2D closestCorner = ballCenter.getClosestVector(imageCorners);
-    Vector2D ballCenterToClosestCorner = Vector2D.difference(closestCorner, ballCenter);
-    axes.add(ballCenterToClosestCorner);
+    double xCenter = ball.xLeft + ball.Width() / 2.0;
+    double yCenter = ball.yTop + ball.Height() / 2.0;
+    int closest = 0;
+    double minDistance = Double.MAX_VALUE;
+    for (int i = 0; i < corners.length; i += 2) {
+      double dx = corners[i] - xCenter;
+      double dy = corners[i + 1] - yCenter;
+      double distance = dx * dx + dy * dy;
+      if (distance < minDistance) {
+        minDistance = distance;
+        closest = i;
+      }
+    }
+    return !separatedAlongAxis(corners[closest] - xCenter, corners[closest + 1] - yCenter,
+        corners, ball);
+  }
+
+  // Checks the normals of the first two edges of the quadrilateral edgeSource as separating axes
+  // between the quadrilaterals a and b.
+  private static boolean separatedAlongEdgeNormals(double[] edgeSource, double[] a, double[] b) {
+    for (int i = 0; i < 4; i += 2) {
+      // The normal of the edge (x, y) is (y, -x).
+      double axisX = edgeSource[i + 1] - edgeSource[i + 3];
+      double axisY = edgeSource[i + 2] - edgeSource[i];
+      if (maxProjection(a, axisX, axisY) < minProjection(b, axisX, axisY)
+          || maxProjection(b, axisX, axisY) < minProjection(a, axisX, axisY)) {
+        return true;
+      }
+    }
+    return false;
+  }
 
-    for (Vector2D a : axes) {
-      double minA = imageSprite.getMinProjection(a);
-      double maxA = imageSprite.getMaxProjection(a);
-      double minB = ball.getMinProjection(a);
-      double maxB = ball.getMaxProjection(a);
-      if (maxA < minB || maxB < minA) {
-        return false;
+  // Checks the normals of the first two edges of the quadrilateral edgeSource as separating axes
+  // between the quadrilateral corners and the ball.
+  private static boolean separatedAlongEdgeNormals(double[] edgeSource, double[] corners,
+      Ball ball) {
+    for (int i = 0; i < 4; i += 2) {
+      double axisX = edgeSource[i + 1] - edgeSource[i + 3];
+      double axisY = edgeSource[i + 2] - edgeSource[i];
+      if (separatedAlongAxis(axisX, axisY, corners, ball)) {
+        return true;
       }
     }
+    return false;
+  }
 
-    return true;
+  // The projection of a ball is the projection of its center plus or minus the radius. We consider
+  // dot product values as the projection so the radius needs to be multiplied by the axis's
+  // magnitude.
+  private static boolean separatedAlongAxis(double axisX, double axisY, double[] corners,
+      Ball ball) {
+    double xCenter = ball.xLeft + ball.Width() / 2.0;
+    double yCenter = ball.yTop + ball.Height() / 2.0;
+    double center = xCenter * axisX + yCenter * axisY;
+    double extent = ball.Radius() * Math.sqrt(axisX * axisX + axisY * axisY);
+    return maxProjection(corners, axisX, axisY) < center - extent
+        || center + extent < minProjection(corners, axisX, axisY);
+  }
+
+  // Note that projections are dot products, i.e. the axis is not guaranteed to be a unit vector. As
+  // we only do comparisons on these values, calculating the unit vector is a waste of time.
+  private static double minProjection(double[] corners, double axisX, double axisY) {
+    double minimum = corners[0] * axisX + corners[1] * axisY;
+    for (int i = 2; i < corners.length; i += 2) {
+      minimum = Math.min(minimum, corners[i] * axisX + corners[i + 1] * axisY);
+    }
+    return minimum;
+  }
+
+  private static double maxProjection(double[] corners, double axisX, double axisY) {
+    double maximum = corners[0] * axisX + corners[1] * axisY;
+    for (int i = 2; i < corners.length; i += 2) {
+      maximum = Math.max(maximum, corners[i] * axisX + corners[i + 1] * axisY);
+    }
+    return maximum;
   }
 
   /**
@@ -7,7 +7,6 @@
 package com.google.appinventor.components.runtime;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 
 import android.util.Log;
 
@@ -20,18 +19,25 @@ import com.google.appinventor.components.annotations.SimpleProperty;
 
 import com.google.appinventor.components.common.ComponentCategory;
 import com.google.appinventor.components.common.PropertyTypeConstants;
+import com.google.appinventor.components.common.StorageBackend;
 import com.google.appinventor.components.common.YaVersion;
 
 import com.google.appinventor.components.runtime.errors.YailRuntimeError;
 
 import com.google.appinventor.components.runtime.util.JsonUtil;
+import com.google.appinventor.components.runtime.util.KeyValueStore;
+import com.google.appinventor.components.runtime.util.PreferencesKeyValueStore;
+import com.google.appinventor.components.runtime.util.SQLiteKeyValueStore;
 import com.google.appinventor.components.runtime.util.YailDictionary;
 import com.google.appinventor.components.runtime.util.YailList;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.json.JSONException;
 
@@ -90,16 +96,22 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
 
   public static final String DEFAULT_NAMESPACE = "TinyDB1";
 
-  private SharedPreferences sharedPreferences;
+  private KeyValueStore store;
   private String namespace;
+  private StorageBackend storage = StorageBackend.Preferences;
 
   private Context context;  // this was a local in constructor and final not private
 
   // Set of observers
   private HashSet<DataSourceChangeListener> dataSourceObservers = new HashSet<>();
 
-  // SharedPreferences listener used to notify observers
-  private final SharedPreferences.OnSharedPreferenceChangeListener sharedPreferenceChangeListener;
+  // Store listener used to notify observers
+  private final KeyValueStore.OnChangeListener storeChangeListener;
+
+  // Changes made since BeginTransaction, where a null value removes the tag
+  private boolean inTransaction = false;
+  private boolean pendingClear = false;
+  private final Map<String, String> pendingChanges = new LinkedHashMap<>();
 
 
   /**
@@ -111,9 +123,9 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
     super(container.$form());
     context = (Context) container.$context();
 
-    sharedPreferenceChangeListener = new SharedPreferences.OnSharedPreferenceChangeListener() {
+    storeChangeListener = new KeyValueStore.OnChangeListener() {
       @Override
-      public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+      public void onChange(String key) {
         // Upon value change, notify the observers with the key and the value
         notifyDataObservers(key, GetValue(key, null));
       }
@@ -137,16 +149,7 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
   @DesignerProperty(editorType = PropertyTypeConstants.PROPERTY_TYPE_STRING, defaultValue = DEFAULT_NAMESPACE)
   public void Namespace(String namespace) {
     this.namespace = namespace;
-
-    // SharedPreferences previously defined; Unregister the change listener.
-    if (sharedPreferences != null) {
-      sharedPreferences.unregisterOnSharedPreferenceChangeListener(sharedPreferenceChangeListener);
-    }
-
-    sharedPreferences = context.getSharedPreferences(namespace, Context.MODE_PRIVATE);
-
-    // Register the SharedPreferences change listener
-    sharedPreferences.registerOnSharedPreferenceChangeListener(sharedPreferenceChangeListener);
+    openStore();
   }
 
   @SimpleProperty(description = "Namespace for storing data.")
@@ -154,6 +157,53 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
     return namespace;
   }
 
+  /**
+   * Where the data of the `Namespace` is kept. `Preferences`, the default, keeps it in Android's
+   * shared preferences, which are rewritten in full each time a value is stored. `Database` keeps
+   * it in a database indexed by tag, which only writes the entries that change and suits apps
+   * that store many entries. The first time a `Namespace` is used with `Database`, it starts with
+   * the entries stored with `Preferences`. After that the two are separate.
+   *
+   * @param storage where to keep the data
+   */
+  @DesignerProperty(editorType = PropertyTypeConstants.PROPERTY_TYPE_CHOICES,
+      defaultValue = "Preferences", editorArgs = {"Preferences", "Database"})
+  @SimpleProperty
+  public void Storage(StorageBackend storage) {
+    this.storage = storage;
+    openStore();
+  }
+
+  // This version helps Kawa type-cast the designer property value to the StorageBackend form.
+  @SuppressWarnings("checkstyle:MethodName")
+  public void Storage(String storage) {
+    Storage(StorageBackend.fromUnderlyingValue(storage));
+  }
+
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR)
+  public StorageBackend Storage() {
+    return storage;
+  }
+
+  private void openStore() {
+    // Changes not yet committed belong to the store being closed
+    discardTransaction();
+
+    // Store previously defined; Unregister the change listener.
+    if (store != null) {
+      store.setOnChangeListener(null);
+    }
+
+    if (storage == StorageBackend.Database) {
+      store = new SQLiteKeyValueStore(context, namespace);
+    } else {
+      store = new PreferencesKeyValueStore(context, namespace);
+    }
+
+    // Register the store change listener
+    store.setOnChangeListener(storeChangeListener);
+  }
+
   /**
    * Store the given `valueToStore`{:.variable.block} under the given `tag`{:.text.block}.
    * The storage persists on the phone when the app is restarted.
@@ -165,13 +215,24 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
   @SimpleFunction(description = "Store the given value under the given tag.  The storage persists "
       + "on the phone when the app is restarted.")
   public void StoreValue(final String tag, final Object valueToStore) {
-    final SharedPreferences.Editor sharedPrefsEditor = sharedPreferences.edit();
-    try {
-      sharedPrefsEditor.putString(tag, JsonUtil.getJsonRepresentation(valueToStore));
-      sharedPrefsEditor.commit();
-    } catch (JSONException e) {
-      throw new YailRuntimeError("Value failed to convert to JSON.", "JSON Creation Error.");
+    applyChanges(false, Collections.singletonMap(tag, toJson(valueToStore)));
+  }
+
+  /**
+   * Store each value of the given dictionary under its key, all at once. Either every value is
+   * stored or, if one of them cannot be stored, none are. This is much faster than storing the
+   * values one at a time.
+   *
+   * @param values The tags and the values to store under them.
+   */
+  @SimpleFunction(description = "Store each value of the given dictionary under its key, all at "
+      + "once.")
+  public void StoreValues(final YailDictionary values) {
+    Map<String, String> changes = new LinkedHashMap<>();
+    for (Map.Entry<Object, Object> entry : values.entrySet()) {
+      changes.put(entry.getKey().toString(), toJson(entry.getValue()));
     }
+    applyChanges(false, changes);
   }
 
   /**
@@ -186,14 +247,29 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
   @SimpleFunction(description = "Retrieve the value stored under the given tag. If there's no "
       + "such tag, then return valueIfTagNotThere.")
   public Object GetValue(final String tag, final Object valueIfTagNotThere) {
-    try {
-      String value = sharedPreferences.getString(tag, "");
-      // If there's no entry with tag as a key then return the empty string.
-      //    was  return (value.length() == 0) ? "" : JsonUtil.getObjectFromJson(value);
-      return (value.length() == 0) ? valueIfTagNotThere : JsonUtil.getObjectFromJson(value, true);
-    } catch (JSONException e) {
-      throw new YailRuntimeError("Value failed to convert from JSON.", "JSON Creation Error.");
+    String value = getJson(tag);
+    // If there's no entry with tag as a key then return the empty string.
+    //    was  return (value.length() == 0) ? "" : JsonUtil.getObjectFromJson(value);
+    return (value == null || value.length() == 0) ? valueIfTagNotThere : fromJson(value);
+  }
+
+  /**
+   * Retrieve the values stored under each of the given `tags`{:.list.block}, as a list in the
+   * same order. Tags that are not in the data store give `valueIfTagNotThere`{:.variable.block}.
+   *
+   * @param tags               The tags to use
+   * @param valueIfTagNotThere The value given for tags not in TinyDB
+   * @return The list of values.
+   */
+  @SimpleFunction(description = "Retrieve the values stored under each of the given tags, as a "
+      + "list in the same order. Tags that are not there give valueIfTagNotThere.")
+  public YailList GetValues(final YailList tags, final Object valueIfTagNotThere) {
+    Object[] tagArray = tags.toArray();
+    Object[] values = new Object[tagArray.length];
+    for (int i = 0; i < tagArray.length; i++) {
+      values[i] = GetValue(tagArray[i].toString(), valueIfTagNotThere);
     }
+    return YailList.makeList(values);
   }
 
    /**
@@ -203,12 +279,7 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
    */
   @SimpleFunction(description = "Return a list of all the tags in the data store.")
   public Object GetTags() {
-    List<String> keyList = new ArrayList<String>();
-    Map<String, ?> keyValues = sharedPreferences.getAll();
-    // here is the simple way to get keys
-    keyList.addAll(keyValues.keySet());
-    java.util.Collections.sort(keyList);
-    return keyList;
+    return getSortedTags();
   }
 
   /**
@@ -217,10 +288,7 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
    */
   @SimpleFunction(description = "Clear the entire data store.")
   public void ClearAll() {
-    final SharedPreferences.Editor sharedPrefsEditor = sharedPreferences.edit();
-    sharedPrefsEditor.clear();
-    sharedPrefsEditor.commit();
-    notifyDataObservers(null, null); // Notify observers with null value to be interpreted as clear
+    applyChanges(true, Collections.<String, String>emptyMap());
   }
 
   /**
@@ -230,17 +298,118 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
    */
   @SimpleFunction(description = "Clear the entry with the given tag.")
   public void ClearTag(final String tag) {
-    final SharedPreferences.Editor sharedPrefsEditor = sharedPreferences.edit();
-    sharedPrefsEditor.remove(tag);
-    sharedPrefsEditor.commit();
+    applyChanges(false, Collections.<String, String>singletonMap(tag, null));
+  }
+
+  /**
+   * Start a transaction. Until `CommitTransaction` is called, the values stored and cleared by
+   * this `TinyDB` are only kept in memory: this `TinyDB` sees them, but they are not saved and
+   * other `TinyDB` components do not see them. `CommitTransaction` then saves all of them at
+   * once, and `RollbackTransaction` discards them. Calling `BeginTransaction` again before either
+   * has no effect, and changing `Namespace` or `Storage` discards the transaction.
+   */
+  @SimpleFunction(description = "Start a transaction. Values stored and cleared until "
+      + "CommitTransaction is called are saved all at once, or discarded by RollbackTransaction.")
+  public void BeginTransaction() {
+    inTransaction = true;
+  }
+
+  /**
+   * Save all the changes made since `BeginTransaction` at once, and end the transaction.
+   */
+  @SimpleFunction(description = "Save all the changes made since BeginTransaction at once, and "
+      + "end the transaction.")
+  public void CommitTransaction() {
+    if (!inTransaction) {
+      return;
+    }
+    boolean clear = pendingClear;
+    Map<String, String> changes = new LinkedHashMap<>(pendingChanges);
+    discardTransaction();
+    applyChanges(clear, changes);
+  }
+
+  /**
+   * Discard all the changes made since `BeginTransaction`, and end the transaction.
+   */
+  @SimpleFunction(description = "Discard all the changes made since BeginTransaction, and end "
+      + "the transaction.")
+  public void RollbackTransaction() {
+    discardTransaction();
   }
 
   @Override
   public void onDelete() {
-    final SharedPreferences.Editor sharedPrefsEditor = sharedPreferences.edit();
-    sharedPrefsEditor.clear();
-    sharedPrefsEditor.commit();
-    notifyDataObservers(null, null); // Notify observers with null value to be interpreted as clear
+    discardTransaction();
+    applyChanges(true, Collections.<String, String>emptyMap());
+  }
+
+  private void discardTransaction() {
+    inTransaction = false;
+    pendingClear = false;
+    pendingChanges.clear();
+  }
+
+  private void applyChanges(boolean clear, Map<String, String> changes) {
+    if (inTransaction) {
+      if (clear) {
+        pendingClear = true;
+        pendingChanges.clear();
+      }
+      pendingChanges.putAll(changes);
+      return;
+    }
+    store.apply(clear, changes);
+    if (clear) {
+      notifyDataObservers(null, null); // Notify observers with null value to be interpreted as clear
+    }
+  }
+
+  // Returns the JSON stored under the tag, including changes not yet committed
+  private String getJson(String tag) {
+    if (inTransaction) {
+      if (pendingChanges.containsKey(tag)) {
+        return pendingChanges.get(tag);
+      } else if (pendingClear) {
+        return null;
+      }
+    }
+    return store.get(tag);
+  }
+
+  private List<String> getSortedTags() {
+    Set<String> tags = new HashSet<>();
+    if (!(inTransaction && pendingClear)) {
+      tags.addAll(store.getKeys());
+    }
+    if (inTransaction) {
+      for (Map.Entry<String, String> change : pendingChanges.entrySet()) {
+        if (change.getValue() == null) {
+          tags.remove(change.getKey());
+        } else {
+          tags.add(change.getKey());
+        }
+      }
+    }
+    List<String> keyList = new ArrayList<String>(tags);
+    Collections.sort(keyList);
+    return keyList;
+  }
+
+  private static String toJson(Object value) {
+    try {
+      return JsonUtil.getJsonRepresentation(value);
+    } catch (JSONException e) {
+      throw new YailRuntimeError("Value failed to convert to JSON.", "JSON Creation Error.");
+    }
+  }
+
+  private static Object fromJson(String value) {
+    try {
+      return JsonUtil.getObjectFromJson(value, true);
+    } catch (JSONException e) {
+      throw new YailRuntimeError("Value failed to convert from JSON.", "JSON Creation Error.");
+    }
   }
 
   /**
@@ -291,10 +460,7 @@ public class TinyDB extends AndroidNonvisibleComponent implements Component, Del
    */
   @SimpleFunction(description = "Retrieves all data entries of TinyDB in form of Dictionaries")
   public YailDictionary GetEntries() {
-    Map<String, ?> keyValues = sharedPreferences.getAll();
-    List<String> keyList = new ArrayList<>(keyValues.keySet());
-
-    java.util.Collections.sort(keyList);
+    List<String> keyList = getSortedTags();
 
     YailDictionary dictionary = new YailDictionary();
 
@@ -33,7 +33,11 @@ import com.google.appinventor.components.common.YaVersion;
 import com.google.appinventor.components.runtime.util.ExponentialRegression;
 import com.google.appinventor.components.runtime.util.HasTrendline;
 import com.google.appinventor.components.runtime.util.LogarithmicRegression;
+import com.google.appinventor.components.runtime.util.OlsTrendLine;
 import com.google.appinventor.components.runtime.util.QuadraticRegression;
+import com.google.appinventor.components.runtime.util.RingBufferList;
+import com.google.appinventor.components.runtime.util.RunningLeastSquares;
+import com.google.appinventor.components.runtime.util.RunningStatistics;
 import com.google.appinventor.components.runtime.util.YailDictionary;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -103,6 +107,21 @@ public class Trendline implements ChartComponent, DataSourceChangeListener {
   private double maxX = Double.NEGATIVE_INFINITY;
   private final float density;
 
+  // The number of updates made to the running sums before they are computed again from all of
+  // the entries, so that rounding errors do not build up over a long stream of real-time data.
+  private static final int MAX_INCREMENTAL_UPDATES = 1000;
+
+  // The entries included in the running sums of the current model, oldest first
+  private final RingBufferList<Entry> points = new RingBufferList<>();
+  private final RunningStatistics linearSums = new RunningStatistics();
+  private RunningLeastSquares olsSums = null;
+  // The entries of the data series when the sums were last updated, and their change counts
+  private List<?> syncedEntries = null;
+  private long syncedRemovedFromFront;
+  private long syncedAppended;
+  private long syncedOtherChanges;
+  private int updatesSinceRebuild = 0;
+
   /**
    * Constructs a new Trendline component to be rendered on the given {@code chartContainer}.
    *
@@ -145,54 +164,28 @@ public class Trendline implements ChartComponent, DataSourceChangeListener {
 
   @Override
   public void onDataSourceValueChange(DataSource<?, ?> component, String key, Object newValue) {
-    lastResults.clear();
     Object value = component.getDataValue(null);
     if (DEBUG) {
       Log.d(LOG_TAG, "onDataSourceValueChange");
       Log.d(LOG_TAG, "value = " + value);
     }
     if (!(value instanceof List)) {
+      lastResults.clear();
       return;
     }
-    List<?> entries = (List<?>) value;
-    List<Double> x = new ArrayList<>();
-    List<Double> y = new ArrayList<>();
-    minX = Double.POSITIVE_INFINITY;
-    maxX = Double.NEGATIVE_INFINITY;
-    for (Object o : entries) {
-      if (o instanceof Entry) {
-        Entry entry = (Entry) o;
-        double currentX = entry.getX();
-        if (currentX < minX) {
-          minX = currentX;
-        }
-        if (currentX > maxX) {
-          maxX = currentX;
-        }
-        x.add(currentX);
-        y.add((double) entry.getY());
-      }
-    }
-    if (x.isEmpty()) {
-      Log.w(LOG_TAG, "No entries in the data source");
-      return;
-    } else if (x.size() < 2) {
-      Log.w(LOG_TAG, "Not enough entries in the data source");
-      return;
-    } else if (x.size() != y.size()) {
-      Log.w(LOG_TAG, "Must have equal X and Y data points");
+    Map<String, Object> results = update((List<?>) value, isOrderedByX(component));
+    if (results == null) {
       return;
     }
-    lastResults = currentModel.compute(x, y);
     if (DEBUG) {
       Log.d(LOG_TAG, "lastResults = " + lastResults);
     }
     if (initialized) {
-      final YailDictionary results = new YailDictionary(lastResults, ENUM_KEY_TRANSFORMER);
+      final YailDictionary dictionary = new YailDictionary(results, ENUM_KEY_TRANSFORMER);
       container.$form().runOnUiThread(new Runnable() {
         @Override
         public void run() {
-          Updated(results);
+          Updated(dictionary);
           if (visible) {
             container.getChartView().getView().invalidate();
           }
@@ -201,6 +194,146 @@ public class Trendline implements ChartComponent, DataSourceChangeListener {
     }
   }
 
+  /**
+   * Updates the trendline for the current entries of the data series. If the only changes since
+   * the last update are entries dropped from the start of the series and entries added to its
+   * end, as for real-time data, only those entries are added to or removed from the running sums
+   * of the model. Otherwise the sums are computed again from all of the entries.
+   *
+   * @param entries the entries of the data series
+   * @param ordered whether the entries are sorted by x value
+   * @return the results of the model, or null if there are not enough entries for a trendline
+   */
+  private synchronized Map<String, Object> update(List<?> entries, boolean ordered) {
+    lastResults.clear();
+    if (!(ordered && updateIncrementally(entries))) {
+      rebuild(entries, ordered);
+    }
+    if (points.isEmpty()) {
+      Log.w(LOG_TAG, "No entries in the data source");
+      return null;
+    } else if (points.size() < 2) {
+      Log.w(LOG_TAG, "Not enough entries in the data source");
+      return null;
+    }
+    if (ordered) {
+      minX = points.get(0).getX();
+      maxX = points.get(points.size() - 1).getX();
+    }
+    if (currentModel == regression) {
+      lastResults = computeLinear();
+    } else {
+      lastResults = ((OlsTrendLine) currentModel).compute(olsSums);
+    }
+    return lastResults;
+  }
+
+  private boolean updateIncrementally(List<?> entries) {
+    if (entries != syncedEntries || !(entries instanceof RingBufferList)
+        || updatesSinceRebuild >= MAX_INCREMENTAL_UPDATES) {
+      return false;
+    }
+    RingBufferList<?> list = (RingBufferList<?>) entries;
+    long removed = list.getRemovedFromFrontCount() - syncedRemovedFromFront;
+    long added = list.getAppendedCount() - syncedAppended;
+    if (list.getOtherChangeCount() != syncedOtherChanges || removed > points.size()
+        || points.size() - removed + added != list.size()) {
+      return false;
+    }
+    for (long i = 0; i < removed; i++) {
+      Entry entry = points.remove(0);
+      removePoint(entry.getX(), entry.getY());
+    }
+    for (int i = list.size() - (int) added; i < list.size(); i++) {
+      Object o = list.get(i);
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry entry = (Entry) o;
+      points.add(entry);
+      addPoint(entry.getX(), entry.getY());
+    }
+    recordSync(list);
+    updatesSinceRebuild++;
+    return true;
+  }
+
+  private void rebuild(List<?> entries, boolean ordered) {
+    points.clear();
+    linearSums.clear();
+    olsSums = currentModel instanceof OlsTrendLine
+        ? new RunningLeastSquares((OlsTrendLine) currentModel) : null;
+    minX = Double.POSITIVE_INFINITY;
+    maxX = Double.NEGATIVE_INFINITY;
+    for (Object o : entries) {
+      if (o instanceof Entry) {
+        Entry entry = (Entry) o;
+        if (!ordered) {
+          minX = Math.min(minX, entry.getX());
+          maxX = Math.max(maxX, entry.getX());
+        }
+        points.add(entry);
+        addPoint(entry.getX(), entry.getY());
+      }
+    }
+    if (entries instanceof RingBufferList && points.size() == entries.size()) {
+      syncedEntries = entries;
+      recordSync((RingBufferList<?>) entries);
+    } else {
+      syncedEntries = null;
+    }
+    updatesSinceRebuild = 0;
+  }
+
+  private void recordSync(RingBufferList<?> list) {
+    syncedRemovedFromFront = list.getRemovedFromFrontCount();
+    syncedAppended = list.getAppendedCount();
+    syncedOtherChanges = list.getOtherChangeCount();
+  }
+
+  private void addPoint(double x, double y) {
+    if (olsSums != null) {
+      olsSums.add(x, y);
+    } else {
+      linearSums.add(x, y);
+    }
+  }
+
+  private void removePoint(double x, double y) {
+    if (olsSums != null) {
+      olsSums.remove(x, y);
+    } else {
+      linearSums.remove(x, y);
+    }
+  }
+
+  /**
+   * Computes the results of the linear model from the running statistics, with the same fields
+   * as {@link LinearRegression#compute(List, List)}.
+   */
+  private Map<String, Object> computeLinear() {
+    double slope = linearSums.getSlope();
+    double intercept = linearSums.getIntercept();
+    double corr = linearSums.getCorrelation();
+    List<Double> predictions = new ArrayList<>(points.size());
+    for (Entry entry : points) {
+      predictions.add(slope * entry.getX() + intercept);
+    }
+    Map<String, Object> results = new HashMap<>();
+    results.put("slope", slope);
+    results.put("Yintercept", intercept);
+    results.put("correlation coefficient", corr);
+    results.put("predictions", predictions);
+    results.put("Xintercepts", slope == 0 ? Double.NaN : -intercept / slope);
+    results.put("r^2", corr * corr);
+    return results;
+  }
+
+  private static boolean isOrderedByX(DataSource<?, ?> component) {
+    return component instanceof ChartDataBase
+        && ((ChartDataBase) component).dataModel.isOrderedByX();
+  }
+
   @Override
   public void onReceiveValue(RealTimeDataSource<?, ?> component, String key, Object value) {
 
@@ -341,6 +474,10 @@ public class Trendline implements ChartComponent, DataSourceChangeListener {
       default:
         throw new IllegalArgumentException("Unknown model: " + model);
     }
+    synchronized (this) {
+      // The running sums belong to the previous model
+      syncedEntries = null;
+    }
     if (initialized) {
       container.refresh();
     }
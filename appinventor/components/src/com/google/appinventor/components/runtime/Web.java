@@ -12,6 +12,10 @@ import static android.Manifest.permission.WRITE_EXTERNAL_STORAGE;
 
 import android.app.Activity;
 
+import android.content.Context;
+
+import android.net.http.HttpResponseCache;
+
 import android.text.TextUtils;
 
 import android.util.Log;
@@ -64,6 +68,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 
@@ -71,6 +76,7 @@ import java.net.CookieHandler;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.ProtocolException;
+import java.net.ResponseCache;
 import java.net.SocketTimeoutException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -83,8 +89,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
@@ -107,8 +117,8 @@ import org.xml.sax.InputSource;
 @SimpleObject
 @UsesPermissions({INTERNET})
 @UsesLibraries(libraries = "json.jar")
-public class Web extends AndroidNonvisibleComponent implements Component,
-    ObservableDataSource<YailList, Future<YailList>> {
+public class Web extends AndroidNonvisibleComponent implements Component, OnPauseListener,
+    OnStopListener, ObservableDataSource<YailList, Future<YailList>> {
   /**
    * InvalidRequestHeadersException can be thrown from processRequestHeaders.
    * It is thrown if the list passed to processRequestHeaders contains an item that is not a list.
@@ -166,6 +176,8 @@ public class Web extends AndroidNonvisibleComponent implements Component,
     final boolean saveResponse;
     final String responseFileName;
     final int timeout;
+    final boolean cacheResponses;
+    final Context context;
     final Map<String, List<String>> requestHeaders;
     final Map<String, List<String>> cookies;
 
@@ -176,6 +188,8 @@ public class Web extends AndroidNonvisibleComponent implements Component,
       saveResponse = web.saveResponse;
       responseFileName = web.responseFileName;
       timeout = web.timeout;
+      cacheResponses = web.cacheResponses;
+      context = web.activity;
       requestHeaders = processRequestHeaders(web.requestHeaders);
 
       Map<String, List<String>> cookiesTemp = null;
@@ -194,6 +208,13 @@ public class Web extends AndroidNonvisibleComponent implements Component,
 
   private static final String LOG_TAG = "Web";
 
+  // The size of the buffer used when reading a response body.
+  private static final int RESPONSE_BUFFER_SIZE = 8192;
+
+  // The maximum size of the on-disk HTTP response cache used when CacheResponses is true.
+  private static final long RESPONSE_CACHE_SIZE = 10 * 1024 * 1024;
+  private static final String RESPONSE_CACHE_DIRECTORY = "web-responses";
+
   private static final Map<String, String> mimeTypeToExtension;
   static {
     mimeTypeToExtension = Maps.newHashMap();
@@ -221,6 +242,7 @@ public class Web extends AndroidNonvisibleComponent implements Component,
   private boolean saveResponse;
   private String responseFileName = "";
   private int timeout = 0;
+  private boolean cacheResponses = false;
 
   // whether we have permission to manipulate external storage (read and write, separately)
   // requests may need different combinations of permissions, so consider these independently.
@@ -235,9 +257,18 @@ public class Web extends AndroidNonvisibleComponent implements Component,
   // lastTask variable is instead constructed and ran.
   private FutureTask<Void> lastTask = null;
 
+  // Runs the tasks that wait for lastTask to return data values. Waiting on the shared pool
+  // could deadlock it if every pool thread waited for a task still queued behind them.
+  private final ExecutorService dataValueRunner = AsynchUtil.newSerialExecutor();
+
   // Store a List of columns parsed from the latest response (JSON/CSV).
-  // The columns are used for Chart Data importing.
+  // The columns are used for Chart Data importing. They are parsed lazily
+  // from lastResponseContent the first time they are requested, so that
+  // projects that do not import Web data into a Chart do not pay for parsing
+  // every response. All three fields are guarded by this.
   private YailList columns = new YailList();
+  private String lastResponseContent = null;
+  private String lastResponseType = null;
 
   // Set of observers
   private HashSet<DataSourceChangeListener> dataSourceObservers = new HashSet<>();
@@ -255,6 +286,8 @@ public class Web extends AndroidNonvisibleComponent implements Component,
     cookieHandler = (SdkLevel.getLevel() >= SdkLevel.LEVEL_GINGERBREAD)
         ? GingerbreadUtil.newCookieManager()
         : null;
+    form.registerForOnPause(this);
+    form.registerForOnStop(this);
   }
 
   /**
@@ -435,6 +468,31 @@ public class Web extends AndroidNonvisibleComponent implements Component,
     this.timeout = timeout;
   }
 
+  /**
+   * Whether responses to requests should be stored in a cache on the device. When a cached
+   * response is stale, the request is sent with the response's ETag and Last-Modified values so
+   * that the server only sends the body again if it has changed.
+   *
+   * @return whether responses are cached
+   */
+  @SimpleProperty(category = PropertyCategory.BEHAVIOR,
+      description = "Whether responses should be cached on the device. Cached responses are "
+      + "revalidated with the server using their ETag and Last-Modified headers, so unchanged "
+      + "responses are not downloaded again.")
+  public boolean CacheResponses() {
+    return cacheResponses;
+  }
+
+  /**
+   * Specifies whether responses should be cached on the device.
+   */
+  @DesignerProperty(editorType = PropertyTypeConstants.PROPERTY_TYPE_BOOLEAN,
+      defaultValue = "False")
+  @SimpleProperty
+  public void CacheResponses(boolean cacheResponses) {
+    this.cacheResponses = cacheResponses;
+  }
+
   @SimpleFunction(description = "Clears all cookies for this Web component.")
   public void ClearCookies() {
     if (cookieHandler != null) {
@@ -1238,6 +1296,10 @@ public class Web extends AndroidNonvisibleComponent implements Component,
       // Open the connection.
       HttpURLConnection connection = openConnection(webProps, httpVerb);
       if (connection != null) {
+        // Set once the response body has been read to the end and closed. The underlying socket
+        // can then be kept alive and reused for later requests to the same host, so we only
+        // disconnect when the request did not complete normally.
+        boolean completed = false;
         try {
           if (postData != null) {
             writeRequestData(connection, postData);
@@ -1273,10 +1335,8 @@ public class Web extends AndroidNonvisibleComponent implements Component,
               });
 
             // Update the locally stored columns list with the contents of the
-            // retrieved response & response type.
-            // TODO: Optimizations are possible here. Currently for projects which
-            // TODO: do not make use of Chart components, this will create extra overhead
-            // TODO: due to JSON/CSV parsing.
+            // retrieved response & response type. Parsing is deferred until a
+            // Chart asks for the columns.
             updateColumns(responseContent, responseType);
 
             // Notify all data observers with null key and null value.
@@ -1287,6 +1347,7 @@ public class Web extends AndroidNonvisibleComponent implements Component,
             // TODO: have a different interface?
             notifyDataObservers(null, null);
           }
+          completed = true;
         } catch (SocketTimeoutException e) {
           // Dispatch timeout event.
           activity.runOnUiThread(new Runnable() {
@@ -1297,7 +1358,9 @@ public class Web extends AndroidNonvisibleComponent implements Component,
             });
           throw new RequestTimeoutException();
         } finally {
-          connection.disconnect();
+          if (!completed) {
+            connection.disconnect();
+          }
         }
       }
     } catch (PermissionException e) {
@@ -1354,9 +1417,14 @@ public class Web extends AndroidNonvisibleComponent implements Component,
   private static HttpURLConnection openConnection(CapturedProperties webProps, String httpVerb)
       throws IOException, ClassCastException, ProtocolException {
 
+    if (webProps.cacheResponses && webProps.context != null) {
+      // Installed here, on the request's thread, because opening the cache reads its journal
+      installResponseCache(webProps.context);
+    }
     HttpURLConnection connection = (HttpURLConnection) webProps.url.openConnection();
     connection.setConnectTimeout(webProps.timeout);
     connection.setReadTimeout(webProps.timeout);
+    connection.setUseCaches(webProps.cacheResponses);
 
     if (httpVerb.equals("PUT") || httpVerb.equals("PATCH") || httpVerb.equals("DELETE")){
       // Set the Request Method; GET is the default, and if it is a POST, it will be marked as such
@@ -1416,16 +1484,9 @@ public class Web extends AndroidNonvisibleComponent implements Component,
       // been called.
       connection.setDoOutput(true); // This makes it something other than a HTTP GET.
       connection.setChunkedStreamingMode(0);
-      BufferedOutputStream out = new BufferedOutputStream(connection.getOutputStream());
+      OutputStream out = connection.getOutputStream();
       try {
-        while (true) {
-          int b = in.read();
-          if (b == -1) {
-            break;
-          }
-          out.write(b);
-        }
-        out.flush();
+        FileUtil.copy(in, out);
       } finally {
         out.close();
       }
@@ -1452,10 +1513,12 @@ public class Web extends AndroidNonvisibleComponent implements Component,
     }
   }
 
-  private static String getResponseContent(HttpURLConnection connection, String encodingProperty) throws IOException {
-    // Use the content encoding to convert bytes to characters.
+  // VisibleForTesting
+  static String getResponseContent(HttpURLConnection connection, String encodingProperty) throws IOException {
+    // Use the content encoding to convert bytes to characters. A compression scheme such as gzip
+    // is handled by getConnectionStream, so it is not a character encoding.
     String encoding = connection.getContentEncoding();
-    if (encoding == null) {
+    if (encoding == null || isCompressionEncoding(encoding)) {
       if (encodingProperty == null || encodingProperty.isEmpty()) {
         encoding = "UTF-8";
       } else {
@@ -1468,7 +1531,7 @@ public class Web extends AndroidNonvisibleComponent implements Component,
       StringBuilder sb = (contentLength != -1)
           ? new StringBuilder(contentLength)
           : new StringBuilder();
-      char[] buf = new char[1024];
+      char[] buf = new char[RESPONSE_BUFFER_SIZE];
       int read;
       while ((read = reader.read(buf)) != -1) {
         sb.append(buf, 0, read);
@@ -1490,19 +1553,11 @@ public class Web extends AndroidNonvisibleComponent implements Component,
           parent.getAbsolutePath());
     }
 
-    BufferedInputStream in = new BufferedInputStream(getConnectionStream(connection), 0x1000);
+    InputStream in = getConnectionStream(connection);
     try {
-      BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(file), 0x1000);
+      OutputStream out = new FileOutputStream(file);
       try {
-        // Copy the contents from the input stream to the output stream.
-        while (true) {
-          int b = in.read();
-          if (b == -1) {
-            break;
-          }
-          out.write(b);
-        }
-        out.flush();
+        FileUtil.copy(in, out);
       } finally {
         out.close();
       }
@@ -1513,20 +1568,83 @@ public class Web extends AndroidNonvisibleComponent implements Component,
     return file.getAbsolutePath();
   }
 
-  private static InputStream getConnectionStream(HttpURLConnection connection) throws SocketTimeoutException {
+  private static InputStream getConnectionStream(HttpURLConnection connection) throws IOException {
     // According to the Android reference documentation for HttpURLConnection: If the HTTP response
     // indicates that an error occurred, getInputStream() will throw an IOException. Use
     // getErrorStream() to read the error response.
+    InputStream in;
     try {
-      return connection.getInputStream();
+      in = connection.getInputStream();
     } catch (SocketTimeoutException e) {
       throw e; //Rethrow exception - should not attempt to read stream for timeouts
     } catch (IOException e1) {
       // Use the error response for all other IO Exceptions.
-      return connection.getErrorStream();
+      in = connection.getErrorStream();
+    }
+    if (in == null) {
+      return null;
+    }
+    // Android's HttpURLConnection requests and decompresses gzip transparently, but it leaves the
+    // body compressed if the app set its own Accept-Encoding request header.
+    String contentEncoding = connection.getContentEncoding();
+    if ("gzip".equalsIgnoreCase(contentEncoding)) {
+      return new GZIPInputStream(in, RESPONSE_BUFFER_SIZE);
+    } else if ("deflate".equalsIgnoreCase(contentEncoding)) {
+      return new InflaterInputStream(in, new Inflater(), RESPONSE_BUFFER_SIZE);
+    }
+    return in;
+  }
+
+  private static boolean isCompressionEncoding(String contentEncoding) {
+    return "gzip".equalsIgnoreCase(contentEncoding)
+        || "deflate".equalsIgnoreCase(contentEncoding)
+        || "identity".equalsIgnoreCase(contentEncoding);
+  }
+
+  /*
+   * Installs an on-disk HTTP response cache for the application, if one is not installed already.
+   * HttpURLConnection consults the cache for every connection that has useCaches set, which is
+   * only the case for requests made while CacheResponses is true.
+   */
+  private static synchronized void installResponseCache(Context context) {
+    if (ResponseCache.getDefault() != null) {
+      return;
+    }
+    try {
+      File directory = new File(context.getCacheDir(), RESPONSE_CACHE_DIRECTORY);
+      HttpResponseCache.install(directory, RESPONSE_CACHE_SIZE);
+    } catch (IOException e) {
+      Log.w(LOG_TAG, "Unable to install the HTTP response cache", e);
+    }
+  }
+
+  /*
+   * Writes the response cache's journal to disk, so that the cached responses survive the process
+   * being killed while the app is in the background. The write runs in the background, off the
+   * UI thread that delivers the lifecycle callbacks.
+   */
+  private static void flushResponseCache() {
+    final HttpResponseCache cache = HttpResponseCache.getInstalled();
+    if (cache != null) {
+      AsynchUtil.runAsynchronously(new Runnable() {
+        @Override
+        public void run() {
+          cache.flush();
+        }
+      });
     }
   }
 
+  @Override
+  public void onPause() {
+    flushResponseCache();
+  }
+
+  @Override
+  public void onStop() {
+    flushResponseCache();
+  }
+
   private File createFile(String fileName, String responseType)
       throws IOException, FileUtil.FileException {
     // If a fileName was specified, use it.
@@ -1651,12 +1769,41 @@ public class Web extends AndroidNonvisibleComponent implements Component,
         });
 
     // Run and return the getDataValue FutureTask
-    AsynchUtil.runAsynchronously(getDataValueTask);
+    dataValueRunner.execute(getDataValueTask);
     return getDataValueTask;
   }
 
   /**
    * Updates the local Columns List based on the specified response content
+   * and type. The content is kept and only parsed when the columns are next
+   * requested (see {@link #parseColumns(String, String)}).
+   *
+   * @param responseContent  Content of the response
+   * @param responseType  Type of the response
+   */
+  private synchronized void updateColumns(final String responseContent,
+      final String responseType) {
+    lastResponseContent = responseContent;
+    lastResponseType = responseType;
+  }
+
+  /**
+   * Gets the columns parsed from the latest response, parsing them first if the response has
+   * not been parsed yet.
+   *
+   * @return the columns of the latest response
+   */
+  private synchronized YailList getParsedColumns() {
+    if (lastResponseContent != null) {
+      parseColumns(lastResponseContent, lastResponseType);
+      lastResponseContent = null;
+      lastResponseType = null;
+    }
+    return columns;
+  }
+
+  /**
+   * Parses the local Columns List from the specified response content
    * and type. Columns are parsed either from JSON or CSV, depending on
    * the response type. On invalid response types, parsing is simply skipped.
    *
@@ -1666,7 +1813,7 @@ public class Web extends AndroidNonvisibleComponent implements Component,
    * @param responseContent  Content of the response
    * @param responseType  Type of the response
    */
-  private void updateColumns(final String responseContent, final String responseType) {
+  private void parseColumns(final String responseContent, final String responseType) {
     // Check whether the response type is a JSON type (by checking
     // whether the response type contains the String 'json')
     // If this is not the case, CSV parsing is attempted if the
@@ -1697,6 +1844,8 @@ public class Web extends AndroidNonvisibleComponent implements Component,
    * @return  YailList representation of the column (empty List if not found)
    */
   public YailList getColumn(String column) {
+    YailList columns = getParsedColumns();
+
     // Iterate through all the columns
     for (int i = 0; i < columns.size(); ++i) {
       YailList list = (YailList)columns.getObject(i);
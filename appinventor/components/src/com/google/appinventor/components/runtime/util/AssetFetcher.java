@@ -17,21 +17,27 @@ import com.google.appinventor.components.runtime.Form;
 import com.google.appinventor.components.runtime.ReplForm;
 import com.google.appinventor.components.runtime.errors.YailRuntimeError;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilenameFilter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 import java.net.HttpURLConnection;
 import java.net.URL;
 
+import java.security.MessageDigest;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Formatter;
 import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -50,6 +56,13 @@ import org.json.JSONException;
  *               storage. Finally when finished we signal the
  *               Companion that we have all of the needed assets
  *
+ *               Several assets are fetched at once. Each request
+ *               carries the hash of the copy we already have, so the
+ *               server only sends assets that have changed. Downloads
+ *               are checked against the hash the server reports and
+ *               only replace the old copy when complete, and an
+ *               interrupted download is resumed where it stopped.
+ *
  *               This code is part of the implementation of webRTC
  *               communication between the Companion and the App
  *               Inventor client.
@@ -62,8 +75,44 @@ public class AssetFetcher {
 
   private static final String LOG_TAG = AssetFetcher.class.getSimpleName();
 
-  // We use a single threaded executor so we only load one asset at a time!
-  private static ExecutorService background = Executors.newSingleThreadExecutor();
+  // We use a serial executor so we only install one Companion at a time!
+  private static ExecutorService background = AsynchUtil.newSerialExecutor();
+
+  // The number of assets downloaded at the same time. Most of the time taken by an asset that
+  // has not changed is the round trip to the server, so a few connections help a lot.
+  private static final int MAX_PARALLEL_DOWNLOADS = 4;
+
+  private static final int BUFFER_SIZE = 0x2000;
+
+  // Suffix of the partial copy of a file that is being downloaded.
+  private static final String PART_SUFFIX = ".part";
+
+  // Downloads waiting to start. Guarded by itself, as is activeDownloaders.
+  private static final Queue<Runnable> pendingDownloads = new ArrayDeque<Runnable>();
+  private static int activeDownloaders = 0;
+
+  // Runs pending downloads until there are none left. Up to MAX_PARALLEL_DOWNLOADS of these run
+  // on the shared pool at a time.
+  private static final Runnable downloader = new Runnable() {
+      @Override
+      public void run() {
+        while (true) {
+          Runnable download;
+          synchronized (pendingDownloads) {
+            download = pendingDownloads.poll();
+            if (download == null) {
+              activeDownloaders--;
+              return;
+            }
+          }
+          try {
+            download.run();
+          } catch (RuntimeException e) {
+            Log.e(LOG_TAG, "Exception while fetching asset", e);
+          }
+        }
+      }
+    };
 
   private static volatile boolean inError = false; // true means we are displaying the "End Application" Error dialog already
   private static final Object semaphore = new Object();
@@ -74,7 +123,7 @@ public class AssetFetcher {
 
   public static void fetchAssets(final String cookieValue,
     final String projectId, final String uri, final String asset) {
-    background.submit(new Runnable() {
+    Runnable download = new Runnable() {
         @Override
         public void run() {
           String fileName = uri + "/ode/download/file/" + projectId + "/" + asset;
@@ -82,7 +131,14 @@ public class AssetFetcher {
             RetValManager.assetTransferred(asset);
           }
         }
-      });
+      };
+    synchronized (pendingDownloads) {
+      pendingDownloads.add(download);
+      if (activeDownloaders < MAX_PARALLEL_DOWNLOADS) {
+        activeDownloaders++;
+        AsynchUtil.getExecutor().execute(downloader);
+      }
+    }
   }
 
   public static void upgradeCompanion(final String cookieValue, final String inputUri) {
@@ -179,72 +235,89 @@ public class AssetFetcher {
     HttpURLConnection connection = null;
     int responseCode = 0;
     String fileHash = null;
-    boolean error = false;
 
     try {
+      File parentOutFile = outFile.getParentFile();
+      if (parentOutFile == null || (!parentOutFile.exists() && !parentOutFile.mkdirs())) {
+        throw new IOException("Unable to create assets directory " + parentOutFile);
+      }
       URL url = new URL(fileName);
       connection = (HttpURLConnection) url.openConnection();
-      if (connection != null) {
-        connection.addRequestProperty("Cookie",  "AppInventor = " + cookieValue);
-        HashFile hashFile = db.getHashFile(destinationFilename);
-        if (hashFile != null && outFile.exists()) {
-          connection.addRequestProperty("If-None-Match", hashFile.getHash()); // get old_hash from database
-        }
-        connection.setRequestMethod("GET");
-        responseCode = connection.getResponseCode();
-        Log.d(LOG_TAG, "asset = " + asset + " responseCode = " + responseCode);
-        File parentOutFile = outFile.getParentFile();
-        fileHash = connection.getHeaderField("ETag"); // only save when status code is 200
-
-        if (responseCode == 304) { // We already have the file stored
-          return outFile;
-        }
+      if (connection == null) {
+        throw new IOException("Unable to open a connection to " + fileName);
+      }
+      connection.addRequestProperty("Cookie",  "AppInventor = " + cookieValue);
+      HashFile hashFile = db.getHashFile(destinationFilename);
+      if (hashFile != null && outFile.exists()) {
+        connection.addRequestProperty("If-None-Match", hashFile.getHash()); // get old_hash from database
+      }
+      // If an earlier transfer of the file was cut short, ask for the rest of it. The server
+      // sends the whole file instead if it has changed since.
+      File partFile = findPartFile(outFile);
+      if (partFile != null) {
+        connection.addRequestProperty("Range", "bytes=" + partFile.length() + "-");
+        connection.addRequestProperty("If-Range", "\"" + getPartHash(outFile, partFile) + "\"");
+      }
+      connection.setRequestMethod("GET");
+      responseCode = connection.getResponseCode();
+      Log.d(LOG_TAG, "asset = " + asset + " responseCode = " + responseCode);
+      fileHash = connection.getHeaderField("ETag"); // only save when status code is 200
 
-        if (parentOutFile == null || (!parentOutFile.exists() && !parentOutFile.mkdirs())) {
-          throw new IOException("Unable to create assets directory " + parentOutFile);
-        }
+      if (responseCode == 304) { // We already have the file stored
+        deletePartFile(partFile);
+        return outFile;
+      }
 
-        // Before we attempt to write to the outFile, make sure that we can. If it is a classes.jar
-        // file, we may already have a read-only version stored.
-        if (!outFile.canWrite()) {
-          outFile.setWritable(true);
-        }
-        BufferedInputStream in = new BufferedInputStream(connection.getInputStream(), 0x1000);
-        BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(outFile), 0x1000);
-        //noinspection TryFinallyCanBeTryWithResources
-        try {
-          while (true) {
-            int b = in.read();
-            if (b == -1) {
-              break;
-            }
-            out.write(b);
-          }
-          out.flush();
-        } catch (IOException e) {
-          Log.e(LOG_TAG, "copying assets", e);
-          error = true;
-        } finally {
-          out.close();
-          if (makeReadonly) {
-            Log.i(LOG_TAG, "Making file read-only: " + outFile.getAbsolutePath());
-            if (!outFile.setReadOnly()) {
-              throw new IOException("Unable to make " + outFile + " read-only.");
-            }
-          }
+      boolean resume = responseCode == 206 && partFile != null;
+      if (!resume) {
+        if (responseCode != 200) {
+          throw new IOException("Unexpected response " + responseCode);
         }
-      } else {
-        error = true;           // Connection was null, failed to open?
+        // Start over, saving the content to a file named after its hash so that the transfer
+        // can be resumed.
+        deletePartFile(partFile);
+        String hash = getExpectedHash(fileHash);
+        partFile = new File(parentOutFile,
+            outFile.getName() + (hash.isEmpty() ? "" : "." + hash) + PART_SUFFIX);
+      }
+      String expectedHash = getPartHash(outFile, partFile);
+      if (fileHash == null) {
+        fileHash = "\"" + expectedHash + "\"";
+      }
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      if (resume) {
+        Log.d(LOG_TAG, "Resuming " + asset + " at " + partFile.length());
+        updateDigest(digest, partFile);
+      }
+      copy(connection.getInputStream(), new FileOutputStream(partFile, resume), digest);
+
+      // Only replace the asset with a complete and intact copy.
+      String hash = byteArray2Hex(digest.digest());
+      if (isHash(expectedHash) && !hash.equals(expectedHash)) {
+        deletePartFile(partFile);
+        throw new IOException("Hash mismatch for " + asset + ": expected " + expectedHash
+            + " but got " + hash);
       }
-      if (error) {              // Try again recursively
-        return getFile(fileName, cookieValue, asset, depth + 1);
+      // Before we attempt to replace the outFile, make sure that we can. If it is a classes.jar
+      // file, we may already have a read-only version stored.
+      if (outFile.exists() && !outFile.canWrite()) {
+        outFile.setWritable(true);
+      }
+      if ((outFile.exists() && !outFile.delete()) || !partFile.renameTo(outFile)) {
+        throw new IOException("Unable to replace " + outFile);
+      }
+      if (makeReadonly) {
+        Log.i(LOG_TAG, "Making file read-only: " + outFile.getAbsolutePath());
+        if (!outFile.setReadOnly()) {
+          throw new IOException("Unable to make " + outFile + " read-only.");
+        }
       }
     } catch (Exception e) {
       Log.e(LOG_TAG, "Exception while fetching " + fileName, e);
-      // Try again recursively
+      // Try again recursively. If we got part of the file, this resumes where we left off.
       return getFile(fileName, cookieValue, asset, depth + 1);
     } finally {
-      if (makeReadonly) {
+      if (makeReadonly && outFile.exists()) {
         // Note that this covers the case where an extension was previously loaded on an Android
         // device prior to Android 14 and cached. After upgrading, we won't re-download the file
         // but it needs to be marked read-only otherwise a SecurityException will be thrown when
@@ -256,18 +329,106 @@ public class AssetFetcher {
       }
     }
 
-    if (responseCode == 200) {                             // Should the case...
-      Date timeStamp = new Date();
-      HashFile file = new HashFile(destinationFilename, fileHash, timeStamp);
-      if (db.getHashFile(destinationFilename) == null) {
-        db.insertHashFile(file);
-      } else {
-        db.updateHashFile(file);
-      }
-      return outFile;
+    Date timeStamp = new Date();
+    HashFile file = new HashFile(destinationFilename, fileHash, timeStamp);
+    if (db.getHashFile(destinationFilename) == null) {
+      db.insertHashFile(file);
     } else {
+      db.updateHashFile(file);
+    }
+    return outFile;
+  }
+
+  /**
+   * Finds the partial copy of a file left by an interrupted transfer. Partial copies are named
+   * {@code <file>.<sha1 of the complete file>.part}.
+   *
+   * @param outFile the file being transferred
+   * @return the partial copy, or null if there is none
+   */
+  private static File findPartFile(final File outFile) {
+    File parent = outFile.getParentFile();
+    File[] parts = parent == null ? null : parent.listFiles(new FilenameFilter() {
+      @Override
+      public boolean accept(File dir, String name) {
+        return name.startsWith(outFile.getName() + ".") && name.endsWith(PART_SUFFIX)
+            && isHash(getPartHash(outFile, new File(dir, name)));
+      }
+    });
+    if (parts == null || parts.length == 0) {
+      return null;
+    }
+    // There should be only one. If there are more, we start over.
+    if (parts.length > 1 || parts[0].length() == 0) {
+      for (File part : parts) {
+        deletePartFile(part);
+      }
       return null;
     }
+    return parts[0];
+  }
+
+  /**
+   * Gets the hash of the complete file from the name of a partial copy of it.
+   */
+  private static String getPartHash(File outFile, File partFile) {
+    String name = partFile.getName();
+    int start = outFile.getName().length() + 1;
+    int end = name.length() - PART_SUFFIX.length();
+    return start <= end ? name.substring(start, end) : "";
+  }
+
+  /**
+   * Gets the SHA-1 hash of a file from the ETag sent by the server, which is the hex encoded
+   * hash in quotes.
+   *
+   * @return the hash, or an empty string if the ETag is not a hash
+   */
+  private static String getExpectedHash(String etag) {
+    if (etag == null) {
+      return "";
+    }
+    String hash = etag.replace("\"", "").toLowerCase(Locale.US);
+    return isHash(hash) ? hash : "";
+  }
+
+  private static boolean isHash(String hash) {
+    return hash.length() == 40 && hash.matches("[0-9a-f]+");
+  }
+
+  private static void deletePartFile(File partFile) {
+    if (partFile != null && partFile.exists() && !partFile.delete()) {
+      Log.w(LOG_TAG, "Unable to delete " + partFile);
+    }
+  }
+
+  private static void updateDigest(MessageDigest digest, File file) throws IOException {
+    InputStream in = new FileInputStream(file);
+    try {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, count);
+      }
+    } finally {
+      IOUtils.closeQuietly(LOG_TAG, in);
+    }
+  }
+
+  private static void copy(InputStream in, OutputStream out, MessageDigest digest)
+      throws IOException {
+    try {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        out.write(buffer, 0, count);
+        digest.update(buffer, 0, count);
+      }
+      out.flush();
+    } finally {
+      IOUtils.closeQuietly(LOG_TAG, in);
+      IOUtils.closeQuietly(LOG_TAG, out);
+    }
   }
 
   /**
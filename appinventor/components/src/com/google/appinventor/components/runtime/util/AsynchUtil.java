@@ -13,9 +13,31 @@ import android.util.Log;
 
 import com.google.appinventor.components.runtime.errors.YailRuntimeError;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Utilities for handling asynchronous calls.
  *
+ * <p>Asynchronous calls run on a shared, bounded pool of named threads rather
+ * than on a new thread per call. Threads are started on demand up to
+ * {@link #MAX_THREADS} and stop after being idle for a while; further calls
+ * wait in a queue of up to {@link #MAX_QUEUED_TASKS} calls. Components whose
+ * work must stay ordered can get their own serial queue from
+ * {@link #newSerialExecutor()}.
+ *
+ * <p>Calls on the pool must not block on the result of other calls on the
+ * pool, which could deadlock it once every thread was waiting. Serial queues
+ * therefore run on a lane of their own, which has at most one thread per
+ * serial queue with work to do, so that calls on the pool can wait for them.
+ *
  * @author markf@google.com (Mark Friedman)
  */
 
@@ -23,13 +45,164 @@ public class AsynchUtil {
 
   private static final String LOG_TAG = AsynchUtil.class.getSimpleName();
 
+  /**
+   * The maximum number of threads used for asynchronous calls.  This is
+   * generous because many calls spend most of their time blocked on the
+   * network.
+   */
+  public static final int MAX_THREADS = 16;
+
+  /**
+   * The maximum number of asynchronous calls waiting for a thread.
+   */
+  public static final int MAX_QUEUED_TASKS = 256;
+
+  private static final long KEEP_ALIVE_SECONDS = 30;
+
+  private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+    private final AtomicInteger count = new AtomicInteger(0);
+
+    @Override
+    public Thread newThread(Runnable r) {
+      return new Thread(r, "AsynchUtil-" + count.incrementAndGet());
+    }
+  };
+
+  private static final ThreadFactory SERIAL_THREAD_FACTORY = new ThreadFactory() {
+    private final AtomicInteger count = new AtomicInteger(0);
+
+    @Override
+    public Thread newThread(Runnable r) {
+      return new Thread(r, "AsynchUtil-serial-" + count.incrementAndGet());
+    }
+  };
+
+  /**
+   * Handles calls made while the queue is full. A background thread runs the
+   * call itself, which slows down whatever is making so many calls. The UI
+   * thread must not block, so the call is refused instead.
+   */
+  private static final RejectedExecutionHandler REJECTION_HANDLER =
+      new RejectedExecutionHandler() {
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor pool) {
+          Log.w(LOG_TAG, "Pool is full with " + pool.getActiveCount() + " running and "
+              + pool.getQueue().size() + " queued tasks");
+          if (pool.isShutdown() || isUiThread()) {
+            throw new RejectedExecutionException("Too many asynchronous calls");
+          }
+          r.run();
+        }
+      };
+
+  private static ThreadPoolExecutor executor;  // guarded by AsynchUtil.class
+  private static ThreadPoolExecutor serialLane;  // guarded by AsynchUtil.class
+
+  /**
+   * Gets the shared executor used for asynchronous calls, creating it if it
+   * does not exist or has been shut down.
+   *
+   * @return the shared executor
+   */
+  public static synchronized ExecutorService getExecutor() {
+    if (executor == null || executor.isShutdown()) {
+      // With the core size equal to the maximum size, the pool starts a new
+      // thread for each call until MAX_THREADS are running and only then
+      // queues calls. Letting core threads time out releases idle threads.
+      executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS,
+          KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(MAX_QUEUED_TASKS), THREAD_FACTORY,
+          REJECTION_HANDLER);
+      executor.allowCoreThreadTimeOut(true);
+    }
+    return executor;
+  }
+
+  /**
+   * Gets the executor that runs the steps of serial queues, creating it if it
+   * does not exist or has been shut down. Each serial queue hands it one step
+   * at a time, so it never runs more threads than there are serial queues.
+   */
+  static synchronized ExecutorService getSerialLane() {
+    if (serialLane == null || serialLane.isShutdown()) {
+      serialLane = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+          KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+          new SynchronousQueue<Runnable>(), SERIAL_THREAD_FACTORY);
+    }
+    return serialLane;
+  }
+
+  /**
+   * Creates a new executor that runs its tasks one at a time, in order, on
+   * the lane for serial queues.
+   *
+   * @return a new serial executor
+   */
+  public static ExecutorService newSerialExecutor() {
+    return new SerialExecutorService();
+  }
+
+  /**
+   * Gets the number of asynchronous calls waiting for a thread.
+   *
+   * @return the number of queued calls
+   */
+  public static synchronized int getQueuedTaskCount() {
+    return executor == null ? 0 : executor.getQueue().size();
+  }
+
+  /**
+   * Gets the largest number of threads the shared pool has had at once.
+   *
+   * @return the largest number of threads
+   */
+  public static synchronized int getLargestPoolSize() {
+    return executor == null ? 0 : executor.getLargestPoolSize();
+  }
+
+  /**
+   * Gets the approximate number of asynchronous calls currently running.
+   *
+   * @return the number of running calls
+   */
+  public static synchronized int getActiveTaskCount() {
+    return executor == null ? 0 : executor.getActiveCount();
+  }
+
+  /**
+   * Gets the approximate number of asynchronous calls that have completed
+   * since the shared pool was created.
+   *
+   * @return the number of completed calls
+   */
+  public static synchronized long getCompletedTaskCount() {
+    return executor == null ? 0 : executor.getCompletedTaskCount();
+  }
+
+  /**
+   * Shuts down the shared pool once its queued calls have finished.  This is
+   * called when the application's root {@link com.google.appinventor.components.runtime.Form}
+   * is destroyed.  Later asynchronous calls start a new pool.
+   */
+  public static synchronized void shutdown() {
+    if (executor != null) {
+      Log.d(LOG_TAG, "Shutting down with " + executor.getQueue().size() + " queued and "
+          + executor.getActiveCount() + " running tasks");
+      executor.shutdown();
+      executor = null;
+    }
+    if (serialLane != null) {
+      serialLane.shutdown();
+      serialLane = null;
+    }
+  }
+
   /**
    * Make an asynchronous call in a separate thread.
    * @param call a {@link Runnable} to run in the thread.
    */
   public static void runAsynchronously(final Runnable call) {
-    Thread thread = new Thread(call);
-    thread.start();
+    getExecutor().execute(call);
   }
   /**
    * Make an asynchronous call in a separate thread, with a callback that's run on the current
@@ -53,8 +226,7 @@ public class AsynchUtil {
         }
       }
     };
-    Thread thread = new Thread(runnable);
-    thread.start();
+    getExecutor().execute(runnable);
   }
 
   public static boolean isUiThread() {
@@ -0,0 +1,156 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A memory-bounded cache of decoded bitmaps, used by {@link MediaUtil} so that an image that is
+ * shown over and over (in the rows of a ListView, or by an ImageSprite that swaps pictures) is
+ * only decoded once. The cache holds at most an eighth of the app's heap worth of pixels and
+ * evicts the least recently used bitmaps first.
+ *
+ * <p>Bitmaps in the cache may be displayed by several views at once and must not be modified or
+ * recycled. The cache also keeps a few scratch bitmaps, which {@link MediaUtil} decodes into when
+ * it only needs an image long enough to scale it, so that loading a scaled image does not
+ * allocate a full size bitmap each time.
+ */
+final class BitmapCache {
+  // The fraction of the maximum heap size used for cached bitmaps.
+  private static final int HEAP_FRACTION = 8;
+
+  // The number of scratch bitmaps kept for reuse.
+  private static final int MAX_REUSABLE = 2;
+
+  private static BitmapCache instance;
+
+  private final LruCache<String, Bitmap> cache;
+  private final List<Bitmap> reusable = new ArrayList<Bitmap>();
+
+  BitmapCache(int maxBytes) {
+    cache = new LruCache<String, Bitmap>(maxBytes) {
+      @Override
+      protected int sizeOf(String key, Bitmap bitmap) {
+        return bitmap.getByteCount();
+      }
+    };
+  }
+
+  /**
+   * Gets the cache shared by all of the app's components.
+   */
+  static synchronized BitmapCache getInstance() {
+    if (instance == null) {
+      instance = new BitmapCache((int) (Runtime.getRuntime().maxMemory() / HEAP_FRACTION));
+    }
+    return instance;
+  }
+
+  /**
+   * Gets a cached bitmap.
+   *
+   * @param key the key the bitmap was cached under
+   * @return the bitmap, or null if it is not in the cache
+   */
+  Bitmap get(String key) {
+    return cache.get(key);
+  }
+
+  /**
+   * Adds a bitmap to the cache. The caller must not modify the bitmap afterwards.
+   *
+   * @param key the key to cache the bitmap under
+   * @param bitmap the bitmap
+   */
+  void put(String key, Bitmap bitmap) {
+    cache.put(key, bitmap);
+  }
+
+  /**
+   * Removes all of the bitmaps from the cache.
+   */
+  void clear() {
+    cache.evictAll();
+    synchronized (reusable) {
+      reusable.clear();
+    }
+  }
+
+  /**
+   * Returns the number of times {@link #get(String)} found a bitmap in the cache.
+   */
+  int hitCount() {
+    return cache.hitCount();
+  }
+
+  /**
+   * Returns the number of times {@link #get(String)} did not find a bitmap in the cache.
+   */
+  int missCount() {
+    return cache.missCount();
+  }
+
+  /**
+   * Takes a scratch bitmap that an image of the given size can be decoded into with
+   * {@link android.graphics.BitmapFactory.Options#inBitmap}, if there is one.
+   *
+   * @param width the width of the image
+   * @param height the height of the image
+   * @param sampleSize the sample size the image will be decoded with
+   * @return a mutable bitmap, or null if none of the scratch bitmaps is suitable
+   */
+  Bitmap takeReusable(int width, int height, int sampleSize) {
+    if (width <= 0 || height <= 0) {
+      return null;
+    }
+    synchronized (reusable) {
+      Iterator<Bitmap> it = reusable.iterator();
+      while (it.hasNext()) {
+        Bitmap candidate = it.next();
+        if (canDecodeInto(candidate, width, height, sampleSize)) {
+          it.remove();
+          return candidate;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Offers a scratch bitmap for reuse. The bitmap must not be referenced by the caller, or by
+   * anything else, afterwards.
+   *
+   * @param bitmap a bitmap that is no longer needed
+   */
+  void offerReusable(Bitmap bitmap) {
+    if (!bitmap.isMutable() || bitmap.isRecycled()) {
+      return;
+    }
+    synchronized (reusable) {
+      if (reusable.size() >= MAX_REUSABLE) {
+        reusable.remove(0);
+      }
+      reusable.add(bitmap);
+    }
+  }
+
+  private static boolean canDecodeInto(Bitmap candidate, int width, int height, int sampleSize) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+      // Any bitmap with enough memory for the decoded pixels can be reused.
+      int decodedWidth = (width + sampleSize - 1) / sampleSize;
+      int decodedHeight = (height + sampleSize - 1) / sampleSize;
+      return candidate.getAllocationByteCount() >= decodedWidth * decodedHeight * 4;
+    }
+    // Earlier versions can only reuse a bitmap of exactly the same size, without sampling.
+    return sampleSize == 1 && candidate.getWidth() == width && candidate.getHeight() == height;
+  }
+}
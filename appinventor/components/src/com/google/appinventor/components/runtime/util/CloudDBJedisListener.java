@@ -38,6 +38,7 @@ public class CloudDBJedisListener extends JedisPubSub {
     if (DEBUG) {
       Log.d(LOG_TAG, "onSubscribe " + channel + " " + subscribedChannels);
     }
+    cloudDB.onListenerSubscribed();
   }
 
   @Override
@@ -64,6 +65,7 @@ public class CloudDBJedisListener extends JedisPubSub {
           cloudDB.DataChanged(tag, retValue);
         }
       }
+      cloudDB.onTagPublished(tag, valueList);
     } catch (JSONException e) {
       Log.e(LOG_TAG, "onMessage: JSONException", e);
       // CloudDBError arranges to generate the error UI on the
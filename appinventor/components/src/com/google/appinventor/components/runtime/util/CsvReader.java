@@ -0,0 +1,223 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the rows of a CSV table from a stream, one row at a time, as described by
+ * <a href="http://tools.ietf.org/html/rfc4180">RFC 4180</a>. Quoted fields may hold delimiters,
+ * line breaks and doubled quotes, and have no limit on their length. Rows may end with CRLF, LF
+ * or a lone CR.
+ *
+ * <p>Beyond the RFC, whitespace around a quoted field is ignored, and by default every field is
+ * trimmed, as App Inventor always has.
+ *
+ * <p>A CsvReader holds the state of the stream it reads, so it must only be used by one thread
+ * at a time.
+ */
+public final class CsvReader {
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Reader in;
+  private final char delimiter;
+  private final boolean trimFields;
+  private final char[] buf = new char[BUFFER_SIZE];
+  private final StringBuilder field = new StringBuilder();
+  private final List<String> fields = new ArrayList<>();
+
+  // The next character to read from buf, and the end of what was read into buf
+  private int pos = 0;
+  private int limit = 0;
+  private boolean eof = false;
+
+  /**
+   * Creates a reader of comma separated rows that trims its fields.
+   *
+   * @param in the reader of the table, which is not closed
+   */
+  public CsvReader(Reader in) {
+    this(in, ',', true);
+  }
+
+  /**
+   * Creates a reader of rows separated by the given delimiter.
+   *
+   * @param in the reader of the table, which is not closed
+   * @param delimiter the character between the fields of a row
+   * @param trimFields whether to remove the whitespace around each field
+   * @throws IllegalArgumentException if the delimiter is a quote or a line break
+   */
+  public CsvReader(Reader in, char delimiter, boolean trimFields) {
+    checkDelimiter(delimiter);
+    this.in = in;
+    this.delimiter = delimiter;
+    this.trimFields = trimFields;
+  }
+
+  /**
+   * Checks that a character can separate the fields of a row.
+   *
+   * @throws IllegalArgumentException if the delimiter is a quote or a line break
+   */
+  static void checkDelimiter(char delimiter) {
+    if (delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+      throw new IllegalArgumentException("Invalid CSV delimiter: " + delimiter);
+    }
+  }
+
+  /**
+   * Reads the next row of the table.
+   *
+   * @return the fields of the row, or null at the end of the table
+   * @throws IOException if the underlying reader fails
+   * @throws IllegalArgumentException if the row is not valid CSV
+   */
+  public String[] readRow() throws IOException {
+    if (pos == limit && !fill()) {
+      return null;
+    }
+    fields.clear();
+    while (readField()) {
+      // There are more fields in this row
+    }
+    return fields.toArray(new String[fields.size()]);
+  }
+
+  /**
+   * Reads one field and the character that ends it.
+   *
+   * @return true if the row has more fields, false if the field ended the row
+   */
+  private boolean readField() throws IOException {
+    field.setLength(0);
+    boolean blank = true;
+    while (pos < limit || fill()) {
+      int start = pos;
+      // Copy runs of ordinary characters in one go
+      while (pos < limit) {
+        char c = buf[pos];
+        if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+          break;
+        }
+        if (blank && c != ' ' && c != '\t') {
+          blank = false;
+        }
+        pos++;
+      }
+      field.append(buf, start, pos - start);
+      if (pos == limit) {
+        continue;
+      }
+      char c = buf[pos++];
+      if (c == '"') {
+        if (!blank) {
+          throw new IllegalArgumentException("Syntax Error: quote in unquoted cell");
+        }
+        // Whitespace before the opening quote is not part of the field
+        field.setLength(0);
+        readQuoted();
+        return endQuoted();
+      }
+      addField();
+      if (c == delimiter) {
+        return true;
+      }
+      skipLineFeedAfter(c);
+      return false;
+    }
+    addField();
+    return false;
+  }
+
+  /**
+   * Reads the contents of a quoted field, up to and including its closing quote.
+   */
+  private void readQuoted() throws IOException {
+    while (pos < limit || fill()) {
+      int start = pos;
+      while (pos < limit && buf[pos] != '"') {
+        pos++;
+      }
+      field.append(buf, start, pos - start);
+      if (pos == limit) {
+        continue;
+      }
+      pos++;
+      // A doubled quote stands for one quote; any other quote closes the field
+      if ((pos < limit || fill()) && buf[pos] == '"') {
+        field.append('"');
+        pos++;
+      } else {
+        return;
+      }
+    }
+    throw new IllegalArgumentException("Syntax Error: unclosed quoted cell");
+  }
+
+  /**
+   * Reads what follows the closing quote of a field, which may only be whitespace before the
+   * delimiter or the end of the row.
+   *
+   * @return true if the row has more fields, false if the field ended the row
+   */
+  private boolean endQuoted() throws IOException {
+    addField();
+    while (pos < limit || fill()) {
+      char c = buf[pos++];
+      if (c == delimiter) {
+        return true;
+      } else if (c == '\n' || c == '\r') {
+        skipLineFeedAfter(c);
+        return false;
+      } else if (c != ' ' && c != '\t') {
+        throw new IllegalArgumentException(
+            "Syntax Error: non-whitespace between closing quote and delimiter or end");
+      }
+    }
+    return false;
+  }
+
+  private void addField() {
+    String value = field.toString();
+    fields.add(trimFields ? value.trim() : value);
+  }
+
+  /**
+   * Treats CRLF as a single line break after reading the CR.
+   */
+  private void skipLineFeedAfter(char c) throws IOException {
+    if (c == '\r' && (pos < limit || fill()) && buf[pos] == '\n') {
+      pos++;
+    }
+  }
+
+  /**
+   * Reads more of the table into the buffer once everything in it has been consumed.
+   *
+   * @return true if there is more to read, false at the end of the stream
+   */
+  private boolean fill() throws IOException {
+    if (eof) {
+      return false;
+    }
+    int n;
+    do {
+      n = in.read(buf, 0, buf.length);
+    } while (n == 0);
+    if (n < 0) {
+      eof = true;
+      pos = limit = 0;
+      return false;
+    }
+    pos = 0;
+    limit = n;
+    return true;
+  }
+}
@@ -0,0 +1,81 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the rows of a CSV table to a stream as described by
+ * <a href="http://tools.ietf.org/html/rfc4180">RFC 4180</a>. Every field is quoted, so fields
+ * may hold any text, and rows end with CRLF.
+ *
+ * <p>A CsvWriter must only be used by one thread at a time.
+ */
+public final class CsvWriter {
+  private final Writer out;
+  private final char delimiter;
+
+  /**
+   * Creates a writer of comma separated rows.
+   *
+   * @param out the writer of the table, which is neither flushed nor closed
+   */
+  public CsvWriter(Writer out) {
+    this(out, ',');
+  }
+
+  /**
+   * Creates a writer of rows separated by the given delimiter.
+   *
+   * @param out the writer of the table, which is neither flushed nor closed
+   * @param delimiter the character between the fields of a row
+   * @throws IllegalArgumentException if the delimiter is a quote or a line break
+   */
+  public CsvWriter(Writer out, char delimiter) {
+    CsvReader.checkDelimiter(delimiter);
+    this.out = out;
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * Writes a row, followed by the line break that ends it.
+   *
+   * @param fields the fields of the row, which are written as their {@code toString()}
+   */
+  public void writeRow(Object[] fields) throws IOException {
+    writeFields(fields);
+    out.write("\r\n");
+  }
+
+  /**
+   * Writes the fields of a row without ending the row.
+   *
+   * @param fields the fields of the row, which are written as their {@code toString()}
+   */
+  public void writeFields(Object[] fields) throws IOException {
+    for (int i = 0; i < fields.length; i++) {
+      if (i > 0) {
+        out.write(delimiter);
+      }
+      writeField(fields[i].toString());
+    }
+  }
+
+  private void writeField(String field) throws IOException {
+    out.write('"');
+    int start = 0;
+    int quote;
+    // Double each quote in the field
+    while ((quote = field.indexOf('"', start)) >= 0) {
+      out.write(field, start, quote + 1 - start);
+      out.write('"');
+      start = quote + 1;
+    }
+    out.write(field, start, field.length() - start);
+    out.write('"');
+  }
+}
@@ -0,0 +1,454 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import com.google.appinventor.components.common.Aggregation;
+import com.google.appinventor.components.common.Comparison;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table of text held by column, as read from a CSV or JSON file by the DataFile component.
+ *
+ * <p>The first row of the table holds the names of the columns. Each column stores its cells as
+ * indexes into a dictionary of the distinct values in that column, so repeated values are stored
+ * only once. Each distinct value is also parsed as a number once, when the table is built.
+ * Filters and aggregates then work on these stored numbers and dictionary indexes, without
+ * parsing or comparing the text of every cell again.
+ *
+ * <p>The rows or columns the table is built from may have different lengths. The cells they do
+ * not have are missing. When the table is turned back into lists in the same orientation it was
+ * built from, missing cells are left out, so the lists are the ones it was built from. In the
+ * other orientation, missing cells are given as empty text, as when the lists are transposed.
+ *
+ * <p>A DataTable cannot be changed once it is built.
+ */
+public final class DataTable {
+  private static final DataTable EMPTY = new DataTable(new String[0], new Column[0], 0, true);
+
+  private final String[] names;
+  private final Column[] columns;
+  private final int rowCount;
+  private final boolean byRows;
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+  private DataTable(String[] names, Column[] columns, int rowCount, boolean byRows) {
+    this.names = names;
+    this.columns = columns;
+    this.rowCount = rowCount;
+    this.byRows = byRows;
+    // The first of several columns with the same name wins, as in the column names list
+    for (int i = names.length - 1; i >= 0; i--) {
+      if (names[i] != null) {
+        columnIndexes.put(names[i], i);
+      }
+    }
+  }
+
+  /**
+   * Returns a table with no rows or columns.
+   */
+  public static DataTable empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds a table from a list of rows, the first of which holds the column names.
+   *
+   * @param rows the rows, each a list of cells
+   * @return the table
+   */
+  public static DataTable fromRows(List<?> rows) {
+    Object[] list = elements(rows);
+    Object[][] cells = new Object[list.length][];
+    int width = 0;
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = elements(list[i]);
+      width = Math.max(width, cells[i].length);
+    }
+    if (cells.length == 0) {
+      return EMPTY;
+    }
+    String[] names = new String[width];
+    for (int c = 0; c < cells[0].length; c++) {
+      names[c] = String.valueOf(cells[0][c]);
+    }
+    Column[] columns = new Column[width];
+    for (int c = 0; c < width; c++) {
+      ColumnBuilder builder = new ColumnBuilder(cells.length - 1);
+      for (int r = 1; r < cells.length; r++) {
+        builder.add(c < cells[r].length ? cells[r][c] : null);
+      }
+      columns[c] = builder.build();
+    }
+    return new DataTable(names, columns, cells.length - 1, true);
+  }
+
+  /**
+   * Builds a table from a list of columns, the first cell of each holding the column's name.
+   *
+   * @param columns the columns, each a list of cells
+   * @return the table
+   */
+  public static DataTable fromColumns(List<?> columns) {
+    Object[] list = elements(columns);
+    Object[][] cells = new Object[list.length][];
+    int height = 0;
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = elements(list[i]);
+      height = Math.max(height, cells[i].length);
+    }
+    if (height == 0) {
+      return EMPTY;
+    }
+    String[] names = new String[cells.length];
+    Column[] built = new Column[cells.length];
+    for (int c = 0; c < cells.length; c++) {
+      names[c] = cells[c].length > 0 ? String.valueOf(cells[c][0]) : null;
+      ColumnBuilder builder = new ColumnBuilder(height - 1);
+      for (int r = 1; r < height; r++) {
+        builder.add(r < cells[c].length ? cells[c][r] : null);
+      }
+      built[c] = builder.build();
+    }
+    return new DataTable(names, built, height - 1, false);
+  }
+
+  /**
+   * Returns the number of rows, not counting the row of column names.
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Returns the number of columns.
+   */
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  /**
+   * Returns the index of the first column with the given name, or -1 if there is none.
+   */
+  public int indexOf(String name) {
+    Integer index = columnIndexes.get(name);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Returns the column at the given index.
+   */
+  public Column getColumn(int index) {
+    return columns[index];
+  }
+
+  /**
+   * Returns the first row of the table, which holds the column names.
+   */
+  public List<String> getColumnNames() {
+    List<String> result = new ArrayList<>(names.length);
+    for (String name : names) {
+      if (name != null) {
+        result.add(name);
+      } else if (!byRows) {
+        result.add("");
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the column at the given index as a list of text, starting with its name. Missing
+   * cells are left out if the table was built from columns, and are empty otherwise.
+   */
+  public List<String> getColumnWithName(int index) {
+    Column column = columns[index];
+    List<String> result = new ArrayList<>(rowCount + 1);
+    if (names[index] != null || byRows) {
+      result.add(names[index] != null ? names[index] : "");
+    }
+    for (int r = 0; r < rowCount; r++) {
+      if (!column.isMissing(r) || byRows) {
+        result.add(column.getString(r));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the row at the given index as a list of text. The row of column names is not counted.
+   * Missing cells are left out if the table was built from rows, and are empty otherwise.
+   */
+  public List<String> getRow(int index) {
+    List<String> result = new ArrayList<>(columns.length);
+    for (Column column : columns) {
+      if (!column.isMissing(index) || !byRows) {
+        result.add(column.getString(index));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the whole table as a list of rows, starting with the row of column names.
+   */
+  public List<List<String>> toRows() {
+    List<List<String>> result = new ArrayList<>(rowCount + 1);
+    if (this != EMPTY) {
+      result.add(getColumnNames());
+    }
+    for (int r = 0; r < rowCount; r++) {
+      result.add(getRow(r));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the whole table as a list of columns, each starting with its name.
+   */
+  public List<List<String>> toColumns() {
+    List<List<String>> result = new ArrayList<>(columns.length);
+    for (int c = 0; c < columns.length; c++) {
+      result.add(getColumnWithName(c));
+    }
+    return result;
+  }
+
+  /**
+   * Finds the rows whose cell in a column compares to a value in the given way. If the column
+   * holds numbers and the value is a number, they are compared as numbers; otherwise they are
+   * compared as text. Missing cells never match, and neither do empty cells when comparing
+   * numbers.
+   *
+   * @param column the index of the column to compare
+   * @param comparison how to compare the cells to the value
+   * @param value the value to compare the cells to
+   * @return the indexes of the matching rows, in order
+   */
+  public int[] filter(int column, Comparison comparison, String value) {
+    Column col = columns[column];
+    // Compare each distinct value once, then look up the result for each row
+    boolean[] matches = new boolean[col.dictionary.length];
+    double number = parseNumber(value);
+    boolean numeric = col.isNumeric() && !Double.isNaN(number);
+    for (int i = 0; i < matches.length; i++) {
+      if (numeric) {
+        double cell = col.numbers[i];
+        matches[i] = !Double.isNaN(cell)
+            && comparison.matches(cell < number ? -1 : cell > number ? 1 : 0);
+      } else {
+        matches[i] = comparison.matches(col.dictionary[i].compareTo(value));
+      }
+    }
+    int[] rows = new int[rowCount];
+    int count = 0;
+    for (int r = 0; r < rowCount; r++) {
+      int code = col.codes[r];
+      if (code != Column.MISSING && matches[code]) {
+        rows[count++] = r;
+      }
+    }
+    return Arrays.copyOf(rows, count);
+  }
+
+  /**
+   * Combines the numbers in a column into one number. Cells that are not numbers are skipped,
+   * except by {@link Aggregation#Count}, which counts the cells that are not empty.
+   *
+   * @param column the index of the column
+   * @param aggregation how to combine the numbers
+   * @return the result, which is NaN for the average, minimum or maximum of no numbers
+   */
+  public double aggregate(int column, Aggregation aggregation) {
+    Column col = columns[column];
+    int count = 0;
+    double sum = 0;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    for (int r = 0; r < rowCount; r++) {
+      int code = col.codes[r];
+      if (code == Column.MISSING) {
+        continue;
+      }
+      if (aggregation == Aggregation.Count) {
+        if (!col.dictionary[code].isEmpty()) {
+          count++;
+        }
+        continue;
+      }
+      double value = col.numbers[code];
+      if (Double.isNaN(value)) {
+        continue;
+      }
+      count++;
+      sum += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+    switch (aggregation) {
+      case Count:
+        return count;
+      case Sum:
+        return sum;
+      case Average:
+        return count == 0 ? Double.NaN : sum / count;
+      case Minimum:
+        return count == 0 ? Double.NaN : min;
+      case Maximum:
+        return count == 0 ? Double.NaN : max;
+      default:
+        throw new IllegalArgumentException("Unknown aggregation " + aggregation);
+    }
+  }
+
+  private static Object[] elements(Object list) {
+    if (list instanceof YailList) {
+      // YailList.toArray leaves out the list header
+      return ((YailList) list).toArray();
+    } else if (list instanceof Collection) {
+      return ((Collection<?>) list).toArray();
+    } else {
+      return new Object[] { list };
+    }
+  }
+
+  private static double parseNumber(String text) {
+    String trimmed = text.trim();
+    if (trimmed.isEmpty()) {
+      return Double.NaN;
+    }
+    try {
+      return Double.parseDouble(trimmed);
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  /**
+   * One column of a DataTable.
+   */
+  public static final class Column {
+    static final int MISSING = -1;
+
+    private final int[] codes;
+    private final String[] dictionary;
+    private final double[] numbers;
+    private final boolean numeric;
+
+    private Column(int[] codes, String[] dictionary, double[] numbers, boolean numeric) {
+      this.codes = codes;
+      this.dictionary = dictionary;
+      this.numbers = numbers;
+      this.numeric = numeric;
+    }
+
+    /**
+     * Returns whether every cell of the column that is not empty is a number, and there is at
+     * least one such cell.
+     */
+    public boolean isNumeric() {
+      return numeric;
+    }
+
+    /**
+     * Returns the number of distinct values in the column.
+     */
+    public int getDistinctCount() {
+      return dictionary.length;
+    }
+
+    /**
+     * Returns whether the row at the given index has no cell in this column.
+     */
+    public boolean isMissing(int row) {
+      return codes[row] == MISSING;
+    }
+
+    /**
+     * Returns the text of a cell, or the empty string if it is missing.
+     */
+    public String getString(int row) {
+      int code = codes[row];
+      return code == MISSING ? "" : dictionary[code];
+    }
+
+    /**
+     * Returns the number in a cell, or NaN if it is missing or not a number.
+     */
+    public double getNumber(int row) {
+      int code = codes[row];
+      return code == MISSING ? Double.NaN : numbers[code];
+    }
+
+    /**
+     * Returns the cells of the column that are not missing, as numbers if the column is numeric
+     * and as text otherwise. Empty cells of a numeric column are left as empty text.
+     */
+    public List<Object> getValues() {
+      List<Object> values = new ArrayList<>(codes.length);
+      for (int code : codes) {
+        if (code == MISSING) {
+          continue;
+        }
+        double number = numbers[code];
+        values.add(numeric && !Double.isNaN(number) ? (Object) number : dictionary[code]);
+      }
+      return values;
+    }
+  }
+
+  /**
+   * Builds a column a cell at a time, assigning each new distinct value the next dictionary
+   * index.
+   */
+  private static final class ColumnBuilder {
+    private final int[] codes;
+    private final Map<String, Integer> lookup = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private int size = 0;
+
+    ColumnBuilder(int capacity) {
+      codes = new int[Math.max(capacity, 0)];
+    }
+
+    void add(Object cell) {
+      if (cell == null) {
+        codes[size++] = Column.MISSING;
+        return;
+      }
+      String text = cell.toString();
+      Integer code = lookup.get(text);
+      if (code == null) {
+        code = dictionary.size();
+        dictionary.add(text);
+        lookup.put(text, code);
+      }
+      codes[size++] = code;
+    }
+
+    Column build() {
+      String[] values = dictionary.toArray(new String[0]);
+      double[] numbers = new double[values.length];
+      boolean numeric = false;
+      boolean allNumbers = true;
+      for (int i = 0; i < values.length; i++) {
+        numbers[i] = parseNumber(values[i]);
+        if (!Double.isNaN(numbers[i])) {
+          numeric = true;
+        } else if (!values[i].trim().isEmpty()) {
+          allNumbers = false;
+        }
+      }
+      return new Column(codes, values, numbers, numeric && allNumbers);
+    }
+  }
+}
@@ -90,6 +90,8 @@ public final class ErrorMessages {
   public static final int ERROR_BLUETOOTH_UNABLE_TO_READ = 517;
   public static final int ERROR_BLUETOOTH_END_OF_STREAM = 518;
   public static final int ERROR_BLUETOOTH_UNSUPPORTED_ENCODING = 519;
+  public static final int ERROR_BLUETOOTH_RECEIVING_FRAMES = 520;
+  public static final int ERROR_BLUETOOTH_INVALID_FRAMING = 521;
   // ActivityStarter errors
   public static final int ERROR_ACTIVITY_STARTER_NO_CORRESPONDING_ACTIVITY = 601;
   public static final int ERROR_ACTIVITY_STARTER_NO_ACTION_INFO = 602;
@@ -193,6 +195,9 @@ public final class ErrorMessages {
   public static final int ERROR_NOT_A_DIRECTORY = 2111;
   public static final int ERROR_CANNOT_LIST_DIRECTORY = 2112;
   public static final int ERROR_CANNOT_REMOVE_DIRECTORY = 2113;
+  public static final int ERROR_INVALID_LINE_RANGE = 2114;
+  public static final int ERROR_INVALID_CSV_DELIMITER = 2115;
+  public static final int ERROR_CANNOT_PARSE_CSV_TABLE = 2116;
 
   // Yandex.Translate errors
   public static final int ERROR_TRANSLATE_NO_KEY_FOUND = 2201;
@@ -479,6 +484,10 @@ public final class ErrorMessages {
         "End of stream has been reached.");
     errorMessages.put(ERROR_BLUETOOTH_UNSUPPORTED_ENCODING,
         "The encoding %s is not supported.");
+    errorMessages.put(ERROR_BLUETOOTH_RECEIVING_FRAMES,
+        "Data is being received as frames. Call StopReceivingFrames to receive it directly.");
+    errorMessages.put(ERROR_BLUETOOTH_INVALID_FRAMING,
+        "%s is not a valid size for %s framing.");
     // ActivityStarter errors
     errorMessages.put(ERROR_ACTIVITY_STARTER_NO_CORRESPONDING_ACTIVITY,
         "No corresponding activity was found.");
@@ -628,6 +637,11 @@ public final class ErrorMessages {
     errorMessages.put(ERROR_NOT_A_DIRECTORY, "The path at %s is not a directory");
     errorMessages.put(ERROR_CANNOT_LIST_DIRECTORY, "Cannot list directory at %s");
     errorMessages.put(ERROR_CANNOT_REMOVE_DIRECTORY, "Cannot remove directory at %s");
+    errorMessages.put(ERROR_INVALID_LINE_RANGE,
+        "Cannot read %2$d lines starting at line %1$d. Both must be at least 1.");
+    errorMessages.put(ERROR_INVALID_CSV_DELIMITER,
+        "The CSV delimiter \"%s\" must be a single character other than a quote or a line break.");
+    errorMessages.put(ERROR_CANNOT_PARSE_CSV_TABLE, "The file %s is not a valid CSV table");
     //Yandex.Translate translate Errors
     errorMessages.put(ERROR_TRANSLATE_NO_KEY_FOUND, "Missing API key for the Yandex.Translate " +
         "service.");
@@ -37,8 +37,6 @@ import com.google.appinventor.components.runtime.Form;
 import com.google.appinventor.components.runtime.errors.PermissionException;
 import com.google.appinventor.components.runtime.errors.RuntimeError;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -432,16 +430,11 @@ public class FileUtil {
    * @throws IOException when the stream(s) cannot be accessed
    */
   public static void copy(InputStream in, OutputStream out) throws IOException {
-    out = new BufferedOutputStream(out, 0x1000);
-    in = new BufferedInputStream(in, 0x1000);
-
-    // Copy the contents from the input stream to the output stream.
-    while (true) {
-      int b = in.read();
-      if (b == -1) {
-        break;
-      }
-      out.write(b);
+    // Copy the contents from the input stream to the output stream a block at a time.
+    byte[] buffer = new byte[0x2000];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
     }
     out.flush();
   }
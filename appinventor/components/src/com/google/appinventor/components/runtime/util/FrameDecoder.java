@@ -0,0 +1,181 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import com.google.appinventor.components.common.Framing;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits a stream of bytes, fed in chunks of any size, into frames. The bytes of a frame that has
+ * not been completed yet are kept until the rest of it arrives.
+ *
+ * <p>The frames returned hold only their contents: the delimiter of a
+ * {@link Framing#Delimiter} frame and the count of a {@link Framing#LengthPrefixed} frame are
+ * left out.
+ */
+public final class FrameDecoder {
+  /**
+   * The largest frame that will be decoded. A longer frame usually means that the framing does
+   * not match what the other device sends, so it is reported rather than buffered without end.
+   */
+  public static final int MAX_FRAME_LENGTH = 65536;
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final Framing framing;
+  private final int size;
+  private final byte delimiter;
+  private final boolean bigEndian;
+
+  // The bytes received but not yet returned in a frame are buffer[start..end).
+  private byte[] buffer = new byte[INITIAL_CAPACITY];
+  private int start = 0;
+  private int end = 0;
+  // For Delimiter framing, the bytes from start to scanned are known not to be the delimiter.
+  private int scanned = 0;
+
+  /**
+   * Creates a decoder.
+   *
+   * @param framing how the stream is split into frames
+   * @param size the length of each frame for {@link Framing#FixedLength} framing, or the number
+   *     of bytes of the count, which must be 1, 2 or 4, for {@link Framing#LengthPrefixed}
+   *     framing. Ignored for {@link Framing#Delimiter} framing.
+   * @param delimiter the byte that ends each frame for {@link Framing#Delimiter} framing
+   * @param bigEndian whether the count of {@link Framing#LengthPrefixed} framing is sent with its
+   *     most significant byte first
+   * @throws IllegalArgumentException if size is not valid for the framing
+   */
+  public FrameDecoder(Framing framing, int size, byte delimiter, boolean bigEndian) {
+    if (!isValidSize(framing, size)) {
+      throw new IllegalArgumentException("Invalid size " + size + " for " + framing);
+    }
+    this.framing = framing;
+    this.size = size;
+    this.delimiter = delimiter;
+    this.bigEndian = bigEndian;
+  }
+
+  /**
+   * Returns whether size is a valid frame or count size for the given framing.
+   */
+  public static boolean isValidSize(Framing framing, int size) {
+    switch (framing) {
+      case Delimiter:
+        return true;
+      case FixedLength:
+        return size > 0 && size <= MAX_FRAME_LENGTH;
+      case LengthPrefixed:
+        return size == 1 || size == 2 || size == 4;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Adds received bytes and appends the frames they complete to frames.
+   *
+   * @param bytes the array holding the received bytes
+   * @param offset the index in bytes of the first received byte
+   * @param length the number of received bytes
+   * @param frames the list to append the completed frames to, oldest first
+   * @throws IOException if a frame would be longer than {@link #MAX_FRAME_LENGTH}
+   */
+  public void feed(byte[] bytes, int offset, int length, List<byte[]> frames) throws IOException {
+    while (length > 0) {
+      ensureSpace();
+      int n = Math.min(length, buffer.length - end);
+      System.arraycopy(bytes, offset, buffer, end, n);
+      end += n;
+      offset += n;
+      length -= n;
+      decode(frames);
+    }
+  }
+
+  /**
+   * Returns the number of bytes received that are not part of a completed frame yet.
+   */
+  public int getPendingByteCount() {
+    return end - start;
+  }
+
+  private void decode(List<byte[]> frames) throws IOException {
+    switch (framing) {
+      case Delimiter:
+        for (int i = scanned; i < end; i++) {
+          if (buffer[i] == delimiter) {
+            frames.add(Arrays.copyOfRange(buffer, start, i));
+            start = i + 1;
+          }
+        }
+        scanned = end;
+        if (end - start > MAX_FRAME_LENGTH) {
+          throw tooLong(end - start);
+        }
+        break;
+      case FixedLength:
+        while (end - start >= size) {
+          frames.add(Arrays.copyOfRange(buffer, start, start + size));
+          start += size;
+        }
+        break;
+      case LengthPrefixed:
+        while (end - start >= size) {
+          long count = readCount();
+          if (count > MAX_FRAME_LENGTH) {
+            throw tooLong(count);
+          }
+          if (end - start - size < count) {
+            break;
+          }
+          int from = start + size;
+          frames.add(Arrays.copyOfRange(buffer, from, from + (int) count));
+          start = from + (int) count;
+        }
+        break;
+    }
+    if (start == end) {
+      start = end = scanned = 0;
+    }
+  }
+
+  private long readCount() {
+    long count = 0;
+    for (int i = 0; i < size; i++) {
+      int b = buffer[start + (bigEndian ? i : size - 1 - i)] & 0xFF;
+      count = (count << 8) | b;
+    }
+    return count;
+  }
+
+  /**
+   * Makes room for at least one more byte at the end of the buffer, by moving the pending bytes
+   * to its front or, when they already fill it, by growing it.
+   */
+  private void ensureSpace() {
+    if (end < buffer.length) {
+      return;
+    }
+    int pending = end - start;
+    if (start > 0) {
+      System.arraycopy(buffer, start, buffer, 0, pending);
+    } else {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    scanned = Math.max(0, scanned - start);
+    start = 0;
+    end = pending;
+  }
+
+  private static IOException tooLong(long length) {
+    return new IOException("Frame of " + length + " bytes is longer than the limit of "
+        + MAX_FRAME_LENGTH + " bytes");
+  }
+}
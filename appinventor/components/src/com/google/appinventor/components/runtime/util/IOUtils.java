@@ -13,6 +13,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 
 public final class IOUtils {
   private static final int BUFFER_LENGTH = 4096;
@@ -81,6 +82,17 @@ public final class IOUtils {
    * @throws IOException if there is an underlying problem reading the stream
    */
   public static String readReader(InputStreamReader reader) throws IOException {
+    return readReader((Reader) reader);
+  }
+
+  /**
+   * Read a Reader object until the end of the stream.
+   *
+   * @param reader the reader to use
+   * @return a String containing the contents of the stream
+   * @throws IOException if there is an underlying problem reading the stream
+   */
+  public static String readReader(Reader reader) throws IOException {
     StringBuilder sb = new StringBuilder();
     char[] buffer = new char[BUFFER_LENGTH];
     int read;
@@ -0,0 +1,503 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.json.JSONException;
+
+/**
+ * A single-pass JSON parser that builds YAIL values directly from a stream of characters, rather
+ * than building an intermediate tree of {@code JSONObject} and {@code JSONArray} instances and
+ * converting it afterwards.
+ *
+ * <p>The values produced are the same as those produced by converting the result of
+ * {@code org.json.JSONTokener} with {@link JsonUtil#convertJsonItem(Object, boolean)}, and the
+ * parser accepts the same lenient syntax as Android's {@code JSONTokener}: comments, unquoted
+ * and single-quoted strings, {@code =} or {@code =>} as name separators, and {@code ;} as a value
+ * separator. In particular:
+ *
+ * <ul>
+ *   <li>JSON objects become {@link YailDictionary} instances or association lists, with their
+ *       keys in sorted order.</li>
+ *   <li>Nested JSON arrays become {@link YailList} instances when dictionaries are used, and
+ *       {@link List} instances otherwise. A top-level array is always a {@link List}.</li>
+ *   <li>Nested {@code null} values become the string {@code "null"}, and nested strings equal
+ *       to "true" or "false" (ignoring case) become booleans.</li>
+ * </ul>
+ */
+final class JsonParser {
+  private static final int BUFFER_SIZE = 8192;
+
+  // Marker for the null literal, so that it can be told apart from the end of input.
+  private static final Object NULL = new Object();
+
+  private final Reader in;
+  private final boolean useDicts;
+
+  // The first character of buffer repeats the last character of the previous block, so that a
+  // character can always be pushed back, even right after the buffer is refilled.
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private int pos = 0;
+  private int limit = 0;
+  private long consumed = 0;  // characters read in blocks before the current one
+
+  private final StringBuilder scratch = new StringBuilder();
+
+  private JsonParser(Reader in, boolean useDicts) {
+    this.in = in;
+    this.useDicts = useDicts;
+  }
+
+  /**
+   * Parses a single JSON value from {@code in}. Any characters after the value are not read.
+   *
+   * @param in the reader supplying the JSON text
+   * @param useDicts true if YailDictionary should be used for JSON objects,
+   *                 false for associative lists
+   * @return the parsed value, or {@code null} if the value is the JSON null literal
+   * @throws IOException if {@code in} cannot be read
+   * @throws JSONException if the JSON is malformed
+   */
+  static Object parse(Reader in, boolean useDicts) throws IOException, JSONException {
+    return new JsonParser(in, useDicts).readTopLevelValue();
+  }
+
+  private Object readTopLevelValue() throws IOException, JSONException {
+    int c = read();
+    if (c != '\ufeff' && c != -1) {
+      // Skip a byte order mark, like JSONTokener does; otherwise push the character back.
+      back();
+    }
+    c = nextClean();
+    switch (c) {
+      case -1:
+        throw syntaxError("End of input");
+      case '{':
+        return readObject();
+      case '[':
+        return readArray();
+      case '"':
+      case '\'':
+        return readString((char) c);
+      default:
+        back();
+        Object value = readLiteral();
+        return value == NULL ? null : value;
+    }
+  }
+
+  private Object readValue() throws IOException, JSONException {
+    int c = nextClean();
+    switch (c) {
+      case -1:
+        throw syntaxError("End of input");
+      case '{':
+        return readObject();
+      case '[':
+        List<Object> list = readArray();
+        return useDicts ? YailList.makeList(list) : list;
+      case '"':
+      case '\'':
+        return convertString(readString((char) c));
+      default:
+        back();
+        Object value = readLiteral();
+        if (value == NULL) {
+          return "null";
+        } else if (value instanceof String) {
+          return convertString((String) value);
+        }
+        return value;
+    }
+  }
+
+  private String readName() throws IOException, JSONException {
+    int c = nextClean();
+    switch (c) {
+      case -1:
+        throw syntaxError("End of input");
+      case '"':
+      case '\'':
+        return readString((char) c);
+      case '{':
+      case '[':
+        throw syntaxError("Names must be strings");
+      default:
+        back();
+        Object name = readLiteral();
+        if (!(name instanceof String)) {
+          throw syntaxError("Names must be strings, but " + (name == NULL ? "null" : name)
+              + " is not a string");
+        }
+        return (String) name;
+    }
+  }
+
+  private Object readObject() throws IOException, JSONException {
+    YailDictionary dict = useDicts ? new YailDictionary() : null;
+    List<Object> pairs = useDicts ? null : new ArrayList<Object>();
+    String lastName = null;
+    boolean sorted = true;
+
+    int c = nextClean();
+    if (c == '}') {
+      return useDicts ? dict : pairs;
+    } else if (c != -1) {
+      back();
+    }
+
+    while (true) {
+      String name = readName();
+      c = nextClean();
+      if (c != ':' && c != '=') {
+        throw syntaxError("Expected ':' after " + name);
+      }
+      if (c == '=') {
+        c = read();
+        if (c != '>' && c != -1) {
+          back();
+        }
+      }
+      Object value = readValue();
+      if (value instanceof Double && (((Double) value).isNaN() || ((Double) value).isInfinite())) {
+        // JSONObject does not allow these as member values, although JSONArray does.
+        throw new JSONException("Forbidden numeric value: " + value);
+      }
+      if (sorted && lastName != null && name.compareTo(lastName) <= 0) {
+        sorted = false;
+      }
+      lastName = name;
+      if (useDicts) {
+        dict.put(name, value);
+      } else {
+        List<Object> pair = new ArrayList<Object>(2);
+        pair.add(name);
+        pair.add(value);
+        pairs.add(pair);
+      }
+
+      switch (nextClean()) {
+        case '}':
+          if (useDicts) {
+            return sorted ? dict : sortDictionary(dict);
+          }
+          return sorted ? pairs : sortPairs(pairs);
+        case ',':
+        case ';':
+          continue;
+        default:
+          throw syntaxError("Unterminated object");
+      }
+    }
+  }
+
+  private List<Object> readArray() throws IOException, JSONException {
+    List<Object> result = new ArrayList<Object>();
+    while (true) {
+      int c = nextClean();
+      switch (c) {
+        case -1:
+          throw syntaxError("Unterminated array");
+        case ']':
+          if (!result.isEmpty()) {
+            // A separator followed by the end of the array means a trailing null.
+            throw new JSONException("Value at " + result.size() + " is null.");
+          }
+          return result;
+        case ',':
+        case ';':
+          // A separator without a value first means null, which can't be converted.
+          throw new JSONException("Value at " + result.size() + " is null.");
+        default:
+          back();
+      }
+      result.add(readValue());
+      switch (nextClean()) {
+        case ']':
+          return result;
+        case ',':
+        case ';':
+          continue;
+        default:
+          throw syntaxError("Unterminated array");
+      }
+    }
+  }
+
+  private String readString(char quote) throws IOException, JSONException {
+    // Fast path: the whole string is in the buffer and contains no escapes.
+    for (int i = pos; i < limit; i++) {
+      char c = buffer[i];
+      if (c == quote) {
+        String result = new String(buffer, pos, i - pos);
+        pos = i + 1;
+        return result;
+      } else if (c == '\\') {
+        break;
+      }
+    }
+
+    scratch.setLength(0);
+    while (true) {
+      int c = read();
+      if (c == -1) {
+        throw syntaxError("Unterminated string");
+      } else if (c == quote) {
+        return scratch.toString();
+      } else if (c == '\\') {
+        scratch.append(readEscapeCharacter());
+      } else {
+        scratch.append((char) c);
+      }
+    }
+  }
+
+  private char readEscapeCharacter() throws IOException, JSONException {
+    int escaped = read();
+    switch (escaped) {
+      case -1:
+        throw syntaxError("Unterminated escape sequence");
+      case 'u':
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+          int c = read();
+          int digit = c == -1 ? -1 : Character.digit((char) c, 16);
+          if (c == -1) {
+            throw syntaxError("Unterminated escape sequence");
+          } else if (digit == -1) {
+            throw syntaxError("Invalid escape sequence");
+          }
+          value = (value << 4) | digit;
+        }
+        return (char) value;
+      case 't':
+        return '\t';
+      case 'b':
+        return '\b';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 'f':
+        return '\f';
+      default:
+        return (char) escaped;
+    }
+  }
+
+  private Object readLiteral() throws IOException, JSONException {
+    scratch.setLength(0);
+    while (true) {
+      int c = read();
+      if (c == -1) {
+        break;
+      } else if (isLiteralTerminator(c)) {
+        back();
+        break;
+      }
+      scratch.append((char) c);
+    }
+    if (scratch.length() == 0) {
+      throw syntaxError("Expected literal value");
+    }
+    String literal = scratch.toString();
+
+    if ("null".equalsIgnoreCase(literal)) {
+      return NULL;
+    } else if ("true".equalsIgnoreCase(literal)) {
+      return Boolean.TRUE;
+    } else if ("false".equalsIgnoreCase(literal)) {
+      return Boolean.FALSE;
+    }
+
+    // Integers are parsed the same way as JSONTokener does, including its support for
+    // hexadecimal and octal literals.
+    if (literal.indexOf('.') == -1) {
+      int base = 10;
+      String number = literal;
+      if (number.startsWith("0x") || number.startsWith("0X")) {
+        number = number.substring(2);
+        base = 16;
+      } else if (number.startsWith("0") && number.length() > 1) {
+        number = number.substring(1);
+        base = 8;
+      }
+      try {
+        long longValue = Long.parseLong(number, base);
+        if (longValue <= Integer.MAX_VALUE && longValue >= Integer.MIN_VALUE) {
+          return (int) longValue;
+        } else {
+          return longValue;
+        }
+      } catch (NumberFormatException e) {
+        // Not an integer; fall through to the other number formats.
+      }
+    }
+
+    try {
+      return Double.valueOf(literal);
+    } catch (NumberFormatException e) {
+      // Not a number; it's an unquoted string.
+    }
+
+    return literal;
+  }
+
+  private static boolean isLiteralTerminator(int c) {
+    switch (c) {
+      case '{':
+      case '}':
+      case '[':
+      case ']':
+      case '/':
+      case '\\':
+      case ':':
+      case ',':
+      case '=':
+      case ';':
+      case '#':
+      case ' ':
+      case '\t':
+      case '\f':
+      case '\r':
+      case '\n':
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /*
+   * Returns the next character that is not whitespace or part of a comment, or -1 at the end of
+   * the input.
+   */
+  private int nextClean() throws IOException, JSONException {
+    while (true) {
+      int c = read();
+      switch (c) {
+        case '\t':
+        case ' ':
+        case '\n':
+        case '\r':
+          continue;
+        case '/':
+          int peek = read();
+          if (peek == '*') {
+            skipBlockComment();
+            continue;
+          } else if (peek == '/') {
+            skipToEndOfLine();
+            continue;
+          }
+          // A lone slash can't start or separate a value.
+          throw syntaxError("Expected literal value");
+        case '#':
+          skipToEndOfLine();
+          continue;
+        default:
+          return c;
+      }
+    }
+  }
+
+  private void skipBlockComment() throws IOException, JSONException {
+    int previous = 0;
+    while (true) {
+      int c = read();
+      if (c == -1) {
+        throw syntaxError("Unterminated comment");
+      } else if (previous == '*' && c == '/') {
+        return;
+      }
+      previous = c;
+    }
+  }
+
+  private void skipToEndOfLine() throws IOException {
+    while (true) {
+      int c = read();
+      if (c == -1 || c == '\r' || c == '\n') {
+        return;
+      }
+    }
+  }
+
+  private int read() throws IOException {
+    if (pos >= limit && !fill()) {
+      return -1;
+    }
+    return buffer[pos++];
+  }
+
+  /*
+   * Pushes back the last character returned by read(). Must not be called after read() returns
+   * -1.
+   */
+  private void back() {
+    pos--;
+  }
+
+  private boolean fill() throws IOException {
+    int start = 0;
+    if (limit > 0) {
+      buffer[0] = buffer[limit - 1];
+      consumed += limit - 1;
+      start = 1;
+    }
+    int count = in.read(buffer, start, buffer.length - start);
+    if (count <= 0) {
+      pos = limit = start;
+      return false;
+    }
+    pos = start;
+    limit = start + count;
+    return true;
+  }
+
+  private JSONException syntaxError(String message) {
+    return new JSONException(message + " at character " + (consumed + pos));
+  }
+
+  private static Object convertString(String value) {
+    if (value.equalsIgnoreCase("true")) {
+      return Boolean.TRUE;
+    } else if (value.equalsIgnoreCase("false")) {
+      return Boolean.FALSE;
+    }
+    return value;
+  }
+
+  private static YailDictionary sortDictionary(YailDictionary dict) {
+    Map<Object, Object> sorted = new TreeMap<Object, Object>(dict);
+    dict.clear();
+    dict.putAll(sorted);
+    return dict;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Object> sortPairs(List<Object> pairs) {
+    // Later values for a repeated name replace earlier ones, as in JSONObject.
+    Map<String, Object> sorted = new TreeMap<String, Object>();
+    for (Object pair : pairs) {
+      List<Object> entry = (List<Object>) pair;
+      sorted.put((String) entry.get(0), entry.get(1));
+    }
+    List<Object> result = new ArrayList<Object>(sorted.size());
+    for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+      List<Object> pair = new ArrayList<Object>(2);
+      pair.add(entry.getKey());
+      pair.add(entry.getValue());
+      result.add(pair);
+    }
+    return result;
+  }
+}
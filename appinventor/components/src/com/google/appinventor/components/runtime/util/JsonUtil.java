@@ -20,6 +20,8 @@ import gnu.math.IntFraction;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,7 +36,6 @@ import java.util.TreeSet;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.json.JSONTokener;
 
 /**
  * Provides utility functions to convert between Java object and JSON.
@@ -246,14 +247,42 @@ public class JsonUtil {
   }
 
   public static String getJsonRepresentation(Object value) throws JSONException {
+    StringBuilder sb = new StringBuilder();
+    appendJsonRepresentation(sb, value);
+    return sb.toString();
+  }
+
+  /**
+   * Appends the JSON representation of {@code value} to {@code sb}. Nested lists and
+   * dictionaries are written straight into the same builder rather than being encoded into
+   * strings of their own first.
+   *
+   * @param sb the builder receiving the JSON text
+   * @param value the value to encode
+   * @throws JSONException if a number cannot be represented in JSON
+   */
+  public static void appendJsonRepresentation(StringBuilder sb, Object value)
+      throws JSONException {
     if (value == null || value.equals(null)) {
-      return "null";
+      sb.append("null");
+      return;
     }
     if (value instanceof FString) {
-      return JSONObject.quote(value.toString());
+      appendQuoted(sb, value.toString());
+      return;
     }
     if (value instanceof YailList) {
-      return ((YailList) value).toJSONString();
+      YailList list = (YailList) value;
+      sb.append('[');
+      int size = list.size();
+      for (int i = 1; i <= size; i++) {
+        if (i > 1) {
+          sb.append(',');
+        }
+        appendJsonRepresentation(sb, list.get(i));
+      }
+      sb.append(']');
+      return;
     }
     // The Json tokener used in getObjectFromJson cannot handle
     // fractions.  So we Json encode fractions by first converting
@@ -263,44 +292,94 @@ public class JsonUtil {
     // StoreValue.  See the "warning" comment in runtime.scm at
     // call-component-method.
     if (value instanceof IntFraction) {
-      return JSONObject.numberToString((Number) ((IntFraction)value).doubleValue());
+      sb.append(JSONObject.numberToString((Number) ((IntFraction)value).doubleValue()));
+      return;
     }
     if (value instanceof Number) {
-      return JSONObject.numberToString((Number) value);
+      sb.append(JSONObject.numberToString((Number) value));
+      return;
     }
     if (value instanceof Boolean) {
-      return value.toString();
+      sb.append(value.toString());
+      return;
     }
     if (value instanceof List) {
-      value = ((List)value).toArray();
+      sb.append('[');
+      String separator = "";
+      for (Object o : (List<?>) value) {
+        sb.append(separator);
+        appendJsonRepresentation(sb, o);
+        separator = ",";
+      }
+      sb.append(']');
+      return;
     }
     if (value instanceof YailDictionary) {
-      StringBuilder sb = new StringBuilder();
       YailDictionary dict = (YailDictionary) value;
       String sep = "";
       sb.append('{');
       for (Entry<Object, Object> entry : (Set<Entry<Object, Object>>) dict.entrySet()) {
         sb.append(sep);
-        sb.append(JSONObject.quote(entry.getKey().toString()));
+        appendQuoted(sb, entry.getKey().toString());
         sb.append(':');
-        sb.append(getJsonRepresentation(entry.getValue()));
+        appendJsonRepresentation(sb, entry.getValue());
         sep = ",";
       }
       sb.append('}');
-      return sb.toString();
+      return;
     }
     if (value.getClass().isArray()) {
-      StringBuilder sb = new StringBuilder();
       sb.append("[");
       String separator = "";
       for (Object o: (Object[]) value) {
-        sb.append(separator).append(getJsonRepresentation(o));
+        sb.append(separator);
+        appendJsonRepresentation(sb, o);
         separator = ",";
       }
       sb.append("]");
-      return sb.toString();
+      return;
     }
-    return JSONObject.quote(value.toString());
+    appendQuoted(sb, value.toString());
+  }
+
+  /*
+   * Appends value to sb as a quoted JSON string, escaping it the same way as JSONObject.quote.
+   */
+  private static void appendQuoted(StringBuilder sb, String value) {
+    sb.append('"');
+    for (int i = 0, length = value.length(); i < length; i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+          sb.append('\\').append(c);
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        case '\b':
+          sb.append("\\b");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\f':
+          sb.append("\\f");
+          break;
+        default:
+          if (c <= 0x1F) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+          break;
+      }
+    }
+    sb.append('"');
   }
 
   /**
@@ -339,27 +418,34 @@ public class JsonUtil {
       // when given the empty string.
       return "";
     } else {
-      final Object value = (new JSONTokener(jsonString)).nextValue();
-      // Note that the JSONTokener may return a value equals() to null.
-      if (value == null || value.equals(JSONObject.NULL)) {
-        return null;
-      } else if ((value instanceof String) ||
-          (value instanceof Number) ||
-          (value instanceof Boolean)) {
-        return value;
-      } else if (value instanceof JSONArray) {
-        return getListFromJsonArray((JSONArray)value, useDicts);
-      } else if (value instanceof JSONObject) {
-        if (useDicts) {
-          return getDictionaryFromJsonObject((JSONObject) value);
-        } else {
-          return getListFromJsonObject((JSONObject) value);
-        }
+      try {
+        return getObjectFromJson(new StringReader(jsonString), useDicts);
+      } catch (IOException e) {
+        // Can't happen when reading from a string.
+        throw new JSONException(e.getMessage());
       }
-      throw new JSONException("Invalid JSON string.");
     }
   }
 
+  /**
+   * Parses the JSON content read from {@code reader} into a YAIL object, without first reading
+   * the whole content into a string. The YAIL values are built as the JSON text is read, so no
+   * intermediate {@code JSONObject} or {@code JSONArray} instances are created. The
+   * {@code useDicts} flag controls whether JSON objects are parsed as YailDictionary (true) or
+   * associative YailList (false).
+   *
+   * @param reader the reader supplying the JSON text
+   * @param useDicts true if YailDictionary should be used for JSON objects,
+   *                 false for associative lists
+   * @return the parsed object
+   * @throws IOException if the reader cannot be read
+   * @throws JSONException if the JSON is malformed
+   */
+  public static Object getObjectFromJson(Reader reader, boolean useDicts)
+      throws IOException, JSONException {
+    return JsonParser.parse(reader, useDicts);
+  }
+
   /**
    * This method converts a file path to a JSON representation.
    * The code in the method was part of GetValue. For better modularity and reusability
@@ -0,0 +1,56 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A persistent store of text values under text keys, as used by the TinyDB component.
+ *
+ * <p>All the stores opened for the same name share their data, and a change made through one
+ * is reported to the listeners of all of them.
+ */
+public interface KeyValueStore {
+
+  /**
+   * Told about the keys whose values have changed.
+   */
+  interface OnChangeListener {
+    /**
+     * Called on the thread that made the change, once the change has been saved. A store that
+     * is cleared does not report the keys it removed.
+     *
+     * @param key the key whose value was stored or removed
+     */
+    void onChange(String key);
+  }
+
+  /**
+   * Returns the value stored under a key, or null if there is none.
+   */
+  String get(String key);
+
+  /**
+   * Returns all of the keys in the store, in no particular order.
+   */
+  Collection<String> getKeys();
+
+  /**
+   * Saves a set of changes as a single unit: either all of them are saved or none are.
+   *
+   * @param clear whether to remove every entry before making the changes
+   * @param changes the values to store by key, where a null value removes the key
+   */
+  void apply(boolean clear, Map<String, String> changes);
+
+  /**
+   * Sets the listener told about changes, replacing any previous one.
+   *
+   * @param listener the new listener, or null for none
+   */
+  void setOnChangeListener(OnChangeListener listener);
+}
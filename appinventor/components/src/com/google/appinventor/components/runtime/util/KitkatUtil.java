@@ -10,6 +10,9 @@ import java.util.Collections;
 import java.util.List;
 
 import android.content.Intent;
+import android.hardware.Sensor;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
 import android.os.Build;
 import android.provider.Telephony.Sms.Intents;
 import android.telephony.SmsMessage;
@@ -42,6 +45,32 @@ public final class KitkatUtil {
     return result;
   }
 
+  /**
+   * Get the number of events that the sensor can hold in its hardware queue.
+   *
+   * @param sensor the sensor
+   * @return the maximum number of batched events, or 0 if the sensor cannot batch events
+   */
+  public static int getFifoMaxEventCount(Sensor sensor) {
+    return sensor.getFifoMaxEventCount();
+  }
+
+  /**
+   * Registers a sensor listener, allowing the sensor to hold its events in its hardware queue
+   * for up to the given latency before reporting them.
+   *
+   * @param sensorManager the sensor manager
+   * @param listener the listener to register
+   * @param sensor the sensor to listen to
+   * @param samplingPeriod the delay between samples
+   * @param maxReportLatency the longest time to hold events for, in microseconds
+   * @return true if the listener was registered
+   */
+  public static boolean registerListener(SensorManager sensorManager,
+      SensorEventListener listener, Sensor sensor, int samplingPeriod, int maxReportLatency) {
+    return sensorManager.registerListener(listener, sensor, samplingPeriod, maxReportLatency);
+  }
+
   /**
    * Get the minimum width of the view. On versions prior to Kitkat, getMinWidth is undefined so we return the
    * width of the component. Therefore, this method should be called before the component is manipulated.
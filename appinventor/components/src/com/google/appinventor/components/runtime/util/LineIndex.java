@@ -0,0 +1,190 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a range of lines from a UTF-8 text file without holding the lines before it in memory.
+ *
+ * <p>While reading, the index remembers the byte offset of every
+ * {@link #CHECKPOINT_INTERVAL}th line it passes. A later read of the same file skips straight to
+ * the nearest remembered line before its first line, so reading a large file a few lines at a
+ * time only scans each part of the file once. Lines end with {@code \n} or {@code \r\n}, which
+ * are not included in the lines returned.
+ *
+ * <p>An index is only valid for the contents it was built from. Callers reading a file that may
+ * change should create the index with {@link #LineIndex(java.io.File)} and check
+ * {@link #isCurrent(java.io.File)} before reusing it.
+ */
+public final class LineIndex {
+  /**
+   * The number of lines between the remembered offsets.
+   */
+  public static final int CHECKPOINT_INTERVAL = 256;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final int BUFFER_SIZE = 8192;
+
+  private final long length;
+  private final long lastModified;
+
+  // checkpoints[i] is the byte offset of line i * CHECKPOINT_INTERVAL, counting from 0.
+  private long[] checkpoints = new long[16];
+  private int checkpointCount = 1;
+
+  /**
+   * Creates an index for a stream whose contents never change, such as an asset.
+   */
+  public LineIndex() {
+    this(-1, -1);
+  }
+
+  /**
+   * Creates an index for the current contents of a file.
+   *
+   * @param file the file the index is for
+   */
+  public LineIndex(java.io.File file) {
+    this(file.length(), file.lastModified());
+  }
+
+  private LineIndex(long length, long lastModified) {
+    this.length = length;
+    this.lastModified = lastModified;
+  }
+
+  /**
+   * Returns whether the file appears unchanged since the index was created.
+   *
+   * @param file the file the index was created for
+   */
+  public boolean isCurrent(java.io.File file) {
+    return file.length() == length && file.lastModified() == lastModified;
+  }
+
+  /**
+   * Reads lines from a stream positioned at the start of the indexed contents.
+   *
+   * @param in the stream to read from, which is left open
+   * @param start the first line to read, counting from 0
+   * @param count the most lines to read
+   * @return the lines read, which are fewer than count if the end of the stream is reached
+   * @throws IOException if the stream cannot be read
+   */
+  public synchronized List<String> readLines(InputStream in, int start, int count)
+      throws IOException {
+    int checkpoint = Math.min(start / CHECKPOINT_INTERVAL, checkpointCount - 1);
+    long offset = checkpoints[checkpoint];
+    skipFully(in, offset);
+    Scanner scanner = new Scanner(in, checkpoint * CHECKPOINT_INTERVAL, offset);
+    while (scanner.line < start) {
+      if (!scanner.nextLine(null)) {
+        return new ArrayList<>();
+      }
+    }
+    List<String> lines = new ArrayList<>();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    while (lines.size() < count && scanner.nextLine(bytes)) {
+      int size = bytes.size();
+      byte[] line = bytes.toByteArray();
+      if (size > 0 && line[size - 1] == '\r') {
+        size--;
+      }
+      lines.add(new String(line, 0, size, UTF_8));
+      bytes.reset();
+    }
+    return lines;
+  }
+
+  private void remember(int line, long offset) {
+    if (line % CHECKPOINT_INTERVAL != 0 || line / CHECKPOINT_INTERVAL != checkpointCount) {
+      return;
+    }
+    if (checkpointCount == checkpoints.length) {
+      checkpoints = Arrays.copyOf(checkpoints, checkpoints.length * 2);
+    }
+    checkpoints[checkpointCount++] = offset;
+  }
+
+  private static void skipFully(InputStream in, long n) throws IOException {
+    while (n > 0) {
+      long skipped = in.skip(n);
+      if (skipped <= 0) {
+        // Some streams cannot skip; fall back to reading
+        if (in.read() < 0) {
+          throw new IOException("The file is shorter than its index");
+        }
+        skipped = 1;
+      }
+      n -= skipped;
+    }
+  }
+
+  /**
+   * Splits the bytes of a stream into lines, keeping track of the number and offset of the next
+   * line.
+   */
+  private class Scanner {
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pos = 0;
+    private int limit = 0;
+    int line;
+    long offset;
+
+    Scanner(InputStream in, int line, long offset) {
+      this.in = in;
+      this.line = line;
+      this.offset = offset;
+    }
+
+    /**
+     * Advances past the next line, copying its bytes to out unless out is null.
+     *
+     * @return false if the stream had no more lines
+     */
+    boolean nextLine(ByteArrayOutputStream out) throws IOException {
+      boolean any = false;
+      while (true) {
+        if (pos == limit) {
+          limit = in.read(buffer);
+          pos = 0;
+          if (limit <= 0) {
+            limit = 0;
+            if (any) {
+              line++;
+            }
+            return any;
+          }
+        }
+        any = true;
+        int end = pos;
+        while (end < limit && buffer[end] != '\n') {
+          end++;
+        }
+        boolean found = end < limit;
+        if (out != null) {
+          out.write(buffer, pos, end - pos);
+        }
+        int consumed = (found ? end + 1 : end) - pos;
+        offset += consumed;
+        pos += consumed;
+        if (found) {
+          line++;
+          remember(line, offset);
+          return true;
+        }
+      }
+    }
+  }
+}
@@ -5,7 +5,6 @@
 
 package com.google.appinventor.components.runtime.util;
 
-import java.util.List;
 import java.util.Map;
 
 public class LogarithmicRegression extends OlsTrendLine {
@@ -28,8 +27,8 @@ public class LogarithmicRegression extends OlsTrendLine {
   }
 
   @Override
-  public Map<String, Object> compute(List<Double> x, List<Double> y) {
-    Map<String, Object> result = super.compute(x, y);
+  public Map<String, Object> compute(RunningLeastSquares sums) {
+    Map<String, Object> result = super.compute(sums);
     result.remove("x^2");
     double m = (Double) result.remove("slope");
     double i = (Double) result.remove("intercept");
@@ -427,6 +427,25 @@ public class MediaUtil {
    */
   public static BitmapDrawable getBitmapDrawable(Form form, String mediaPath)
     throws IOException {
+    return getBitmapDrawableForView(form, mediaPath, -1, -1);
+  }
+
+  /**
+   * Loads the image specified by mediaPath for display in a view of a fixed size, and returns a
+   * Drawable. Like {@link #getBitmapDrawable(Form, String)}, this blocks until the image has
+   * been loaded.
+   *
+   * <p/>If mediaPath is null or empty, null is returned.
+   *
+   * @param form the Form
+   * @param mediaPath the path to the media
+   * @param viewWidth the width of the view, in device pixels, or -1 if not known
+   * @param viewHeight the height of the view, in device pixels, or -1 if not known
+   * @return a Drawable or null
+   * @see #getBitmapDrawableForViewAsync(Form, String, int, int, AsyncCallbackPair)
+   */
+  public static BitmapDrawable getBitmapDrawableForView(Form form, String mediaPath,
+      int viewWidth, int viewHeight) throws IOException {
     if (mediaPath == null || mediaPath.length() == 0) {
       return null;
     }
@@ -441,7 +460,7 @@ public class MediaUtil {
           syncer.wakeup(result);
         }
       };
-    getBitmapDrawableAsync(form, mediaPath, continuation);
+    getBitmapDrawableForViewAsync(form, mediaPath, viewWidth, viewHeight, continuation);
     syncer.waitfor();
     BitmapDrawable result = syncer.getResult();
     if (result == null) {
@@ -486,12 +505,59 @@ public class MediaUtil {
   public static void getBitmapDrawableAsync(final Form form, final String mediaPath,
       final int desiredWidth, final int desiredHeight,
       final AsyncCallbackPair<BitmapDrawable> continuation) {
+    loadBitmapDrawable(form, mediaPath, desiredWidth, desiredHeight, -1, -1, continuation);
+  }
+
+  /**
+   * Loads the image specified by mediaPath for display in a view of a fixed size, such as the
+   * image in a ListView row, and returns a Drawable.
+   *
+   * <p/>Rather than decoding the image for the size of the screen, the image is decoded with the
+   * largest sample size that still leaves it at least as large as the view in both dimensions,
+   * and it is not scaled for the device density afterwards, since the view scales it anyway. A
+   * large photo shown as a thumbnail therefore takes a fraction of the memory and decoding time
+   * it would otherwise. Images that are not larger than the view are loaded as usual.
+   *
+   * <p/>If the image is in the bitmap cache, the continuation is called before this method
+   * returns. Otherwise the image is loaded on a background thread.
+   *
+   * <p/>If mediaPath is null or empty, null is returned.
+   *
+   * @param form the Form
+   * @param mediaPath the path to the media
+   * @param viewWidth the width of the view, in device pixels, or -1 if not known
+   * @param viewHeight the height of the view, in device pixels, or -1 if not known
+   * @param continuation An AsyncCallbackPair that will receive a BitmapDrawable on success.
+   *                     On exception or failure the appropriate handler will be triggered.
+   */
+  public static void getBitmapDrawableForViewAsync(final Form form, final String mediaPath,
+      final int viewWidth, final int viewHeight,
+      final AsyncCallbackPair<BitmapDrawable> continuation) {
+    loadBitmapDrawable(form, mediaPath, -1, -1, viewWidth, viewHeight, continuation);
+  }
+
+  private static void loadBitmapDrawable(final Form form, final String mediaPath,
+      final int desiredWidth, final int desiredHeight, final int viewWidth, final int viewHeight,
+      final AsyncCallbackPair<BitmapDrawable> continuation) {
     if (mediaPath == null || mediaPath.length() == 0) {
       continuation.onSuccess(null);
       return;
     }
 
+    // Only decode for the view if both of its dimensions are known.
+    final boolean fitToView = viewWidth > 0 && viewHeight > 0;
     final MediaSource mediaSource = determineMediaSource(form, mediaPath);
+    final String cacheKey = getBitmapCacheKey(form, mediaPath, mediaSource,
+        desiredWidth, desiredHeight, fitToView ? viewWidth : -1, fitToView ? viewHeight : -1);
+    if (cacheKey != null) {
+      Bitmap cached = BitmapCache.getInstance().get(cacheKey);
+      if (cached != null) {
+        BitmapDrawable drawable = new BitmapDrawable(form.getResources(), cached);
+        drawable.setTargetDensity(form.getResources().getDisplayMetrics());
+        continuation.onSuccess(drawable);
+        return;
+      }
+    }
 
     Runnable loadImage = new Runnable() {
       @Override
@@ -550,10 +616,35 @@ public class MediaUtil {
         buf = null;
         try {
           bis.mark(read);
-          BitmapFactory.Options options = getBitmapOptions(form, bis, mediaPath);
+          BitmapFactory.Options options = getBitmapOptions(form, bis, mediaPath,
+              fitToView ? viewWidth : -1, fitToView ? viewHeight : -1);
           bis.reset();
-          BitmapDrawable originalBitmapDrawable = new BitmapDrawable(form.getResources(),
-              decodeStream(bis, null, options));
+          boolean needsResize = desiredWidth > 0 && desiredHeight >= 0;
+          // An image decoded for a view is already large enough for it, so it is not scaled
+          // for the device density.
+          boolean scaled = needsResize
+              || (!fitToView && options.inSampleSize == 1 && form.deviceDensity() != 1.0f);
+          Bitmap bitmap = null;
+          if (scaled) {
+            // The decoded image is only needed until it is scaled, so decode it into a
+            // scratch bitmap if one of the right size is available.
+            options.inMutable = true;
+            options.inBitmap = BitmapCache.getInstance().takeReusable(options.outWidth,
+                options.outHeight, options.inSampleSize);
+            if (options.inBitmap != null) {
+              try {
+                bitmap = decodeStream(bis, null, options);
+              } catch (IllegalArgumentException e) {
+                Log.d(LOG_TAG, "Unable to reuse bitmap for " + mediaPath);
+                bis.reset();
+              }
+              options.inBitmap = null;
+            }
+          }
+          if (bitmap == null) {
+            bitmap = decodeStream(bis, null, options);
+          }
+          BitmapDrawable originalBitmapDrawable = new BitmapDrawable(form.getResources(), bitmap);
           // If options.inSampleSize == 1, then the image was not unreasonably large and may represent
           // the actual size the user intended for the image. However we still have to scale it by
           // the device density.
@@ -568,8 +659,8 @@ public class MediaUtil {
           //   5. set the density in the scaled bitmap.
 
           originalBitmapDrawable.setTargetDensity(form.getResources().getDisplayMetrics());
-          boolean needsResize = desiredWidth > 0 && desiredHeight >= 0;
-          if (!needsResize && (options.inSampleSize != 1 || form.deviceDensity() == 1.0f)) {
+          if (!scaled) {
+            cacheBitmap(cacheKey, bitmap);
             continuation.onSuccess(originalBitmapDrawable);
             return;
           }
@@ -587,8 +678,14 @@ public class MediaUtil {
           BitmapDrawable scaledBitmapDrawable =
               new BitmapDrawable(form.getResources(), scaledBitmap);
           scaledBitmapDrawable.setTargetDensity(form.getResources().getDisplayMetrics());
-          originalBitmapDrawable = null; // So it will get GC'd on the next line
-          System.gc();                   // We likely used a lot of memory, so gc now.
+          cacheBitmap(cacheKey, scaledBitmap);
+          originalBitmapDrawable = null;
+          if (scaledBitmap != bitmap && bitmap.isMutable()) {
+            // Keep the decoded image to decode the next one into.
+            BitmapCache.getInstance().offerReusable(bitmap);
+          } else if (scaledBitmap != bitmap) {
+            System.gc();                 // We likely used a lot of memory, so gc now.
+          }
           continuation.onSuccess(scaledBitmapDrawable);
         } catch (Exception e) {
           Log.w(LOG_TAG, "Exception while loading media.", e);
@@ -608,6 +705,59 @@ public class MediaUtil {
     AsynchUtil.runAsynchronously(loadImage);
   }
 
+  /**
+   * Computes the key under which a decoded image is kept in the {@link BitmapCache}.
+   *
+   * <p>Only images that cannot change behind our back are cached. Assets are part of the app.
+   * Files are identified by their modification time and size, since they can be replaced, for
+   * example when the Companion receives a new version of an asset. Images from URLs and content
+   * providers are never cached, since the same URL can return a different image each time (a web
+   * cam, for example), and neither are files that need a permission check each time they are read.
+   *
+   * @return the key, or null if the image should not be cached
+   */
+  private static String getBitmapCacheKey(Form form, String mediaPath, MediaSource mediaSource,
+      int desiredWidth, int desiredHeight, int viewWidth, int viewHeight) {
+    String id;
+    switch (mediaSource) {
+      case ASSET:
+        id = mediaPath;
+        break;
+
+      case REPL_ASSET:
+      case PRIVATE_DATA:
+        File file;
+        try {
+          if (mediaSource == MediaSource.PRIVATE_DATA) {
+            file = new File(mediaPath);
+          } else if (RUtil.needsFilePermission(form, mediaPath, null)) {
+            return null;
+          } else {
+            file = new File(URI.create(form.getAssetPath(mediaPath)));
+          }
+        } catch (IllegalArgumentException e) {
+          return null;
+        }
+        long lastModified = file.lastModified();
+        if (lastModified == 0) {
+          return null;  // The file doesn't exist; let loading it report the error
+        }
+        id = file.getAbsolutePath() + "#" + lastModified + ":" + file.length();
+        break;
+
+      default:
+        return null;
+    }
+    return id + "|" + desiredWidth + "x" + desiredHeight + "|" + viewWidth + "x" + viewHeight
+        + "@" + form.deviceDensity();
+  }
+
+  private static void cacheBitmap(String cacheKey, Bitmap bitmap) {
+    if (cacheKey != null && bitmap != null) {
+      BitmapCache.getInstance().put(cacheKey, bitmap);
+    }
+  }
+
   private static Bitmap decodeStream(InputStream is, Rect outPadding, BitmapFactory.Options opts) {
     // We wrap a FlushedInputStream around the given InputStream. This works around a problem in
     // BitmapFactory.decodeStream where it fails to load the image if the InputStream's skip method
@@ -641,7 +791,32 @@ public class MediaUtil {
     }
   }
 
-  private static BitmapFactory.Options getBitmapOptions(Form form, InputStream is, String mediaPath) {
+  /**
+   * Computes the sample size to decode an image with so that it fills a view of the given size.
+   * This is the largest power of two that leaves the decoded image at least as large as the view
+   * in both dimensions.
+   *
+   * @param imageWidth the width of the image
+   * @param imageHeight the height of the image
+   * @param viewWidth the width of the view
+   * @param viewHeight the height of the view
+   * @return the sample size
+   */
+  static int getSampleSizeForView(int imageWidth, int imageHeight, int viewWidth,
+      int viewHeight) {
+    int sampleSize = 1;
+    if (viewWidth <= 0 || viewHeight <= 0) {
+      return sampleSize;
+    }
+    while (imageWidth / (sampleSize * 2) >= viewWidth
+        && imageHeight / (sampleSize * 2) >= viewHeight) {
+      sampleSize *= 2;
+    }
+    return sampleSize;
+  }
+
+  private static BitmapFactory.Options getBitmapOptions(Form form, InputStream is, String mediaPath,
+      int viewWidth, int viewHeight) {
     // Get the size of the image.
     BitmapFactory.Options options = new BitmapFactory.Options();
     options.inJustDecodeBounds = true;
@@ -673,9 +848,17 @@ public class MediaUtil {
     while ((imageWidth / sampleSize > maxWidth) && (imageHeight / sampleSize > maxHeight)) {
       sampleSize *= 2;
     }
+    // If we know the size of the view that will show the image, there is no point in decoding
+    // more pixels than it can display.
+    sampleSize = Math.max(sampleSize,
+        getSampleSizeForView(imageWidth, imageHeight, viewWidth, viewHeight));
     options = new BitmapFactory.Options();
+    // Pass on the size of the image, so that a suitable bitmap can be found to decode it into.
+    options.outWidth = imageWidth;
+    options.outHeight = imageHeight;
     Log.d(LOG_TAG, "getBitmapOptions: sampleSize = " + sampleSize + " mediaPath = " + mediaPath
-      + " maxWidth = " + maxWidth + " maxHeight = " + maxHeight +
+      + " maxWidth = " + maxWidth + " maxHeight = " + maxHeight
+      + " viewWidth = " + viewWidth + " viewHeight = " + viewHeight +
       " display width = " + display.getWidth() + " display height = " + display.getHeight());
     options.inSampleSize = sampleSize;
     return options;
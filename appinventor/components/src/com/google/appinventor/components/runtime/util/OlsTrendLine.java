@@ -6,22 +6,25 @@
 package com.google.appinventor.components.runtime.util;
 
 import com.google.appinventor.components.common.TrendlineCalculator;
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.math3.linear.MatrixUtils;
-import org.apache.commons.math3.linear.RealMatrix;
-import org.apache.commons.math3.stat.regression.OLSMultipleLinearRegression;
 
 /**
- * This class wraps the Apache Commons Math library to produce a trendline using the ordinary least
- * squares (OLS) method. Subclasses must implement the abstract methods to provide the data to the
- * solver.
+ * This class produces a trendline using the ordinary least squares (OLS) method, by solving the
+ * normal equations of the points with the Apache Commons Math library. Subclasses must implement
+ * the abstract methods to provide the data to the solver.
  */
 public abstract class OlsTrendLine implements TrendlineCalculator {
   private static final boolean DEBUG = false;
-  private static final double SIGNIFICANCE = 1e14;
+  // Coefficients are rounded to this many significant digits
+  private static final MathContext SIGNIFICANCE = new MathContext(14);
+  // Coefficients whose terms are smaller than this fraction of the largest term over the points
+  // are rounding errors, and are reported as 0
+  private static final double NEGLIGIBLE = 1e-12;
 
   /**
    * Implement this method to provide the data to the solver. For example, a linear trendline would
@@ -33,6 +36,17 @@ public abstract class OlsTrendLine implements TrendlineCalculator {
   @SuppressWarnings("checkstyle:MethodName")
   protected abstract double[] xVector(double x);
 
+  /**
+   * Returns the variable whose powers, from the 0th up, are the terms returned by
+   * {@link #xVector(double)}, such as x for the polynomial models.
+   *
+   * @param x the independent variable
+   * @return the variable of the terms
+   */
+  protected double variable(double x) {
+    return xVector(x)[1];
+  }
+
   /**
    * Implement this method to specify whether the dependent variable should be transformed by
    * taking its log before computing the regression.
@@ -64,46 +78,56 @@ public abstract class OlsTrendLine implements TrendlineCalculator {
     if (x.size() != y.size()) {
       throw new IllegalStateException("Must have equal X and Y data points");
     }
-    double[][] xData = new double[x.size()][];
+    RunningLeastSquares sums = new RunningLeastSquares(this);
     for (int i = 0; i < x.size(); i++) {
-      // the implementation determines how to produce a vector of predictors from a single x
-      xData[i] = xVector(x.get(i));
+      sums.add(x.get(i), y.get(i));
     }
-    double[] yData = new double[y.size()];
-    if (logY()) { // in some models we are predicting ln y, so we replace each y with ln y
-      int i = 0;
-      for (Double value : y) {
-        yData[i++] = Math.log(value);
-      }
-    } else {
-      int i = 0;
-      for (Double value : y) {
-        yData[i++] = value;
-      }
+    return compute(sums);
+  }
+
+  /**
+   * Computes the regression parameters from the running sums of a set of points. This takes the
+   * same time however many points there are, so that a trendline can be kept up to date as
+   * points are added and removed.
+   *
+   * @param sums the sums of the points, as built for this model
+   * @return the results of the OLS regression, as for {@link #compute(List, List)}
+   */
+  public Map<String, Object> compute(RunningLeastSquares sums) {
+    if (sums.getCount() == 0) {
+      throw new IllegalStateException("List must have at least one element");
     }
+    double[] coef = sums.solve();
     if (DEBUG) {
-      System.err.println("xData = " + Arrays.toString(xData));
-      System.err.println("yData = " + Arrays.toString(yData));
+      System.err.println("coef = " + Arrays.toString(coef));
     }
-    OLSMultipleLinearRegression ols = new OLSMultipleLinearRegression();
-    ols.setNoIntercept(true); // let the implementation include a constant in xVector if desired
-    ols.newSampleData(yData, xData); // provide the data to the model
-    RealMatrix coef = MatrixUtils.createColumnRealMatrix(ols.estimateRegressionParameters());
-    if (DEBUG) {
-      System.err.println("coef = " + coef);
+    double magnitude = sums.getRootMeanSquare();
+    double[] terms = new double[coef.length];
+    double largest = 0;
+    double power = 1;
+    for (int i = 0; i < coef.length; i++) {
+      terms[i] = Math.abs(coef[i]) * power;
+      largest = Math.max(largest, terms[i]);
+      power *= magnitude;
+    }
+    for (int i = 0; i < coef.length; i++) {
+      coef[i] = terms[i] < NEGLIGIBLE * largest ? 0 : round(coef[i]);
     }
 
     Map<String, Object> result = new HashMap<>();
-    result.put("intercept", round(coef.getEntry(0, 0)));
-    result.put("slope", round(coef.getEntry(1, 0)));
+    result.put("intercept", coef[0]);
+    result.put("slope", coef[1]);
     if (size() > 2) {
-      result.put("x^2", round(coef.getEntry(2, 0)));
+      result.put("x^2", coef[2]);
     }
-    result.put("r^2", ols.calculateRSquared());
+    result.put("r^2", sums.rSquared());
     return result;
   }
 
   private static double round(double value) {
-    return Math.round(value * SIGNIFICANCE) / SIGNIFICANCE;
+    if (value == 0 || Double.isNaN(value) || Double.isInfinite(value)) {
+      return value;
+    }
+    return new BigDecimal(value).round(SIGNIFICANCE).doubleValue();
   }
 }
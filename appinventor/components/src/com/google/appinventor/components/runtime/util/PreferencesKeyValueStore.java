@@ -0,0 +1,78 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A {@link KeyValueStore} kept in Android's shared preferences. Android holds the whole file in
+ * memory and rewrites the whole file on every change, so it suits small stores.
+ */
+public final class PreferencesKeyValueStore implements KeyValueStore {
+  private final SharedPreferences sharedPreferences;
+  private OnChangeListener listener = null;
+
+  // Shared preferences only hold weak references to their listeners, so the store keeps this one
+  private final SharedPreferences.OnSharedPreferenceChangeListener sharedPreferenceChangeListener =
+      new SharedPreferences.OnSharedPreferenceChangeListener() {
+        @Override
+        public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+          if (listener != null && key != null) {
+            listener.onChange(key);
+          }
+        }
+      };
+
+  /**
+   * Opens the shared preferences with the given name.
+   *
+   * @param context the context of the app
+   * @param name the name of the preferences file
+   */
+  public PreferencesKeyValueStore(Context context, String name) {
+    sharedPreferences = context.getSharedPreferences(name, Context.MODE_PRIVATE);
+  }
+
+  @Override
+  public String get(String key) {
+    return sharedPreferences.getString(key, null);
+  }
+
+  @Override
+  public Collection<String> getKeys() {
+    return sharedPreferences.getAll().keySet();
+  }
+
+  @Override
+  public void apply(boolean clear, Map<String, String> changes) {
+    final SharedPreferences.Editor sharedPrefsEditor = sharedPreferences.edit();
+    if (clear) {
+      sharedPrefsEditor.clear();
+    }
+    for (Map.Entry<String, String> change : changes.entrySet()) {
+      if (change.getValue() == null) {
+        sharedPrefsEditor.remove(change.getKey());
+      } else {
+        sharedPrefsEditor.putString(change.getKey(), change.getValue());
+      }
+    }
+    sharedPrefsEditor.commit();
+  }
+
+  @Override
+  public void setOnChangeListener(OnChangeListener listener) {
+    if (this.listener == null && listener != null) {
+      sharedPreferences.registerOnSharedPreferenceChangeListener(sharedPreferenceChangeListener);
+    } else if (this.listener != null && listener == null) {
+      sharedPreferences.unregisterOnSharedPreferenceChangeListener(sharedPreferenceChangeListener);
+    }
+    this.listener = listener;
+  }
+}
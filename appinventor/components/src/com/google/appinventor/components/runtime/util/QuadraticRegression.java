@@ -30,27 +30,34 @@ public class QuadraticRegression extends OlsTrendLine {
   }
 
   @Override
-  public Map<String, Object> compute(List<Double> x, List<Double> y) {
-    Map<String, Object> result = super.compute(x, y);
+  public Map<String, Object> compute(RunningLeastSquares sums) {
+    Map<String, Object> result = super.compute(sums);
     result.put("Yintercept", result.remove("intercept"));
-    double a = (Double) result.get("x^2");
-    double b = (Double) result.get("slope");
-    double c = (Double) result.get("Yintercept");
+    // The roots are found in the centered variable of the sums, as the coefficients of x lose the
+    // precision needed to find them when the x values are large.
+    double[] coef = sums.solveCentered();
+    double a = coef[2];
+    double b = coef[1];
+    double c = coef[0];
     double discriminant = b * b - 4 * a * c;
     if (discriminant > 0) {
       List<Double> intercepts = new ArrayList<>();
       double sqrtDiscriminant = Math.sqrt(discriminant);
-      intercepts.add((-b + sqrtDiscriminant) / (2 * a));
-      intercepts.add((-b - sqrtDiscriminant) / (2 * a));
+      intercepts.add(toX(sums, (-b + sqrtDiscriminant) / (2 * a)));
+      intercepts.add(toX(sums, (-b - sqrtDiscriminant) / (2 * a)));
       result.put("Xintercepts", intercepts);
     } else if (discriminant == 0) {
-      result.put("Xintercepts", -b / (2 * a));
+      result.put("Xintercepts", toX(sums, -b / (2 * a)));
     } else {
       result.put("Xintercepts", Double.NaN);
     }
     return result;
   }
 
+  private static double toX(RunningLeastSquares sums, double centered) {
+    return sums.getShift() + sums.getScale() * centered;
+  }
+
   @Override
   public float[] computePoints(Map<String, Object> results, float xMin, float xMax, int viewWidth,
       int steps) {
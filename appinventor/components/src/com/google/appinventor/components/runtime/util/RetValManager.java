@@ -6,6 +6,8 @@
 
 package com.google.appinventor.components.runtime.util;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import com.google.appinventor.components.runtime.PhoneStatus;
@@ -33,6 +35,20 @@ public class RetValManager {
   // There can be only one!
   private static ArrayList<JSONObject> currentArray = new ArrayList<JSONObject>(10);
 
+  // Whether sendPending has been posted to the UI thread (webrtc only). Guarded by semaphore.
+  private static boolean sendPosted = false;
+  private static Handler handler;     // Guarded by semaphore
+
+  private static final Runnable sendPending = new Runnable() {
+      @Override
+      public void run() {
+        synchronized (semaphore) {
+          sendPosted = false;
+          webRTCsendCurrent();
+        }
+      }
+    };
+
   // Need a better place for this version string, but for various reasons, this is how we
   // are going to do this for now...
 
@@ -49,69 +65,46 @@ public class RetValManager {
    * @param item The item to append
    */
   public static void appendReturnValue(String blockid, String ok, String item) {
-    synchronized (semaphore) {
-      JSONObject retval = new JSONObject();
-      try {
-        retval.put("status", ok);
-        retval.put("type", "return");
-        retval.put("value", item);
-        retval.put("blockid", blockid);
-      } catch (JSONException e) {
-        Log.e(LOG_TAG, "Error building retval", e);
-        return;
-      }
-      boolean sendNotify = currentArray.isEmpty();
-      currentArray.add(retval);
-      if (PhoneStatus.getUseWebRTC()) {
-        webRTCsendCurrent();
-      } else if (sendNotify) {
-        semaphore.notifyAll();
-      }
+    JSONObject retval = new JSONObject();
+    try {
+      retval.put("status", ok);
+      retval.put("type", "return");
+      retval.put("value", item);
+      retval.put("blockid", blockid);
+    } catch (JSONException e) {
+      Log.e(LOG_TAG, "Error building retval", e);
+      return;
     }
+    enqueue(retval, false);
   }
 
   public static void appendLogValue(String item, String blockid, String status, String level) {
-    synchronized(semaphore) {
-      JSONObject retval = new JSONObject();
-      try {
-        retval.put("status", status);
-        retval.put("type", "log");
-        retval.put("item", item);
-        retval.put("blockid", blockid);
-        retval.put("level", level);
-      } catch (JSONException e) {
-        Log.e(LOG_TAG, "Error building retval", e);
-        return;
-      }
-      boolean sendNotify = currentArray.isEmpty();
-      currentArray.add(retval);
-      if (PhoneStatus.getUseWebRTC()) {
-        webRTCsendCurrent();
-      } else if (sendNotify) {
-        semaphore.notifyAll();
-      }
+    JSONObject retval = new JSONObject();
+    try {
+      retval.put("status", status);
+      retval.put("type", "log");
+      retval.put("item", item);
+      retval.put("blockid", blockid);
+      retval.put("level", level);
+    } catch (JSONException e) {
+      Log.e(LOG_TAG, "Error building retval", e);
+      return;
     }
+    enqueue(retval, false);
   }
 
   public static void sendError(String error) {
-    synchronized (semaphore) {
-      JSONObject retval = new JSONObject();
-      try {
-        retval.put("status", "OK");
-        retval.put("type", "error");
-        retval.put("value", error);
-      } catch (JSONException e) {
-        Log.e(LOG_TAG, "Error building retval", e);
-        return;
-      }
-      boolean sendNotify = currentArray.isEmpty();
-      currentArray.add(retval);
-      if (PhoneStatus.getUseWebRTC()) {
-        webRTCsendCurrent();
-      } else if (sendNotify) {
-        semaphore.notifyAll();
-      }
+    JSONObject retval = new JSONObject();
+    try {
+      retval.put("status", "OK");
+      retval.put("type", "error");
+      retval.put("value", error);
+    } catch (JSONException e) {
+      Log.e(LOG_TAG, "Error building retval", e);
+      return;
     }
+    // Errors are sent right away, since the UI thread may be about to die.
+    enqueue(retval, true);
   }
 
   /*
@@ -121,26 +114,18 @@ public class RetValManager {
    * @param value The value to hand it
    */
   public static void pushScreen(String screenName, Object value) {
-    synchronized (semaphore) {
-      JSONObject retval = new JSONObject();
-      try {
-        retval.put("status", "OK");
-        retval.put("type", "pushScreen");
-        retval.put("screen", screenName);
-        if (value != null)
-          retval.put("value", value.toString());
-      } catch (JSONException e) {
-        Log.e(LOG_TAG, "Error building retval", e);
-        return;
-      }
-      boolean sendNotify = currentArray.isEmpty();
-      currentArray.add(retval);
-      if (PhoneStatus.getUseWebRTC()) {
-        webRTCsendCurrent();
-      } else if (sendNotify) {
-        semaphore.notifyAll();
-      }
+    JSONObject retval = new JSONObject();
+    try {
+      retval.put("status", "OK");
+      retval.put("type", "pushScreen");
+      retval.put("screen", screenName);
+      if (value != null)
+        retval.put("value", value.toString());
+    } catch (JSONException e) {
+      Log.e(LOG_TAG, "Error building retval", e);
+      return;
     }
+    enqueue(retval, false);
   }
 
   /*
@@ -150,25 +135,17 @@ public class RetValManager {
    * @param value The value to hand it
    */
   public static void popScreen(String value) {
-    synchronized (semaphore) {
-      JSONObject retval = new JSONObject();
-      try {
-        retval.put("status", "OK");
-        retval.put("type", "popScreen");
-        if (value != null)
-          retval.put("value", value.toString());
-      } catch (JSONException e) {
-        Log.e(LOG_TAG, "Error building retval", e);
-        return;
-      }
-      boolean sendNotify = currentArray.isEmpty();
-      currentArray.add(retval);
-      if (PhoneStatus.getUseWebRTC()) {
-        webRTCsendCurrent();
-      } else if (sendNotify) {
-        semaphore.notifyAll();
-      }
+    JSONObject retval = new JSONObject();
+    try {
+      retval.put("status", "OK");
+      retval.put("type", "popScreen");
+      if (value != null)
+        retval.put("value", value.toString());
+    } catch (JSONException e) {
+      Log.e(LOG_TAG, "Error building retval", e);
+      return;
     }
+    enqueue(retval, false);
   }
 
   /*
@@ -177,25 +154,17 @@ public class RetValManager {
    * @param name name of the asset transferred
    */
   public static void assetTransferred(String name) {
-    synchronized (semaphore) {
-      JSONObject retval = new JSONObject();
-      try {
-        retval.put("status", "OK");
-        retval.put("type", "assetTransferred");
-        if (name != null)
-          retval.put("value", name.toString());
-      } catch (JSONException e) {
-        Log.e(LOG_TAG, "Error building retval", e);
-        return;
-      }
-      boolean sendNotify = currentArray.isEmpty();
-      currentArray.add(retval);
-      if (PhoneStatus.getUseWebRTC()) {
-        webRTCsendCurrent();
-      } else if (sendNotify) {
-        semaphore.notifyAll();
-      }
+    JSONObject retval = new JSONObject();
+    try {
+      retval.put("status", "OK");
+      retval.put("type", "assetTransferred");
+      if (name != null)
+        retval.put("value", name.toString());
+    } catch (JSONException e) {
+      Log.e(LOG_TAG, "Error building retval", e);
+      return;
     }
+    enqueue(retval, false);
   }
 
   /*
@@ -203,23 +172,33 @@ public class RetValManager {
    *
    */
   public static void extensionsLoaded() {
-    synchronized (semaphore) {
-      JSONObject retval = new JSONObject();
-      try {
-        retval.put("status", "OK");
-        retval.put("type", "extensionsLoaded");
-      } catch (JSONException e) {
-        Log.e(LOG_TAG, "Error building retval", e);
-        return;
-      }
-      boolean sendNotify = currentArray.isEmpty();
-      currentArray.add(retval);
-      if (PhoneStatus.getUseWebRTC()) {
-        webRTCsendCurrent();
-      } else if (sendNotify) {
-        semaphore.notifyAll();
-      }
+    JSONObject retval = new JSONObject();
+    try {
+      retval.put("status", "OK");
+      retval.put("type", "extensionsLoaded");
+    } catch (JSONException e) {
+      Log.e(LOG_TAG, "Error building retval", e);
+      return;
+    }
+    enqueue(retval, false);
+  }
+
+  /*
+   * sendProfile -- Send the totals measured by the YailProfiler
+   *
+   * @param report The totals, one JSON object per block
+   */
+  public static void sendProfile(JSONArray report) {
+    JSONObject retval = new JSONObject();
+    try {
+      retval.put("status", "OK");
+      retval.put("type", "profile");
+      retval.put("value", report);
+    } catch (JSONException e) {
+      Log.e(LOG_TAG, "Error building retval", e);
+      return;
     }
+    enqueue(retval, false);
   }
 
   /*
@@ -256,9 +235,48 @@ public class RetValManager {
     }
   }
 
+  /*
+   * enqueue -- Add a value to the array of pending values and arrange
+   * for it to be delivered.
+   *
+   * When we are using webrtc, the values added during one pass of the
+   * UI thread, for example the results of all of the blocks in a
+   * batch sent by the Blocks Editor, are sent together in one message
+   * once the pass is over.
+   *
+   * @param retval The value to add
+   * @param now true to send the pending values right away
+   */
+  private static void enqueue(JSONObject retval, boolean now) {
+    synchronized (semaphore) {
+      boolean sendNotify = currentArray.isEmpty();
+      currentArray.add(retval);
+      if (PhoneStatus.getUseWebRTC()) {
+        if (now) {
+          webRTCsendCurrent();
+        } else if (!sendPosted) {
+          sendPosted = true;
+          getHandler().post(sendPending);
+        }
+      } else if (sendNotify) {
+        semaphore.notifyAll();
+      }
+    }
+  }
+
+  private static Handler getHandler() {
+    if (handler == null) {
+      handler = new Handler(Looper.getMainLooper());
+    }
+    return handler;
+  }
+
   // Only used for webrtc. Note: Our caller is holding "semphore" so we don't
   // need to worry about multi-thread synchonization here
   private static void webRTCsendCurrent() {
+    if (currentArray.isEmpty()) {
+      return;                   // Already sent
+    }
     try {
       JSONObject output = new JSONObject();
       output.put("status", "OK");
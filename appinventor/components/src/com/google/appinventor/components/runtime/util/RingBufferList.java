@@ -0,0 +1,195 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A list stored in a circular array. Like {@link java.util.ArrayList}, elements are looked up and
+ * replaced in constant time, but elements are removed from, and added to, both ends of the list in
+ * constant time as well. Elements inserted or removed elsewhere move whichever part of the list is
+ * shorter.
+ *
+ * <p>Chart data series keep their entries in a RingBufferList so that a real-time series can drop
+ * its oldest entry for each new one without moving all of the others. The list also counts the
+ * elements removed from its front, the elements appended to its back, and all other changes, so
+ * that a reader that keeps running totals over the list can tell when it only needs to account
+ * for the elements that came and went.
+ *
+ * @param <E> the type of the elements
+ */
+public final class RingBufferList<E> extends AbstractList<E> implements RandomAccess {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private Object[] elements;
+  // The index in elements of the first element of the list
+  private int head = 0;
+  private int size = 0;
+
+  private long removedFromFront = 0;
+  private long appended = 0;
+  private long otherChanges = 0;
+
+  public RingBufferList() {
+    elements = new Object[DEFAULT_CAPACITY];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    checkIndex(index, size);
+    return (E) elements[physical(index)];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E set(int index, E element) {
+    checkIndex(index, size);
+    int i = physical(index);
+    E old = (E) elements[i];
+    elements[i] = element;
+    otherChanges++;
+    return old;
+  }
+
+  @Override
+  public void add(int index, E element) {
+    checkIndex(index, size + 1);
+    if (size == elements.length) {
+      grow();
+    }
+    if (index < size / 2) {
+      // Move the elements before the index one place towards the front
+      head = (head - 1 + elements.length) % elements.length;
+      for (int i = 0; i < index; i++) {
+        elements[physical(i)] = elements[physical(i + 1)];
+      }
+    } else {
+      // Move the elements from the index one place towards the back
+      for (int i = size; i > index; i--) {
+        elements[physical(i)] = elements[physical(i - 1)];
+      }
+    }
+    elements[physical(index)] = element;
+    if (index == size) {
+      appended++;
+    } else {
+      otherChanges++;
+    }
+    size++;
+    modCount++;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E remove(int index) {
+    checkIndex(index, size);
+    E old = (E) elements[physical(index)];
+    if (index < size / 2) {
+      // Move the elements before the index one place towards the back
+      for (int i = index; i > 0; i--) {
+        elements[physical(i)] = elements[physical(i - 1)];
+      }
+      elements[head] = null;
+      head = (head + 1) % elements.length;
+    } else {
+      // Move the elements after the index one place towards the front
+      for (int i = index; i < size - 1; i++) {
+        elements[physical(i)] = elements[physical(i + 1)];
+      }
+      elements[physical(size - 1)] = null;
+    }
+    if (index == 0) {
+      removedFromFront++;
+    } else {
+      otherChanges++;
+    }
+    size--;
+    modCount++;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(elements, null);
+    head = 0;
+    size = 0;
+    otherChanges++;
+    modCount++;
+  }
+
+  /**
+   * Returns the number of elements that have been removed from the front of the list.
+   */
+  public long getRemovedFromFrontCount() {
+    return removedFromFront;
+  }
+
+  /**
+   * Returns the number of elements that have been added to the back of the list.
+   */
+  public long getAppendedCount() {
+    return appended;
+  }
+
+  /**
+   * Returns the number of other changes made to the list: elements inserted or removed anywhere
+   * but at its ends, elements replaced, and the list being cleared.
+   */
+  public long getOtherChangeCount() {
+    return otherChanges;
+  }
+
+  @Override
+  public Object[] toArray() {
+    Object[] result = new Object[size];
+    copyTo(result);
+    return result;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T[] toArray(T[] a) {
+    if (a.length < size) {
+      a = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+    } else if (a.length > size) {
+      a[size] = null;
+    }
+    copyTo(a);
+    return a;
+  }
+
+  private void copyTo(Object[] dest) {
+    int first = Math.min(size, elements.length - head);
+    System.arraycopy(elements, head, dest, 0, first);
+    System.arraycopy(elements, 0, dest, first, size - first);
+  }
+
+  private void grow() {
+    Object[] larger = new Object[elements.length * 2];
+    copyTo(larger);
+    elements = larger;
+    head = 0;
+  }
+
+  private int physical(int index) {
+    int i = head + index;
+    return i < elements.length ? i : i - elements.length;
+  }
+
+  private void checkIndex(int index, int bound) {
+    if (index < 0 || index >= bound) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+}
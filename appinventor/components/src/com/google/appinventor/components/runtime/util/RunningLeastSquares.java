@@ -0,0 +1,251 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.util.Arrays;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.MatrixUtils;
+
+/**
+ * The normal equations of an ordinary least squares fit of one of the {@link OlsTrendLine}
+ * models, kept as running sums so that points can be added to and removed from the fit in
+ * constant time. Solving the equations only takes time in the number of terms of the model, not
+ * the number of points.
+ *
+ * <p>The terms of the models are the powers of a single variable (see
+ * {@link OlsTrendLine#variable(double)}). Sums of powers of large values, such as dates in
+ * milliseconds, lose all of the precision that the fit needs, so the sums are kept in the
+ * centered and scaled variable {@code u = (v - shift) / scale} instead. The shift and scale
+ * follow the points as they are added and removed, keeping {@code u} close to the range -1 to 1,
+ * and the coefficients are converted back to the model's variable when solving.
+ */
+public final class RunningLeastSquares {
+  private final OlsTrendLine model;
+  private final int size;
+  // The sums of the powers of u, from 0 to 2 (size - 1), which make up X'X, and of the powers of
+  // u times the dependent variable, from 0 to size - 1, which make up X'y, and the sum of the
+  // squares of the dependent variable (y'y).
+  private final double[] powerSums;
+  private final double[] productSums;
+  private double yty = 0;
+  private int count = 0;
+  private double shift = 0;
+  private double scale = 1;
+
+  /**
+   * Creates empty sums for the given model.
+   *
+   * @param model the model that determines the terms of each point
+   */
+  public RunningLeastSquares(OlsTrendLine model) {
+    this.model = model;
+    this.size = model.size();
+    powerSums = new double[2 * size - 1];
+    productSums = new double[size];
+  }
+
+  /**
+   * Adds a point to the fit.
+   *
+   * @param x the x value of the point
+   * @param y the y value of the point
+   */
+  public void add(double x, double y) {
+    double v = model.variable(x);
+    if (count == 0) {
+      clear();
+      shift = v;
+    }
+    update((v - shift) / scale, model.logY() ? Math.log(y) : y, 1);
+    count++;
+    recenter();
+  }
+
+  /**
+   * Removes a point that was added to the fit before.
+   *
+   * @param x the x value of the point
+   * @param y the y value of the point
+   */
+  public void remove(double x, double y) {
+    update((model.variable(x) - shift) / scale, model.logY() ? Math.log(y) : y, -1);
+    count--;
+    if (count <= 0) {
+      clear();
+    } else {
+      recenter();
+    }
+  }
+
+  /**
+   * Removes all of the points from the fit.
+   */
+  public void clear() {
+    Arrays.fill(powerSums, 0);
+    Arrays.fill(productSums, 0);
+    yty = 0;
+    count = 0;
+    shift = 0;
+    scale = 1;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the value of the model's variable at which the centered variable is 0.
+   */
+  public double getShift() {
+    return shift;
+  }
+
+  /**
+   * Returns the change in the model's variable for a change of 1 in the centered variable.
+   */
+  public double getScale() {
+    return scale;
+  }
+
+  /**
+   * Returns the root mean square of the model's variable over the points, which gives the size
+   * of the values that each coefficient is multiplied by.
+   */
+  public double getRootMeanSquare() {
+    if (count == 0) {
+      return 0;
+    }
+    double meanU = powerSums[1] / count;
+    double variance = Math.max(0, powerSums[2] / count - meanU * meanU) * scale * scale;
+    double mean = shift + scale * meanU;
+    return Math.sqrt(mean * mean + variance);
+  }
+
+  /**
+   * Solves the normal equations for the coefficients of the terms of the model, as powers of the
+   * centered variable {@code (v - getShift()) / getScale()}.
+   *
+   * @return the coefficients, from the constant term up
+   * @throws org.apache.commons.math3.linear.SingularMatrixException if the points do not
+   *     determine a single fit, such as when there are fewer points than terms
+   */
+  public double[] solveCentered() {
+    double[][] xtx = new double[size][size];
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        xtx[i][j] = powerSums[i + j];
+      }
+    }
+    return new LUDecomposition(MatrixUtils.createRealMatrix(xtx)).getSolver()
+        .solve(new ArrayRealVector(productSums)).toArray();
+  }
+
+  /**
+   * Solves the normal equations for the coefficients of the terms of the model.
+   *
+   * @return the coefficients, in the order of the terms of {@link OlsTrendLine#xVector(double)}
+   * @throws org.apache.commons.math3.linear.SingularMatrixException if the points do not
+   *     determine a single fit, such as when there are fewer points than terms
+   */
+  public double[] solve() {
+    double[] coef = solveCentered();
+    // Undo the scaling, giving the coefficients of the powers of (v - shift)
+    double factor = 1;
+    for (int k = 0; k < size; k++) {
+      coef[k] /= factor;
+      factor *= scale;
+    }
+    // Expand each (v - shift)^k binomially into powers of v
+    for (int j = 0; j < size; j++) {
+      double sum = 0;
+      double binomial = 1;
+      double power = 1;
+      for (int k = j; k < size; k++) {
+        sum += binomial * power * coef[k];
+        binomial = binomial * (k + 1) / (k + 1 - j);
+        power *= -shift;
+      }
+      coef[j] = sum;
+    }
+    return coef;
+  }
+
+  /**
+   * Computes the coefficient of determination of the least squares fit. As the models have no
+   * separate intercept, the total sum of squares is not centered.
+   *
+   * @return the r-squared value of the fit
+   */
+  public double rSquared() {
+    double[] coef = solveCentered();
+    // At the least squares solution b, the residual sum of squares y'y - 2 b'X'y + b'X'X b is
+    // y'y - b'X'y
+    double residual = yty;
+    for (int i = 0; i < size; i++) {
+      residual -= coef[i] * productSums[i];
+    }
+    return 1 - Math.max(0, residual) / yty;
+  }
+
+  private void update(double u, double value, int sign) {
+    double power = sign;
+    for (int k = 0; k < powerSums.length; k++) {
+      powerSums[k] += power;
+      if (k < size) {
+        productSums[k] += power * value;
+      }
+      power *= u;
+    }
+    yty += sign * value * value;
+  }
+
+  /**
+   * Moves and rescales the centered variable if the points have drifted away from 0 or their
+   * spread has moved away from 1.
+   */
+  private void recenter() {
+    double mean = powerSums[1] / count;
+    double meanSquare = powerSums[2] / count;
+    double variance = meanSquare - mean * mean;
+    // The variance is only known to within rounding errors of the mean square
+    double spread = variance > 1e-12 * meanSquare ? Math.sqrt(variance) : 1;
+    if (Math.abs(mean) <= 1 && spread >= 0.25 && spread <= 4) {
+      return;
+    }
+    // Scaling first keeps the values shifted by close to the spread of the points
+    double factor = 1;
+    for (int k = 0; k < powerSums.length; k++) {
+      powerSums[k] /= factor;
+      if (k < size) {
+        productSums[k] /= factor;
+      }
+      factor *= spread;
+    }
+    shift(powerSums, mean / spread);
+    shift(productSums, mean / spread);
+    shift += mean * scale;
+    scale *= spread;
+  }
+
+  /**
+   * Rewrites the sums of the powers of {@code u}, from the 0th up, as the sums of the powers of
+   * {@code u - offset}, by expanding {@code (u - offset)^m} binomially.
+   */
+  private static void shift(double[] values, double offset) {
+    for (int m = values.length - 1; m > 0; m--) {
+      double sum = 0;
+      double binomial = 1;
+      double power = 1;
+      for (int j = m; j >= 0; j--) {
+        sum += binomial * power * values[j];
+        binomial = binomial * j / (m - j + 1);
+        power *= -offset;
+      }
+      values[m] = sum;
+    }
+  }
+}
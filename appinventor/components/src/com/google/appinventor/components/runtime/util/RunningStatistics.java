@@ -0,0 +1,119 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+/**
+ * Running means, variances and covariance of a set of (x, y) points, using Welford's method so
+ * that points can be added and removed one at a time in constant time without the loss of
+ * precision of keeping plain sums of squares.
+ *
+ * <p>The statistics are those of the whole population of points added so far. They are NaN when
+ * there are too few points to define them.
+ */
+public final class RunningStatistics {
+  private int count = 0;
+  private double meanX = 0;
+  private double meanY = 0;
+  // Sums of squared deviations from the mean, and the sum of products of the deviations
+  private double m2x = 0;
+  private double m2y = 0;
+  private double cxy = 0;
+
+  /**
+   * Adds a point.
+   *
+   * @param x the x value of the point
+   * @param y the y value of the point
+   */
+  public void add(double x, double y) {
+    count++;
+    double dx = x - meanX;
+    double dy = y - meanY;
+    meanX += dx / count;
+    meanY += dy / count;
+    m2x += dx * (x - meanX);
+    m2y += dy * (y - meanY);
+    cxy += dx * (y - meanY);
+  }
+
+  /**
+   * Removes a point that was added before.
+   *
+   * @param x the x value of the point
+   * @param y the y value of the point
+   */
+  public void remove(double x, double y) {
+    if (count <= 1) {
+      clear();
+      return;
+    }
+    double dx = x - meanX;
+    double dy = y - meanY;
+    count--;
+    meanX -= dx / count;
+    meanY -= dy / count;
+    m2x -= dx * (x - meanX);
+    m2y -= dy * (y - meanY);
+    cxy -= dx * (y - meanY);
+  }
+
+  /**
+   * Removes all of the points.
+   */
+  public void clear() {
+    count = 0;
+    meanX = 0;
+    meanY = 0;
+    m2x = 0;
+    m2y = 0;
+    cxy = 0;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public double getMeanX() {
+    return count == 0 ? Double.NaN : meanX;
+  }
+
+  public double getMeanY() {
+    return count == 0 ? Double.NaN : meanY;
+  }
+
+  public double getVarianceX() {
+    return count == 0 ? Double.NaN : m2x / count;
+  }
+
+  public double getVarianceY() {
+    return count == 0 ? Double.NaN : m2y / count;
+  }
+
+  public double getCovariance() {
+    return count == 0 ? Double.NaN : cxy / count;
+  }
+
+  /**
+   * Returns the slope of the least squares line through the points.
+   */
+  public double getSlope() {
+    return cxy / m2x;
+  }
+
+  /**
+   * Returns the y intercept of the least squares line through the points.
+   */
+  public double getIntercept() {
+    return getMeanY() - getSlope() * getMeanX();
+  }
+
+  /**
+   * Returns Pearson's correlation coefficient of the points.
+   */
+  public double getCorrelation() {
+    return cxy / Math.sqrt(m2x * m2y);
+  }
+}
@@ -0,0 +1,192 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link KeyValueStore} kept in an SQLite database with one row per key. The keys are the
+ * primary key of the table, so looking up a key reads one row and a change only writes the rows
+ * it touches, however many entries the store holds.
+ *
+ * <p>The first time a database is created for a name, it starts with the entries of the shared
+ * preferences of the same name, so a TinyDB that switches to a database keeps its data.
+ */
+public final class SQLiteKeyValueStore implements KeyValueStore {
+  private static final String TABLE_NAME = "entries";
+  private static final String KEY_TAG = "tag";
+  private static final String KEY_VALUE = "value";
+
+  private static final String SQL_CREATE_ENTRIES =
+      "CREATE TABLE " + TABLE_NAME + " (" +
+      KEY_TAG + " TEXT PRIMARY KEY NOT NULL," +
+      KEY_VALUE + " TEXT NOT NULL)";
+
+  private static final String SQL_STORE_ENTRY =
+      "INSERT OR REPLACE INTO " + TABLE_NAME + " (" + KEY_TAG + ", " + KEY_VALUE + ") " +
+      "VALUES (?, ?)";
+
+  private static final int DATABASE_VERSION = 1;
+
+  // The open databases of each application, by name
+  private static final Map<Context, Map<String, Database>> databases = new WeakHashMap<>();
+
+  private static final class Database extends SQLiteOpenHelper {
+    private final Context context;
+    private final String name;
+    // The stores open on this database; weak so that a closed screen does not keep its stores
+    private final Set<SQLiteKeyValueStore> stores =
+        Collections.newSetFromMap(new WeakHashMap<SQLiteKeyValueStore, Boolean>());
+
+    Database(Context context, String name) {
+      super(context, getFileName(name), null, DATABASE_VERSION);
+      this.context = context;
+      this.name = name;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+      db.execSQL(SQL_CREATE_ENTRIES);
+      // Start with whatever was stored in the preferences of the same name
+      SQLiteStatement insert = db.compileStatement(SQL_STORE_ENTRY);
+      Map<String, ?> entries = context.getSharedPreferences(name, Context.MODE_PRIVATE).getAll();
+      for (Map.Entry<String, ?> entry : entries.entrySet()) {
+        if (entry.getValue() instanceof String) {
+          insert.bindString(1, entry.getKey());
+          insert.bindString(2, (String) entry.getValue());
+          insert.executeInsert();
+        }
+      }
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+      // There is only one version so far
+    }
+
+    synchronized List<SQLiteKeyValueStore> getStores() {
+      return new ArrayList<>(stores);
+    }
+
+    synchronized void addStore(SQLiteKeyValueStore store) {
+      stores.add(store);
+    }
+  }
+
+  private final Database database;
+  private volatile OnChangeListener listener = null;
+
+  /**
+   * Opens the database with the given name, creating it if needed.
+   *
+   * @param context the context of the app
+   * @param name the name of the store
+   */
+  public SQLiteKeyValueStore(Context context, String name) {
+    Context application = context.getApplicationContext();
+    synchronized (databases) {
+      Map<String, Database> named = databases.get(application);
+      if (named == null) {
+        named = new HashMap<>();
+        databases.put(application, named);
+      }
+      Database db = named.get(name);
+      if (db == null) {
+        db = new Database(application, name);
+        named.put(name, db);
+      }
+      database = db;
+    }
+    database.addStore(this);
+  }
+
+  @Override
+  public String get(String key) {
+    Cursor cursor = database.getReadableDatabase().query(TABLE_NAME, new String[] { KEY_VALUE },
+        KEY_TAG + " = ?", new String[] { key }, null, null, null);
+    try {
+      return cursor.moveToFirst() ? cursor.getString(0) : null;
+    } finally {
+      cursor.close();
+    }
+  }
+
+  @Override
+  public Collection<String> getKeys() {
+    Cursor cursor = database.getReadableDatabase().query(TABLE_NAME, new String[] { KEY_TAG },
+        null, null, null, null, null);
+    try {
+      List<String> keys = new ArrayList<>(cursor.getCount());
+      while (cursor.moveToNext()) {
+        keys.add(cursor.getString(0));
+      }
+      return keys;
+    } finally {
+      cursor.close();
+    }
+  }
+
+  @Override
+  public void apply(boolean clear, Map<String, String> changes) {
+    SQLiteDatabase db = database.getWritableDatabase();
+    db.beginTransaction();
+    try {
+      if (clear) {
+        db.delete(TABLE_NAME, null, null);
+      }
+      SQLiteStatement insert = db.compileStatement(SQL_STORE_ENTRY);
+      for (Map.Entry<String, String> change : changes.entrySet()) {
+        if (change.getValue() == null) {
+          db.delete(TABLE_NAME, KEY_TAG + " = ?", new String[] { change.getKey() });
+        } else {
+          insert.bindString(1, change.getKey());
+          insert.bindString(2, change.getValue());
+          insert.executeInsert();
+        }
+      }
+      db.setTransactionSuccessful();
+    } finally {
+      db.endTransaction();
+    }
+    for (SQLiteKeyValueStore store : database.getStores()) {
+      OnChangeListener storeListener = store.listener;
+      if (storeListener != null) {
+        for (String key : changes.keySet()) {
+          storeListener.onChange(key);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void setOnChangeListener(OnChangeListener listener) {
+    this.listener = listener;
+  }
+
+  private static String getFileName(String name) {
+    try {
+      // Namespaces may contain characters that cannot appear in a file name
+      return "TinyDB_" + URLEncoder.encode(name, "UTF-8") + ".db";
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
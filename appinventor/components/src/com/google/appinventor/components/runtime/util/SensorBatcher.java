@@ -0,0 +1,200 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import android.hardware.Sensor;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
+import android.os.Handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the samples of a sensor component over a window of time and hands them to the
+ * component all at once, so that a fast sensor raises one event per window instead of one per
+ * sample.
+ *
+ * <p>Only one batch is ever waiting to be delivered. Samples that arrive while it waits, such as
+ * when the app's event handler takes longer than the window, join that batch. When a batch holds
+ * {@link #MAX_PENDING_SAMPLES} samples, the oldest are dropped and counted.
+ *
+ * <p>A SensorBatcher is not thread safe. It must be used on the thread of its handler, which is
+ * the thread sensor events are delivered on when the listener is registered without one.
+ */
+public final class SensorBatcher {
+  /**
+   * The most samples kept for one batch.
+   */
+  public static final int MAX_PENDING_SAMPLES = 1000;
+
+  /**
+   * One sensor reading.
+   */
+  public static final class Sample {
+    public final long timestamp;
+    public final float[] values;
+
+    Sample(long timestamp, float[] values) {
+      this.timestamp = timestamp;
+      this.values = values;
+    }
+
+    /**
+     * Returns the sample as a list of its timestamp followed by its values.
+     */
+    public YailList toYailList() {
+      Object[] items = new Object[values.length + 1];
+      items[0] = timestamp;
+      for (int i = 0; i < values.length; i++) {
+        items[i + 1] = values[i];
+      }
+      return YailList.makeList(items);
+    }
+  }
+
+  /**
+   * Receives the batches of a SensorBatcher.
+   */
+  public interface BatchListener {
+    /**
+     * Called with the samples collected over a window, oldest first.
+     *
+     * @param samples the samples, never empty
+     */
+    void onBatch(List<Sample> samples);
+  }
+
+  private final Handler handler;
+  private final BatchListener listener;
+  private final RingBufferList<Sample> pending = new RingBufferList<>();
+  private int interval = 0;
+  private long droppedCount = 0;
+  private boolean deliveryScheduled = false;
+
+  private final Runnable deliver = new Runnable() {
+    @Override
+    public void run() {
+      deliveryScheduled = false;
+      if (pending.isEmpty()) {
+        return;
+      }
+      List<Sample> samples = new ArrayList<>(pending);
+      pending.clear();
+      listener.onBatch(samples);
+    }
+  };
+
+  /**
+   * Creates a batcher that is off until it is given an interval.
+   *
+   * @param handler the handler to deliver batches with
+   * @param listener the receiver of the batches
+   */
+  public SensorBatcher(Handler handler, BatchListener listener) {
+    this.handler = handler;
+    this.listener = listener;
+  }
+
+  /**
+   * Returns the length of the window, in milliseconds, or 0 if batching is off.
+   */
+  public int getInterval() {
+    return interval;
+  }
+
+  /**
+   * Sets the length of the window and resets the dropped sample count. Samples waiting for the
+   * previous window are discarded.
+   *
+   * @param interval the length of the window in milliseconds, or 0 to turn batching off
+   */
+  public void setInterval(int interval) {
+    this.interval = Math.max(0, interval);
+    clear();
+    droppedCount = 0;
+  }
+
+  /**
+   * Returns whether samples are being batched.
+   */
+  public boolean isEnabled() {
+    return interval > 0;
+  }
+
+  /**
+   * Returns the number of samples dropped because the app fell behind since the interval was
+   * last set.
+   */
+  public long getDroppedCount() {
+    return droppedCount;
+  }
+
+  /**
+   * Adds a sample to the current batch, and schedules the batch for delivery at the end of the
+   * window if it is the first sample of the window.
+   *
+   * @param timestamp the time of the sample
+   * @param values the values of the sample
+   */
+  public void add(long timestamp, float... values) {
+    pending.add(new Sample(timestamp, values));
+    if (pending.size() > MAX_PENDING_SAMPLES) {
+      pending.remove(0);
+      droppedCount++;
+    }
+    if (!deliveryScheduled) {
+      deliveryScheduled = true;
+      handler.postDelayed(deliver, interval);
+    }
+  }
+
+  /**
+   * Discards the samples waiting to be delivered.
+   */
+  public void clear() {
+    handler.removeCallbacks(deliver);
+    deliveryScheduled = false;
+    pending.clear();
+  }
+
+  /**
+   * Converts a batch to a list of lists, each holding the timestamp and values of a sample.
+   *
+   * @param samples the samples of a batch
+   * @return the samples as lists
+   */
+  public static List<YailList> toYailLists(List<Sample> samples) {
+    List<YailList> lists = new ArrayList<>(samples.size());
+    for (Sample sample : samples) {
+      lists.add(sample.toYailList());
+    }
+    return lists;
+  }
+
+  /**
+   * Registers a sensor listener. When batching is on and the device supports it, the sensor is
+   * allowed to hold its events in its hardware queue for up to a window before reporting them,
+   * so that the device wakes up less often.
+   *
+   * @param sensorManager the sensor manager
+   * @param sensorListener the listener to register
+   * @param sensor the sensor to listen to
+   * @param samplingPeriod the delay between samples, one of the {@code SENSOR_DELAY_} constants of
+   *     {@link SensorManager}
+   */
+  public void registerListener(SensorManager sensorManager, SensorEventListener sensorListener,
+      Sensor sensor, int samplingPeriod) {
+    if (isEnabled() && sensor != null && SdkLevel.getLevel() >= SdkLevel.LEVEL_KITKAT
+        && KitkatUtil.getFifoMaxEventCount(sensor) > 0) {
+      int maxReportLatency = (int) Math.min(interval * 1000L, Integer.MAX_VALUE);
+      KitkatUtil.registerListener(sensorManager, sensorListener, sensor, samplingPeriod,
+          maxReportLatency);
+    } else {
+      sensorManager.registerListener(sensorListener, sensor, samplingPeriod);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} that runs its tasks one at a
+ * time, in submission order, on the runtime's lane for serial queues (see
+ * {@link AsynchUtil#getSerialLane()}). Components that previously owned a
+ * single-thread executor use one of these so that their work stays ordered
+ * without each of them keeping a thread alive.
+ *
+ * <p>Only one task is handed to the lane at a time, and after it finishes the
+ * next one is resubmitted. The lane is separate from the shared pool, so
+ * calls on the pool can wait for a serial task without deadlocking a full
+ * pool. Use {@link AsynchUtil#newSerialExecutor()} to obtain an instance.
+ */
+public final class SerialExecutorService extends AbstractExecutorService {
+  private final Queue<Runnable> tasks = new ArrayDeque<Runnable>();
+
+  // All of the following are guarded by tasks.
+  private boolean scheduled = false;  // a drain step is queued or running in the lane
+  private boolean shutdown = false;
+  private Thread worker = null;       // the lane thread running one of our tasks, if any
+
+  private final Runnable step = new Runnable() {
+    @Override
+    public void run() {
+      Runnable task;
+      synchronized (tasks) {
+        task = tasks.poll();
+        if (task == null) {
+          finished();
+          return;
+        }
+        worker = Thread.currentThread();
+      }
+      try {
+        task.run();
+      } finally {
+        synchronized (tasks) {
+          worker = null;
+          if (tasks.isEmpty()) {
+            finished();
+          } else {
+            AsynchUtil.getSerialLane().execute(this);
+          }
+        }
+      }
+    }
+  };
+
+  SerialExecutorService() {
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (command == null) {
+      throw new NullPointerException();
+    }
+    synchronized (tasks) {
+      if (shutdown) {
+        throw new RejectedExecutionException("Executor has been shut down");
+      }
+      tasks.add(command);
+      if (!scheduled) {
+        scheduled = true;
+        AsynchUtil.getSerialLane().execute(step);
+      }
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    synchronized (tasks) {
+      shutdown = true;
+      if (!scheduled) {
+        tasks.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Shuts down this executor, interrupting the running task, if any. Tasks
+   * that have not started are returned and will never run.
+   *
+   * @return the tasks that were waiting to run
+   */
+  @Override
+  public List<Runnable> shutdownNow() {
+    synchronized (tasks) {
+      shutdown = true;
+      List<Runnable> pending = new ArrayList<Runnable>(tasks);
+      tasks.clear();
+      if (worker != null) {
+        worker.interrupt();
+      }
+      if (!scheduled) {
+        tasks.notifyAll();
+      }
+      return pending;
+    }
+  }
+
+  @Override
+  public boolean isShutdown() {
+    synchronized (tasks) {
+      return shutdown;
+    }
+  }
+
+  @Override
+  public boolean isTerminated() {
+    synchronized (tasks) {
+      return shutdown && !scheduled;
+    }
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (tasks) {
+      while (!(shutdown && !scheduled)) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(tasks, remaining);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Gets the number of tasks waiting to run, not counting a running task.
+   *
+   * @return the number of queued tasks
+   */
+  public int getQueuedTaskCount() {
+    synchronized (tasks) {
+      return tasks.size();
+    }
+  }
+
+  // Must be called with the tasks lock held.
+  private void finished() {
+    scheduled = false;
+    tasks.notifyAll();
+  }
+}
@@ -0,0 +1,190 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps recently read sheets of a spreadsheet so that later reads and filters of the same sheet
+ * can be answered without another API call.
+ *
+ * <p>Each change the app makes to a sheet invalidates the copy of that sheet. Because a read may
+ * still be in flight when the sheet changes, callers take the {@link #getVersion() version}
+ * before starting a read and pass it to {@link #put}, which ignores the rows if the sheet has
+ * changed since. Changes made to the spreadsheet by anyone else are only seen once a copy is
+ * older than the maximum age.
+ */
+public final class SheetCache {
+  private static final Pattern A1_RANGE =
+      Pattern.compile("^([A-Za-z]*)([0-9]*)(?::([A-Za-z]*)([0-9]*))?$");
+
+  private static final class Entry {
+    final long time;
+    final List<List<String>> rows;
+
+    Entry(long time, List<List<String>> rows) {
+      this.time = time;
+      this.rows = rows;
+    }
+  }
+
+  private final Map<String, Entry> entries = new HashMap<>();
+  private final Map<String, Long> changed = new HashMap<>();
+  private long version = 0;
+  private long clearedAt = 0;
+  private long maxAge = 0;
+
+  /**
+   * Sets how long a copy of a sheet is used for, in milliseconds. A maximum age of 0 turns the
+   * cache off.
+   */
+  public synchronized void setMaxAge(long maxAge) {
+    this.maxAge = maxAge;
+    if (maxAge <= 0) {
+      clear();
+    }
+  }
+
+  public synchronized long getMaxAge() {
+    return maxAge;
+  }
+
+  public synchronized boolean isEnabled() {
+    return maxAge > 0;
+  }
+
+  /**
+   * Returns the current version, which is passed to {@link #put} once a read started now has
+   * finished.
+   */
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Stores the rows of a sheet read at the given version, unless the sheet has changed since.
+   *
+   * @param sheetName the name of the sheet
+   * @param readVersion the version returned by {@link #getVersion()} before the read started
+   * @param rows the rows of the sheet
+   * @return true if the rows were stored
+   */
+  public synchronized boolean put(String sheetName, long readVersion, List<List<String>> rows) {
+    Long changedAt = changed.get(sheetName);
+    if (maxAge <= 0 || readVersion < clearedAt
+        || (changedAt != null && readVersion < changedAt)) {
+      return false;
+    }
+    entries.put(sheetName, new Entry(System.currentTimeMillis(), rows));
+    return true;
+  }
+
+  /**
+   * Returns the rows of a sheet, or null if the sheet is not cached or its copy is too old.
+   *
+   * @param sheetName the name of the sheet
+   */
+  public synchronized List<List<String>> get(String sheetName) {
+    Entry entry = entries.get(sheetName);
+    if (entry == null) {
+      return null;
+    }
+    if (System.currentTimeMillis() - entry.time >= maxAge) {
+      entries.remove(sheetName);
+      return null;
+    }
+    return entry.rows;
+  }
+
+  /**
+   * Discards the copy of a sheet that the app has changed.
+   *
+   * @param sheetName the name of the sheet
+   */
+  public synchronized void invalidate(String sheetName) {
+    version++;
+    changed.put(sheetName, version);
+    entries.remove(sheetName);
+  }
+
+  /**
+   * Discards the copies of all sheets.
+   */
+  public synchronized void clear() {
+    version++;
+    clearedAt = version;
+    changed.clear();
+    entries.clear();
+  }
+
+  /**
+   * Returns the cells of a sheet within a range, trimmed the way the Sheets API trims the values
+   * it returns: empty cells at the end of a row and empty rows at the end are left out.
+   *
+   * @param rows the rows of the sheet
+   * @param rangeReference the range in A1 notation without the sheet name, such as {@code B2},
+   *     {@code A1:C3}, {@code 3:3} or {@code B:B}
+   * @return the rows of the range, or null if the reference is not understood
+   */
+  public static List<List<String>> getRange(List<List<String>> rows, String rangeReference) {
+    Matcher m = A1_RANGE.matcher(rangeReference.trim());
+    if (!m.matches()) {
+      return null;
+    }
+    String firstColumn = m.group(1);
+    String firstRow = m.group(2);
+    String lastColumn = m.group(3);
+    String lastRow = m.group(4);
+    if (lastColumn == null) {
+      // A single cell needs both its column and its row
+      if (firstColumn.isEmpty() || firstRow.isEmpty()) {
+        return null;
+      }
+      lastColumn = firstColumn;
+      lastRow = firstRow;
+    }
+    int top = firstRow.isEmpty() ? 1 : Integer.parseInt(firstRow);
+    int bottom = lastRow.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(lastRow);
+    int left = firstColumn.isEmpty() ? 1 : getColumnNumber(firstColumn);
+    int right = lastColumn.isEmpty() ? Integer.MAX_VALUE : getColumnNumber(lastColumn);
+    if (top < 1 || top > bottom || left > right) {
+      return null;
+    }
+
+    List<List<String>> result = new ArrayList<>();
+    int lastNonEmpty = 0;
+    for (int r = top; r <= bottom && r <= rows.size(); r++) {
+      List<String> row = rows.get(r - 1);
+      int end = Math.min(right, row.size());
+      while (end >= left && row.get(end - 1).isEmpty()) {
+        end--;
+      }
+      List<String> cells = new ArrayList<>();
+      for (int c = left; c <= end; c++) {
+        cells.add(row.get(c - 1));
+      }
+      result.add(cells);
+      if (!cells.isEmpty()) {
+        lastNonEmpty = result.size();
+      }
+    }
+    return new ArrayList<>(result.subList(0, lastNonEmpty));
+  }
+
+  private static int getColumnNumber(String column) {
+    int number = 0;
+    for (char c : column.toUpperCase(Locale.ENGLISH).toCharArray()) {
+      number = number * 26 + (c - 'A') + 1;
+    }
+    return number;
+  }
+}
@@ -0,0 +1,262 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import android.os.Handler;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Combines the range reads and writes a Spreadsheet component makes into as few Sheets API
+ * calls as possible.
+ *
+ * <p>Reads and writes are queued rather than sent. The queue is sent once the thread of the
+ * handler is free again, which is after the event handler that made the calls returns, so all
+ * of the calls made by one event handler go out together. Calls queued while an earlier batch is
+ * still in flight wait for it and go out in the next batch.
+ *
+ * <p>The queue is sent in order as runs of consecutive reads and runs of consecutive writes.
+ * Each run is one call to the {@link Backend}, so a read queued after a write always sees the
+ * write. Reads of the same range within a run are fetched once. The Sheets API fails a whole
+ * batch of reads if any one of its ranges is bad, so a failed batch of several ranges is read
+ * again one range at a time, and each read succeeds or fails on its own.
+ *
+ * <p>Other calls to the Sheets API, such as adding or removing rows, can be queued with
+ * {@link #run(Runnable)} so that they also happen in the order they were made, between the
+ * reads and writes queued before and after them.
+ */
+public final class SheetValuesBatcher {
+  private static final String LOG_TAG = "SheetValuesBatcher";
+
+  /**
+   * Makes the batched calls to the Sheets API.
+   */
+  public interface Backend {
+    /**
+     * Reads the values of several ranges.
+     *
+     * @param ranges the ranges to read, in A1 notation including the sheet name
+     * @return the values of each range, in the same order as the ranges
+     * @throws Exception if the values cannot be read
+     */
+    List<List<List<Object>>> batchGet(List<String> ranges) throws Exception;
+
+    /**
+     * Writes the values of several ranges.
+     *
+     * @param ranges the ranges to write, in A1 notation including the sheet name
+     * @param values the rows to write to each range, in the same order as the ranges
+     * @throws Exception if the values cannot be written
+     */
+    void batchUpdate(List<String> ranges, List<List<List<Object>>> values) throws Exception;
+  }
+
+  private static final class Operation {
+    final String range;
+    final List<List<Object>> values;  // null for a read
+    final AsyncCallbackPair<List<List<Object>>> readCallback;
+    final AsyncCallbackPair<Void> writeCallback;
+    final Runnable task;  // null for a read or a write
+
+    Operation(String range, List<List<Object>> values,
+        AsyncCallbackPair<List<List<Object>>> readCallback,
+        AsyncCallbackPair<Void> writeCallback, Runnable task) {
+      this.range = range;
+      this.values = values;
+      this.readCallback = readCallback;
+      this.writeCallback = writeCallback;
+      this.task = task;
+    }
+
+    boolean isTask() {
+      return task != null;
+    }
+
+    boolean isRead() {
+      return task == null && values == null;
+    }
+  }
+
+  private final Backend backend;
+  private final Handler handler;
+  private final Executor executor;
+  private List<Operation> pending = new ArrayList<>();
+  private boolean flushScheduled = false;
+
+  private final Runnable flush = new Runnable() {
+    @Override
+    public void run() {
+      final List<Operation> operations;
+      synchronized (SheetValuesBatcher.this) {
+        operations = pending;
+        pending = new ArrayList<>();
+        flushScheduled = false;
+      }
+      if (operations.isEmpty()) {
+        return;
+      }
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          send(operations);
+        }
+      });
+    }
+  };
+
+  /**
+   * Creates a new batcher.
+   *
+   * @param backend the backend that makes the API calls
+   * @param handler the handler whose thread the reads and writes are queued on
+   * @param executor the executor the API calls are made on, which should run one batch at a time
+   *     so that batches are sent in order
+   */
+  public SheetValuesBatcher(Backend backend, Handler handler, Executor executor) {
+    this.backend = backend;
+    this.handler = handler;
+    this.executor = executor;
+  }
+
+  /**
+   * Queues a read of a range.
+   *
+   * @param range the range to read, in A1 notation including the sheet name
+   * @param callback the callback to receive the rows of the range, which is called on a
+   *     background thread
+   */
+  public void read(String range, AsyncCallbackPair<List<List<Object>>> callback) {
+    enqueue(new Operation(range, null, callback, null, null));
+  }
+
+  /**
+   * Queues a write of a range.
+   *
+   * @param range the range to write, in A1 notation including the sheet name
+   * @param values the rows to write to the range
+   * @param callback the callback to be told when the write is done, which is called on a
+   *     background thread
+   */
+  public void write(String range, List<List<Object>> values, AsyncCallbackPair<Void> callback) {
+    enqueue(new Operation(range, values, null, callback, null));
+  }
+
+  /**
+   * Queues a task that makes other calls to the Sheets API. The task runs on the executor after
+   * the reads and writes queued before it have been sent, and before those queued after it.
+   *
+   * @param task the task to run, which reports its own errors
+   */
+  public void run(Runnable task) {
+    enqueue(new Operation(null, null, null, null, task));
+  }
+
+  private synchronized void enqueue(Operation operation) {
+    pending.add(operation);
+    if (!flushScheduled) {
+      flushScheduled = true;
+      handler.post(flush);
+    }
+  }
+
+  private void send(List<Operation> operations) {
+    int start = 0;
+    while (start < operations.size()) {
+      Operation first = operations.get(start);
+      if (first.isTask()) {
+        runTask(first.task);
+        start++;
+        continue;
+      }
+      boolean reads = first.isRead();
+      int end = start + 1;
+      while (end < operations.size() && !operations.get(end).isTask()
+          && operations.get(end).isRead() == reads) {
+        end++;
+      }
+      List<Operation> run = operations.subList(start, end);
+      if (reads) {
+        sendReads(run);
+      } else {
+        sendWrites(run);
+      }
+      start = end;
+    }
+  }
+
+  private static void runTask(Runnable task) {
+    try {
+      task.run();
+    } catch (RuntimeException e) {
+      // Keep sending the rest of the queue
+      Log.e(LOG_TAG, "Error running queued task", e);
+    }
+  }
+
+  private void sendReads(List<Operation> reads) {
+    Map<String, List<Operation>> byRange = new LinkedHashMap<>();
+    for (Operation read : reads) {
+      List<Operation> sameRange = byRange.get(read.range);
+      if (sameRange == null) {
+        sameRange = new ArrayList<>();
+        byRange.put(read.range, sameRange);
+      }
+      sameRange.add(read);
+    }
+    List<String> ranges = new ArrayList<>(byRange.keySet());
+    List<List<List<Object>>> results;
+    try {
+      results = backend.batchGet(ranges);
+    } catch (Exception e) {
+      Log.e(LOG_TAG, "Error reading " + ranges, e);
+      if (ranges.size() == 1) {
+        fail(reads, e.getMessage());
+      } else {
+        for (Map.Entry<String, List<Operation>> entry : byRange.entrySet()) {
+          sendReads(entry.getValue());
+        }
+      }
+      return;
+    }
+    for (Operation read : reads) {
+      int index = ranges.indexOf(read.range);
+      List<List<Object>> values = index < results.size() ? results.get(index) : null;
+      read.readCallback.onSuccess(values == null ? new ArrayList<List<Object>>() : values);
+    }
+  }
+
+  private static void fail(List<Operation> reads, String message) {
+    for (Operation read : reads) {
+      read.readCallback.onFailure(message);
+    }
+  }
+
+  private void sendWrites(List<Operation> writes) {
+    List<String> ranges = new ArrayList<>();
+    List<List<List<Object>>> values = new ArrayList<>();
+    for (Operation write : writes) {
+      ranges.add(write.range);
+      values.add(write.values);
+    }
+    try {
+      backend.batchUpdate(ranges, values);
+    } catch (Exception e) {
+      Log.e(LOG_TAG, "Error writing " + ranges, e);
+      for (Operation write : writes) {
+        write.writeCallback.onFailure(e.getMessage());
+      }
+      return;
+    }
+    for (Operation write : writes) {
+      write.writeCallback.onSuccess(null);
+    }
+  }
+}
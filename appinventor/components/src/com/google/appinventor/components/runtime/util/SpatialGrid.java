@@ -0,0 +1,246 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid used as a broad-phase spatial index. Each item is stored in
+ * every cell its axis-aligned bounding box overlaps, so a query only needs to
+ * look at the items in the cells overlapping the query rectangle rather than
+ * at every item in the index.
+ *
+ * <p>Updating an item whose bounding box still covers the same cells does not
+ * allocate, which is the common case for sprites that move a few pixels per
+ * step. Items whose bounding boxes would cover more than {@link #MAX_CELLS}
+ * cells, or are not finite, are kept in a separate list instead and are
+ * returned by every query. This class is not thread safe; it is meant to be
+ * used from the UI thread only.
+ *
+ * @param <T> the type of the items stored in the grid
+ */
+public final class SpatialGrid<T> {
+  /**
+   * The largest number of cells an item is stored in. Larger items are kept in
+   * the overflow list, which saves walking a huge range of cells whenever they
+   * move.
+   */
+  public static final int MAX_CELLS = 256;
+
+  // Cell indices further from the origin than this are treated as out of
+  // range, which keeps every index and count well within an int.
+  private static final double MAX_CELL_INDEX = 1 << 30;
+
+  private final double cellSize;
+
+  // Items in each occupied cell, keyed by the packed (column, row) pair.
+  private final Map<Long, List<T>> cells = new HashMap<Long, List<T>>();
+
+  // The range of cells currently occupied by each item, stored as
+  // {minColumn, minRow, maxColumn, maxRow}.
+  private final Map<T, int[]> ranges = new HashMap<T, int[]>();
+
+  // Items that are too large for the cells, or whose bounds are not finite.
+  private final List<T> overflow = new ArrayList<T>();
+
+  /**
+   * Creates a new, empty grid.
+   *
+   * @param cellSize the width and height of a grid cell, in pixels
+   */
+  public SpatialGrid(double cellSize) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("cellSize must be positive");
+    }
+    this.cellSize = cellSize;
+  }
+
+  /**
+   * Inserts the given item into the grid, or moves it if it is already present.
+   * All coordinates are inclusive.
+   *
+   * @param item the item to insert or move
+   * @param left leftmost x-coordinate of the item's bounding box
+   * @param top topmost y-coordinate of the item's bounding box
+   * @param right rightmost x-coordinate of the item's bounding box
+   * @param bottom bottommost y-coordinate of the item's bounding box
+   */
+  public void update(T item, double left, double top, double right, double bottom) {
+    double minX = Math.min(left, right);
+    double minY = Math.min(top, bottom);
+    double maxX = Math.max(left, right);
+    double maxY = Math.max(top, bottom);
+    if (!fitsCells(minX, minY, maxX, maxY)) {
+      int[] range = ranges.remove(item);
+      if (range != null) {
+        removeFromCells(item, range);
+      }
+      if (!overflow.contains(item)) {
+        overflow.add(item);
+      }
+      return;
+    }
+    int minColumn = cell(minX);
+    int minRow = cell(minY);
+    int maxColumn = cell(maxX);
+    int maxRow = cell(maxY);
+    int[] range = ranges.get(item);
+    if (range != null) {
+      if (range[0] == minColumn && range[1] == minRow
+          && range[2] == maxColumn && range[3] == maxRow) {
+        return;
+      }
+      removeFromCells(item, range);
+    } else {
+      overflow.remove(item);
+      range = new int[4];
+      ranges.put(item, range);
+    }
+    range[0] = minColumn;
+    range[1] = minRow;
+    range[2] = maxColumn;
+    range[3] = maxRow;
+    for (int column = minColumn; column <= maxColumn; column++) {
+      for (int row = minRow; row <= maxRow; row++) {
+        Long key = key(column, row);
+        List<T> items = cells.get(key);
+        if (items == null) {
+          items = new ArrayList<T>(4);
+          cells.put(key, items);
+        }
+        items.add(item);
+      }
+    }
+  }
+
+  /**
+   * Removes the given item from the grid. Removing an item that is not in the
+   * grid has no effect.
+   *
+   * @param item the item to remove
+   */
+  public void remove(T item) {
+    int[] range = ranges.remove(item);
+    if (range != null) {
+      removeFromCells(item, range);
+    } else {
+      overflow.remove(item);
+    }
+  }
+
+  /**
+   * Tests whether the given item has been inserted into the grid.
+   *
+   * @param item the item to look for
+   * @return {@code true} if the item is in the grid, otherwise {@code false}
+   */
+  public boolean contains(T item) {
+    return ranges.containsKey(item) || overflow.contains(item);
+  }
+
+  /**
+   * Gets the number of items in the grid.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    return ranges.size() + overflow.size();
+  }
+
+  /**
+   * Removes all items from the grid.
+   */
+  public void clear() {
+    cells.clear();
+    ranges.clear();
+    overflow.clear();
+  }
+
+  /**
+   * Adds to {@code result} every item whose cells overlap the given rectangle.
+   * The result is a superset of the items whose bounding boxes overlap the
+   * rectangle; callers are expected to perform an exact test on each
+   * candidate. Items spanning several cells are added once per cell, so
+   * callers wanting each candidate once should pass a {@link java.util.Set}.
+   * All coordinates are inclusive.
+   *
+   * @param left leftmost x-coordinate of the query rectangle
+   * @param top topmost y-coordinate of the query rectangle
+   * @param right rightmost x-coordinate of the query rectangle
+   * @param bottom bottommost y-coordinate of the query rectangle
+   * @param result the collection receiving the candidates
+   */
+  public void query(double left, double top, double right, double bottom,
+      Collection<? super T> result) {
+    result.addAll(overflow);
+    double minX = Math.min(left, right);
+    double minY = Math.min(top, bottom);
+    double maxX = Math.max(left, right);
+    double maxY = Math.max(top, bottom);
+    if (!fitsCells(minX, minY, maxX, maxY)) {
+      // Going through the occupied cells is cheaper than through the range.
+      for (List<T> items : cells.values()) {
+        result.addAll(items);
+      }
+      return;
+    }
+    int minColumn = cell(minX);
+    int minRow = cell(minY);
+    int maxColumn = cell(maxX);
+    int maxRow = cell(maxY);
+    for (int column = minColumn; column <= maxColumn; column++) {
+      for (int row = minRow; row <= maxRow; row++) {
+        List<T> items = cells.get(key(column, row));
+        if (items != null) {
+          result.addAll(items);
+        }
+      }
+    }
+  }
+
+  private void removeFromCells(T item, int[] range) {
+    for (int column = range[0]; column <= range[2]; column++) {
+      for (int row = range[1]; row <= range[3]; row++) {
+        Long key = key(column, row);
+        List<T> items = cells.get(key);
+        if (items != null) {
+          items.remove(item);
+          if (items.isEmpty()) {
+            cells.remove(key);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests whether a rectangle is finite and covers at most {@link #MAX_CELLS}
+   * cells.
+   */
+  private boolean fitsCells(double minX, double minY, double maxX, double maxY) {
+    // Written so that NaN coordinates fail the test.
+    if (!(Math.abs(minX / cellSize) < MAX_CELL_INDEX && Math.abs(maxX / cellSize) < MAX_CELL_INDEX
+        && Math.abs(minY / cellSize) < MAX_CELL_INDEX
+        && Math.abs(maxY / cellSize) < MAX_CELL_INDEX)) {
+      return false;
+    }
+    long columns = (long) cell(maxX) - cell(minX) + 1;
+    long rows = (long) cell(maxY) - cell(minY) + 1;
+    return columns * rows <= MAX_CELLS;
+  }
+
+  private int cell(double coordinate) {
+    return (int) Math.floor(coordinate / cellSize);
+  }
+
+  private static Long key(int column, int row) {
+    return ((long) column << 32) | (row & 0xFFFFFFFFL);
+  }
+}
@@ -0,0 +1,223 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import android.os.Debug;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A profiler for blocks run by the MIT AI2 Companion. While it is running, the time spent in, and
+ * the memory allocated by, each block evaluated from the Blocks Editor and each event handler is
+ * added up. Once a second the totals are sent to the Blocks Editor through the
+ * {@link RetValManager} and reset.
+ *
+ * <p>Blocks evaluated from the Blocks Editor are identified by their block id, and event handlers
+ * by the name of the component and the event, such as {@code Button1.Click}. Times include the
+ * time spent in any event handlers the block caused to run.
+ *
+ * <p>The profiler is started and stopped from the Blocks Editor with
+ * {@code (YailProfiler:start)} and {@code (YailProfiler:stop)}. When it is not running, the cost
+ * of the hooks is a field read.
+ */
+public final class YailProfiler {
+  private static final String LOG_TAG = YailProfiler.class.getSimpleName();
+
+  // How often the totals are sent to the Blocks Editor.
+  private static final long REPORT_INTERVAL_MS = 1000;
+
+  private static volatile boolean enabled = false;
+
+  // The totals since the last report, by block. Guarded by stats.
+  private static final Map<String, Stats> stats = new HashMap<String, Stats>();
+
+  private static Handler handler;
+
+  private static final Runnable report = new Runnable() {
+      @Override
+      public void run() {
+        if (enabled) {
+          sendReport();
+          handler.postDelayed(this, REPORT_INTERVAL_MS);
+        }
+      }
+    };
+
+  /**
+   * The totals for one block.
+   */
+  static final class Stats {
+    int count;
+    long totalNanos;
+    long maxNanos;
+    long allocatedBytes;
+
+    JSONObject toJson(String key) throws JSONException {
+      JSONObject json = new JSONObject();
+      json.put("key", key);
+      json.put("count", count);
+      json.put("totalMs", totalNanos / 1e6);
+      json.put("maxMs", maxNanos / 1e6);
+      json.put("allocatedBytes", allocatedBytes);
+      return json;
+    }
+  }
+
+  /**
+   * The start of a measurement, as returned by {@link #begin()}.
+   */
+  public static final class Sample {
+    private final long startNanos;
+    private final long startAllocatedBytes;
+
+    private Sample(long startNanos, long startAllocatedBytes) {
+      this.startNanos = startNanos;
+      this.startAllocatedBytes = startAllocatedBytes;
+    }
+  }
+
+  private YailProfiler() {
+  }
+
+  /**
+   * Starts profiling. Must be called on the UI thread.
+   */
+  @SuppressWarnings("deprecation")  // Allocation counting is deprecated but still supported.
+  public static void start() {
+    if (enabled) {
+      return;
+    }
+    synchronized (stats) {
+      stats.clear();
+    }
+    Debug.startAllocCounting();
+    enabled = true;
+    if (handler == null) {
+      handler = new Handler(Looper.getMainLooper());
+    }
+    handler.postDelayed(report, REPORT_INTERVAL_MS);
+    Log.i(LOG_TAG, "Profiling started");
+  }
+
+  /**
+   * Stops profiling and sends what has been measured since the last report. Must be called on
+   * the UI thread.
+   */
+  @SuppressWarnings("deprecation")
+  public static void stop() {
+    if (!enabled) {
+      return;
+    }
+    enabled = false;
+    handler.removeCallbacks(report);
+    Debug.stopAllocCounting();
+    sendReport();
+    Log.i(LOG_TAG, "Profiling stopped");
+  }
+
+  /**
+   * Returns whether the profiler is running.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts measuring a block.
+   *
+   * @return the start of the measurement, to pass to {@link #end(Sample, String)}, or null if
+   *     the profiler is not running
+   */
+  @SuppressWarnings("deprecation")
+  public static Sample begin() {
+    if (!enabled) {
+      return null;
+    }
+    return new Sample(System.nanoTime(), Debug.getThreadAllocSize());
+  }
+
+  /**
+   * Finishes measuring a block and adds the measurement to its totals.
+   *
+   * @param sample the start of the measurement, as returned by {@link #begin()}
+   * @param key the block id, or the name of the event handler
+   */
+  @SuppressWarnings("deprecation")
+  public static void end(Sample sample, String key) {
+    if (sample == null || !enabled) {
+      return;
+    }
+    long nanos = System.nanoTime() - sample.startNanos;
+    // The allocation counter is per thread, so this is only right when begin and end are called
+    // on the same thread, which is always the case for blocks and event handlers.
+    long allocated = Math.max(0, Debug.getThreadAllocSize() - sample.startAllocatedBytes);
+    record(key, nanos, allocated);
+  }
+
+  static void record(String key, long nanos, long allocatedBytes) {
+    synchronized (stats) {
+      Stats entry = stats.get(key);
+      if (entry == null) {
+        entry = new Stats();
+        stats.put(key, entry);
+      }
+      entry.count++;
+      entry.totalNanos += nanos;
+      entry.maxNanos = Math.max(entry.maxNanos, nanos);
+      entry.allocatedBytes += allocatedBytes;
+    }
+  }
+
+  /**
+   * Takes the totals since the last report, most expensive first, and resets them.
+   *
+   * @return the totals, as a JSON array of objects with the fields key, count, totalMs, maxMs
+   *     and allocatedBytes
+   */
+  static JSONArray takeReport() {
+    Map<String, Stats> snapshot;
+    synchronized (stats) {
+      snapshot = new HashMap<String, Stats>(stats);
+      stats.clear();
+    }
+    List<Map.Entry<String, Stats>> entries =
+        new ArrayList<Map.Entry<String, Stats>>(snapshot.entrySet());
+    Collections.sort(entries, new Comparator<Map.Entry<String, Stats>>() {
+      @Override
+      public int compare(Map.Entry<String, Stats> a, Map.Entry<String, Stats> b) {
+        return Long.valueOf(b.getValue().totalNanos).compareTo(a.getValue().totalNanos);
+      }
+    });
+    JSONArray report = new JSONArray();
+    for (Map.Entry<String, Stats> entry : entries) {
+      try {
+        report.put(entry.getValue().toJson(entry.getKey()));
+      } catch (JSONException e) {
+        Log.e(LOG_TAG, "Error building profile for " + entry.getKey(), e);
+      }
+    }
+    return report;
+  }
+
+  private static void sendReport() {
+    JSONArray report = takeReport();
+    if (report.length() > 0) {
+      RetValManager.sendProfile(report);
+    }
+  }
+}
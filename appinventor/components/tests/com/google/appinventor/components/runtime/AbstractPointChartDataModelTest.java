@@ -98,6 +98,36 @@ public abstract class AbstractPointChartDataModelTest
     findEntryIndexHelper(tuples, searchEntry, expectedIndex);
   }
 
+  /**
+   * Test to ensure that entries imported out of order can be looked
+   * up by x value, including entries that share an x value.
+   */
+  @Test
+  public void testLookupsAfterUnorderedImport() {
+    ArrayList<YailList> tuples = new ArrayList<YailList>() {{
+        add(createTuple(5f, 1f));
+        add(createTuple(-2f, 4f));
+        add(createTuple(3f, 2f));
+        add(createTuple(5f, 7f));
+        add(createTuple(0f, 0f));
+      }};
+    model.importFromList(tuples);
+
+    YailList xFive = model.findEntriesByCriterion("5", DataModel.EntryCriterion.XValue);
+    assertEquals(2, xFive.size());
+    assertEquals(0, model.findEntriesByCriterion("4", DataModel.EntryCriterion.XValue).size());
+    assertEquals(0, model.findEntriesByCriterion("abc", DataModel.EntryCriterion.XValue).size());
+
+    assertEquals(0, model.findEntryIndex(createEntry(-2f, 4f)));
+    assertEquals(4, model.findEntryIndex(createEntry(5f, 7f)));
+    assertEquals(-1, model.findEntryIndex(createEntry(5f, 2f)));
+    assertEquals(-1, model.findEntryIndex(createEntry(6f, 1f)));
+
+    model.removeEntryFromTuple(createTuple(5f, 1f));
+    assertEquals(false, model.doesEntryExist(createTuple(5f, 1f)));
+    assertEquals(true, model.doesEntryExist(createTuple(5f, 7f)));
+  }
+
   @Override
   protected Entry createEntry(Object... entries) {
     float x = (float) entries[0];
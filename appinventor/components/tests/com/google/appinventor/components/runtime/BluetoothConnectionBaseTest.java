@@ -7,16 +7,21 @@
 package com.google.appinventor.components.runtime;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.appinventor.components.common.Framing;
 
 import com.google.appinventor.components.runtime.util.ErrorMessages;
 import com.google.appinventor.components.runtime.util.YailList;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -35,22 +40,17 @@ public class BluetoothConnectionBaseTest extends RobolectricTestBase {
   private BluetoothConnectionBase connection;
   private ByteArrayOutputStream outputStream;
   private int recordedErrorNumber;
-  private PipedOutputStream pipe;
+  private LoopbackInputStream pipe;
+  private final List<Object> receivedFrames = Collections.synchronizedList(new ArrayList<>());
 
   @Override
   public void setUp() {
     super.setUp();
 
     outputStream = new ByteArrayOutputStream();
-    pipe = new PipedOutputStream();
-    PipedInputStream inputStream;
-    try {
-      inputStream = new PipedInputStream(pipe);
-    } catch (IOException e) {
-      throw new IllegalStateException("Unable to create piped input stream");
-    }
+    pipe = new LoopbackInputStream();
 
-    connection = new BluetoothConnectionBase(outputStream, inputStream) {
+    connection = new BluetoothConnectionBase(outputStream, pipe) {
       @Override
       protected void bluetoothError(String functionName, int errorNumber, Object... messageArgs) {
         recordedErrorNumber = errorNumber;
@@ -59,30 +59,71 @@ public class BluetoothConnectionBaseTest extends RobolectricTestBase {
       @Override
       protected void write(String functionName, byte b) {
         super.write(functionName, b);
-        try {
-          pipe.write(b);
-        } catch (IOException e) {
-          throw new RuntimeException(e);
-        }
+        pipe.write(new byte[] { b });
       }
 
       @Override
       protected void write(String functionName, byte[] bytes) {
         super.write(functionName, bytes);
-        try {
-          pipe.write(bytes);
-        } catch (IOException e) {
-          throw new RuntimeException(e);
-        }
+        pipe.write(bytes);
       }
 
       @Override
       public boolean IsConnected() {
         return true;
       }
+
+      @Override
+      public void FramesReceived(List<Object> frames) {
+        receivedFrames.addAll(frames);
+      }
     };
   }
 
+  @Test
+  public void testReceiveFrames() throws InterruptedException {
+    connection.DelimiterByte(10);
+    connection.StartReceivingFrames(Framing.Delimiter.toUnderlyingValue(), 0);
+    assertTrue(connection.ReceivingFrames());
+    connection.SendText("12\n3");
+    connection.SendText("4\n");
+    awaitFrames(2);
+    assertEquals("12", receivedFrames.get(0));
+    assertEquals("34", receivedFrames.get(1));
+
+    // The Receive methods can't be used while frames are being received.
+    assertEquals("", connection.ReceiveText(-1));
+    assertEquals(ErrorMessages.ERROR_BLUETOOTH_RECEIVING_FRAMES, recordedErrorNumber);
+    recordedErrorNumber = 0;
+
+    receivedFrames.clear();
+    connection.HighByteFirst(true);
+    connection.StartReceivingFrames(Framing.LengthPrefixed.toUnderlyingValue(), 2);
+    connection.Send2ByteNumber("2");
+    connection.Send1ByteNumber("200");
+    connection.Send1ByteNumber("7");
+    awaitFrames(1);
+    assertEquals(Arrays.asList(200, 7), receivedFrames.get(0));
+
+    // Data that arrives after frames stop being received is left for the Receive methods.
+    connection.StopReceivingFrames();
+    assertFalse(connection.ReceivingFrames());
+    connection.SendText("Hello");
+    assertEquals("Hello", connection.ReceiveText(5));
+    assertEquals(0, recordedErrorNumber);
+
+    connection.StartReceivingFrames(Framing.LengthPrefixed.toUnderlyingValue(), 3);
+    assertEquals(ErrorMessages.ERROR_BLUETOOTH_INVALID_FRAMING, recordedErrorNumber);
+    assertFalse(connection.ReceivingFrames());
+  }
+
+  private void awaitFrames(int count) throws InterruptedException {
+    // Once the frame reader is waiting for more bytes, it has posted the frames it decoded
+    pipe.awaitDrained();
+    runAllEvents();
+    assertEquals(count, receivedFrames.size());
+  }
+
   @Test
   public void testSendAndReceiveText() {
     connection.SendText("Hello");
@@ -481,4 +522,67 @@ public class BluetoothConnectionBaseTest extends RobolectricTestBase {
     assertEquals((byte) 0xFF, bytes[i++]);  // 0xFF
     assertEquals((byte) 0xAB, bytes[i++]);  // 0xab
   }
+
+  /**
+   * An input stream of the bytes written to it, whose reads block until there are bytes to
+   * read, like those of a socket. Unlike a PipedInputStream, it can be read by any thread, such
+   * as the frame reader of the connection, not just the last thread to read it.
+   */
+  private static class LoopbackInputStream extends InputStream {
+    private byte[] bytes = new byte[0];
+    private int position = 0;
+    private boolean readerWaiting = false;
+
+    synchronized void write(byte[] more) {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      buffer.write(bytes, position, bytes.length - position);
+      buffer.write(more, 0, more.length);
+      bytes = buffer.toByteArray();
+      position = 0;
+      notifyAll();
+    }
+
+    /**
+     * Waits until every byte written has been read and a reader is waiting for more.
+     */
+    synchronized void awaitDrained() throws InterruptedException {
+      while (!(readerWaiting && position == bytes.length)) {
+        wait();
+      }
+    }
+
+    private void awaitBytes() throws InterruptedIOException {
+      while (position == bytes.length) {
+        readerWaiting = true;
+        notifyAll();
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException();
+        } finally {
+          readerWaiting = false;
+        }
+      }
+    }
+
+    @Override
+    public synchronized int read() throws InterruptedIOException {
+      awaitBytes();
+      return bytes[position++] & 0xFF;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws InterruptedIOException {
+      awaitBytes();
+      int count = Math.min(len, bytes.length - position);
+      System.arraycopy(bytes, position, b, off, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public synchronized int available() {
+      return bytes.length - position;
+    }
+  }
 }
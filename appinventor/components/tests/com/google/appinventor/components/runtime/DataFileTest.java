@@ -437,6 +437,47 @@ public class DataFileTest extends FileTestBase {
     assertEquals(expected, result);
   }
 
+  /**
+   * Test to ensure that FilterRows compares numeric columns as numbers
+   * and returns the matching rows without the row of column names.
+   */
+  @Test
+  public void testFilterRows() {
+    loadTestCsvFile();
+    YailList expected = YailList.makeList(Arrays.asList(
+        YailList.makeList(Arrays.asList("2", "3", "4")),
+        YailList.makeList(Arrays.asList("3", "4", "5"))));
+    assertEquals(expected, dataFile.FilterRows("Y", ">=", "3.0"));
+    assertEquals(new YailList(), dataFile.FilterRows("W", "=", "1"));
+  }
+
+  /**
+   * Test to ensure that SelectColumns returns the named columns in the
+   * given order, and that ColumnValues returns numbers for numeric columns.
+   */
+  @Test
+  public void testSelectColumnsAndColumnValues() {
+    loadTestCsvFile();
+    YailList expected = YailList.makeList(Arrays.asList(
+        YailList.makeList(Arrays.asList("Z", "3", "4", "5")),
+        YailList.makeList(Arrays.asList("X", "1", "2", "3"))));
+    assertEquals(expected, dataFile.SelectColumns(YailList.makeList(Arrays.asList("Z", "X"))));
+    assertEquals(YailList.makeList(Arrays.asList(2.0, 3.0, 4.0)), dataFile.ColumnValues("Y"));
+  }
+
+  /**
+   * Test to ensure that AggregateColumn combines the numbers of a column.
+   */
+  @Test
+  public void testAggregateColumn() {
+    loadTestCsvFile();
+    assertEquals(6.0, dataFile.AggregateColumn("X", "sum"));
+    assertEquals(4.0, dataFile.AggregateColumn("Z", "average"));
+    assertEquals(2.0, dataFile.AggregateColumn("Y", "minimum"));
+    assertEquals(3.0, dataFile.AggregateColumn("X", "count"));
+    assertTrue(Double.isNaN(dataFile.AggregateColumn("W", "maximum")));
+  }
+
   /**
    * Helper method to load a test CSV file for the tests.
    */
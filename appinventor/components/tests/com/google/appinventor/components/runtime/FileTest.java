@@ -30,6 +30,7 @@ import com.google.appinventor.components.runtime.util.ErrorMessages;
 import com.google.appinventor.components.runtime.util.FileUtil;
 import com.google.appinventor.components.runtime.util.IOUtils;
 import com.google.appinventor.components.runtime.util.QUtil;
+import com.google.appinventor.components.runtime.util.YailList;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -39,6 +40,8 @@ import java.net.URI;
 
 import java.nio.charset.StandardCharsets;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Before;
@@ -168,6 +171,49 @@ public class FileTest extends FileTestBase {
     });
   }
 
+  @Test
+  public void testReadLines() {
+    file.SaveFile("a\nb\r\nc", "test.txt");
+    runAllAsynchronousCommandsAndEvents();
+    file.ReadLines("test.txt", 2, 5);
+    runAllAsynchronousCommandsAndEvents();
+    ShadowEventDispatcher.assertEventFired(file, "GotLines", "test.txt", 2,
+        Arrays.asList("b", "c"));
+
+    // Changing the file invalidates what was learned about its lines
+    file.SaveFile("x\ny\n", "test.txt");
+    runAllAsynchronousCommandsAndEvents();
+    file.ReadLines("test.txt", 2, 1);
+    runAllAsynchronousCommandsAndEvents();
+    ShadowEventDispatcher.assertEventFired(file, "GotLines", "test.txt", 2,
+        Collections.singletonList("y"));
+  }
+
+  @Test
+  public void testReadLinesInvalidRange() {
+    file.ReadLines("test.txt", 0, 1);
+    assertErrorOccurred(ErrorMessages.ERROR_INVALID_LINE_RANGE);
+  }
+
+  @Test
+  public void testCsvTable() {
+    YailList table = YailList.makeList(Arrays.asList(
+        YailList.makeList(Arrays.asList("name", "note")),
+        YailList.makeList(Arrays.asList("a;b", "say \"hi\""))));
+    file.SaveCsvTable(table, "test.csv", ";");
+    runAllAsynchronousCommandsAndEvents();
+    ShadowEventDispatcher.assertEventFired(file, "AfterFileSaved", "test.csv");
+    file.ReadCsvTable("test.csv", ";");
+    runAllAsynchronousCommandsAndEvents();
+    ShadowEventDispatcher.assertEventFired(file, "GotCsvTable", "test.csv", table);
+  }
+
+  @Test
+  public void testCsvTableInvalidDelimiter() {
+    file.ReadCsvTable("test.csv", ",;");
+    assertErrorOccurred(ErrorMessages.ERROR_INVALID_CSV_DELIMITER);
+  }
+
   @SuppressWarnings("deprecation")
   @Test
   public void testLegacyMode() {
@@ -9,7 +9,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import com.google.appinventor.components.common.StorageBackend;
+import com.google.appinventor.components.runtime.util.YailDictionary;
+import com.google.appinventor.components.runtime.util.YailList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -79,4 +83,61 @@ public class TinyDBTest extends RobolectricTestBase {
     assertEquals("Invalid TinyDB StoreValue","test-value-3",
         aTinyDB.GetValue("test-tag-3", "tag-not-found"));
   }
+
+  @Test
+  public void testStoreValuesAndGetValues() {
+    YailDictionary values = new YailDictionary();
+    values.put("test-tag-3", "test-value-3");
+    values.put("test-tag-1", 42);
+    aTinyDB.StoreValues(values);
+    assertEquals(YailList.makeList(Arrays.asList(42, "test-value-3", "tag-not-found")),
+        aTinyDB.GetValues(YailList.makeList(Arrays.asList("test-tag-1", "test-tag-3", "nope")),
+            "tag-not-found"));
+  }
+
+  @Test
+  public void testCommitTransaction() {
+    aTinyDB.BeginTransaction();
+    aTinyDB.StoreValue("test-tag-3", "test-value-3");
+    aTinyDB.ClearTag("test-tag-1");
+    // The transaction sees its own changes, but other TinyDBs do not
+    TinyDB other = new TinyDB(getForm());
+    assertEquals(Arrays.asList("test-tag-2", "test-tag-3"), aTinyDB.GetTags());
+    assertEquals(Arrays.asList("test-tag-1", "test-tag-2"), other.GetTags());
+    aTinyDB.CommitTransaction();
+    assertEquals(Arrays.asList("test-tag-2", "test-tag-3"), other.GetTags());
+    assertEquals("test-value-3", other.GetValue("test-tag-3", "tag-not-found"));
+  }
+
+  @Test
+  public void testRollbackTransaction() {
+    aTinyDB.BeginTransaction();
+    aTinyDB.ClearAll();
+    aTinyDB.StoreValue("test-tag-3", "test-value-3");
+    assertEquals(Arrays.asList("test-tag-3"), aTinyDB.GetTags());
+    aTinyDB.RollbackTransaction();
+    assertEquals(Arrays.asList("test-tag-1", "test-tag-2"), aTinyDB.GetTags());
+    assertEquals("tag-not-found", aTinyDB.GetValue("test-tag-3", "tag-not-found"));
+  }
+
+  @Test
+  public void testDatabaseStorage() {
+    // A new database starts with the entries stored in the preferences
+    aTinyDB.Storage(StorageBackend.Database);
+    assertEquals(StorageBackend.Database, aTinyDB.Storage());
+    assertEquals(Arrays.asList("test-tag-1", "test-tag-2"), aTinyDB.GetTags());
+
+    aTinyDB.StoreValue("test-tag-3", YailList.makeList(Arrays.asList(1, 2)));
+    aTinyDB.ClearTag("test-tag-1");
+    TinyDB other = new TinyDB(getForm());
+    other.Storage("Database");
+    assertEquals(Arrays.asList("test-tag-2", "test-tag-3"), other.GetTags());
+    assertEquals("[1, 2]", other.GetValue("test-tag-3", "tag-not-found").toString());
+
+    // After that, the preferences and the database are separate
+    aTinyDB.Storage(StorageBackend.Preferences);
+    assertEquals(Arrays.asList("test-tag-1", "test-tag-2"), aTinyDB.GetTags());
+    other.ClearAll();
+    assertEquals(new ArrayList<String>(), other.GetTags());
+  }
 }
@@ -16,12 +16,18 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -244,4 +250,63 @@ public class WebTest {
       assertEquals(4, e.index);
     }
   }
+
+  @Test
+  public void testGetResponseContentGzip() throws Exception {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+    gzip.write("{\"greeting\": \"h\u00e9llo\"}".getBytes("UTF-8"));
+    gzip.close();
+    HttpURLConnection connection = new FakeConnection(compressed.toByteArray(), "gzip");
+    assertEquals("{\"greeting\": \"h\u00e9llo\"}", Web.getResponseContent(connection, "UTF-8"));
+  }
+
+  @Test
+  public void testGetResponseContentUsesEncodingProperty() throws Exception {
+    HttpURLConnection connection =
+        new FakeConnection("h\u00e9llo".getBytes("ISO-8859-1"), null);
+    assertEquals("h\u00e9llo", Web.getResponseContent(connection, "ISO-8859-1"));
+  }
+
+  /**
+   * A connection that returns a fixed response body without touching the network.
+   */
+  private static class FakeConnection extends HttpURLConnection {
+    private final byte[] body;
+    private final String contentEncoding;
+
+    FakeConnection(byte[] body, String contentEncoding) throws Exception {
+      super(new URL("http://localhost/"));
+      this.body = body;
+      this.contentEncoding = contentEncoding;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public String getContentEncoding() {
+      return contentEncoding;
+    }
+
+    @Override
+    public int getContentLength() {
+      return -1;
+    }
+
+    @Override
+    public void connect() {
+    }
+
+    @Override
+    public void disconnect() {
+    }
+
+    @Override
+    public boolean usingProxy() {
+      return false;
+    }
+  }
 }
@@ -0,0 +1,35 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.benchmarks;
+
+/**
+ * An operation whose time is measured by the {@link BenchmarkRunner}. The operation is run
+ * many times in a row, so it should not change any state that later runs depend on.
+ */
+public abstract class Benchmark {
+  private final String name;
+
+  /**
+   * Creates a benchmark.
+   *
+   * @param name the name of the benchmark in results and reports, such as "YailList.get"
+   */
+  protected Benchmark(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Runs the operation once.
+   *
+   * @param blackhole consumes the result of the operation
+   * @throws Exception if the operation fails, which ends the benchmark run
+   */
+  public abstract void run(Blackhole blackhole) throws Exception;
+}
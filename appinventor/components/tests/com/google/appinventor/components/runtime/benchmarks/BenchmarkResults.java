@@ -0,0 +1,209 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The scores of a run of benchmarks, which can be saved as JSON and compared with the scores of
+ * an earlier run.
+ *
+ * <p>Raw times depend on the machine that ran the benchmarks, so the results include the score
+ * of a calibration benchmark that runs the same fixed work on every machine. Comparisons use
+ * each score relative to the calibration score of its own run, so a baseline recorded on one
+ * machine remains meaningful on another.
+ */
+public final class BenchmarkResults {
+  /**
+   * The name of the benchmark whose score the other scores are compared relative to.
+   */
+  public static final String CALIBRATION = "Calibration";
+
+  private static final String SCORE = "score";
+  private static final String ERROR = "error";
+
+  /**
+   * The score of one benchmark.
+   */
+  public static final class Result {
+    private final String name;
+    private final double score;
+    private final double error;
+
+    Result(String name, double score, double error) {
+      this.name = name;
+      this.score = score;
+      this.error = error;
+    }
+
+    /**
+     * Makes a result from the time per operation of each measured iteration.
+     */
+    static Result fromSamples(String name, double[] samples) {
+      double[] sorted = samples.clone();
+      Arrays.sort(sorted);
+      // A standard deviation would be as large as the score after one slow iteration
+      double spread = quantile(sorted, 0.75) - quantile(sorted, 0.25);
+      return new Result(name, quantile(sorted, 0.5), spread);
+    }
+
+    /**
+     * Returns the value below which the given fraction of the sorted values lie, interpolating
+     * between the two nearest values.
+     */
+    static double quantile(double[] sorted, double fraction) {
+      double position = fraction * (sorted.length - 1);
+      int below = (int) Math.floor(position);
+      int above = Math.min(below + 1, sorted.length - 1);
+      return sorted[below] + (position - below) * (sorted[above] - sorted[below]);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Returns the median time per operation, in nanoseconds.
+     */
+    public double getScore() {
+      return score;
+    }
+
+    /**
+     * Returns the interquartile range of the time per operation, in nanoseconds.
+     */
+    public double getError() {
+      return error;
+    }
+  }
+
+  private final Map<String, Result> results = new LinkedHashMap<>();
+
+  public void add(Result result) {
+    results.put(result.getName(), result);
+  }
+
+  public Result get(String name) {
+    return results.get(name);
+  }
+
+  public Collection<Result> getResults() {
+    return results.values();
+  }
+
+  /**
+   * Writes the results as a JSON object whose keys are the benchmark names.
+   */
+  public String toJson() throws JSONException {
+    JSONObject json = new JSONObject();
+    for (Result result : results.values()) {
+      JSONObject entry = new JSONObject();
+      entry.put(SCORE, round(result.getScore()));
+      entry.put(ERROR, round(result.getError()));
+      json.put(result.getName(), entry);
+    }
+    return json.toString(2);
+  }
+
+  /**
+   * Reads results written by {@link #toJson()}.
+   */
+  public static BenchmarkResults fromJson(String text) throws JSONException {
+    BenchmarkResults results = new BenchmarkResults();
+    JSONObject json = new JSONObject(text);
+    Iterator<?> names = json.keys();
+    while (names.hasNext()) {
+      String name = (String) names.next();
+      JSONObject entry = json.getJSONObject(name);
+      results.add(new Result(name, entry.getDouble(SCORE), entry.optDouble(ERROR, 0)));
+    }
+    return results;
+  }
+
+  /**
+   * Compares these results with a baseline.
+   *
+   * @param baseline the results to compare with
+   * @param threshold the fraction by which a relative score must grow to count as a regression,
+   *     or shrink to count as an improvement, which it must also do by more than the errors of
+   *     the two scores
+   * @return the comparison
+   */
+  public Comparison compareWith(BenchmarkResults baseline, double threshold) {
+    Comparison comparison = new Comparison();
+    Result calibration = get(CALIBRATION);
+    Result baselineCalibration = baseline.get(CALIBRATION);
+    StringBuilder report = comparison.report;
+    report.append(String.format(Locale.US, "%-40s %14s %12s %14s %9s  %s%n",
+        "Benchmark", "ns/op", "error", "baseline", "change", ""));
+    for (Result result : results.values()) {
+      Result before = baseline.get(result.getName());
+      report.append(String.format(Locale.US, "%-40s %14.1f %12.1f ", result.getName(),
+          result.getScore(), result.getError()));
+      if (before == null || calibration == null || baselineCalibration == null
+          || result.getName().equals(CALIBRATION)) {
+        report.append(String.format(Locale.US, "%14s %9s%n",
+            before == null ? "-" : String.format(Locale.US, "%.1f", before.getScore()), "-"));
+        continue;
+      }
+      double scale = calibration.getScore() / baselineCalibration.getScore();
+      double expected = before.getScore() * scale;
+      double change = result.getScore() / expected - 1;
+      // A change within the spread of the two runs' iterations may just be noise
+      boolean significant = Math.abs(result.getScore() - expected)
+          > result.getError() + before.getError() * scale;
+      String verdict = "";
+      if (change > threshold && significant) {
+        verdict = "REGRESSION";
+        comparison.regressions.add(result.getName());
+      } else if (change < -threshold && significant) {
+        verdict = "improvement";
+      }
+      report.append(String.format(Locale.US, "%14.1f %+8.1f%%  %s%n", before.getScore(),
+          change * 100, verdict));
+    }
+    report.append(String.format(Locale.US,
+        "Changes are relative to the %s benchmark of each run. Only changes beyond %.0f%% and "
+            + "the error of both runs count.%n",
+        CALIBRATION, threshold * 100));
+    return comparison;
+  }
+
+  /**
+   * The outcome of comparing results with a baseline.
+   */
+  public static final class Comparison {
+    private final StringBuilder report = new StringBuilder();
+    private final List<String> regressions = new ArrayList<>();
+
+    /**
+     * Returns a table of the scores, the baseline scores and the change between them.
+     */
+    public String getReport() {
+      return report.toString();
+    }
+
+    /**
+     * Returns the names of the benchmarks that slowed down by more than the threshold.
+     */
+    public List<String> getRegressions() {
+      return regressions;
+    }
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 10) / 10.0;
+  }
+}
@@ -0,0 +1,61 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import org.junit.Test;
+
+/**
+ * Tests how benchmark results are saved and compared with a baseline.
+ */
+public class BenchmarkResultsTest {
+
+  @Test
+  public void testJsonRoundTrip() throws Exception {
+    BenchmarkResults results = results(100, 50, 1);
+    BenchmarkResults read = BenchmarkResults.fromJson(results.toJson());
+    assertEquals(100, read.get(BenchmarkResults.CALIBRATION).getScore(), 0);
+    assertEquals(50, read.get("Work").getScore(), 0);
+    assertEquals(1, read.get("Work").getError(), 0);
+  }
+
+  @Test
+  public void testScoresAreComparedRelativeToCalibration() {
+    // Everything taking twice as long on a slower machine is not a regression
+    BenchmarkResults.Comparison comparison =
+        results(200, 100, 1).compareWith(results(100, 50, 1), 0.25);
+    assertTrue(comparison.getRegressions().isEmpty());
+
+    comparison = results(100, 100, 1).compareWith(results(100, 50, 1), 0.25);
+    assertEquals(Collections.singletonList("Work"), comparison.getRegressions());
+    assertTrue(comparison.getReport().contains("REGRESSION"));
+  }
+
+  @Test
+  public void testChangesWithinTheErrorAreNotRegressions() {
+    BenchmarkResults.Comparison comparison =
+        results(100, 100, 30).compareWith(results(100, 50, 30), 0.25);
+    assertTrue(comparison.getRegressions().isEmpty());
+  }
+
+  @Test
+  public void testErrorIsNotSkewedByOneSlowIteration() {
+    BenchmarkResults.Result result = BenchmarkResults.Result.fromSamples("Work",
+        new double[] { 103, 100, 1000, 101, 99, 102, 98, 100, 101, 99 });
+    assertEquals(100.5, result.getScore(), 1e-9);
+    assertEquals(2.5, result.getError(), 1e-9);
+  }
+
+  private static BenchmarkResults results(double calibration, double work, double error) {
+    BenchmarkResults results = new BenchmarkResults();
+    results.add(new BenchmarkResults.Result(BenchmarkResults.CALIBRATION, calibration, 0));
+    results.add(new BenchmarkResults.Result("Work", work, error));
+    return results;
+  }
+}
@@ -0,0 +1,113 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the average time of {@link Benchmark} operations, in the manner of JMH.
+ *
+ * <p>Each benchmark first runs for a number of warmup iterations, so that the JIT compiler has
+ * compiled the code being measured, and then for a number of measured iterations. An iteration
+ * runs the operation in batches until its time is up, and only reads the clock between batches,
+ * so that reading the clock does not add to the time of short operations. The score of a
+ * benchmark is the median time per operation over the measured iterations, and its error is
+ * their interquartile range. Neither is skewed by a garbage collection during one iteration.
+ */
+public final class BenchmarkRunner {
+  private int warmupIterations = 5;
+  private int measurementIterations = 10;
+  private long iterationNanos = TimeUnit.MILLISECONDS.toNanos(100);
+  private Pattern include = null;
+  private volatile int consumed;
+
+  /**
+   * Sets the number of iterations run before measuring.
+   */
+  public BenchmarkRunner setWarmupIterations(int warmupIterations) {
+    this.warmupIterations = warmupIterations;
+    return this;
+  }
+
+  /**
+   * Sets the number of iterations measured.
+   */
+  public BenchmarkRunner setMeasurementIterations(int measurementIterations) {
+    this.measurementIterations = measurementIterations;
+    return this;
+  }
+
+  /**
+   * Sets how long each iteration runs the operation for.
+   */
+  public BenchmarkRunner setIterationTime(long time, TimeUnit unit) {
+    this.iterationNanos = unit.toNanos(time);
+    return this;
+  }
+
+  /**
+   * Only runs the benchmarks whose names contain a match of the given regular expression.
+   *
+   * @param regex the expression, or null to run every benchmark
+   */
+  public BenchmarkRunner setInclude(String regex) {
+    this.include = regex == null ? null : Pattern.compile(regex);
+    return this;
+  }
+
+  /**
+   * Returns whether {@link #run(Benchmark)} should be called for the benchmark.
+   */
+  public boolean isIncluded(Benchmark benchmark) {
+    return include == null || include.matcher(benchmark.getName()).find();
+  }
+
+  /**
+   * Measures a benchmark.
+   *
+   * @param benchmark the benchmark to measure
+   * @return the time per operation of the benchmark, in nanoseconds
+   * @throws Exception if the operation fails
+   */
+  public BenchmarkResults.Result run(Benchmark benchmark) throws Exception {
+    Blackhole blackhole = new Blackhole();
+    long batchSize = 1;
+    for (int i = 0; i < warmupIterations; i++) {
+      long operations = runIteration(benchmark, blackhole, batchSize)[1];
+      // Aim for about a hundred batches, and so clock reads, per iteration
+      batchSize = Math.max(1, operations / 100);
+    }
+    double[] samples = new double[measurementIterations];
+    for (int i = 0; i < measurementIterations; i++) {
+      long[] iteration = runIteration(benchmark, blackhole, batchSize);
+      samples[i] = (double) iteration[0] / iteration[1];
+    }
+    // Publishing what was consumed keeps the results of the operation in use
+    consumed = blackhole.getHash();
+    return BenchmarkResults.Result.fromSamples(benchmark.getName(), samples);
+  }
+
+  /**
+   * Runs the operation in batches until the iteration time is up.
+   *
+   * @return the time taken in nanoseconds and the number of operations run
+   */
+  private long[] runIteration(Benchmark benchmark, Blackhole blackhole, long batchSize)
+      throws Exception {
+    long operations = 0;
+    long start = System.nanoTime();
+    long elapsed;
+    do {
+      for (long i = 0; i < batchSize; i++) {
+        benchmark.run(blackhole);
+      }
+      operations += batchSize;
+      elapsed = System.nanoTime() - start;
+    } while (elapsed < iterationNanos);
+    return new long[] { elapsed, operations };
+  }
+}
@@ -0,0 +1,45 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.benchmarks;
+
+/**
+ * Consumes the results of benchmarked operations so that the JIT compiler cannot remove the
+ * operations as dead code.
+ */
+public final class Blackhole {
+  private volatile Object sink;
+  private int hashes;
+
+  /**
+   * Consumes a result.
+   */
+  public void consume(Object result) {
+    // Folding in the hash makes the result observable without storing every one of them
+    hashes += System.identityHashCode(result);
+    sink = result;
+  }
+
+  /**
+   * Consumes a primitive result.
+   */
+  public void consume(long result) {
+    hashes += (int) (result ^ (result >>> 32));
+  }
+
+  /**
+   * Consumes a boolean result.
+   */
+  public void consume(boolean result) {
+    hashes += result ? 1 : 0;
+  }
+
+  /**
+   * Returns a value that depends on everything consumed, so that a run's results are used.
+   */
+  int getHash() {
+    return hashes + (sink == null ? 0 : 1);
+  }
+}
@@ -0,0 +1,313 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.benchmarks;
+
+import static org.junit.Assert.assertTrue;
+
+import com.google.appinventor.components.runtime.Ball;
+import com.google.appinventor.components.runtime.Canvas;
+import com.google.appinventor.components.runtime.Component;
+import com.google.appinventor.components.runtime.EventDispatcher;
+import com.google.appinventor.components.runtime.HandlesEventDispatching;
+import com.google.appinventor.components.runtime.ImageSprite;
+import com.google.appinventor.components.runtime.RobolectricTestBase;
+import com.google.appinventor.components.runtime.Sprite;
+import com.google.appinventor.components.runtime.util.CsvUtil;
+import com.google.appinventor.components.runtime.util.IOUtils;
+import com.google.appinventor.components.runtime.util.JsonUtil;
+import com.google.appinventor.components.runtime.util.YailDictionary;
+import com.google.appinventor.components.runtime.util.YailList;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Microbenchmarks of the runtime's hot paths, compared with the baseline checked in next to
+ * this class.
+ *
+ * <p>These are not run with the unit tests. To run them, use {@code ant AndroidRuntimeBenchmarks}
+ * in the components directory. The run fails if a benchmark has slowed down by more than the
+ * threshold, after allowing for the speed of the machine. The results and a report comparing
+ * them with the baseline are written to {@code build/benchmarks}; to accept the new results as
+ * the baseline, copy {@code results.json} over {@code baseline.json}.
+ *
+ * <p>The run can be adjusted with these system properties:
+ * <ul>
+ *   <li>{@code benchmark.include}: a regular expression matching the benchmarks to run</li>
+ *   <li>{@code benchmark.warmup}: the number of warmup iterations (10)</li>
+ *   <li>{@code benchmark.iterations}: the number of measured iterations (20)</li>
+ *   <li>{@code benchmark.time}: the length of each iteration in milliseconds (100)</li>
+ *   <li>{@code benchmark.threshold}: the slowdown that fails the run (0.5, for 50%)</li>
+ *   <li>{@code benchmark.results.dir}: where to write the results (build/benchmarks)</li>
+ * </ul>
+ */
+public class RuntimeBenchmarks extends RobolectricTestBase {
+  private static final String BASELINE = "baseline.json";
+
+  @Test
+  public void runBenchmarks() throws Exception {
+    BenchmarkRunner runner = new BenchmarkRunner()
+        .setWarmupIterations(Integer.getInteger("benchmark.warmup", 10))
+        .setMeasurementIterations(Integer.getInteger("benchmark.iterations", 20))
+        .setIterationTime(Integer.getInteger("benchmark.time", 100), TimeUnit.MILLISECONDS)
+        .setInclude(System.getProperty("benchmark.include"));
+    double threshold = Double.parseDouble(System.getProperty("benchmark.threshold", "0.5"));
+
+    BenchmarkResults results = new BenchmarkResults();
+    Benchmark calibration = createCalibration();
+    // Every comparison depends on the calibration, so it is measured both before the other
+    // benchmarks, when the JVM may still be busy starting up, and after them, keeping the faster
+    BenchmarkResults.Result before = runner.run(calibration);
+    results.add(before);
+    for (Benchmark benchmark : createBenchmarks()) {
+      if (runner.isIncluded(benchmark)) {
+        results.add(runner.run(benchmark));
+      }
+    }
+    BenchmarkResults.Result after = runner.run(calibration);
+    if (after.getScore() < before.getScore()) {
+      results.add(after);
+    }
+
+    File resultsDir = new File(System.getProperty("benchmark.results.dir", "build/benchmarks"));
+    write(new File(resultsDir, "results.json"), results.toJson());
+    BenchmarkResults baseline = readBaseline();
+    if (baseline == null) {
+      System.out.println("No " + BASELINE + " to compare with; see " + resultsDir);
+      return;
+    }
+    BenchmarkResults.Comparison comparison = results.compareWith(baseline, threshold);
+    write(new File(resultsDir, "report.txt"), comparison.getReport());
+    System.out.print(comparison.getReport());
+    assertTrue("Benchmarks slower than the baseline: " + comparison.getRegressions() + "\n"
+        + comparison.getReport(), comparison.getRegressions().isEmpty());
+  }
+
+  /**
+   * Creates a benchmark of fixed work that does not involve App Inventor code, to measure the
+   * speed of the machine.
+   */
+  private static Benchmark createCalibration() {
+    Random random = new Random(42);
+    final int[] unsorted = new int[1024];
+    for (int i = 0; i < unsorted.length; i++) {
+      unsorted[i] = random.nextInt();
+    }
+    return new Benchmark(BenchmarkResults.CALIBRATION) {
+      @Override
+      public void run(Blackhole blackhole) {
+        int[] values = unsorted.clone();
+        Arrays.sort(values);
+        blackhole.consume(values[values.length / 2]);
+      }
+    };
+  }
+
+  private List<Benchmark> createBenchmarks() throws Exception {
+    List<Benchmark> benchmarks = new ArrayList<>();
+    Random random = new Random(42);
+
+    // YailList
+    final Object[] elements = new Object[1000];
+    for (int i = 0; i < elements.length; i++) {
+      elements[i] = "item" + i;
+    }
+    final YailList list = YailList.makeList(elements);
+    benchmarks.add(new Benchmark("YailList.makeList") {
+      @Override
+      public void run(Blackhole blackhole) {
+        blackhole.consume(YailList.makeList(elements));
+      }
+    });
+    benchmarks.add(new Benchmark("YailList.get") {
+      @Override
+      public void run(Blackhole blackhole) {
+        blackhole.consume(list.get(500));
+      }
+    });
+    benchmarks.add(new Benchmark("YailList.toArray") {
+      @Override
+      public void run(Blackhole blackhole) {
+        blackhole.consume(list.toArray());
+      }
+    });
+
+    // YailDictionary
+    final YailDictionary dictionary = YailDictionary.makeDictionary();
+    for (int i = 0; i < 100; i++) {
+      List<Object> items = new ArrayList<>();
+      for (int j = 0; j < 10; j++) {
+        items.add(YailDictionary.makeDictionary("id", j, "name", "name" + j));
+      }
+      dictionary.put("key" + i, YailDictionary.makeDictionary("items", YailList.makeList(items)));
+    }
+    final List<Object> keyPath = Arrays.<Object>asList("key50", "items", 5, "name");
+    benchmarks.add(new Benchmark("YailDictionary.getObjectAtKeyPath") {
+      @Override
+      public void run(Blackhole blackhole) {
+        blackhole.consume(dictionary.getObjectAtKeyPath(keyPath));
+      }
+    });
+
+    // JsonUtil
+    final String json = JsonUtil.getJsonRepresentation(dictionary);
+    benchmarks.add(new Benchmark("JsonUtil.getJsonRepresentation") {
+      @Override
+      public void run(Blackhole blackhole) throws Exception {
+        blackhole.consume(JsonUtil.getJsonRepresentation(dictionary));
+      }
+    });
+    benchmarks.add(new Benchmark("JsonUtil.getObjectFromJson") {
+      @Override
+      public void run(Blackhole blackhole) throws Exception {
+        blackhole.consume(JsonUtil.getObjectFromJson(json, true));
+      }
+    });
+
+    // CsvUtil
+    List<YailList> rows = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      rows.add(YailList.makeList(new Object[] {
+          "row" + i, Integer.toString(i), "a \"quoted\" value", "x,y", "" + random.nextDouble()}));
+    }
+    final YailList table = YailList.makeList(rows);
+    final String csv = CsvUtil.toCsvTable(table);
+    benchmarks.add(new Benchmark("CsvUtil.fromCsvTable") {
+      @Override
+      public void run(Blackhole blackhole) throws Exception {
+        blackhole.consume(CsvUtil.fromCsvTable(csv));
+      }
+    });
+    benchmarks.add(new Benchmark("CsvUtil.toCsvTable") {
+      @Override
+      public void run(Blackhole blackhole) {
+        blackhole.consume(CsvUtil.toCsvTable(table));
+      }
+    });
+
+    // Sprite
+    Canvas canvas = new Canvas(getForm());
+    final Ball ball1 = new Ball(canvas);
+    final Ball ball2 = new Ball(canvas);
+    ball1.X(10);
+    ball1.Y(10);
+    ball1.Radius(20);
+    ball2.X(35);
+    ball2.Y(35);
+    ball2.Radius(20);
+    final ImageSprite sprite1 = new ImageSprite(canvas);
+    final ImageSprite sprite2 = new ImageSprite(canvas);
+    for (ImageSprite sprite : new ImageSprite[] { sprite1, sprite2 }) {
+      sprite.Width(60);
+      sprite.Height(40);
+      sprite.Rotates(true);
+    }
+    sprite1.X(40);
+    sprite1.Y(40);
+    sprite1.Heading(37);
+    sprite2.X(90);
+    sprite2.Y(50);
+    sprite2.Heading(-53);
+    benchmarks.add(new Benchmark("Sprite.colliding(Ball)") {
+      @Override
+      public void run(Blackhole blackhole) {
+        blackhole.consume(Sprite.colliding(ball1, ball2));
+      }
+    });
+    benchmarks.add(new Benchmark("Sprite.colliding(ImageSprite)") {
+      @Override
+      public void run(Blackhole blackhole) {
+        blackhole.consume(Sprite.colliding(sprite1, sprite2));
+      }
+    });
+
+    // EventDispatcher
+    final EventSource source = new EventSource();
+    EventDispatcher.registerEventForDelegation(source, "EventSource1", "Moved");
+    benchmarks.add(new Benchmark("EventDispatcher.dispatchEvent") {
+      @Override
+      public void run(Blackhole blackhole) {
+        // dispatchEvent itself is replaced by a shadow in tests; this is what it calls
+        blackhole.consume(EventDispatcher.dispatchFallibleEvent(source, "Moved", 1.0, 2.0));
+      }
+    });
+
+    return benchmarks;
+  }
+
+  private BenchmarkResults readBaseline() throws Exception {
+    InputStream in = RuntimeBenchmarks.class.getResourceAsStream(BASELINE);
+    if (in == null) {
+      return null;
+    }
+    try {
+      return BenchmarkResults.fromJson(IOUtils.readReader(new InputStreamReader(in, "UTF-8")));
+    } finally {
+      in.close();
+    }
+  }
+
+  private static void write(File file, String text) throws IOException {
+    IOUtils.mkdirs(file);
+    Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      out.write(text);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * A component that handles its own events, so that dispatching them runs no blocks.
+   */
+  public static class EventSource implements Component, HandlesEventDispatching {
+    @Override
+    public HandlesEventDispatching getDispatchDelegate() {
+      return this;
+    }
+
+    @Override
+    public void setComponentName(String componentName) {
+    }
+
+    @Override
+    public boolean canDispatchEvent(Component component, String eventName) {
+      return true;
+    }
+
+    @Override
+    public boolean dispatchEvent(Component component, String componentName, String eventName,
+        Object[] args) {
+      return component == this;
+    }
+
+    @Override
+    public void dispatchErrorOccurredEvent(Component component, String functionName,
+        int errorCode, Object... args) {
+    }
+
+    @Override
+    public void dispatchGenericEvent(Component component, String eventName,
+        boolean notAlreadyHandled, Object[] args) {
+    }
+
+    /**
+     * The event dispatched, which the dispatcher inspects for option list parameters.
+     */
+    public void Moved(double x, double y) {
+    }
+  }
+}
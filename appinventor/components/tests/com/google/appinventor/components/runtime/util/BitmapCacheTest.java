@@ -0,0 +1,87 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import android.graphics.Bitmap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Tests the BitmapCache class.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest="tests/AndroidManifest.xml")
+public class BitmapCacheTest {
+
+  private static Bitmap bitmap(int width, int height) {
+    return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+  }
+
+  @Test
+  public void testHitsAndMisses() {
+    BitmapCache cache = new BitmapCache(1024 * 1024);
+    Bitmap image = bitmap(10, 10);
+    assertNull(cache.get("kitty.png|-1x-1@1.0"));
+    cache.put("kitty.png|-1x-1@1.0", image);
+    assertSame(image, cache.get("kitty.png|-1x-1@1.0"));
+    assertNull(cache.get("kitty.png|50x50@1.0"));
+    assertEquals(1, cache.hitCount());
+    assertEquals(2, cache.missCount());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    // Room for two 10x10 ARGB bitmaps
+    BitmapCache cache = new BitmapCache(2 * 10 * 10 * 4);
+    cache.put("a", bitmap(10, 10));
+    cache.put("b", bitmap(10, 10));
+    cache.get("a");
+    cache.put("c", bitmap(10, 10));
+    assertNull(cache.get("b"));
+    assertEquals(10, cache.get("a").getWidth());
+    assertEquals(10, cache.get("c").getWidth());
+  }
+
+  @Test
+  public void testReusableBitmaps() {
+    BitmapCache cache = new BitmapCache(1024);
+    Bitmap scratch = bitmap(100, 100);
+    cache.offerReusable(scratch);
+    assertNull(cache.takeReusable(400, 400, 1));
+    // A 400x400 image sampled by 4 fits into a 100x100 bitmap
+    assertSame(scratch, cache.takeReusable(400, 400, 4));
+    // Each scratch bitmap is only handed out once
+    assertNull(cache.takeReusable(100, 100, 1));
+  }
+
+  @Test
+  public void testReusableBitmapsAreBounded() {
+    BitmapCache cache = new BitmapCache(1024);
+    Bitmap first = bitmap(10, 10);
+    cache.offerReusable(first);
+    cache.offerReusable(bitmap(10, 10));
+    cache.offerReusable(bitmap(10, 10));
+    for (int i = 0; i < 2; i++) {
+      Bitmap taken = cache.takeReusable(10, 10, 1);
+      assertEquals(10, taken.getWidth());
+      assertEquals(false, taken == first);
+    }
+    assertNull(cache.takeReusable(10, 10, 1));
+  }
+
+  @Test
+  public void testImmutableBitmapsAreNotReused() {
+    BitmapCache cache = new BitmapCache(1024);
+    cache.offerReusable(bitmap(10, 10).copy(Bitmap.Config.ARGB_8888, false));
+    assertNull(cache.takeReusable(10, 10, 1));
+  }
+}
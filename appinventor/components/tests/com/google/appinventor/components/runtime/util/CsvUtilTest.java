@@ -10,6 +10,8 @@ import com.google.appinventor.components.runtime.util.YailList;
 
 import junit.framework.TestCase;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 
 /**
@@ -190,4 +192,46 @@ public class CsvUtilTest extends TestCase {
     assertEquals(list2.getObject(0), list1.getObject(0));
     assertEquals(list2.getObject(1), list1.getObject(1));
   }
+
+  public void testFromCSVTableDelimiter() throws Exception {
+    String testString = "a;\"b;c\";d\r\ne;f;g\r\n";
+    YailList list = CsvUtil.fromCsvTable(new StringReader(testString), ';');
+    assertEquals(2, list.size());
+    assertEquals("(a b;c d)", list.get(1).toString());
+    assertEquals("(e f g)", list.get(2).toString());
+  }
+
+  public void testFromCSVTableLongQuotedCell() throws Exception {
+    // Cells are not limited by the size of the parser's buffer
+    StringBuilder cell = new StringBuilder();
+    for (int i = 0; i < 30000; i++) {
+      cell.append(i % 100 == 0 ? "\r\n" : "x");
+    }
+    String testString = "a,\"" + cell + "\"\r\nb,c\r\n";
+    YailList list = CsvUtil.fromCsvTable(testString);
+    assertEquals(2, list.size());
+    assertEquals(cell.toString().trim(), ((YailList) list.get(1)).getString(1));
+    assertEquals("(b c)", list.get(2).toString());
+  }
+
+  public void testFromCSVTableQuoteInUnquotedCell() {
+    try {
+      CsvUtil.fromCsvTable("a,b\"c\r\n");
+      fail();
+    } catch (Exception e) {
+      // expected
+    }
+  }
+
+  public void testToCSVTableRoundTrip() throws Exception {
+    ArrayList<YailList> list = new ArrayList<YailList>();
+    list.add(YailList.makeList(new String[] { "say \"hi\"", "a\tb" }));
+    list.add(YailList.makeList(new String[] { "line1\nline2", "" }));
+    YailList table = YailList.makeList(list);
+    StringWriter out = new StringWriter();
+    CsvUtil.toCsvTable(table, out, '\t');
+    assertEquals("\"say \"\"hi\"\"\"\t\"a\tb\"\r\n\"line1\nline2\"\t\"\"\r\n",
+        out.toString());
+    assertEquals(table, CsvUtil.fromCsvTable(new StringReader(out.toString()), '\t'));
+  }
 }
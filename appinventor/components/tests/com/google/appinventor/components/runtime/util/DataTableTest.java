@@ -0,0 +1,90 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.appinventor.components.common.Aggregation;
+import com.google.appinventor.components.common.Comparison;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests the DataTable class.
+ */
+public class DataTableTest {
+  private static final List<List<String>> ROWS = Arrays.asList(
+      Arrays.asList("name", "score", "team"),
+      Arrays.asList("a", "10", "red"),
+      Arrays.asList("b", "", "blue"),
+      Arrays.asList("c", "2.5", "red"),
+      Arrays.asList("d", "-1"));
+
+  @Test
+  public void testColumnsAreTypedAndDictionaryEncoded() {
+    DataTable table = DataTable.fromRows(ROWS);
+    assertEquals(4, table.getRowCount());
+    assertEquals(3, table.getColumnCount());
+    assertEquals(1, table.indexOf("score"));
+    assertEquals(-1, table.indexOf("missing"));
+    assertFalse(table.getColumn(0).isNumeric());
+    assertTrue(table.getColumn(1).isNumeric());
+    assertEquals(2.5, table.getColumn(1).getNumber(2), 0);
+    assertTrue(Double.isNaN(table.getColumn(1).getNumber(1)));
+    assertEquals(2, table.getColumn(2).getDistinctCount());
+    assertTrue(table.getColumn(2).isMissing(3));
+    assertEquals(Arrays.<Object>asList(10.0, "", 2.5, -1.0), table.getColumn(1).getValues());
+  }
+
+  @Test
+  public void testListsKeepTheirShapeInTheirOwnOrientation() {
+    DataTable table = DataTable.fromRows(ROWS);
+    assertEquals(ROWS, table.toRows());
+    assertEquals(Arrays.asList("team", "red", "blue", "red", ""), table.getColumnWithName(2));
+
+    List<List<String>> columns = Arrays.asList(
+        Arrays.asList("x", "1", "2"),
+        Collections.singletonList("y"));
+    DataTable fromColumns = DataTable.fromColumns(columns);
+    assertEquals(columns, fromColumns.toColumns());
+    assertEquals(Arrays.asList("2", ""), fromColumns.getRow(1));
+  }
+
+  @Test
+  public void testFilter() {
+    DataTable table = DataTable.fromRows(ROWS);
+    assertArrayEquals(new int[] {0, 2}, table.filter(1, Comparison.GreaterThan, "0"));
+    assertArrayEquals(new int[] {3}, table.filter(1, Comparison.LessThan, "0"));
+    assertArrayEquals(new int[] {0}, table.filter(1, Comparison.Equal, "10.0"));
+    assertArrayEquals(new int[] {0, 2}, table.filter(2, Comparison.Equal, "red"));
+    assertArrayEquals(new int[] {1}, table.filter(2, Comparison.NotEqual, "red"));
+    assertArrayEquals(new int[] {2, 3}, table.filter(0, Comparison.GreaterThanOrEqual, "c"));
+  }
+
+  @Test
+  public void testAggregate() {
+    DataTable table = DataTable.fromRows(ROWS);
+    assertEquals(3, table.aggregate(1, Aggregation.Count), 0);
+    assertEquals(11.5, table.aggregate(1, Aggregation.Sum), 0);
+    assertEquals(11.5 / 3, table.aggregate(1, Aggregation.Average), 1e-9);
+    assertEquals(-1, table.aggregate(1, Aggregation.Minimum), 0);
+    assertEquals(10, table.aggregate(1, Aggregation.Maximum), 0);
+    assertTrue(Double.isNaN(table.aggregate(0, Aggregation.Maximum)));
+  }
+
+  @Test
+  public void testEmpty() {
+    DataTable table = DataTable.fromRows(Collections.emptyList());
+    assertEquals(0, table.getRowCount());
+    assertTrue(table.toRows().isEmpty());
+    assertTrue(table.getColumnNames().isEmpty());
+  }
+}
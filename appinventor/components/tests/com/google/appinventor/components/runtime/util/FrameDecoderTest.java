@@ -0,0 +1,130 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.appinventor.components.common.Framing;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests the FrameDecoder class.
+ */
+public class FrameDecoderTest {
+
+  @Test
+  public void testDelimiterFramesSplitAcrossChunks() throws IOException {
+    FrameDecoder decoder = new FrameDecoder(Framing.Delimiter, 0, (byte) '\n', false);
+    List<byte[]> frames = new ArrayList<>();
+    feed(decoder, "12", frames);
+    assertTrue(frames.isEmpty());
+    feed(decoder, "3\n45\n\n6", frames);
+    assertEquals(3, frames.size());
+    assertArrayEquals(bytes("123"), frames.get(0));
+    assertArrayEquals(bytes("45"), frames.get(1));
+    assertArrayEquals(bytes(""), frames.get(2));
+    assertEquals(1, decoder.getPendingByteCount());
+  }
+
+  @Test
+  public void testFixedLengthFrames() throws IOException {
+    FrameDecoder decoder = new FrameDecoder(Framing.FixedLength, 3, (byte) 0, false);
+    List<byte[]> frames = new ArrayList<>();
+    feed(decoder, "abcdefg", frames);
+    assertEquals(2, frames.size());
+    assertArrayEquals(bytes("abc"), frames.get(0));
+    assertArrayEquals(bytes("def"), frames.get(1));
+    feed(decoder, "hi", frames);
+    assertEquals(3, frames.size());
+    assertArrayEquals(bytes("ghi"), frames.get(2));
+    assertEquals(0, decoder.getPendingByteCount());
+  }
+
+  @Test
+  public void testLengthPrefixedFrames() throws IOException {
+    FrameDecoder little = new FrameDecoder(Framing.LengthPrefixed, 2, (byte) 0, false);
+    List<byte[]> frames = new ArrayList<>();
+    little.feed(new byte[] {2, 0, 7}, 0, 3, frames);
+    assertTrue(frames.isEmpty());
+    little.feed(new byte[] {8, 0, 0, 1}, 0, 4, frames);
+    assertEquals(2, frames.size());
+    assertArrayEquals(new byte[] {7, 8}, frames.get(0));
+    assertArrayEquals(new byte[0], frames.get(1));
+
+    FrameDecoder big = new FrameDecoder(Framing.LengthPrefixed, 2, (byte) 0, true);
+    frames.clear();
+    big.feed(new byte[] {0, 1, 9}, 0, 3, frames);
+    assertEquals(1, frames.size());
+    assertArrayEquals(new byte[] {9}, frames.get(0));
+  }
+
+  @Test
+  public void testLargeFramesGrowTheBuffer() throws IOException {
+    FrameDecoder decoder = new FrameDecoder(Framing.FixedLength, 5000, (byte) 0, false);
+    List<byte[]> frames = new ArrayList<>();
+    byte[] chunk = new byte[700];
+    for (int i = 0; i < 20; i++) {
+      for (int j = 0; j < chunk.length; j++) {
+        chunk[j] = (byte) (i * chunk.length + j);
+      }
+      decoder.feed(chunk, 0, chunk.length, frames);
+    }
+    assertEquals(2, frames.size());
+    for (int k = 0; k < 2; k++) {
+      for (int j = 0; j < 5000; j++) {
+        assertEquals((byte) (k * 5000 + j), frames.get(k)[j]);
+      }
+    }
+    assertEquals(4000, decoder.getPendingByteCount());
+  }
+
+  @Test
+  public void testTooLongFrames() {
+    FrameDecoder decoder = new FrameDecoder(Framing.LengthPrefixed, 4, (byte) 0, true);
+    try {
+      decoder.feed(new byte[] {0, 2, 0, 0}, 0, 4, new ArrayList<byte[]>());
+      fail("Expected an IOException");
+    } catch (IOException e) {
+      // expected
+    }
+
+    decoder = new FrameDecoder(Framing.Delimiter, 0, (byte) '\n', false);
+    byte[] chunk = new byte[FrameDecoder.MAX_FRAME_LENGTH];
+    try {
+      decoder.feed(chunk, 0, chunk.length, new ArrayList<byte[]>());
+      decoder.feed(chunk, 0, 1, new ArrayList<byte[]>());
+      fail("Expected an IOException");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testValidSizes() {
+    assertTrue(FrameDecoder.isValidSize(Framing.Delimiter, -1));
+    assertTrue(FrameDecoder.isValidSize(Framing.FixedLength, 1));
+    assertFalse(FrameDecoder.isValidSize(Framing.FixedLength, 0));
+    assertTrue(FrameDecoder.isValidSize(Framing.LengthPrefixed, 4));
+    assertFalse(FrameDecoder.isValidSize(Framing.LengthPrefixed, 3));
+  }
+
+  private static void feed(FrameDecoder decoder, String text, List<byte[]> frames)
+      throws IOException {
+    byte[] bytes = bytes(text);
+    decoder.feed(bytes, 0, bytes.length, frames);
+  }
+
+  private static byte[] bytes(String text) {
+    return text.getBytes();
+  }
+}
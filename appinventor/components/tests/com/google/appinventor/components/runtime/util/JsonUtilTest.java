@@ -10,6 +10,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -232,4 +233,71 @@ public class JsonUtilTest {
     assertTrue(result.contains(expected2));
     assertTrue(result.contains(expected3));
   }
+
+  @Test
+  public void testGetObjectFromJsonDictionaries() throws JSONException {
+    Object result = JsonUtil.getObjectFromJson(
+        "{\"b\": [1, \"True\", null], \"a\": {\"y\": 2.5, \"x\": \"s\"}, \"b\": [3]}", true);
+    YailDictionary dict = (YailDictionary) result;
+    assertEquals(Arrays.asList("a", "b"), new ArrayList<Object>(dict.keySet()));
+    assertEquals(YailList.makeList(Arrays.asList(3)), dict.get("b"));
+    YailDictionary nested = (YailDictionary) dict.get("a");
+    assertEquals(Arrays.asList("x", "y"), new ArrayList<Object>(nested.keySet()));
+    assertEquals(2.5, nested.get("y"));
+
+    List<?> list = (List<?>) JsonUtil.getObjectFromJson("[1, \"True\", null]", true);
+    assertEquals(Arrays.asList(1, true, "null"), list);
+  }
+
+  @Test
+  public void testGetObjectFromJsonAssociationList() throws JSONException {
+    Object result = JsonUtil.getObjectFromJson("{\"b\": 1, \"a\": [2, {\"c\": false}]}", false);
+    List<Object> expected = Arrays.<Object>asList(
+        Arrays.<Object>asList("a", Arrays.<Object>asList(2,
+            Arrays.<Object>asList(Arrays.<Object>asList("c", false)))),
+        Arrays.<Object>asList("b", 1));
+    assertEquals(expected, result);
+  }
+
+  @Test
+  public void testGetObjectFromJsonLenientSyntax() throws JSONException {
+    Object result = JsonUtil.getObjectFromJson(
+        "// comment\n{a = 1; 'b' => [0x10 /* hex */, 010]} # trailing", true);
+    YailDictionary dict = (YailDictionary) result;
+    assertEquals(1, dict.get("a"));
+    assertEquals(YailList.makeList(Arrays.asList(16, 8)), dict.get("b"));
+    assertEquals("\u00e9\n", JsonUtil.getObjectFromJson("\"\\u00e9\\n\"", true));
+    assertEquals(null, JsonUtil.getObjectFromJson("null", true));
+    assertEquals(123456789101112L, JsonUtil.getObjectFromJson("123456789101112", true));
+  }
+
+  @Test(expected = JSONException.class)
+  public void testGetObjectFromJsonUnterminated() throws JSONException {
+    JsonUtil.getObjectFromJson("[1, 2", true);
+  }
+
+  @Test(expected = JSONException.class)
+  public void testGetObjectFromJsonMissingValue() throws JSONException {
+    JsonUtil.getObjectFromJson("[1, , 2]", true);
+  }
+
+  @Test
+  public void testGetObjectFromJsonReader() throws Exception {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < 5000; i++) {
+      sb.append(i == 0 ? "" : ",").append("\"item \\\"").append(i).append("\\\"\"");
+    }
+    sb.append("]");
+    List<?> result = (List<?>) JsonUtil.getObjectFromJson(new StringReader(sb.toString()), true);
+    assertEquals(5000, result.size());
+    assertEquals("item \"4999\"", result.get(4999));
+  }
+
+  @Test
+  public void testGetJsonRepresentationRoundTrip() throws JSONException {
+    String json = "{\"a\":[1,2.5,\"s\\/\\t\\u0001\"],\"b\":{\"c\":true,\"d\":\"null\"}}";
+    assertEquals(json, JsonUtil.getJsonRepresentation(JsonUtil.getObjectFromJson(json, true)));
+    assertEquals("[[\"x\",1],\"y\"]", JsonUtil.getJsonRepresentation(
+        Arrays.asList(YailList.makeList(Arrays.asList("x", 1)), "y")));
+  }
 }
@@ -0,0 +1,96 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests the LineIndex class.
+ */
+public class LineIndexTest {
+
+  @Test
+  public void testReadLines() throws IOException {
+    LineIndex index = new LineIndex();
+    byte[] text = bytes("one\r\ntwo\n\nfour é\nfive");
+    assertEquals(Arrays.asList("one", "two"), read(index, text, 0, 2));
+    assertEquals(Arrays.asList("", "four é", "five"), read(index, text, 2, 10));
+    assertTrue(read(index, text, 5, 1).isEmpty());
+  }
+
+  @Test
+  public void testCheckpointsSkipEarlierLines() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    int count = LineIndex.CHECKPOINT_INTERVAL * 3 + 10;
+    for (int i = 0; i < count; i++) {
+      sb.append("line ").append(i).append('\n');
+    }
+    byte[] text = bytes(sb.toString());
+    LineIndex index = new LineIndex();
+    assertEquals(Arrays.asList("line " + (count - 1)), read(index, text, count - 1, 5));
+
+    // A second read starts at the last checkpoint before its first line
+    CountingInputStream in = new CountingInputStream(text);
+    int start = LineIndex.CHECKPOINT_INTERVAL * 2 + 1;
+    assertEquals(Arrays.asList("line " + start), index.readLines(in, start, 1));
+    // Only the checkpoint line, the line asked for and the rest of the last chunk are read
+    assertTrue(in.read < 2 * ("line " + start + "\n").length() + 16);
+  }
+
+  private static List<String> read(LineIndex index, byte[] text, int start, int count)
+      throws IOException {
+    return index.readLines(new ByteArrayInputStream(text), start, count);
+  }
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Counts the bytes read, but not the bytes skipped.
+   */
+  private static class CountingInputStream extends InputStream {
+    private final ByteArrayInputStream in;
+    int read = 0;
+
+    CountingInputStream(byte[] bytes) {
+      in = new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public int read() {
+      int b = in.read();
+      if (b >= 0) {
+        read++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      // Read a little at a time so the count reflects what was needed
+      int n = in.read(b, off, Math.min(len, 16));
+      if (n > 0) {
+        read += n;
+      }
+      return n;
+    }
+
+    @Override
+    public long skip(long n) {
+      return in.skip(n);
+    }
+  }
+}
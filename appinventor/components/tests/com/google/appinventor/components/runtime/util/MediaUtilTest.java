@@ -87,4 +87,16 @@ public class MediaUtilTest extends TestCase {
       // Expected
     }
   }
+
+  public void testGetSampleSizeForView() {
+    // A 4000x3000 photo shown in a 200x200 view only needs to be decoded at 500x375
+    assertEquals(8, MediaUtil.getSampleSizeForView(4000, 3000, 200, 200));
+    // The decoded image is never smaller than the view in either dimension
+    assertEquals(4, MediaUtil.getSampleSizeForView(4000, 3000, 200, 400));
+    assertEquals(1, MediaUtil.getSampleSizeForView(300, 300, 200, 200));
+    assertEquals(1, MediaUtil.getSampleSizeForView(100, 100, 200, 200));
+    // Views of unknown size don't change the sample size
+    assertEquals(1, MediaUtil.getSampleSizeForView(4000, 3000, -1, -1));
+    assertEquals(1, MediaUtil.getSampleSizeForView(4000, 3000, 200, 0));
+  }
 }
@@ -0,0 +1,86 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests the RingBufferList class.
+ */
+public class RingBufferListTest {
+
+  @Test
+  public void testSlidingWindow() {
+    List<Integer> list = new RingBufferList<Integer>();
+    for (int i = 0; i < 100; i++) {
+      if (list.size() == 10) {
+        list.remove(0);
+      }
+      list.add(i);
+    }
+    assertEquals(Arrays.asList(90, 91, 92, 93, 94, 95, 96, 97, 98, 99), list);
+    assertArrayEquals(new Object[] {90, 91, 92, 93, 94, 95, 96, 97, 98, 99}, list.toArray());
+    assertEquals(list, new ArrayList<Integer>(list));
+  }
+
+  @Test
+  public void testMatchesArrayList() {
+    Random random = new Random(42);
+    List<Integer> expected = new ArrayList<Integer>();
+    List<Integer> actual = new RingBufferList<Integer>();
+    for (int i = 0; i < 5000; i++) {
+      int op = random.nextInt(4);
+      if (op <= 1 || expected.isEmpty()) {
+        int index = random.nextInt(expected.size() + 1);
+        expected.add(index, i);
+        actual.add(index, i);
+      } else if (op == 2) {
+        int index = random.nextInt(expected.size());
+        assertEquals(expected.remove(index), actual.remove(index));
+      } else {
+        int index = random.nextInt(expected.size());
+        assertEquals(expected.set(index, -i), actual.set(index, -i));
+      }
+      assertEquals(expected.size(), actual.size());
+    }
+    assertEquals(expected, actual);
+    assertArrayEquals(expected.toArray(new Integer[0]), actual.toArray(new Integer[0]));
+    actual.clear();
+    assertEquals(0, actual.size());
+  }
+
+  @Test
+  public void testChangeCounts() {
+    RingBufferList<Integer> list = new RingBufferList<Integer>();
+    for (int i = 0; i < 5; i++) {
+      list.add(i);
+    }
+    list.remove(0);
+    list.remove(0);
+    assertEquals(5, list.getAppendedCount());
+    assertEquals(2, list.getRemovedFromFrontCount());
+    assertEquals(0, list.getOtherChangeCount());
+    list.add(1, 42);
+    list.set(0, 7);
+    list.remove(list.size() - 1);
+    list.clear();
+    assertEquals(4, list.getOtherChangeCount());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetOutOfBounds() {
+    List<Integer> list = new RingBufferList<Integer>();
+    list.add(1);
+    list.get(1);
+  }
+}
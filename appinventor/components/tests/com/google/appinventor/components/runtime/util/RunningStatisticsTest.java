@@ -0,0 +1,159 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.appinventor.components.common.LinearRegression;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.math3.stat.regression.OLSMultipleLinearRegression;
+import org.junit.Test;
+
+/**
+ * Tests the RunningStatistics and RunningLeastSquares classes.
+ */
+public class RunningStatisticsTest {
+  private static final double DELTA = 1e-9;
+
+  @Test
+  public void testMeanAndVariance() {
+    RunningStatistics stats = new RunningStatistics();
+    assertTrue(Double.isNaN(stats.getMeanY()));
+    for (double y : new double[] {2, 4, 4, 4, 5, 5, 7, 9}) {
+      stats.add(0, y);
+    }
+    assertEquals(8, stats.getCount());
+    assertEquals(5.0, stats.getMeanY(), DELTA);
+    assertEquals(4.0, stats.getVarianceY(), DELTA);
+  }
+
+  @Test
+  public void testSlidingWindowMatchesLinearRegression() {
+    List<Double> x = new ArrayList<Double>();
+    List<Double> y = new ArrayList<Double>();
+    RunningStatistics stats = new RunningStatistics();
+    for (int i = 0; i < 500; i++) {
+      double yi = 3 * i + 10 * Math.sin(i);
+      x.add((double) i);
+      y.add(yi);
+      stats.add(i, yi);
+      if (x.size() > 50) {
+        stats.remove(x.remove(0), y.remove(0));
+      }
+    }
+    Map<String, Object> expected = new LinearRegression().compute(x, y);
+    assertEquals((Double) expected.get("slope"), stats.getSlope(), 1e-6);
+    assertEquals((Double) expected.get("Yintercept"), stats.getIntercept(), 1e-6);
+    assertEquals((Double) expected.get("correlation coefficient"), stats.getCorrelation(), 1e-6);
+  }
+
+  @Test
+  public void testRemovingLastPointClears() {
+    RunningStatistics stats = new RunningStatistics();
+    stats.add(1, 2);
+    stats.remove(1, 2);
+    assertEquals(0, stats.getCount());
+    stats.add(5, 7);
+    assertEquals(7.0, stats.getMeanY(), DELTA);
+  }
+
+  @Test
+  public void testQuadraticMatchesOls() {
+    QuadraticRegression model = new QuadraticRegression();
+    RunningLeastSquares sums = new RunningLeastSquares(model);
+    double[] ys = new double[30];
+    double[][] xs = new double[30][];
+    for (int i = 0; i < 30; i++) {
+      ys[i] = 0.5 * i * i - 2 * i + 1 + Math.cos(i);
+      xs[i] = new double[] {1, i, i * i};
+      sums.add(i, ys[i]);
+    }
+    // A point that is added and removed again leaves no trace
+    sums.add(100, -5);
+    sums.remove(100, -5);
+
+    OLSMultipleLinearRegression ols = new OLSMultipleLinearRegression();
+    ols.setNoIntercept(true);
+    ols.newSampleData(ys, xs);
+    double[] expected = ols.estimateRegressionParameters();
+    double[] actual = sums.solve();
+    for (int i = 0; i < 3; i++) {
+      assertEquals(expected[i], actual[i], 1e-6);
+    }
+    assertEquals(ols.calculateRSquared(), sums.rSquared(), 1e-9);
+  }
+
+  @Test
+  public void testSlidingWindowWithLargeX() {
+    // y = 2 + 0.5t + 0.01t^2, with x = t + base
+    for (double base : new double[] {1e4, 1e5, 1e6}) {
+      QuadraticRegression model = new QuadraticRegression();
+      RunningLeastSquares sums = new RunningLeastSquares(model);
+      for (int t = 0; t < 400; t++) {
+        sums.add(t + base, 2 + 0.5 * t + 0.01 * t * t);
+        if (t >= 200) {
+          int removed = t - 200;
+          sums.remove(removed + base, 2 + 0.5 * removed + 0.01 * removed * removed);
+        }
+      }
+      Map<String, Object> result = model.compute(sums);
+      assertRelative(0.01, (Double) result.get("x^2"), 1e-9);
+      assertRelative(0.5 - 0.02 * base, (Double) result.get("slope"), 1e-9);
+      assertRelative(2 - 0.5 * base + 0.01 * base * base, (Double) result.get("Yintercept"), 1e-9);
+      double r2 = (Double) result.get("r^2");
+      assertTrue("r^2 = " + r2, r2 <= 1 && r2 > 1 - 1e-12);
+    }
+  }
+
+  @Test
+  public void testDateValuedX() {
+    // Daily points, in milliseconds, of y = 10 + 0.25d + 0.001d^2, which is 0 at d = -50 and -200
+    double start = 1.7e12;
+    double day = 86400000;
+    List<Double> x = new ArrayList<Double>();
+    List<Double> y = new ArrayList<Double>();
+    for (int d = 0; d < 60; d++) {
+      x.add(start + d * day);
+      y.add(10 + 0.25 * d + 0.001 * d * d);
+    }
+    Map<String, Object> result = new QuadraticRegression().compute(x, y);
+    assertRelative(0.001 / (day * day), (Double) result.get("x^2"), 1e-6);
+    assertRelative(0.25 / day - 2 * 0.001 * start / (day * day), (Double) result.get("slope"),
+        1e-6);
+    List<?> intercepts = (List<?>) result.get("Xintercepts");
+    assertEquals(start - 50 * day, (Double) intercepts.get(0), 1);
+    assertEquals(start - 200 * day, (Double) intercepts.get(1), 1);
+    double r2 = (Double) result.get("r^2");
+    assertTrue("r^2 = " + r2, r2 <= 1 && r2 > 1 - 1e-12);
+
+    // The same points on a line
+    y.clear();
+    for (int d = 0; d < 60; d++) {
+      y.add(3 + 0.5 * d);
+    }
+    result = new QuadraticRegression().compute(x, y);
+    assertEquals(0, (Double) result.get("x^2"), 0);
+    assertRelative(0.5 / day, (Double) result.get("slope"), 1e-9);
+    assertRelative(3 - 0.5 * start / day, (Double) result.get("Yintercept"), 1e-9);
+  }
+
+  private static void assertRelative(double expected, double actual, double tolerance) {
+    assertEquals(expected, actual, Math.abs(expected) * tolerance);
+  }
+
+  @Test
+  public void testExponentialModel() {
+    Map<String, Object> result = new ExponentialRegression().compute(
+        Arrays.asList(0.0, 1.0, 2.0, 3.0), Arrays.asList(3.0, 6.0, 12.0, 24.0));
+    assertEquals(3.0, (Double) result.get("a"), 1e-6);
+    assertEquals(2.0, (Double) result.get("b"), 1e-6);
+    assertEquals(1.0, (Double) result.get("r^2"), 1e-9);
+  }
+}
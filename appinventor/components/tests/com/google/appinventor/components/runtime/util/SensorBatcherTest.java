@@ -0,0 +1,110 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Handler;
+import android.os.Looper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Tests the SensorBatcher class.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest="tests/AndroidManifest.xml")
+public class SensorBatcherTest {
+  private final List<List<SensorBatcher.Sample>> batches = new ArrayList<>();
+  private SensorBatcher batcher;
+
+  @Before
+  public void setUp() {
+    batcher = new SensorBatcher(new Handler(Looper.getMainLooper()),
+        new SensorBatcher.BatchListener() {
+          @Override
+          public void onBatch(List<SensorBatcher.Sample> samples) {
+            batches.add(samples);
+          }
+        });
+  }
+
+  @Test
+  public void testSamplesAreDeliveredOncePerWindow() {
+    assertFalse(batcher.isEnabled());
+    batcher.setInterval(100);
+    assertTrue(batcher.isEnabled());
+    batcher.add(1, 1f, 2f, 3f);
+    batcher.add(2, 4f, 5f, 6f);
+    advance(50);
+    assertTrue(batches.isEmpty());
+    batcher.add(3, 7f, 8f, 9f);
+    advance(50);
+    assertEquals(1, batches.size());
+    List<SensorBatcher.Sample> batch = batches.get(0);
+    assertEquals(3, batch.size());
+    assertEquals(1, batch.get(0).timestamp);
+    assertEquals(9f, batch.get(2).values[2], 0);
+
+    // The next sample starts a new window
+    batcher.add(4, 0f, 0f, 0f);
+    advance(100);
+    assertEquals(2, batches.size());
+    assertEquals(1, batches.get(1).size());
+  }
+
+  @Test
+  public void testOldestSamplesAreDroppedWhenTheAppFallsBehind() {
+    batcher.setInterval(100);
+    int count = SensorBatcher.MAX_PENDING_SAMPLES + 5;
+    for (int i = 0; i < count; i++) {
+      batcher.add(i, i);
+    }
+    advance(100);
+    assertEquals(1, batches.size());
+    assertEquals(SensorBatcher.MAX_PENDING_SAMPLES, batches.get(0).size());
+    assertEquals(5, batches.get(0).get(0).timestamp);
+    assertEquals(5, batcher.getDroppedCount());
+
+    // Setting the interval starts the count again
+    batcher.setInterval(200);
+    assertEquals(0, batcher.getDroppedCount());
+  }
+
+  @Test
+  public void testClearDiscardsWaitingSamples() {
+    batcher.setInterval(100);
+    batcher.add(1, 1f);
+    batcher.clear();
+    advance(100);
+    assertTrue(batches.isEmpty());
+  }
+
+  @Test
+  public void testToYailLists() {
+    batcher.setInterval(10);
+    batcher.add(42, 1.5f, -2f);
+    advance(10);
+    List<YailList> lists = SensorBatcher.toYailLists(batches.get(0));
+    assertEquals(1, lists.size());
+    assertEquals(42L, lists.get(0).getObject(0));
+    assertEquals(1.5f, lists.get(0).getObject(1));
+    assertEquals(-2f, lists.get(0).getObject(2));
+  }
+
+  private static void advance(long millis) {
+    shadowOf(Looper.getMainLooper()).getScheduler().advanceBy(millis, TimeUnit.MILLISECONDS);
+  }
+}
@@ -0,0 +1,185 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * Tests for the serial executors built on the shared {@link AsynchUtil} pool.
+ */
+public class SerialExecutorServiceTest {
+
+  @Test
+  public void testTasksRunInOrderOneAtATime() throws Exception {
+    ExecutorService executor = AsynchUtil.newSerialExecutor();
+    final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+    final AtomicInteger running = new AtomicInteger(0);
+    final AtomicInteger maxRunning = new AtomicInteger(0);
+    for (int i = 0; i < 50; i++) {
+      final int value = i;
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          int now = running.incrementAndGet();
+          maxRunning.set(Math.max(maxRunning.get(), now));
+          order.add(value);
+          running.decrementAndGet();
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(50, order.size());
+    for (int i = 0; i < 50; i++) {
+      assertEquals(i, (int) order.get(i));
+    }
+    assertEquals(1, maxRunning.get());
+  }
+
+  @Test
+  public void testSubmitReturnsResult() throws Exception {
+    ExecutorService executor = AsynchUtil.newSerialExecutor();
+    assertEquals("done", executor.submit(new Callable<String>() {
+      @Override
+      public String call() {
+        return "done";
+      }
+    }).get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testShutdownNowReturnsPendingTasks() throws Exception {
+    ExecutorService executor = AsynchUtil.newSerialExecutor();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        started.countDown();
+        try {
+          Thread.sleep(10000);
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+        }
+      }
+    });
+    Runnable pending = new Runnable() {
+      @Override
+      public void run() {
+      }
+    };
+    executor.execute(pending);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    List<Runnable> notRun = executor.shutdownNow();
+    assertEquals(1, notRun.size());
+    assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertTrue(executor.isTerminated());
+  }
+
+  @Test
+  public void testNestedWaitsDoNotDeadlock() throws Exception {
+    // Like many chart series importing from one DataFile: more pooled tasks than the pool has
+    // threads each wait for a task on the same serial queue, which runs on its own lane.
+    final ExecutorService serial = AsynchUtil.newSerialExecutor();
+    // The serial task only finishes once every pool thread is waiting for it
+    final CountDownLatch allWaiting = new CountDownLatch(AsynchUtil.MAX_THREADS);
+    serial.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          allWaiting.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    final CountDownLatch finished = new CountDownLatch(64);
+    for (int i = 0; i < 64; i++) {
+      AsynchUtil.runAsynchronously(new Runnable() {
+        @Override
+        public void run() {
+          Future<String> columns = serial.submit(new Callable<String>() {
+            @Override
+            public String call() {
+              return "columns";
+            }
+          });
+          allWaiting.countDown();
+          try {
+            if ("columns".equals(columns.get(20, TimeUnit.SECONDS))) {
+              finished.countDown();
+            }
+          } catch (Exception e) {
+            // Leaves finished short, failing the test
+          }
+        }
+      });
+    }
+    assertTrue(allWaiting.await(10, TimeUnit.SECONDS));
+    assertTrue(finished.await(20, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testPoolIsBounded() throws Exception {
+    final int calls = AsynchUtil.MAX_THREADS * 2 + 5;
+    final CountDownLatch started = new CountDownLatch(AsynchUtil.MAX_THREADS);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch finished = new CountDownLatch(calls);
+    final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+    for (int i = 0; i < calls; i++) {
+      AsynchUtil.runAsynchronously(new Runnable() {
+        @Override
+        public void run() {
+          threads.add(Thread.currentThread());
+          started.countDown();
+          try {
+            release.await(20, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          finished.countDown();
+        }
+      });
+    }
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    assertEquals(AsynchUtil.MAX_THREADS, AsynchUtil.getActiveTaskCount());
+    assertEquals(calls - AsynchUtil.MAX_THREADS, AsynchUtil.getQueuedTaskCount());
+    release.countDown();
+    assertTrue(finished.await(20, TimeUnit.SECONDS));
+    assertTrue(AsynchUtil.getLargestPoolSize() <= AsynchUtil.MAX_THREADS);
+    assertTrue(threads.size() <= AsynchUtil.MAX_THREADS);
+    assertEquals(0, AsynchUtil.getQueuedTaskCount());
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void testRejectsAfterShutdown() {
+    ExecutorService executor = AsynchUtil.newSerialExecutor();
+    executor.shutdown();
+    assertFalse(executor.isShutdown() && !executor.isTerminated());
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+      }
+    });
+  }
+}
@@ -0,0 +1,101 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests the SheetCache class.
+ */
+public class SheetCacheTest {
+  private static final List<List<String>> SHEET = Arrays.asList(
+      Arrays.asList("Name", "Age", "City"),
+      Arrays.asList("Ann", "", "Boston"),
+      Arrays.asList("Bob", "31"),
+      Collections.<String>emptyList(),
+      Arrays.asList("", "", ""));
+
+  @Test
+  public void testGetRange() {
+    assertEquals(Arrays.asList(Arrays.asList("31")), SheetCache.getRange(SHEET, "B3"));
+    assertEquals(Arrays.asList(Arrays.asList("Ann", "", "Boston")),
+        SheetCache.getRange(SHEET, "2:2"));
+    assertEquals(Arrays.asList(Arrays.asList("Age"), Arrays.<String>asList(),
+        Arrays.asList("31")), SheetCache.getRange(SHEET, "b:b"));
+    assertEquals(Arrays.asList(Arrays.asList("Ann"), Arrays.asList("Bob", "31")),
+        SheetCache.getRange(SHEET, "A2:B3"));
+  }
+
+  @Test
+  public void testGetRangeTrimsEmptyCellsAndRows() {
+    // Empty cells at the end of a row and empty rows at the end are left out like the API does
+    assertEquals(Arrays.asList(Arrays.asList("Bob")), SheetCache.getRange(SHEET, "A3:A5"));
+    assertTrue(SheetCache.getRange(SHEET, "A4:C9").isEmpty());
+    assertTrue(SheetCache.getRange(SHEET, "D1").isEmpty());
+  }
+
+  @Test
+  public void testGetRangeRejectsUnknownReferences() {
+    assertNull(SheetCache.getRange(SHEET, "A"));
+    assertNull(SheetCache.getRange(SHEET, "3"));
+    assertNull(SheetCache.getRange(SHEET, "C1:A1"));
+    assertNull(SheetCache.getRange(SHEET, "Named Range"));
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    SheetCache cache = new SheetCache();
+    assertFalse(cache.isEnabled());
+    assertFalse(cache.put("Sheet1", cache.getVersion(), SHEET));
+    assertNull(cache.get("Sheet1"));
+  }
+
+  @Test
+  public void testChangesDiscardSheets() {
+    SheetCache cache = new SheetCache();
+    cache.setMaxAge(60000);
+    assertTrue(cache.put("Sheet1", cache.getVersion(), SHEET));
+    assertTrue(cache.put("Sheet2", cache.getVersion(), SHEET));
+    cache.invalidate("Sheet1");
+    assertNull(cache.get("Sheet1"));
+    assertEquals(SHEET, cache.get("Sheet2"));
+    cache.clear();
+    assertNull(cache.get("Sheet2"));
+  }
+
+  @Test
+  public void testReadsThatRaceAChangeAreIgnored() {
+    SheetCache cache = new SheetCache();
+    cache.setMaxAge(60000);
+    long version = cache.getVersion();
+    cache.invalidate("Sheet1");
+    assertFalse(cache.put("Sheet1", version, SHEET));
+    // Other sheets are unaffected by the change
+    assertTrue(cache.put("Sheet2", version, SHEET));
+
+    version = cache.getVersion();
+    cache.clear();
+    assertFalse(cache.put("Sheet2", version, SHEET));
+    assertTrue(cache.put("Sheet2", cache.getVersion(), SHEET));
+  }
+
+  @Test
+  public void testSheetsExpire() throws InterruptedException {
+    SheetCache cache = new SheetCache();
+    cache.setMaxAge(1);
+    assertTrue(cache.put("Sheet1", cache.getVersion(), SHEET));
+    Thread.sleep(5);
+    assertNull(cache.get("Sheet1"));
+  }
+}
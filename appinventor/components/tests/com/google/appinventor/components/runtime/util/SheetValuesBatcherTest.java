@@ -0,0 +1,225 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Handler;
+import android.os.Looper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Tests the SheetValuesBatcher class against a local stub of the Sheets API.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest="tests/AndroidManifest.xml")
+public class SheetValuesBatcherTest {
+  private final StubSheets sheets = new StubSheets();
+  private final List<String> log = new ArrayList<>();
+  private SheetValuesBatcher batcher;
+
+  @Before
+  public void setUp() {
+    // Like a real looper, only run what is posted once the test lets the looper run
+    shadowOf(Looper.getMainLooper()).pause();
+    // Run the API calls on the test thread so that each flush completes immediately
+    batcher = new SheetValuesBatcher(sheets, new Handler(Looper.getMainLooper()),
+        new Executor() {
+          @Override
+          public void execute(Runnable command) {
+            command.run();
+          }
+        });
+  }
+
+  @Test
+  public void testCallsAreSentTogether() {
+    read("Sheet1!A1");
+    read("Sheet1!B1");
+    read("Sheet1!A1");
+    assertTrue(sheets.calls.isEmpty());
+    flush();
+    assertEquals(Collections.singletonList("get [Sheet1!A1, Sheet1!B1]"), sheets.calls);
+    assertEquals(Arrays.asList("read Sheet1!A1 [[a1]]", "read Sheet1!B1 [[b1]]",
+        "read Sheet1!A1 [[a1]]"), log);
+  }
+
+  @Test
+  public void testReadsAfterWritesSeeTheWrites() {
+    read("Sheet1!A1");
+    write("Sheet1!A1", "x");
+    write("Sheet1!B1", "y");
+    read("Sheet1!A1");
+    flush();
+    assertEquals(Arrays.asList("get [Sheet1!A1]", "update [Sheet1!A1, Sheet1!B1]",
+        "get [Sheet1!A1]"), sheets.calls);
+    assertEquals(Arrays.asList("read Sheet1!A1 [[a1]]", "wrote Sheet1!A1", "wrote Sheet1!B1",
+        "read Sheet1!A1 [[x]]"), log);
+  }
+
+  @Test
+  public void testLaterCallsGoInTheNextBatch() {
+    read("Sheet1!A1");
+    flush();
+    read("Sheet1!B1");
+    flush();
+    assertEquals(Arrays.asList("get [Sheet1!A1]", "get [Sheet1!B1]"), sheets.calls);
+  }
+
+  @Test
+  public void testBadRangeOnlyFailsItsOwnReads() {
+    sheets.badSheets.add("Shet1");
+    read("Sheet1!A1");
+    read("Shet1!A1");
+    read("Sheet1!B1");
+    read("Shet1!A1");
+    flush();
+    assertEquals(Arrays.asList("get [Sheet1!A1, Shet1!A1, Sheet1!B1]", "get [Sheet1!A1]",
+        "get [Shet1!A1]", "get [Sheet1!B1]"), sheets.calls);
+    assertEquals(Arrays.asList("read Sheet1!A1 [[a1]]", "failed Shet1!A1: Unable to parse range",
+        "failed Shet1!A1: Unable to parse range", "read Sheet1!B1 [[b1]]"), log);
+  }
+
+  @Test
+  public void testTasksRunInOrderWithReadsAndWrites() {
+    write("Sheet1!A1", "x");
+    batcher.run(new Runnable() {
+      @Override
+      public void run() {
+        // Like ClearRange, a call that is not batched
+        sheets.calls.add("clear");
+        sheets.values.remove("Sheet1!A1");
+        log.add("cleared");
+      }
+    });
+    read("Sheet1!A1");
+    write("Sheet1!B1", "y");
+    assertTrue(sheets.calls.isEmpty());
+    flush();
+    assertEquals(Arrays.asList("update [Sheet1!A1]", "clear", "get [Sheet1!A1]",
+        "update [Sheet1!B1]"), sheets.calls);
+    assertEquals(Arrays.asList("wrote Sheet1!A1", "cleared", "read Sheet1!A1 [[a1]]",
+        "wrote Sheet1!B1"), log);
+  }
+
+  @Test
+  public void testFailingTaskDoesNotStopTheQueue() {
+    batcher.run(new Runnable() {
+      @Override
+      public void run() {
+        throw new IllegalStateException("no credentials");
+      }
+    });
+    read("Sheet1!A1");
+    flush();
+    assertEquals(Collections.singletonList("read Sheet1!A1 [[a1]]"), log);
+  }
+
+  @Test
+  public void testFailuresReachEveryCallInTheBatch() {
+    sheets.failure = "quota exceeded";
+    read("Sheet1!A1");
+    read("Sheet1!B1");
+    write("Sheet1!C1", "z");
+    flush();
+    assertEquals(Arrays.asList("failed Sheet1!A1: quota exceeded",
+        "failed Sheet1!B1: quota exceeded", "failed Sheet1!C1: quota exceeded"), log);
+  }
+
+  private void read(final String range) {
+    batcher.read(range, new AsyncCallbackPair<List<List<Object>>>() {
+      @Override
+      public void onFailure(String message) {
+        log.add("failed " + range + ": " + message);
+      }
+
+      @Override
+      public void onSuccess(List<List<Object>> values) {
+        log.add("read " + range + " " + values);
+      }
+    });
+  }
+
+  private void write(final String range, String value) {
+    List<List<Object>> values = new ArrayList<>();
+    values.add(Collections.<Object>singletonList(value));
+    batcher.write(range, values, new AsyncCallbackPair<Void>() {
+      @Override
+      public void onFailure(String message) {
+        log.add("failed " + range + ": " + message);
+      }
+
+      @Override
+      public void onSuccess(Void result) {
+        log.add("wrote " + range);
+      }
+    });
+  }
+
+  private static void flush() {
+    shadowOf(Looper.getMainLooper()).idle();
+  }
+
+  /**
+   * A stub of the Sheets API that keeps one value per range and records the calls made to it.
+   */
+  private static class StubSheets implements SheetValuesBatcher.Backend {
+    final Map<String, Object> values = new HashMap<>();
+    final List<String> calls = new ArrayList<>();
+    final Set<String> badSheets = new HashSet<>();
+    String failure = null;
+
+    @Override
+    public List<List<List<Object>>> batchGet(List<String> ranges) throws Exception {
+      calls.add("get " + ranges);
+      if (failure != null) {
+        throw new Exception(failure);
+      }
+      // Like the Sheets API, one range naming a missing sheet fails the whole batch
+      for (String range : ranges) {
+        if (badSheets.contains(range.substring(0, range.indexOf('!')))) {
+          throw new Exception("Unable to parse range");
+        }
+      }
+      List<List<List<Object>>> result = new ArrayList<>();
+      for (String range : ranges) {
+        Object value = values.containsKey(range) ? values.get(range)
+            : range.substring(range.indexOf('!') + 1).toLowerCase();
+        List<List<Object>> rows = new ArrayList<>();
+        rows.add(Collections.singletonList(value));
+        result.add(rows);
+      }
+      return result;
+    }
+
+    @Override
+    public void batchUpdate(List<String> ranges, List<List<List<Object>>> rows)
+        throws Exception {
+      calls.add("update " + ranges);
+      if (failure != null) {
+        throw new Exception(failure);
+      }
+      for (int i = 0; i < ranges.size(); i++) {
+        values.put(ranges.get(i), rows.get(i).get(0).get(0));
+      }
+    }
+  }
+}
@@ -0,0 +1,120 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link SpatialGrid} broad-phase index.
+ */
+public class SpatialGridTest {
+  private SpatialGrid<String> grid;
+
+  @Before
+  public void setUp() {
+    grid = new SpatialGrid<String>(10);
+  }
+
+  private Set<String> query(double left, double top, double right, double bottom) {
+    Set<String> result = new HashSet<String>();
+    grid.query(left, top, right, bottom, result);
+    return result;
+  }
+
+  @Test
+  public void testQueryFindsOverlappingItems() {
+    grid.update("a", 0, 0, 5, 5);
+    grid.update("b", 100, 100, 105, 105);
+    Set<String> result = query(2, 2, 8, 8);
+    assertTrue(result.contains("a"));
+    assertFalse(result.contains("b"));
+  }
+
+  @Test
+  public void testItemSpanningCells() {
+    grid.update("wide", 0, 0, 35, 5);
+    assertTrue(query(31, 0, 32, 1).contains("wide"));
+    assertTrue(query(-5, -5, 1, 1).contains("wide"));
+  }
+
+  @Test
+  public void testUpdateMovesItem() {
+    grid.update("a", 0, 0, 5, 5);
+    grid.update("a", 50, 50, 55, 55);
+    assertFalse(query(0, 0, 5, 5).contains("a"));
+    assertTrue(query(50, 50, 55, 55).contains("a"));
+    assertEquals(1, grid.size());
+  }
+
+  @Test
+  public void testNegativeCoordinates() {
+    grid.update("a", -25, -25, -21, -21);
+    assertTrue(query(-24, -24, -22, -22).contains("a"));
+    assertFalse(query(0, 0, 5, 5).contains("a"));
+  }
+
+  @Test
+  public void testRemove() {
+    grid.update("a", 0, 0, 5, 5);
+    grid.remove("a");
+    assertFalse(grid.contains("a"));
+    assertTrue(query(0, 0, 5, 5).isEmpty());
+    // Removing again is harmless.
+    grid.remove("a");
+    assertEquals(0, grid.size());
+  }
+
+  @Test
+  public void testInfiniteCoordinates() {
+    grid.update("a", 0, 0, 5, 5);
+    grid.update("infinite", Double.NEGATIVE_INFINITY, 0, Double.POSITIVE_INFINITY, 5);
+    grid.update("nan", Double.NaN, 0, 5, 5);
+    assertTrue(query(0, 0, 5, 5).containsAll(Arrays.asList("a", "infinite", "nan")));
+    assertTrue(query(1000, 1000, 1005, 1005).contains("infinite"));
+    assertTrue(query(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+        Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY).contains("a"));
+    assertEquals(3, grid.size());
+  }
+
+  @Test
+  public void testHugeCoordinates() {
+    grid.update("far", 1e12, 1e12, 1e12 + 5, 1e12 + 5);
+    grid.update("huge", -1e12, -1e12, 1e12, 1e12);
+    assertTrue(grid.contains("far"));
+    assertTrue(query(1e12, 1e12, 1e12 + 1, 1e12 + 1).containsAll(Arrays.asList("far", "huge")));
+    assertTrue(query(0, 0, 1e12, 1e12).contains("huge"));
+
+    // Moving back into range stores the item in the cells again
+    grid.update("far", 0, 0, 5, 5);
+    assertTrue(query(0, 0, 5, 5).contains("far"));
+    assertFalse(query(100, 100, 105, 105).contains("far"));
+    grid.remove("huge");
+    assertFalse(grid.contains("huge"));
+    assertEquals(1, grid.size());
+  }
+
+  @Test
+  public void testItemCoveringTooManyCells() {
+    grid.update("large", 0, 0, 10 * SpatialGrid.MAX_CELLS, 10 * SpatialGrid.MAX_CELLS);
+    assertTrue(query(-100, -100, -95, -95).contains("large"));
+    grid.update("large", 0, 0, 5, 5);
+    assertFalse(query(-100, -100, -95, -95).contains("large"));
+    assertTrue(query(0, 0, 5, 5).contains("large"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCellSize() {
+    new SpatialGrid<String>(0);
+  }
+}
@@ -0,0 +1,52 @@
+// -*- mode: java; c-basic-offset: 2; -*-
+// Copyright 2025 MIT, All rights reserved
+// Released under the Apache License, Version 2.0
+// http://www.apache.org/licenses/LICENSE-2.0
+
+package com.google.appinventor.components.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Tests the YailProfiler class.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest="tests/AndroidManifest.xml")
+public class YailProfilerTest {
+
+  @Test
+  public void testDisabledByDefault() {
+    assertFalse(YailProfiler.isEnabled());
+    assertNull(YailProfiler.begin());
+    // Ending a measurement that was never started is harmless
+    YailProfiler.end(null, "Button1.Click");
+    assertEquals(0, YailProfiler.takeReport().length());
+  }
+
+  @Test
+  public void testReportIsSortedAndReset() throws JSONException {
+    YailProfiler.record("Button1.Click", 2000000, 100);
+    YailProfiler.record("abc", 1000000, 10);
+    YailProfiler.record("Button1.Click", 5000000, 50);
+    JSONArray report = YailProfiler.takeReport();
+    assertEquals(2, report.length());
+    JSONObject first = report.getJSONObject(0);
+    assertEquals("Button1.Click", first.getString("key"));
+    assertEquals(2, first.getInt("count"));
+    assertEquals(7.0, first.getDouble("totalMs"), 0.001);
+    assertEquals(5.0, first.getDouble("maxMs"), 0.001);
+    assertEquals(150, first.getLong("allocatedBytes"));
+    assertEquals("abc", report.getJSONObject(1).getString("key"));
+    assertEquals(0, YailProfiler.takeReport().length());
+  }
+}